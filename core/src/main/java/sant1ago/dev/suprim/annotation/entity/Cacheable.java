@@ -0,0 +1,52 @@
+package sant1ago.dev.suprim.annotation.entity;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables the shared second-level entity cache for an entity.
+ *
+ * <p>Intended for small, read-mostly tables (countries, plans, feature flags) that are
+ * looked up by primary key far more often than they change. Rows loaded through
+ * {@code findById}, id lookups via {@code Finder.first()} and {@code BELONGS_TO} eager
+ * loads are kept in a bounded, per-executor cache and served without a round-trip:
+ *
+ * <pre>{@code
+ * @Entity(table = "countries")
+ * @Cacheable(ttlSeconds = 600, maxEntries = 500)
+ * public class Country extends SuprimEntity {
+ *     @Id private String code;
+ *     @Column private String name;
+ * }
+ *
+ * executor.findById(Country.class, "NL");  // SELECT, cached
+ * executor.findById(Country.class, "NL");  // cache hit
+ * }</pre>
+ *
+ * <p>Writes to the table through Suprim (entity persistence, batch inserts, upserts and
+ * UPDATE/DELETE statements) invalidate the entity's cache region once the write commits.
+ * Writes made by other applications are only picked up when entries expire, so choose
+ * {@link #ttlSeconds()} accordingly.
+ *
+ * @see sant1ago.dev.suprim.jdbc.EntityCache
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+
+    /**
+     * Time-to-live of a cached row in seconds. Zero or negative disables expiry.
+     * Defaults to 300 seconds.
+     *
+     * @return entry lifetime in seconds
+     */
+    long ttlSeconds() default 300;
+
+    /**
+     * Maximum number of rows kept for this entity; least recently used rows are evicted first.
+     * Defaults to 10,000.
+     *
+     * @return maximum cached rows
+     */
+    int maxEntries() default 10_000;
+}
@@ -0,0 +1,42 @@
+package sant1ago.dev.suprim.annotation.entity;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the field whose value selects the database shard of an entity.
+ *
+ * <p>Used by {@code ShardedExecutor} to route lookups and writes. Annotate the tenant
+ * column for tenant-per-shard layouts, or the id for id-based sharding:
+ *
+ * <pre>{@code
+ * @Entity(table = "orders")
+ * public class Order {
+ *     @Id private UUID id;
+ *     @ShardKey @Column(name = "tenant_id") private Long tenantId;   // hashed
+ * }
+ *
+ * @Entity(table = "events")
+ * public class Event {
+ *     @Id @ShardKey(ranges = {1_000_000, 2_000_000}) private Long id;  // 3 range shards
+ * }
+ * }</pre>
+ *
+ * <p>Without {@link #ranges()}, the key is hashed and spread evenly over all shards.
+ * Numeric keys hash by value, so {@code 42} and {@code 42L} land on the same shard.
+ *
+ * @see sant1ago.dev.suprim.jdbc.ShardedExecutor
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardKey {
+
+    /**
+     * Exclusive upper bounds of numeric key ranges, ascending. Shard {@code i} holds keys
+     * below {@code ranges[i]}; the next shard holds everything above the last bound.
+     * Empty (the default) selects hash sharding.
+     *
+     * @return range bounds, or empty for hash sharding
+     */
+    long[] ranges() default {};
+}
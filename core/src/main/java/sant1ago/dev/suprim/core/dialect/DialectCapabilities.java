@@ -62,6 +62,20 @@ public interface DialectCapabilities {
      */
     boolean supportsDistinctOn();
 
+    /**
+     * Supports window functions such as ROW_NUMBER() OVER (PARTITION BY ...).
+     *
+     * @return true if window functions are supported
+     */
+    boolean supportsWindowFunctions();
+
+    /**
+     * Supports LATERAL derived tables.
+     *
+     * @return true if LATERAL is supported
+     */
+    boolean supportsLateral();
+
     /**
      * Supports VECTOR type (pgvector extension).
      *
@@ -81,6 +95,8 @@ public interface DialectCapabilities {
         @Override public boolean supportsNowait() { return true; }
         @Override public boolean supportsFilterClause() { return true; }
         @Override public boolean supportsDistinctOn() { return true; }
+        @Override public boolean supportsWindowFunctions() { return true; }
+        @Override public boolean supportsLateral() { return true; }
         @Override public boolean supportsVector() { return true; }
     };
 
@@ -94,6 +110,8 @@ public interface DialectCapabilities {
         @Override public boolean supportsNowait() { return false; }
         @Override public boolean supportsFilterClause() { return false; }
         @Override public boolean supportsDistinctOn() { return false; }
+        @Override public boolean supportsWindowFunctions() { return false; }
+        @Override public boolean supportsLateral() { return false; }
         @Override public boolean supportsVector() { return false; }
     };
 
@@ -107,6 +125,8 @@ public interface DialectCapabilities {
         @Override public boolean supportsNowait() { return true; }
         @Override public boolean supportsFilterClause() { return false; }
         @Override public boolean supportsDistinctOn() { return false; }
+        @Override public boolean supportsWindowFunctions() { return true; }
+        @Override public boolean supportsLateral() { return true; }  // MySQL 8.0.14+
         @Override public boolean supportsVector() { return false; }
     };
 
@@ -120,6 +140,8 @@ public interface DialectCapabilities {
         @Override public boolean supportsNowait() { return true; }      // MariaDB 10.3+
         @Override public boolean supportsFilterClause() { return false; }
         @Override public boolean supportsDistinctOn() { return false; }
+        @Override public boolean supportsWindowFunctions() { return true; }  // MariaDB 10.2+
+        @Override public boolean supportsLateral() { return false; }
         @Override public boolean supportsVector() { return false; }
     };
 }
@@ -47,6 +47,11 @@ public class MySqlDialect implements SqlDialect {
         return DialectCapabilities.MYSQL_5_7;
     }
 
+    @Override
+    public boolean sortsNullsFirst() {
+        return true;
+    }
+
     @Override
     public String formatUuid(java.util.UUID uuid) {
         // MySQL stores UUIDs as CHAR(36), no cast needed
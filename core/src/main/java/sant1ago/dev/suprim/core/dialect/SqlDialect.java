@@ -339,6 +339,19 @@ public interface SqlDialect {
         return "DISTINCT ON (" + columns + ")";
     }
 
+    // ==================== ORDERING ====================
+
+    /**
+     * Check whether NULLs sort before other values in ascending order when ORDER BY does not
+     * say NULLS FIRST or NULLS LAST. PostgreSQL treats NULL as larger than any value, so it
+     * sorts last; MySQL and MariaDB treat it as smaller.
+     *
+     * @return true if NULLs come first in ascending order
+     */
+    default boolean sortsNullsFirst() {
+        return false;
+    }
+
     // ==================== LICENSING ====================
 
     /**
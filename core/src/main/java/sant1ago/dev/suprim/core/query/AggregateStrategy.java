@@ -0,0 +1,43 @@
+package sant1ago.dev.suprim.core.query;
+
+/**
+ * How {@link SelectBuilder} renders relation aggregates added with {@code withCount},
+ * {@code withSum}, {@code withAvg}, {@code withMin}, {@code withMax} and {@code withExists}.
+ *
+ * <pre>{@code
+ * Suprim.select(User_.ID, User_.NAME)
+ *     .from(User_.TABLE)
+ *     .withCount(User_.POSTS)
+ *     .withSum(User_.POSTS, Post_.VIEWS, "total_views")
+ *     .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+ *     .orderBy(User_.ID.asc())
+ *     .limit(500)
+ * // SQL: SELECT ..., COALESCE(suprim_a0.posts_count, 0) AS posts_count, suprim_a0.total_views AS total_views
+ * //      FROM users LEFT JOIN (SELECT posts.user_id AS suprim_key, COUNT(*) AS posts_count, SUM(views) AS total_views
+ * //      FROM posts WHERE posts.user_id IN (SELECT suprim_key FROM (SELECT users.id AS suprim_key FROM users ORDER BY users.id ASC LIMIT 500) suprim_page)
+ * //      GROUP BY posts.user_id) suprim_a0 ON suprim_a0.suprim_key = users.id ORDER BY users.id ASC LIMIT 500
+ * }</pre>
+ */
+public enum AggregateStrategy {
+
+    /**
+     * One correlated subquery per aggregate, evaluated for each row. Cheap for small pages
+     * with an index on the foreign key, but planners may fall back to nested loops over
+     * large child tables when a query has several aggregates.
+     */
+    CORRELATED_SUBQUERY,
+
+    /**
+     * One grouped derived table per relation, LEFT JOINed on the owner key and holding all
+     * aggregates of that relation. Child rows are restricted to the owners selected by the
+     * query's WHERE, ORDER BY, LIMIT and OFFSET, so each child table is read once per
+     * query instead of once per row.
+     *
+     * <p>Queries with GROUP BY, HAVING or set operations, and MorphTo relations, keep the
+     * correlated subqueries. So do paged queries whose ORDER BY does not include a unique
+     * key of the owner table, since the page subquery could then select other owners than
+     * the query itself. A paged query cannot order by an aggregate alias, since the page is
+     * selected before the aggregates are joined.</p>
+     */
+    GROUPED_JOIN
+}
@@ -1,7 +1,11 @@
 package sant1ago.dev.suprim.core.query;
 
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.casey.Casey;
+import sant1ago.dev.suprim.core.type.OrderSpec;
 import sant1ago.dev.suprim.core.type.Relation;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -23,18 +27,54 @@ import java.util.function.Function;
  * // Nested relation
  * EagerLoadSpec spec = EagerLoadSpec.of(User_.POSTS)
  *     .with(Post_.COMMENTS);
+ *
+ * // At most 5 posts per user, newest first
+ * EagerLoadSpec spec = EagerLoadSpec.of(User_.POSTS, 5, Post_.CREATED_AT.desc());
+ *
+ * // Author fetched in the main query through a LEFT JOIN
+ * EagerLoadSpec spec = EagerLoadSpec.joined(Post_.AUTHOR);
  * }</pre>
  *
- * @param relation   the relation to an eager load
- * @param constraint optional query constraint to apply when loading
- * @param nested     nested eager load specs for relations on the loaded entities
+ * @param relation       the relation to an eager load
+ * @param constraint     optional query constraint to apply when loading
+ * @param nested         nested eager load specs for relations on the loaded entities
+ * @param perParentLimit maximum related rows per parent, 0 for no limit
+ * @param perParentOrder order deciding which related rows each parent keeps
+ * @param fetch          how the related rows are fetched
  */
 public record EagerLoadSpec(
         Relation<?, ?> relation,
         Function<SelectBuilder, SelectBuilder> constraint,
-        List<EagerLoadSpec> nested
+        List<EagerLoadSpec> nested,
+        int perParentLimit,
+        List<OrderSpec> perParentOrder,
+        FetchStrategy fetch
 ) {
 
+    /**
+     * How an eager-loaded relation is fetched.
+     */
+    public enum FetchStrategy {
+        /** A second query: SELECT ... FROM related WHERE key IN (parent keys). */
+        SELECT_IN,
+        /** A LEFT JOIN in the main query, for BelongsTo and HasOne relations. */
+        JOIN
+    }
+
+    // Column label prefix of join-fetched relations: the n-th JOIN spec of a query selects related columns as suprim_jn__column
+    private static final String JOIN_ALIAS_PREFIX = "suprim_j";
+
+    /**
+     * Create an eager load spec without a per-parent limit.
+     *
+     * @param relation   the relation to eager load
+     * @param constraint optional query constraint to apply when loading
+     * @param nested     nested eager load specs
+     */
+    public EagerLoadSpec(Relation<?, ?> relation, Function<SelectBuilder, SelectBuilder> constraint, List<EagerLoadSpec> nested) {
+        this(relation, constraint, nested, 0, List.of(), FetchStrategy.SELECT_IN);
+    }
+
     /**
      * Create an eager load spec for a relation.
      *
@@ -56,6 +96,95 @@ public record EagerLoadSpec(
         return new EagerLoadSpec(relation, constraint, new ArrayList<>());
     }
 
+    /**
+     * Create an eager load spec returning at most {@code perParentLimit} related rows per parent.
+     *
+     * <p>Unlike a {@code limit} in a constraint, which caps the single batch query across all
+     * parents, the limit applies to each parent separately, in one query.</p>
+     *
+     * @param relation       the HasMany relation to eager load
+     * @param perParentLimit maximum related rows per parent
+     * @param orderBy        order deciding which rows each parent keeps
+     * @return a new eager load spec with a per-parent limit
+     * @throws IllegalArgumentException if the limit is not positive, no order is given or the relation is not HasMany
+     */
+    public static EagerLoadSpec of(Relation<?, ?> relation, int perParentLimit, OrderSpec... orderBy) {
+        return of(relation, null, perParentLimit, orderBy);
+    }
+
+    /**
+     * Create an eager load spec with a constraint and a per-parent limit.
+     *
+     * @param relation       the HasMany relation to eager load
+     * @param constraint     the query constraint to apply, or null
+     * @param perParentLimit maximum related rows per parent
+     * @param orderBy        order deciding which rows each parent keeps
+     * @return a new eager load spec with constraint and per-parent limit
+     * @throws IllegalArgumentException if the limit is not positive, no order is given or the relation is not HasMany
+     */
+    public static EagerLoadSpec of(Relation<?, ?> relation, Function<SelectBuilder, SelectBuilder> constraint,
+                                   int perParentLimit, OrderSpec... orderBy) {
+        if (perParentLimit < 1) {
+            throw new IllegalArgumentException("perParentLimit must be at least 1, got " + perParentLimit);
+        }
+        if (orderBy.length == 0) {
+            throw new IllegalArgumentException("A per-parent limit needs an order to pick rows by");
+        }
+        if (relation.getType() != Relation.Type.HAS_MANY) {
+            throw new IllegalArgumentException("Per-parent limits apply to HasMany relations, got " + relation.getType());
+        }
+        return new EagerLoadSpec(relation, constraint, new ArrayList<>(), perParentLimit, List.of(orderBy), FetchStrategy.SELECT_IN);
+    }
+
+    /**
+     * Create an eager load spec fetched with a LEFT JOIN in the main query instead of a second query.
+     *
+     * <p>Applies when the main query selects all columns ({@code SELECT *}); otherwise, and
+     * when nested under another relation, the relation is loaded with a second query as usual.
+     * A HasOne relation is joined only when its foreign key is declared
+     * {@code @Column(unique = true)}: several matching children would repeat the parent row,
+     * so without that guarantee it keeps the second query.</p>
+     *
+     * @param relation the BelongsTo or HasOne relation to eager load
+     * @return a new eager load spec, join-fetched unless a HasOne foreign key is not unique
+     * @throws IllegalArgumentException if the relation is not BelongsTo or HasOne
+     */
+    public static EagerLoadSpec joined(Relation<?, ?> relation) {
+        if (relation.getType() != Relation.Type.BELONGS_TO && relation.getType() != Relation.Type.HAS_ONE) {
+            throw new IllegalArgumentException("Join fetching applies to BelongsTo and HasOne relations, got " + relation.getType());
+        }
+        boolean atMostOneRow = relation.getType() == Relation.Type.BELONGS_TO
+                || isUniqueColumn(relation.getRelatedTable().getEntityType(), relation.getForeignKey());
+        return new EagerLoadSpec(relation, null, new ArrayList<>(), 0, List.of(),
+                atMostOneRow ? FetchStrategy.JOIN : FetchStrategy.SELECT_IN);
+    }
+
+    /**
+     * Check whether an entity declares a column {@code @Column(unique = true)}.
+     */
+    private static boolean isUniqueColumn(Class<?> entityClass, String columnName) {
+        for (Class<?> current = entityClass; Objects.nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                Column col = field.getAnnotation(Column.class);
+                if (Objects.nonNull(col) && col.unique()
+                        && columnName.equals(col.name().isEmpty() ? Casey.toSnakeCase(field.getName()) : col.name())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Table alias of the n-th join-fetched relation in a query.
+     *
+     * @param index position among the query's join-fetched specs
+     * @return the alias, also the column label prefix followed by {@code __}
+     */
+    public static String joinAlias(int index) {
+        return JOIN_ALIAS_PREFIX + index;
+    }
+
     /**
      * Add a nested relation to this eager load spec.
      * <pre>{@code
@@ -92,6 +221,24 @@ public record EagerLoadSpec(
         return Objects.nonNull(constraint);
     }
 
+    /**
+     * Check if this spec limits the related rows per parent.
+     *
+     * @return true if a per-parent limit is set
+     */
+    public boolean hasPerParentLimit() {
+        return perParentLimit > 0;
+    }
+
+    /**
+     * Check if this spec is fetched with a LEFT JOIN in the main query.
+     *
+     * @return true for the JOIN fetch strategy
+     */
+    public boolean isJoinFetch() {
+        return fetch == FetchStrategy.JOIN;
+    }
+
     /**
      * Check if this spec has nested relations.
      *
@@ -109,6 +256,12 @@ public record EagerLoadSpec(
         if (hasConstraint()) {
             sb.append(", constrained=true");
         }
+        if (hasPerParentLimit()) {
+            sb.append(", perParentLimit=").append(perParentLimit);
+        }
+        if (isJoinFetch()) {
+            sb.append(", fetch=JOIN");
+        }
         if (hasNested()) {
             sb.append(", nested=").append(nested.size());
         }
@@ -1,25 +1,47 @@
 package sant1ago.dev.suprim.core.query;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 /**
- * Result of building a query: SQL string, parameters, eager load specifications, and soft delete scope.
+ * Result of building a query: SQL string, parameters, eager load specifications, soft delete scope,
+ * result cache lifetime and statement timeout.
  *
  * @param sql the generated SQL query string
  * @param parameters the named parameters map
  * @param eagerLoads the list of eager load specifications
  * @param softDeleteScope the soft delete scope for query filtering
+ * @param cacheTtl how long the executor may serve the result from its query cache, null to not cache
+ * @param timeout how long the statement may run before it is cancelled, null for the executor default
  */
 public record QueryResult(
         String sql,
         Map<String, Object> parameters,
         List<EagerLoadSpec> eagerLoads,
-        SelectBuilder.SoftDeleteScope softDeleteScope
+        SelectBuilder.SoftDeleteScope softDeleteScope,
+        Duration cacheTtl,
+        Duration timeout
 ) {
 
+    /**
+     * Constructor without statement timeout (for backwards compatibility).
+     */
+    public QueryResult(String sql, Map<String, Object> parameters, List<EagerLoadSpec> eagerLoads,
+                       SelectBuilder.SoftDeleteScope softDeleteScope, Duration cacheTtl) {
+        this(sql, parameters, eagerLoads, softDeleteScope, cacheTtl, null);
+    }
+
+    /**
+     * Constructor without cache lifetime (for backwards compatibility).
+     */
+    public QueryResult(String sql, Map<String, Object> parameters, List<EagerLoadSpec> eagerLoads,
+                       SelectBuilder.SoftDeleteScope softDeleteScope) {
+        this(sql, parameters, eagerLoads, softDeleteScope, null);
+    }
+
     /**
      * Constructor without eager loads and soft delete scope (for backwards compatibility).
      */
@@ -50,6 +72,44 @@ public record QueryResult(
         return Collections.unmodifiableList(eagerLoads);
     }
 
+    /**
+     * Copy of this query whose result may be served from the executor's query cache.
+     *
+     * @param ttl how long a cached result stays valid, unless a write to one of its tables invalidates it first
+     * @return the cacheable query
+     * @throws IllegalArgumentException if ttl is not positive
+     */
+    public QueryResult cached(Duration ttl) {
+        if (Objects.isNull(ttl) || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache ttl must be positive, got " + ttl);
+        }
+        return new QueryResult(sql, parameters, eagerLoads, softDeleteScope, ttl, timeout);
+    }
+
+    /**
+     * Copy of this query that the executor cancels when it runs longer than {@code timeout}.
+     * Overrides the executor's default timeout; an ambient deadline that expires sooner still applies.
+     *
+     * @param timeout the statement timeout
+     * @return the query with a timeout
+     * @throws IllegalArgumentException if timeout is not positive
+     */
+    public QueryResult timeout(Duration timeout) {
+        if (Objects.isNull(timeout) || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive, got " + timeout);
+        }
+        return new QueryResult(sql, parameters, eagerLoads, softDeleteScope, cacheTtl, timeout);
+    }
+
+    /**
+     * Check if the result of this query may be cached.
+     *
+     * @return true if a cache lifetime is set
+     */
+    public boolean isCached() {
+        return Objects.nonNull(cacheTtl);
+    }
+
     /**
      * Check if this query has eager loads.
      *
@@ -106,6 +166,12 @@ public record QueryResult(
         if (softDeleteScope != SelectBuilder.SoftDeleteScope.DEFAULT) {
             sb.append(", softDeleteScope=").append(softDeleteScope);
         }
+        if (isCached()) {
+            sb.append(", cacheTtl=").append(cacheTtl);
+        }
+        if (Objects.nonNull(timeout)) {
+            sb.append(", timeout=").append(timeout);
+        }
         sb.append("}");
         return sb.toString();
     }
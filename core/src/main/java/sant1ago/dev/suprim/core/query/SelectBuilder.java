@@ -5,7 +5,9 @@ import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
 import sant1ago.dev.suprim.core.dialect.SqlDialect;
 import sant1ago.dev.suprim.core.dialect.UnsupportedDialectFeatureException;
 import sant1ago.dev.suprim.core.type.*;
+import sant1ago.dev.suprim.core.util.IdMetadata;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,6 +39,7 @@ public final class SelectBuilder {
     private Integer limit;
     private Integer offset;
     private boolean distinct = false;
+    private String distinctOn;
     private final Map<String, Object> parameters = new LinkedHashMap<>();
     private int paramCounter = 0;
     // CTE support
@@ -49,8 +52,13 @@ public final class SelectBuilder {
     // Eager loading
     private final List<EagerLoadSpec> eagerLoads = new ArrayList<>();
     private final Set<String> withoutRelations = new HashSet<>();
+    // Relation aggregates (withCount, withSum, ...)
+    private AggregateStrategy aggregateStrategy = AggregateStrategy.CORRELATED_SUBQUERY;
     // Soft delete scope
     private SoftDeleteScope softDeleteScope = SoftDeleteScope.DEFAULT;
+    // Query result cache
+    private Duration cacheTtl;
+    private Duration timeout;
 
     /**
      * Soft delete query scope.
@@ -177,6 +185,17 @@ public final class SelectBuilder {
         return this;
     }
 
+    /**
+     * Add SELECT DISTINCT ON (columns), keeping the first row of each group in ORDER BY order.
+     * Rendered through {@link SqlDialect#distinctOn(String)}, which rejects dialects without it.
+     *
+     * @param columns the raw column list, e.g. "user_id"
+     */
+    public SelectBuilder distinctOn(String columns) {
+        this.distinctOn = columns;
+        return this;
+    }
+
     // ==================== WHERE CLAUSE ====================
 
     /**
@@ -675,6 +694,24 @@ public final class SelectBuilder {
         return this;
     }
 
+    /**
+     * Choose how this query renders its relation aggregates.
+     * <pre>{@code
+     * .withCount(User_.POSTS)
+     * .withMax(User_.POSTS, Post_.CREATED_AT, "last_post_at")
+     * .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+     * // SQL: ... LEFT JOIN (SELECT posts.user_id AS suprim_key, COUNT(*) AS posts_count, MAX(created_at) AS last_post_at
+     * //      FROM posts WHERE ... GROUP BY posts.user_id) suprim_a0 ON suprim_a0.suprim_key = users.id
+     * }</pre>
+     *
+     * @param strategy correlated subqueries (default) or grouped derived tables
+     * @return this builder
+     */
+    public SelectBuilder aggregateStrategy(AggregateStrategy strategy) {
+        this.aggregateStrategy = Objects.requireNonNull(strategy, "strategy cannot be null");
+        return this;
+    }
+
     /**
      * Get a simple field name for a relation (used for alias generation).
      */
@@ -1165,6 +1202,59 @@ public final class SelectBuilder {
         return this;
     }
 
+    // ==================== QUERY CACHE ====================
+
+    /**
+     * Let the executor serve this query's result from its query cache for up to {@code ttl}.
+     * Identical queries (same SQL and parameters) share one cached result until it expires or
+     * a write through the same executor touches one of the tables it reads.
+     *
+     * <pre>{@code
+     * Suprim.selectAll()
+     *     .from(Country_.TABLE)
+     *     .orderBy(Country_.NAME.asc())
+     *     .cached(Duration.ofMinutes(5))
+     *     .build();
+     * }</pre>
+     *
+     * @param ttl how long a cached result stays valid
+     * @return this builder
+     * @throws IllegalArgumentException if ttl is not positive
+     */
+    public SelectBuilder cached(Duration ttl) {
+        if (isNull(ttl) || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache ttl must be positive, got " + ttl);
+        }
+        this.cacheTtl = ttl;
+        return this;
+    }
+
+    // ==================== TIMEOUT ====================
+
+    /**
+     * Cancel the statement when it runs longer than {@code timeout}. Overrides the executor's
+     * default timeout; an ambient deadline that expires sooner still applies.
+     *
+     * <pre>{@code
+     * Suprim.select(Order_.CUSTOMER_ID, Order_.TOTAL.sum())
+     *     .from(Order_.TABLE)
+     *     .groupBy(Order_.CUSTOMER_ID)
+     *     .timeout(Duration.ofSeconds(30))
+     *     .build();
+     * }</pre>
+     *
+     * @param timeout the statement timeout
+     * @return this builder
+     * @throws IllegalArgumentException if timeout is not positive
+     */
+    public SelectBuilder timeout(Duration timeout) {
+        if (isNull(timeout) || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive, got " + timeout);
+        }
+        this.timeout = timeout;
+        return this;
+    }
+
     // ==================== SOFT DELETE SCOPE ====================
 
     /**
@@ -1236,6 +1326,68 @@ public final class SelectBuilder {
         return nonNull(fromTable) ? fromTable.getEntityType() : null;
     }
 
+    /**
+     * Get the ORDER BY specifications.
+     * Used by executors that merge sorted results from several databases.
+     *
+     * @return unmodifiable view of the order specifications
+     */
+    public List<OrderSpec> getOrderSpecs() {
+        return Collections.unmodifiableList(orderSpecs);
+    }
+
+    /**
+     * Get the LIMIT value.
+     *
+     * @return the limit, or null if not set
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the OFFSET value.
+     *
+     * @return the offset, or null if not set
+     */
+    public Integer getOffset() {
+        return offset;
+    }
+
+    /**
+     * Create an independent copy of this builder.
+     * Changes to the copy, such as a different LIMIT, leave this builder untouched.
+     *
+     * @return a new builder with the same query state
+     */
+    public SelectBuilder copy() {
+        SelectBuilder copy = new SelectBuilder(List.of());
+        copy.selectItems.addAll(selectItems);
+        copy.fromTable = fromTable;
+        copy.joins.addAll(joins);
+        copy.whereClause = whereClause;
+        copy.orderSpecs.addAll(orderSpecs);
+        copy.groupByItems.addAll(groupByItems);
+        copy.havingClause = havingClause;
+        copy.limit = limit;
+        copy.offset = offset;
+        copy.distinct = distinct;
+        copy.distinctOn = distinctOn;
+        copy.parameters.putAll(parameters);
+        copy.paramCounter = paramCounter;
+        copy.ctes.addAll(ctes);
+        copy.recursive = recursive;
+        copy.setOperations.addAll(setOperations);
+        copy.lockMode = lockMode;
+        copy.eagerLoads.addAll(eagerLoads);
+        copy.withoutRelations.addAll(withoutRelations);
+        copy.aggregateStrategy = aggregateStrategy;
+        copy.softDeleteScope = softDeleteScope;
+        copy.cacheTtl = cacheTtl;
+        copy.timeout = timeout;
+        return copy;
+    }
+
     // ==================== EAGER LOADING ====================
 
     /**
@@ -1266,6 +1418,43 @@ public final class SelectBuilder {
         return this;
     }
 
+    /**
+     * Eager load at most {@code perParentLimit} related rows for each parent.
+     * A {@code limit} in a constraint caps the whole batch instead; this limits per parent
+     * using window functions or LATERAL subqueries, in a single query.
+     * <pre>{@code
+     * .with(Project_.COMMENTS, 5, Comment_.CREATED_AT.desc())
+     * }</pre>
+     *
+     * @param relation       the HasMany relation to load
+     * @param perParentLimit maximum related rows per parent
+     * @param orderBy        order deciding which rows each parent keeps
+     * @return this builder
+     */
+    public SelectBuilder with(Relation<?, ?> relation, int perParentLimit, OrderSpec... orderBy) {
+        eagerLoads.add(EagerLoadSpec.of(relation, perParentLimit, orderBy));
+        return this;
+    }
+
+    /**
+     * Eager load at most {@code perParentLimit} matching related rows for each parent.
+     * <pre>{@code
+     * .with(Project_.COMMENTS, comments -> comments.where(Comment_.IS_APPROVED.eq(true)),
+     *     5, Comment_.CREATED_AT.desc())
+     * }</pre>
+     *
+     * @param relation       the HasMany relation to load
+     * @param constraint     constraint to apply before limiting
+     * @param perParentLimit maximum related rows per parent
+     * @param orderBy        order deciding which rows each parent keeps
+     * @return this builder
+     */
+    public SelectBuilder with(Relation<?, ?> relation, java.util.function.Function<SelectBuilder, SelectBuilder> constraint,
+                              int perParentLimit, OrderSpec... orderBy) {
+        eagerLoads.add(EagerLoadSpec.of(relation, constraint, perParentLimit, orderBy));
+        return this;
+    }
+
     /**
      * Eager load relations using string path syntax for nested loading.
      * Supports dot-notation for deep nesting.
@@ -1362,6 +1551,221 @@ public final class SelectBuilder {
         return this;
     }
 
+    /**
+     * Eager load BelongsTo or HasOne relations with LEFT JOINs in this query instead of
+     * one extra query per relation. Applies when selecting all columns; otherwise the
+     * relations are loaded with a second query. So are HasOne relations whose foreign key
+     * is not declared unique, as duplicate children would repeat the parent row.
+     * <pre>{@code
+     * .withJoin(Post_.AUTHOR, Post_.CATEGORY)
+     * // SQL: SELECT "posts".*, suprim_j0."id" AS suprim_j0__id, ... FROM "posts"
+     * //      LEFT JOIN "users" suprim_j0 ON suprim_j0."id" = "posts"."author_id" ...
+     * }</pre>
+     *
+     * @param relations the to-one relations to join
+     * @return this builder
+     * @throws IllegalArgumentException if a relation is not BelongsTo or HasOne
+     */
+    public SelectBuilder withJoin(Relation<?, ?>... relations) {
+        for (Relation<?, ?> relation : relations) {
+            eagerLoads.add(EagerLoadSpec.joined(relation));
+        }
+        return this;
+    }
+
+    /**
+     * Join-fetched eager loads whose related entity has mapped columns, in join alias order.
+     */
+    private List<EagerLoadSpec> joinFetches() {
+        if (isNull(fromTable)) {
+            return List.of();
+        }
+        return eagerLoads.stream()
+                .filter(EagerLoadSpec::isJoinFetch)
+                .filter(spec -> !Suprim.columns(spec.relation().getRelatedTable().getEntityType()).isEmpty())
+                .toList();
+    }
+
+    /**
+     * Name used to qualify the root table's columns: its alias, else its quoted name.
+     */
+    private String rootQualifier(SqlDialect dialect) {
+        return nonNull(fromTable.getAlias()) ? fromTable.getAlias() : dialect.quoteIdentifier(fromTable.getName());
+    }
+
+    /**
+     * LEFT JOIN of a join-fetched relation, excluding soft-deleted related rows.
+     */
+    private String joinFetchClause(Relation<?, ?> relation, String alias, SqlDialect dialect) {
+        Table<?> related = relation.getRelatedTable();
+        String root = rootQualifier(dialect);
+        String on = relation.getType() == Relation.Type.BELONGS_TO
+                ? alias + "." + dialect.quoteIdentifier(relation.getRelatedKey()) + " = " + root + "." + dialect.quoteIdentifier(relation.getForeignKey())
+                : alias + "." + dialect.quoteIdentifier(relation.getForeignKey()) + " = " + root + "." + dialect.quoteIdentifier(relation.getLocalKey());
+        SoftDeletes softDeletes = related.getEntityType().getAnnotation(SoftDeletes.class);
+        if (nonNull(softDeletes)) {
+            on += " AND " + alias + "." + dialect.quoteIdentifier(softDeletes.column()) + " IS NULL";
+        }
+        String table = nonNull(related.getSchema()) && !related.getSchema().isEmpty()
+                ? dialect.quoteIdentifier(related.getSchema()) + "." + dialect.quoteIdentifier(related.getName())
+                : dialect.quoteIdentifier(related.getName());
+        return "LEFT JOIN " + table + " " + alias + " ON " + on;
+    }
+
+    private void appendJoins(StringBuilder sql, SqlDialect dialect, ParameterContext paramContext) {
+        for (JoinClause join : joins) {
+            if (join.type() == JoinType.RAW) {
+                // Raw join - the predicate contains the full join SQL
+                sql.append(" ").append(join.on().toSql(dialect, paramContext));
+            } else {
+                sql.append(" ").append(join.type().getSql())
+                        .append(" ").append(join.table().toSql(dialect))
+                        .append(" ON ").append(join.on().toSql(dialect, paramContext));
+            }
+        }
+    }
+
+    // ==================== GROUPED AGGREGATES ====================
+
+    // Alias prefix of grouped aggregate tables, and the owner key column they expose
+    private static final String AGGREGATE_ALIAS_PREFIX = "suprim_a";
+    private static final String AGGREGATE_KEY = "suprim_key";
+
+    /**
+     * Relation aggregates rendered as grouped joins, mapped to their derived table alias.
+     * Aggregates over the same relation and constraint share one table.
+     */
+    private Map<SelectItem.SubqueryItem, String> aggregateJoins() {
+        Map<SelectItem.SubqueryItem, String> joined = new IdentityHashMap<>();
+        if (aggregateStrategy != AggregateStrategy.GROUPED_JOIN || isNull(fromTable)
+                || !groupByItems.isEmpty() || nonNull(havingClause) || !setOperations.isEmpty()) {
+            return joined;
+        }
+        boolean paged = isPaged();
+        List<SelectItem.SubqueryItem> tables = new ArrayList<>();
+        for (SelectItem item : selectItems) {
+            if (!(item instanceof SelectItem.SubqueryItem subquery) || isNull(subquery.relation().getAggregateGroupColumn())) {
+                continue;
+            }
+            // Without a total order the page subquery may pick other owners than the outer query
+            if (paged && !isTotallyOrdered(subquery.relation())) {
+                continue;
+            }
+            SelectItem.SubqueryItem first = tables.stream()
+                    .filter(table -> table.relation().equals(subquery.relation()) && table.constraint() == subquery.constraint())
+                    .findFirst()
+                    .orElse(null);
+            if (isNull(first)) {
+                first = subquery;
+                tables.add(subquery);
+            }
+            joined.put(subquery, AGGREGATE_ALIAS_PREFIX + tables.indexOf(first));
+        }
+        return joined;
+    }
+
+    /**
+     * LEFT JOIN of one relation's aggregates, grouped by owner key and restricted to the
+     * owners this query selects.
+     */
+    private String aggregateJoinClause(List<SelectItem.SubqueryItem> items, String alias, SqlDialect dialect,
+                                       ParameterContext paramContext) {
+        SelectItem.SubqueryItem first = items.get(0);
+        Relation<?, ?> relation = first.relation();
+        String groupColumn = relation.getAggregateGroupColumn();
+        String ownerKey = first.ownerTableName() + "." + relation.getAggregateOwnerKey();
+
+        StringBuilder sql = new StringBuilder("LEFT JOIN (SELECT ").append(groupColumn).append(" AS ").append(AGGREGATE_KEY);
+        for (SelectItem.SubqueryItem item : items) {
+            String column = item.groupedColumnSql();
+            if (nonNull(column)) {
+                sql.append(", ").append(column);
+            }
+        }
+        sql.append(" FROM ").append(relation.getExistsFromTable());
+        String pivotJoin = relation.getPivotJoinForExists();
+        if (nonNull(pivotJoin)) {
+            sql.append(" ").append(pivotJoin);
+        }
+
+        List<String> conditions = new ArrayList<>();
+        String pageFilter = pageKeys(ownerKey, dialect, paramContext);
+        if (nonNull(pageFilter)) {
+            conditions.add(groupColumn + " IN (" + pageFilter + ")");
+        }
+        if (nonNull(relation.getAggregateTypeCondition())) {
+            conditions.add(relation.getAggregateTypeCondition());
+        }
+        String constraint = first.constraintSql(dialect);
+        if (nonNull(constraint)) {
+            conditions.add(constraint);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" GROUP BY ").append(groupColumn).append(") ").append(alias)
+                .append(" ON ").append(alias).append(".").append(AGGREGATE_KEY).append(" = ").append(ownerKey);
+        return sql.toString();
+    }
+
+    private boolean isPaged() {
+        return nonNull(limit) || (nonNull(offset) && offset > 0);
+    }
+
+    /**
+     * Check whether the ORDER BY includes a unique key of the root table: its @Id column or,
+     * for relations keyed on the owner's side, the key the related rows reference. Only then
+     * does repeating ORDER BY, LIMIT and OFFSET in a subquery select the same owners.
+     */
+    private boolean isTotallyOrdered(Relation<?, ?> relation) {
+        Set<String> uniqueKeys = new HashSet<>();
+        IdMetadata.Info id = nonNull(fromTable.getEntityType()) ? IdMetadata.get(fromTable.getEntityType()) : null;
+        if (nonNull(id)) {
+            uniqueKeys.add(id.columnName());
+        }
+        if (relation.getType() != Relation.Type.BELONGS_TO) {
+            uniqueKeys.add(relation.getAggregateOwnerKey());
+        }
+        return orderSpecs.stream()
+                .map(OrderSpec::column)
+                .anyMatch(column -> nonNull(column) && nonNull(column.getTable())
+                        && fromTable.getName().equals(column.getTable().getName())
+                        && uniqueKeys.contains(column.getName()));
+    }
+
+    /**
+     * Subquery of the owner keys this query selects, or null when it selects every row.
+     * A LIMIT is wrapped in a derived table since MySQL rejects LIMIT inside IN. Paged
+     * queries only get here when {@link #isTotallyOrdered} holds.
+     */
+    private String pageKeys(String ownerKey, SqlDialect dialect, ParameterContext paramContext) {
+        boolean paged = isPaged();
+        if (isNull(whereClause) && !paged) {
+            return null;
+        }
+        StringBuilder sql = new StringBuilder("SELECT ").append(ownerKey).append(" AS ").append(AGGREGATE_KEY)
+                .append(" FROM ").append(fromTable.toSql(dialect));
+        appendJoins(sql, dialect, paramContext);
+        if (nonNull(whereClause)) {
+            sql.append(" WHERE ").append(whereClause.toSql(dialect, paramContext));
+        }
+        if (!paged) {
+            return sql.toString();
+        }
+        if (!orderSpecs.isEmpty()) {
+            sql.append(" ORDER BY ").append(orderSpecs.stream()
+                    .map(o -> o.toSql(dialect))
+                    .collect(Collectors.joining(", ")));
+        }
+        if (nonNull(limit)) {
+            sql.append(" LIMIT ").append(limit);
+        }
+        if (nonNull(offset) && offset > 0) {
+            sql.append(" OFFSET ").append(offset);
+        }
+        return "SELECT " + AGGREGATE_KEY + " FROM (" + sql + ") suprim_page";
+    }
+
     /**
      * Exclude default eager loads specified in @Entity(with = {...}).
      * Use this to skip specific relations that would normally be auto-loaded.
@@ -1638,15 +2042,31 @@ public final class SelectBuilder {
 
         // SELECT
         sql.append("SELECT ");
-        if (distinct) {
+        if (nonNull(distinctOn)) {
+            sql.append(dialect.distinctOn(distinctOn)).append(" ");
+        } else if (distinct) {
             sql.append("DISTINCT ");
         }
 
-        if (selectItems.isEmpty()) {
+        List<EagerLoadSpec> joinFetches = joinFetches();
+        Map<SelectItem.SubqueryItem, String> aggregateJoins = aggregateJoins();
+        if (selectItems.isEmpty() && !joinFetches.isEmpty()) {
+            // Qualify the root columns so they do not collide with the joined ones
+            sql.append(rootQualifier(dialect)).append(".*");
+            for (int i = 0; i < joinFetches.size(); i++) {
+                String alias = EagerLoadSpec.joinAlias(i);
+                for (String column : Suprim.columns(joinFetches.get(i).relation().getRelatedTable().getEntityType())) {
+                    sql.append(", ").append(alias).append(".").append(dialect.quoteIdentifier(column))
+                            .append(" AS ").append(alias).append("__").append(column.toLowerCase());
+                }
+            }
+        } else if (selectItems.isEmpty()) {
             sql.append("*");
         } else {
             sql.append(selectItems.stream()
-                    .map(item -> item.toSql(dialect))
+                    .map(item -> item instanceof SelectItem.SubqueryItem subquery && aggregateJoins.containsKey(subquery)
+                            ? subquery.groupedSql(aggregateJoins.get(subquery), AGGREGATE_KEY)
+                            : item.toSql(dialect))
                     .collect(Collectors.joining(", ")));
         }
 
@@ -1656,14 +2076,21 @@ public final class SelectBuilder {
         }
 
         // JOINs (use parameterized predicates)
-        for (JoinClause join : joins) {
-            if (join.type() == JoinType.RAW) {
-                // Raw join - the predicate contains the full join SQL
-                sql.append(" ").append(join.on().toSql(dialect, paramContext));
-            } else {
-                sql.append(" ").append(join.type().getSql())
-                        .append(" ").append(join.table().toSql(dialect))
-                        .append(" ON ").append(join.on().toSql(dialect, paramContext));
+        appendJoins(sql, dialect, paramContext);
+
+        // LEFT JOINs of grouped relation aggregates
+        for (String joinAlias : new LinkedHashSet<>(aggregateJoins.values())) {
+            List<SelectItem.SubqueryItem> items = aggregateJoins.entrySet().stream()
+                    .filter(entry -> entry.getValue().equals(joinAlias))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            sql.append(" ").append(aggregateJoinClause(items, joinAlias, dialect, paramContext));
+        }
+
+        // LEFT JOINs of join-fetched to-one relations
+        if (selectItems.isEmpty()) {
+            for (int i = 0; i < joinFetches.size(); i++) {
+                sql.append(" ").append(joinFetchClause(joinFetches.get(i).relation(), EagerLoadSpec.joinAlias(i), dialect));
             }
         }
 
@@ -1726,7 +2153,7 @@ public final class SelectBuilder {
         Map<String, Object> allParams = new LinkedHashMap<>(parameters);
         allParams.putAll(paramContext.getParameters());
 
-        return new QueryResult(sql.toString(), allParams, new ArrayList<>(eagerLoads), softDeleteScope);
+        return new QueryResult(sql.toString(), allParams, new ArrayList<>(eagerLoads), softDeleteScope, cacheTtl, timeout);
     }
 
     private String nextParamName() {
@@ -185,17 +185,61 @@ public sealed interface SelectItem permits SelectItem.ColumnItem, SelectItem.Ali
             sql.append(" WHERE ").append(relation.getExistsCondition(ownerTableName));
 
             // Apply additional constraints
+            String constraintSql = constraintSql(dialect);
+            if (Objects.nonNull(constraintSql)) {
+                sql.append(" AND ").append(constraintSql);
+            }
+
+            sql.append(") AS ").append(alias);
+            return sql.toString();
+        }
+
+        /**
+         * Render the constraint's WHERE clause.
+         *
+         * @return the condition, or null without constraint
+         */
+        String constraintSql(SqlDialect dialect) {
             if (Objects.nonNull(constraint)) {
                 SelectBuilder subBuilder = new SelectBuilder(java.util.List.of());
                 subBuilder = constraint.apply(subBuilder);
                 Predicate whereClause = subBuilder.getWhereClause();
                 if (Objects.nonNull(whereClause)) {
-                    sql.append(" AND ").append(whereClause.toSql(dialect));
+                    return whereClause.toSql(dialect);
                 }
             }
+            return null;
+        }
 
-            sql.append(") AS ").append(alias);
-            return sql.toString();
+        /**
+         * Render the aggregate as a column of a grouped derived table.
+         *
+         * @return e.g. {@code COUNT(*) AS posts_count}, or null for EXISTS which needs no column
+         */
+        String groupedColumnSql() {
+            return switch (subqueryType) {
+                case EXISTS -> null;
+                case COUNT -> "COUNT(*) AS " + alias;
+                case SUM -> "SUM(" + column.getName() + ") AS " + alias;
+                case MAX -> "MAX(" + column.getName() + ") AS " + alias;
+                case MIN -> "MIN(" + column.getName() + ") AS " + alias;
+                case AVG -> "AVG(" + column.getName() + ") AS " + alias;
+            };
+        }
+
+        /**
+         * Render the select item reading the aggregate from a grouped derived table.
+         * Owners without related rows have no row in that table.
+         *
+         * @param joinAlias alias of the derived table
+         * @param keyColumn the derived table's owner key column
+         */
+        String groupedSql(String joinAlias, String keyColumn) {
+            return switch (subqueryType) {
+                case EXISTS -> "(" + joinAlias + "." + keyColumn + " IS NOT NULL) AS " + alias;
+                case COUNT -> "COALESCE(" + joinAlias + "." + alias + ", 0) AS " + alias;
+                case SUM, MAX, MIN, AVG -> joinAlias + "." + alias + " AS " + alias;
+            };
         }
     }
 
@@ -13,8 +13,10 @@ import java.io.Serializable;
 import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -50,6 +52,7 @@ public final class Suprim {
 
     private static final Map<Class<?>, Entity> entityCache = new ConcurrentHashMap<>();
     private static final Map<String, String> columnCache = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, List<String>> columnsCache = new ConcurrentHashMap<>();
 
     private Suprim() {
         // Utility class
@@ -112,6 +115,28 @@ public final class Suprim {
         });
     }
 
+    /**
+     * Get the mapped columns of an entity class: every {@code @Column} field,
+     * subclass fields first, then inherited ones.
+     *
+     * @param entityClass class annotated with @Entity
+     * @return column names, empty if the class has no @Column fields
+     */
+    public static List<String> columns(Class<?> entityClass) {
+        return columnsCache.computeIfAbsent(entityClass, type -> {
+            List<String> columns = new ArrayList<>();
+            for (Class<?> current = type; nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    Column col = field.getAnnotation(Column.class);
+                    if (nonNull(col)) {
+                        columns.add(col.name().isEmpty() ? Casey.toSnakeCase(field.getName()) : col.name());
+                    }
+                }
+            }
+            return List.copyOf(columns);
+        });
+    }
+
     /**
      * Get column type for a field in entity class.
      *
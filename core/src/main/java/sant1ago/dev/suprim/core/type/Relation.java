@@ -437,7 +437,8 @@ public final class Relation<T, R> {
             String morphTypeColumn,
             String morphIdColumn,
             String localKey,
-            boolean eager
+            boolean eager,
+            String fieldName
     ) {
         return new Builder<>(Type.MORPH_ONE, ownerTable, relatedTable)
                 .localKey(localKey)
@@ -445,9 +446,22 @@ public final class Relation<T, R> {
                 .morphName(morphName)
                 .morphTypeColumn(morphTypeColumn)
                 .morphIdColumn(morphIdColumn)
+                .fieldName(fieldName)
                 .build();
     }
 
+    public static <T, R> Relation<T, R> morphOne(
+            Table<T> ownerTable,
+            Table<R> relatedTable,
+            String morphName,
+            String morphTypeColumn,
+            String morphIdColumn,
+            String localKey,
+            boolean eager
+    ) {
+        return morphOne(ownerTable, relatedTable, morphName, morphTypeColumn, morphIdColumn, localKey, eager, null);
+    }
+
     /**
      * Create a MORPH_MANY relationship.
      * Post morphMany Comments (comments.commentable_type = 'Post', comments.commentable_id = posts.id)
@@ -459,7 +473,8 @@ public final class Relation<T, R> {
             String morphTypeColumn,
             String morphIdColumn,
             String localKey,
-            boolean eager
+            boolean eager,
+            String fieldName
     ) {
         return new Builder<>(Type.MORPH_MANY, ownerTable, relatedTable)
                 .localKey(localKey)
@@ -467,9 +482,22 @@ public final class Relation<T, R> {
                 .morphName(morphName)
                 .morphTypeColumn(morphTypeColumn)
                 .morphIdColumn(morphIdColumn)
+                .fieldName(fieldName)
                 .build();
     }
 
+    public static <T, R> Relation<T, R> morphMany(
+            Table<T> ownerTable,
+            Table<R> relatedTable,
+            String morphName,
+            String morphTypeColumn,
+            String morphIdColumn,
+            String localKey,
+            boolean eager
+    ) {
+        return morphMany(ownerTable, relatedTable, morphName, morphTypeColumn, morphIdColumn, localKey, eager, null);
+    }
+
     /**
      * Create a MORPH_TO relationship.
      * Image morphTo imageable (imageable_type VARCHAR, imageable_id BIGINT)
@@ -479,7 +507,8 @@ public final class Relation<T, R> {
             String morphName,
             String morphTypeColumn,
             String morphIdColumn,
-            boolean eager
+            boolean eager,
+            String fieldName
     ) {
         Table<Object> relatedTable = TypeUtils.castTable(ownerTable);
         return new Builder<>(Type.MORPH_TO, ownerTable, relatedTable)
@@ -487,9 +516,20 @@ public final class Relation<T, R> {
                 .morphName(morphName)
                 .morphTypeColumn(morphTypeColumn)
                 .morphIdColumn(morphIdColumn)
+                .fieldName(fieldName)
                 .build();
     }
 
+    public static <T> Relation<T, Object> morphTo(
+            Table<T> ownerTable,
+            String morphName,
+            String morphTypeColumn,
+            String morphIdColumn,
+            boolean eager
+    ) {
+        return morphTo(ownerTable, morphName, morphTypeColumn, morphIdColumn, eager, null);
+    }
+
     /**
      * Create a MORPH_TO_MANY relationship.
      * Post morphToMany Tags (taggables: taggable_type, taggable_id, tag_id)
@@ -506,7 +546,8 @@ public final class Relation<T, R> {
             String relatedKey,
             List<String> pivotColumns,
             boolean pivotTimestamps,
-            boolean eager
+            boolean eager,
+            String fieldName
     ) {
         return new Builder<>(Type.MORPH_TO_MANY, ownerTable, relatedTable)
                 .pivotTable(pivotTable)
@@ -519,9 +560,28 @@ public final class Relation<T, R> {
                 .morphName(morphName)
                 .morphTypeColumn(morphTypeColumn)
                 .morphIdColumn(morphIdColumn)
+                .fieldName(fieldName)
                 .build();
     }
 
+    public static <T, R> Relation<T, R> morphToMany(
+            Table<T> ownerTable,
+            Table<R> relatedTable,
+            String pivotTable,
+            String morphName,
+            String morphTypeColumn,
+            String morphIdColumn,
+            String relatedPivotKey,
+            String localKey,
+            String relatedKey,
+            List<String> pivotColumns,
+            boolean pivotTimestamps,
+            boolean eager
+    ) {
+        return morphToMany(ownerTable, relatedTable, pivotTable, morphName, morphTypeColumn, morphIdColumn,
+                relatedPivotKey, localKey, relatedKey, pivotColumns, pivotTimestamps, eager, null);
+    }
+
     /**
      * Create a MORPHED_BY_MANY relationship (inverse of MorphToMany).
      * Tag morphedByMany Posts (taggables: tag_id, taggable_type, taggable_id)
@@ -538,6 +598,7 @@ public final class Relation<T, R> {
      * @param pivotColumns       additional pivot columns
      * @param pivotTimestamps    whether pivot has timestamps
      * @param eager              whether to eager load
+     * @param fieldName          field name for reference
      */
     public static <T, R> Relation<T, R> morphedByMany(
             Table<T> ownerTable,
@@ -551,7 +612,8 @@ public final class Relation<T, R> {
             String relatedKey,
             List<String> pivotColumns,
             boolean pivotTimestamps,
-            boolean eager
+            boolean eager,
+            String fieldName
     ) {
         return new Builder<>(Type.MORPHED_BY_MANY, ownerTable, relatedTable)
                 .pivotTable(pivotTable)
@@ -564,9 +626,28 @@ public final class Relation<T, R> {
                 .morphName(morphName)
                 .morphTypeColumn(morphTypeColumn)
                 .morphIdColumn(morphIdColumn)
+                .fieldName(fieldName)
                 .build();
     }
 
+    public static <T, R> Relation<T, R> morphedByMany(
+            Table<T> ownerTable,
+            Table<R> relatedTable,
+            String pivotTable,
+            String morphName,
+            String morphTypeColumn,
+            String morphIdColumn,
+            String foreignPivotKey,
+            String localKey,
+            String relatedKey,
+            List<String> pivotColumns,
+            boolean pivotTimestamps,
+            boolean eager
+    ) {
+        return morphedByMany(ownerTable, relatedTable, pivotTable, morphName, morphTypeColumn, morphIdColumn,
+                foreignPivotKey, localKey, relatedKey, pivotColumns, pivotTimestamps, eager, null);
+    }
+
     /**
      * Create a LATEST_OF_MANY relationship.
      * User latestOfMany Order (orders.user_id → users.id, ORDER BY created_at DESC LIMIT 1)
@@ -882,6 +963,51 @@ public final class Relation<T, R> {
         };
     }
 
+    /**
+     * Get the column of the subquery tables that {@link #getExistsCondition(String)} matches
+     * against the owner, for aggregating all owners at once with GROUP BY.
+     *
+     * @return qualified column, or null for MorphTo whose related table varies per row
+     */
+    public String getAggregateGroupColumn() {
+        return switch (type) {
+            case HAS_ONE, HAS_MANY, LATEST_OF_MANY, OLDEST_OF_MANY, OF_MANY -> relatedTable.getName() + "." + foreignKey;
+            case BELONGS_TO -> relatedTable.getName() + "." + relatedKey;
+            case BELONGS_TO_MANY, MORPHED_BY_MANY -> pivotTable + "." + foreignPivotKey;
+            case HAS_ONE_THROUGH, HAS_MANY_THROUGH -> throughTable.getName() + "." + firstKey;
+            case MORPH_ONE, MORPH_MANY -> relatedTable.getName() + "." + morphIdColumn;
+            case MORPH_TO_MANY -> pivotTable + "." + morphIdColumn;
+            case MORPH_TO -> null;
+        };
+    }
+
+    /**
+     * Get the owner column matched by {@link #getAggregateGroupColumn()}.
+     *
+     * @return the foreign key for BelongsTo, the local key otherwise
+     */
+    public String getAggregateOwnerKey() {
+        return type == Type.BELONGS_TO ? foreignKey : localKey;
+    }
+
+    /**
+     * Get the morph type part of {@link #getExistsCondition(String)}, which does not
+     * depend on the owner row.
+     *
+     * @return the type condition for polymorphic relations, null otherwise
+     */
+    public String getAggregateTypeCondition() {
+        return switch (type) {
+            case MORPH_ONE, MORPH_MANY ->
+                relatedTable.getName() + "." + morphTypeColumn + " = '" + ownerTable.getEntityType().getSimpleName() + "'";
+            case MORPH_TO_MANY ->
+                pivotTable + "." + morphTypeColumn + " = '" + ownerTable.getEntityType().getSimpleName() + "'";
+            case MORPHED_BY_MANY ->
+                pivotTable + "." + morphTypeColumn + " = '" + relatedTable.getEntityType().getSimpleName() + "'";
+            default -> null;
+        };
+    }
+
     /**
      * Get the table name to use in EXISTS subquery FROM clause.
      */
@@ -24,6 +24,8 @@ class DialectTest {
         assertTrue(caps.supportsNowait());
         assertTrue(caps.supportsFilterClause());
         assertTrue(caps.supportsDistinctOn());
+        assertTrue(caps.supportsWindowFunctions());
+        assertTrue(caps.supportsLateral());
         assertTrue(caps.supportsVector());
     }
 
@@ -40,6 +42,8 @@ class DialectTest {
         assertFalse(caps.supportsNowait());
         assertFalse(caps.supportsFilterClause());
         assertFalse(caps.supportsDistinctOn());
+        assertFalse(caps.supportsWindowFunctions());
+        assertFalse(caps.supportsLateral());
         assertFalse(caps.supportsVector());
     }
 
@@ -56,6 +60,8 @@ class DialectTest {
         assertTrue(caps.supportsNowait());
         assertFalse(caps.supportsFilterClause());
         assertFalse(caps.supportsDistinctOn());
+        assertTrue(caps.supportsWindowFunctions());
+        assertTrue(caps.supportsLateral());
         assertFalse(caps.supportsVector());
     }
 
@@ -75,6 +81,8 @@ class DialectTest {
         assertFalse(caps.supportsJsonb());
         assertFalse(caps.supportsFilterClause());
         assertFalse(caps.supportsDistinctOn());
+        assertTrue(caps.supportsWindowFunctions());
+        assertFalse(caps.supportsLateral());
         assertFalse(caps.supportsVector());
     }
 
@@ -104,6 +104,12 @@ class MySqlDialectTest {
         assertEquals("JSON_CONTAINS_PATH(data, 'one', '$.name')", dialect.jsonKeyExists("data", "name"));
     }
 
+    @Test
+    void sortsNullsFirst_unlikePostgres() {
+        assertTrue(dialect.sortsNullsFirst());
+        assertFalse(PostgreSqlDialect.INSTANCE.sortsNullsFirst());
+    }
+
     @Test
     void instance_isSingleton() {
         assertSame(MySqlDialect.INSTANCE, MySqlDialect.INSTANCE);
@@ -1,7 +1,9 @@
 package sant1ago.dev.suprim.core.query;
 
 import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
 import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.core.type.OrderSpec;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.core.type.Table;
 
@@ -24,6 +26,12 @@ class EagerLoadSpecTest {
     @Entity(table = "comments")
     static class Comment {}
 
+    @Entity(table = "profiles")
+    static class Profile {
+        @Column(name = "user_id", unique = true)
+        private Long userId;
+    }
+
     private static final Table<User> USERS = Table.of("users", User.class);
     private static final Table<Post> POSTS = Table.of("posts", Post.class);
     private static final Table<Comment> COMMENTS = Table.of("comments", Comment.class);
@@ -56,6 +64,59 @@ class EagerLoadSpecTest {
         assertTrue(spec.nested().isEmpty());
     }
 
+    @Test
+    void testOfWithPerParentLimit() {
+        EagerLoadSpec spec = EagerLoadSpec.of(USER_POSTS, 5, OrderSpec.raw("created_at DESC"));
+
+        assertTrue(spec.hasPerParentLimit());
+        assertEquals(5, spec.perParentLimit());
+        assertEquals(List.of(OrderSpec.raw("created_at DESC")), spec.perParentOrder());
+        assertFalse(spec.hasConstraint());
+        assertTrue(spec.toString().contains("perParentLimit=5"));
+    }
+
+    @Test
+    void testOfWithoutPerParentLimit() {
+        assertFalse(EagerLoadSpec.of(USER_POSTS).hasPerParentLimit());
+    }
+
+    @Test
+    void testOfWithPerParentLimitRejectsInvalidArguments() {
+        OrderSpec order = OrderSpec.raw("id");
+        Relation<Post, User> author = Relation.belongsTo(POSTS, USERS, "user_id", "id", false, false, "author");
+
+        assertThrows(IllegalArgumentException.class, () -> EagerLoadSpec.of(USER_POSTS, 0, order));
+        assertThrows(IllegalArgumentException.class, () -> EagerLoadSpec.of(USER_POSTS, 5));
+        assertThrows(IllegalArgumentException.class, () -> EagerLoadSpec.of(author, 5, order));
+    }
+
+    @Test
+    void testJoinedToOne() {
+        Relation<Post, User> author = Relation.belongsTo(POSTS, USERS, "user_id", "id", false, false, "author");
+
+        EagerLoadSpec spec = EagerLoadSpec.joined(author);
+
+        assertTrue(spec.isJoinFetch());
+        assertFalse(EagerLoadSpec.of(author).isJoinFetch());
+        assertTrue(spec.toString().contains("fetch=JOIN"));
+        assertEquals("suprim_j2", EagerLoadSpec.joinAlias(2));
+    }
+
+    @Test
+    void testJoinedHasOne_joinsOnlyUniqueForeignKey() {
+        Table<Profile> profiles = Table.of("profiles", Profile.class);
+        Relation<User, Profile> profile = Relation.hasOne(USERS, profiles, "user_id", "id", false, false, "profile");
+        Relation<User, Post> anyPost = Relation.hasOne(USERS, POSTS, "user_id", "id", false, false, "post");
+
+        assertTrue(EagerLoadSpec.joined(profile).isJoinFetch());
+        assertFalse(EagerLoadSpec.joined(anyPost).isJoinFetch());
+    }
+
+    @Test
+    void testJoinedRejectsToMany() {
+        assertThrows(IllegalArgumentException.class, () -> EagerLoadSpec.joined(USER_POSTS));
+    }
+
     // ==================== with() methods ====================
 
     @Test
@@ -80,7 +141,7 @@ class EagerLoadSpecTest {
 
     @Test
     void testWithMultipleNestedRelations() {
-        Relation<Post, User> postAuthor = Relation.belongsTo(POSTS, USERS, "user_id", "id", false, false);
+        Relation<Post, User> postAuthor = Relation.belongsTo(POSTS, USERS, "user_id", "id", false, false, "author");
 
         EagerLoadSpec spec = EagerLoadSpec.of(USER_POSTS)
                 .with(POST_COMMENTS)
@@ -9,8 +9,10 @@ import sant1ago.dev.suprim.core.dialect.MySqlDialect;
 import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
 import sant1ago.dev.suprim.core.dialect.UnsupportedDialectFeatureException;
 import sant1ago.dev.suprim.core.type.OrderDirection;
+import sant1ago.dev.suprim.core.type.OrderSpec;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.core.type.Table;
+import sant1ago.dev.suprim.annotation.entity.Column;
 import sant1ago.dev.suprim.annotation.entity.Entity;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +58,22 @@ class SelectBuilderTest {
         assertEquals("SELECT DISTINCT users.\"email\" FROM \"users\"", result.sql());
     }
 
+    @Test
+    @DisplayName("SELECT DISTINCT ON keeps CTEs ahead of the SELECT")
+    void testSelectDistinctOn() {
+        SelectBuilder builder = Suprim.select(TestUser_.EMAIL)
+            .from(TestUser_.TABLE)
+            .distinctOn("email")
+            .orderBy(OrderSpec.raw("email"), OrderSpec.raw("id DESC"));
+
+        assertEquals("SELECT DISTINCT ON (email) users.\"email\" FROM \"users\" ORDER BY email, id DESC",
+            builder.build().sql());
+        assertTrue(builder.copy().with("recent", "SELECT 1").build().sql()
+            .startsWith("WITH recent AS (SELECT 1) SELECT DISTINCT ON (email) "));
+        assertThrows(UnsupportedDialectFeatureException.class, () ->
+            builder.build(MySqlDialect.INSTANCE));
+    }
+
     // ==================== WHERE CONDITIONS ====================
 
     @Test
@@ -312,6 +330,25 @@ class SelectBuilderTest {
         assertTrue(sql.contains("OFFSET 20"));
     }
 
+    @Test
+    @DisplayName("copy() is independent of the original builder")
+    void testCopy() {
+        SelectBuilder original = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .where(TestUser_.EMAIL.eq("test@example.com"))
+            .orderBy(TestUser_.ID.asc())
+            .limit(10);
+        String expected = original.build().sql();
+
+        QueryResult copied = original.copy().limit(30).offset(0).build();
+
+        assertEquals(expected.replace("LIMIT 10", "LIMIT 30"), copied.sql());
+        assertEquals("test@example.com", copied.parameters().get("p1"));
+        assertEquals(10, original.getLimit());
+        assertNull(original.getOffset());
+        assertEquals(expected, original.build().sql());
+    }
+
     @Test
     @DisplayName("Pagination helper (page 1)")
     void testPaginatePage1() {
@@ -1394,6 +1431,54 @@ class SelectBuilderTest {
         assertNotNull(builder.getWhereClause());
     }
 
+    @Entity(table = "authors")
+    static class JoinAuthor {
+        @Column(name = "id")
+        private Long id;
+        @Column(name = "name")
+        private String name;
+    }
+
+    @Entity(table = "articles")
+    static class JoinArticle {
+        @Column(name = "id")
+        private Long id;
+        @Column(name = "author_id")
+        private Long authorId;
+    }
+
+    private static final Table<JoinAuthor> JOIN_AUTHORS = Table.of("authors", JoinAuthor.class);
+    private static final Table<JoinArticle> JOIN_ARTICLES = Table.of("articles", JoinArticle.class);
+    private static final Relation<JoinArticle, JoinAuthor> ARTICLE_AUTHOR = Relation.belongsTo(
+        JOIN_ARTICLES, JOIN_AUTHORS, "author_id", "id", false, false, "author"
+    );
+
+    @Test
+    @DisplayName("withJoin selects prefixed related columns through a LEFT JOIN")
+    void testWithJoinBelongsTo() {
+        QueryResult result = Suprim.selectAll()
+            .from(JOIN_ARTICLES)
+            .withJoin(ARTICLE_AUTHOR)
+            .build();
+
+        assertEquals("SELECT \"articles\".*, suprim_j0.\"id\" AS suprim_j0__id, suprim_j0.\"name\" AS suprim_j0__name"
+            + " FROM \"articles\" LEFT JOIN \"authors\" suprim_j0 ON suprim_j0.\"id\" = \"articles\".\"author_id\"",
+            result.sql());
+        assertTrue(result.eagerLoads().get(0).isJoinFetch());
+    }
+
+    @Test
+    @DisplayName("withJoin with a custom select list leaves the SQL unchanged")
+    void testWithJoinCustomSelectNoJoin() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withJoin(TestUser_.LATEST_ORDER)
+            .build();
+
+        assertFalse(result.sql().contains("LEFT JOIN"));
+        assertEquals(1, result.eagerLoads().size());
+    }
+
     // ==================== RELATIONSHIP QUERY METHODS ====================
 
     @Test
@@ -1617,6 +1702,100 @@ class SelectBuilderTest {
         assertTrue(result.sql().contains("EXISTS"));
     }
 
+    @Test
+    @DisplayName("GROUPED_JOIN renders aggregates of one relation in a single derived table")
+    void testGroupedJoinAggregates() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withCount(TestUser_.ORDERS)
+            .withSum(TestUser_.ORDERS, TestOrder_.AMOUNT, "total_amount")
+            .withExists(TestUser_.ORDERS, "has_orders")
+            .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+            .build();
+
+        assertEquals("SELECT users.\"id\", COALESCE(suprim_a0.orders_count, 0) AS orders_count, "
+                + "suprim_a0.total_amount AS total_amount, (suprim_a0.suprim_key IS NOT NULL) AS has_orders "
+                + "FROM \"users\" LEFT JOIN (SELECT orders.user_id AS suprim_key, COUNT(*) AS orders_count, "
+                + "SUM(amount) AS total_amount FROM orders GROUP BY orders.user_id) suprim_a0 "
+                + "ON suprim_a0.suprim_key = users.id", result.sql());
+    }
+
+    @Test
+    @DisplayName("GROUPED_JOIN restricts child rows to the selected page")
+    void testGroupedJoinRestrictedToPage() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withCount(TestUser_.ORDERS)
+            .where(TestUser_.NAME.eq("x"))
+            .orderBy(TestUser_.ID.asc())
+            .limit(20)
+            .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+            .build();
+
+        assertTrue(result.sql().contains("WHERE orders.user_id IN (SELECT suprim_key FROM (SELECT users.id AS suprim_key "
+                + "FROM \"users\" WHERE users.\"name\" = :p1 ORDER BY users.\"id\" ASC LIMIT 20) suprim_page)"));
+        assertTrue(result.sql().endsWith("WHERE users.\"name\" = :p2 ORDER BY users.\"id\" ASC LIMIT 20"));
+        assertEquals(2, result.parameters().size());
+    }
+
+    @Test
+    @DisplayName("GROUPED_JOIN keeps correlated subqueries for a LIMIT without ORDER BY")
+    void testGroupedJoinFallsBackWithoutOrderBy() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withCount(TestUser_.ORDERS)
+            .limit(20)
+            .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+            .build();
+
+        assertTrue(result.sql().contains("(SELECT COUNT(*) FROM orders WHERE"));
+        assertFalse(result.sql().contains("suprim_a0"));
+    }
+
+    @Test
+    @DisplayName("GROUPED_JOIN keeps correlated subqueries for a LIMIT ordered by a non-unique column")
+    void testGroupedJoinFallsBackWithNonUniqueOrderBy() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withCount(TestUser_.ORDERS)
+            .orderBy(TestUser_.NAME.asc())
+            .limit(20)
+            .offset(40)
+            .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+            .build();
+
+        assertTrue(result.sql().contains("(SELECT COUNT(*) FROM orders WHERE"));
+        assertFalse(result.sql().contains("suprim_page"));
+    }
+
+    @Test
+    @DisplayName("GROUPED_JOIN uses a separate derived table per constraint")
+    void testGroupedJoinSeparateTablePerConstraint() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withCount(TestUser_.ORDERS)
+            .withCount(TestUser_.ORDERS, orders -> orders.where(TestOrder_.STATUS.eq("active")), "active_orders")
+            .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+            .build();
+
+        assertTrue(result.sql().contains("COALESCE(suprim_a1.active_orders, 0) AS active_orders"));
+        assertTrue(result.sql().contains("FROM orders WHERE orders.\"status\" = 'active' GROUP BY orders.user_id) suprim_a1"));
+    }
+
+    @Test
+    @DisplayName("GROUPED_JOIN keeps correlated subqueries for GROUP BY queries")
+    void testGroupedJoinFallsBackWithGroupBy() {
+        QueryResult result = Suprim.select(TestUser_.ID)
+            .from(TestUser_.TABLE)
+            .withCount(TestUser_.ORDERS)
+            .groupBy(TestUser_.ID)
+            .aggregateStrategy(AggregateStrategy.GROUPED_JOIN)
+            .build();
+
+        assertTrue(result.sql().contains("(SELECT COUNT(*) FROM orders WHERE"));
+        assertFalse(result.sql().contains("suprim_a0"));
+    }
+
     // ==================== SUBQUERY ITEM EDGE CASES ====================
 
     // Test entities for BelongsToMany pivot join testing
@@ -0,0 +1,331 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.SelectBuilder;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Asynchronous view of a {@link SuprimExecutor}, returning {@link CompletableFuture}s.
+ *
+ * <p>Obtained with {@link SuprimExecutor#async()}. Useful for fanning out independent reads:
+ *
+ * <pre>{@code
+ * CompletableFuture<Optional<Profile>> profile = executor.async().queryOne(profileQuery, profileMapper);
+ * CompletableFuture<List<String>> permissions = executor.async().query(permissionQuery, rs -> rs.getString(1));
+ * CompletableFuture<Long> unread = executor.async().count(unreadMessages);
+ *
+ * CompletableFuture.allOf(profile, permissions, unread).join();
+ * }</pre>
+ *
+ * <p>Work runs on the executor configured with {@link SuprimExecutor.Builder#async(Executor, int)},
+ * by default virtual threads on JDK 21+ and a daemon thread pool otherwise. At most
+ * {@code maxConcurrency} operations run at once; further submissions wait in a queue without
+ * occupying a thread, so set the limit to the connection pool size. Query events fire as for
+ * synchronous calls, on the worker thread.</p>
+ *
+ * <p>Cancelling a returned future skips the operation if it has not started, and otherwise
+ * calls {@link Statement#cancel()} on its running statement. Futures derived with
+ * {@code thenApply} and friends do not propagate cancellation back to the operation.
+ * Operations run under the {@link Deadline} of the thread that submitted them, so time
+ * spent queued counts against it.</p>
+ *
+ * <p>Operations never join the caller's transaction: each runs on its own connection.</p>
+ */
+public final class AsyncExecutor {
+
+    static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    // Operation running on the current worker thread, for statement cancellation
+    private static final ThreadLocal<Operation<?>> CURRENT = new ThreadLocal<>();
+
+    private final SuprimExecutor executor;
+    private final Executor workers;
+    private final int maxConcurrency;
+    private final Queue<Operation<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    AsyncExecutor(SuprimExecutor executor, Executor workers, int maxConcurrency) {
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.workers = Objects.nonNull(workers) ? workers : defaultWorkers(maxConcurrency);
+    }
+
+    /**
+     * Virtual threads when the runtime has them (JDK 21+), otherwise a daemon pool sized
+     * to the concurrency limit whose threads time out when idle.
+     */
+    private static Executor defaultWorkers(int maxConcurrency) {
+        Optional<ExecutorService> virtualThreads = newVirtualThreadExecutor();
+        if (virtualThreads.isPresent()) {
+            return virtualThreads.get();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "suprim-async-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Create an executor that starts a virtual thread per task. Looked up reflectively, so the
+     * library still runs on JDK 17.
+     *
+     * @return the executor, or empty when the runtime has no virtual threads (before JDK 21)
+     */
+    public static Optional<ExecutorService> newVirtualThreadExecutor() {
+        try {
+            return Optional.of((ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Maximum number of operations running at once.
+     *
+     * @return the concurrency limit
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // ==================== OPERATIONS ====================
+
+    /**
+     * Execute a SELECT query asynchronously.
+     *
+     * @see SuprimExecutor#query(QueryResult, RowMapper)
+     */
+    public <T> CompletableFuture<List<T>> query(QueryResult queryResult, RowMapper<T> mapper) {
+        return submit(e -> e.query(queryResult, mapper));
+    }
+
+    /**
+     * Execute a SELECT query expecting at most one row asynchronously.
+     *
+     * @see SuprimExecutor#queryOne(QueryResult, RowMapper)
+     */
+    public <T> CompletableFuture<Optional<T>> queryOne(QueryResult queryResult, RowMapper<T> mapper) {
+        return submit(e -> e.queryOne(queryResult, mapper));
+    }
+
+    /**
+     * Execute an INSERT, UPDATE or DELETE statement asynchronously.
+     *
+     * @see SuprimExecutor#execute(QueryResult)
+     */
+    public CompletableFuture<Integer> execute(QueryResult queryResult) {
+        return submit(e -> e.execute(queryResult));
+    }
+
+    /**
+     * Count matching rows asynchronously. The builder must not be modified until the future completes.
+     *
+     * @see SuprimExecutor#count(SelectBuilder)
+     */
+    public CompletableFuture<Long> count(SelectBuilder builder) {
+        return submit(e -> e.count(builder));
+    }
+
+    /**
+     * Fetch a page of entities asynchronously. The builder must not be modified until the future completes.
+     *
+     * @see SuprimExecutor#paginate(SelectBuilder, int, int, Class)
+     */
+    public <T> CompletableFuture<PaginatedResult<T>> paginate(SelectBuilder builder, int page, int perPage, Class<T> entityClass) {
+        return submit(e -> e.paginate(builder, page, perPage, entityClass));
+    }
+
+    /**
+     * Batch insert entities asynchronously.
+     *
+     * @see SuprimExecutor#saveAll(List)
+     */
+    public <T> CompletableFuture<List<T>> saveAll(List<T> entities) {
+        return submit(e -> e.saveAll(entities));
+    }
+
+    /**
+     * Run arbitrary work against the executor asynchronously, under the same concurrency
+     * limit and cancellation as the built-in operations.
+     *
+     * @param work the work to run
+     * @param <T>  the result type
+     * @return a future completed with the work's result
+     */
+    public <T> CompletableFuture<T> submit(Function<SuprimExecutor, T> work) {
+        Objects.requireNonNull(work, "work must not be null");
+        Operation<T> operation = new Operation<>(work);
+        pending.add(operation);
+        drain();
+        return operation.future;
+    }
+
+    /**
+     * Start queued operations while below the concurrency limit.
+     */
+    private void drain() {
+        while (!pending.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Operation<?> operation = pending.poll();
+            if (Objects.isNull(operation)) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        operation.run(executor);
+                    } finally {
+                        running.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                running.decrementAndGet();
+                operation.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Check whether the current thread is running an async operation. Work such a thread
+     * submits and then joins may wait for the slot its own operation holds, so run it inline.
+     *
+     * @return true inside an operation on a worker thread
+     */
+    public static boolean inOperation() {
+        return Objects.nonNull(CURRENT.get());
+    }
+
+    /**
+     * Check whether the operation running on the current thread has been cancelled.
+     *
+     * @return true inside an operation whose future was cancelled
+     */
+    static boolean cancelled() {
+        Operation<?> operation = CURRENT.get();
+        return Objects.nonNull(operation) && operation.future.isCancelled();
+    }
+
+    /**
+     * Register the statement about to run on this thread, so cancelling the async
+     * operation can cancel it. No-op outside async operations.
+     */
+    static void track(Statement statement) {
+        Operation<?> operation = CURRENT.get();
+        if (Objects.nonNull(operation)) {
+            operation.track(statement);
+        }
+    }
+
+    /**
+     * A queued or running operation and its cancellable future.
+     */
+    private static final class Operation<T> {
+        private final Function<SuprimExecutor, T> work;
+        private final OperationFuture<T> future = new OperationFuture<>(this);
+        // Deadline of the submitting thread, applied to the operation's statements
+        private final Deadline deadline = Deadline.current().orElse(null);
+        private volatile Statement statement;
+
+        Operation(Function<SuprimExecutor, T> work) {
+            this.work = work;
+        }
+
+        void run(SuprimExecutor executor) {
+            if (future.isDone()) {
+                return;
+            }
+            CURRENT.set(this);
+            try {
+                future.complete(Deadline.within(deadline, () -> work.apply(executor)));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                CURRENT.remove();
+                statement = null;
+            }
+        }
+
+        void track(Statement running) {
+            this.statement = running;
+            if (future.isCancelled()) {
+                // Cancelled before execution: closing makes the upcoming execute fail fast
+                closeQuietly(running);
+            }
+        }
+
+        void cancel() {
+            Statement running = statement;
+            if (Objects.nonNull(running)) {
+                cancelQuietly(running);
+            }
+        }
+
+        private static void cancelQuietly(Statement statement) {
+            try {
+                statement.cancel();
+            } catch (SQLException ignored) {
+                // Statement already finished or driver does not support cancel
+            }
+        }
+
+        private static void closeQuietly(Statement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Nothing to release
+            }
+        }
+    }
+
+    /**
+     * Future whose cancellation reaches the running statement.
+     */
+    private static final class OperationFuture<T> extends CompletableFuture<T> {
+        private final Operation<T> operation;
+
+        OperationFuture(Operation<T> operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                operation.cancel();
+            }
+            return cancelled;
+        }
+    }
+}
@@ -125,6 +125,7 @@ public final class BatchPersistence {
 
         T firstEntity = entities.get(0);
         Class<?> entityClass = firstEntity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -230,8 +231,9 @@ public final class BatchPersistence {
             if (supportsReturning) {
                 // PostgreSQL: use RETURNING clause
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    StatementGuard.guard(ps, sql);
                     setParameters(ps, allParams);
-                    try (ResultSet rs = ps.executeQuery()) {
+                    try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                         int idx = 0;
                         while (rs.next() && idx < entities.size()) {
                             Object generatedId = rs.getObject(1);
@@ -244,8 +246,9 @@ public final class BatchPersistence {
             } else {
                 // MySQL: use RETURN_GENERATED_KEYS
                 try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    StatementGuard.guard(ps, sql);
                     setParameters(ps, allParams);
-                    ps.executeUpdate();
+                    StatementGuard.executeUpdate(ps);
 
                     try (ResultSet rs = ps.getGeneratedKeys()) {
                         int idx = 0;
@@ -287,8 +290,9 @@ public final class BatchPersistence {
         List<Object> allParams = collectParameters(entities, columnMetas, idMeta, false);
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             setParameters(ps, allParams);
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
             return entities;
         } catch (SQLException e) {
             throw new PersistenceException(
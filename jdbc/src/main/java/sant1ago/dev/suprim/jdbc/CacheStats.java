@@ -0,0 +1,41 @@
+package sant1ago.dev.suprim.jdbc;
+
+/**
+ * Point-in-time counters of a cache or cache region.
+ *
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups that had to query the database
+ * @param evictions entries dropped to stay within the size bound
+ * @param size      entries currently cached
+ */
+public record CacheStats(long hits, long misses, long evictions, long size) {
+
+    /**
+     * Empty statistics.
+     */
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0);
+
+    /**
+     * Total number of lookups (hits + misses).
+     */
+    public long requests() {
+        return hits + misses;
+    }
+
+    /**
+     * Fraction of lookups answered from the cache, between 0.0 and 1.0.
+     * Returns 0.0 when there were no lookups.
+     */
+    public double hitRatio() {
+        long requests = requests();
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    /**
+     * Combine with the counters of another cache or region.
+     */
+    public CacheStats plus(CacheStats other) {
+        return new CacheStats(hits + other.hits, misses + other.misses,
+            evictions + other.evictions, size + other.size);
+    }
+}
@@ -118,7 +118,7 @@ final class ChunkProcessor {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
         try {
-            Connection conn = executor.getConnectionInternal();
+            Connection conn = executor.getReadConnectionInternal(converted.sql());
             PreparedStatement ps = conn.prepareStatement(
                     converted.sql(),
                     ResultSet.TYPE_FORWARD_ONLY,
@@ -126,8 +126,18 @@ final class ChunkProcessor {
             );
             ps.setFetchSize(100); // Stream in batches
 
-            setParameters(ps, converted.parameters());
-            ResultSet rs = ps.executeQuery();
+            // Rows are fetched while the stream is consumed, so it stays registered until closed
+            ResultSet rs;
+            try {
+                StatementGuard.guard(ps, executor.timeoutFor(queryResult), converted.sql());
+                setParameters(ps, converted.parameters());
+                rs = ps.executeQuery();
+            } catch (SQLException | RuntimeException e) {
+                StatementGuard.release(ps);
+                ps.close();
+                conn.close();
+                throw e;
+            }
 
             Iterator<T> iterator = new Iterator<>() {
                 private boolean hasNext;
@@ -163,6 +173,7 @@ final class ChunkProcessor {
             Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
             return StreamSupport.stream(spliterator, false)
                     .onClose(() -> {
+                        StatementGuard.release(ps);
                         try {
                             rs.close();
                             ps.close();
@@ -171,7 +182,7 @@ final class ChunkProcessor {
                         }
                     });
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
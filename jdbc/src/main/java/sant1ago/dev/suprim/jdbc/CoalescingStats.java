@@ -0,0 +1,28 @@
+package sant1ago.dev.suprim.jdbc;
+
+/**
+ * Point-in-time counters of read coalescing.
+ *
+ * @param executions queries that ran against the database
+ * @param coalesced  calls answered with the result of an identical query already in flight
+ * @param timeouts   calls that gave up waiting for an in-flight query and ran their own
+ * @param inFlight   queries currently running with followers able to join
+ */
+public record CoalescingStats(long executions, long coalesced, long timeouts, long inFlight) {
+
+    /**
+     * Total number of calls (executions + coalesced).
+     */
+    public long requests() {
+        return executions + coalesced;
+    }
+
+    /**
+     * Fraction of calls that did not reach the database, between 0.0 and 1.0.
+     * Returns 0.0 when there were no calls.
+     */
+    public double coalescedRatio() {
+        long requests = requests();
+        return requests == 0 ? 0.0 : (double) coalesced / requests;
+    }
+}
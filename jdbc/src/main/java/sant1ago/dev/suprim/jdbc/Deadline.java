@@ -0,0 +1,129 @@
+package sant1ago.dev.suprim.jdbc;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Ambient time budget for the statements a thread runs.
+ *
+ * <pre>{@code
+ * // Every statement inside gets at most the remaining budget as its timeout
+ * OrderPage page = Deadline.call(Duration.ofMillis(800), () -> {
+ *     List<Order> orders = executor.query(ordersQuery, EntityMapper.of(Order.class));
+ *     long total = executor.count(ordersBuilder);
+ *     return new OrderPage(orders, total);
+ * });
+ *
+ * // Applies to each statement of a transaction in turn
+ * Deadline.run(Duration.ofSeconds(2), () -> executor.transaction(tx -> {
+ *     tx.execute(debit);
+ *     tx.execute(credit);
+ * }));
+ * }</pre>
+ *
+ * <p>Before each statement the executor sets {@link java.sql.Statement#setQueryTimeout} to the
+ * smaller of the statement's own timeout and the time left, rounded up to whole seconds as
+ * JDBC requires. A statement that would start after the deadline fails with
+ * {@link sant1ago.dev.suprim.jdbc.exception.QueryTimeoutException} without reaching the
+ * database. Nested deadlines never extend an enclosing one, and operations submitted through
+ * {@link SuprimExecutor#async()} inherit the deadline of the submitting thread.</p>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Run work with a time budget and return its result.
+     *
+     * @param budget how long the work's statements may take in total
+     * @param work   the work
+     * @param <T>    result type
+     * @return the work's result
+     * @throws IllegalArgumentException if budget is not positive
+     */
+    public static <T> T call(Duration budget, Supplier<T> work) {
+        if (Objects.isNull(budget) || budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Deadline budget must be positive, got " + budget);
+        }
+        Deadline requested = new Deadline(System.nanoTime() + budget.toNanos());
+        Deadline enclosing = CURRENT.get();
+        boolean sooner = Objects.isNull(enclosing) || requested.expiresAtNanos - enclosing.expiresAtNanos < 0;
+        return within(sooner ? requested : enclosing, work);
+    }
+
+    /**
+     * Run work with a time budget.
+     *
+     * @param budget how long the work's statements may take in total
+     * @param work   the work
+     * @throws IllegalArgumentException if budget is not positive
+     */
+    public static void run(Duration budget, Runnable work) {
+        call(budget, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Get the deadline of the current thread.
+     *
+     * @return the innermost active deadline, or empty outside {@link #call} and {@link #run}
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Get the time left before the deadline.
+     *
+     * @return the remaining budget, negative once the deadline has passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    /**
+     * Check whether the deadline has passed.
+     *
+     * @return true when no budget is left
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Run work under a captured deadline, e.g. on another thread. A null deadline runs the
+     * work without one.
+     */
+    static <T> T within(Deadline deadline, Supplier<T> work) {
+        Deadline previous = CURRENT.get();
+        if (Objects.isNull(deadline)) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        try {
+            return work.get();
+        } finally {
+            if (Objects.isNull(previous)) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining().toMillis() + "ms]";
+    }
+}
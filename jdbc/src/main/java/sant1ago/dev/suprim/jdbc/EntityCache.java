@@ -0,0 +1,533 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.annotation.entity.Cacheable;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.jdbc.exception.PersistenceException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared second-level cache of entities annotated with {@link Cacheable}.
+ *
+ * <p>Each {@link SuprimExecutor} owns one cache with a region per entity class. Regions are
+ * bounded by {@link Cacheable#maxEntries()} using a segmented LRU (new rows enter a probation
+ * segment and are promoted to a protected segment on their second hit, so one-off scans
+ * cannot flush the hot set) and expire rows after {@link Cacheable#ttlSeconds()}.
+ *
+ * <p>Consulted by {@link SuprimExecutor#findById}, id lookups through {@link Finder#first()}
+ * and {@code BELONGS_TO} eager loads, after the transaction's {@link IdentityMap}:
+ *
+ * <pre>{@code
+ * executor.findById(Country.class, "NL");       // SELECT, row cached
+ * executor.findById(Country.class, "NL");       // served from the cache
+ *
+ * CacheStats stats = executor.entityCache().stats(Country.class);
+ * log.info("country cache hit ratio: {}", stats.hitRatio());
+ * }</pre>
+ *
+ * <p>Invalidation: entity writes ({@code save}, {@code update}, {@code delete}, batch inserts,
+ * upserts) and UPDATE/DELETE/INSERT statements run through {@code execute()} drop the whole
+ * region of the written table once the write is committed. Inside a transaction that has
+ * written a table, reads of that table bypass the cache until commit. Soft-deleted rows are
+ * never cached.
+ *
+ * <p>The cache stores a shallow copy of each row and hands out a fresh shallow copy on every
+ * hit, so callers may modify returned entities freely. Field values themselves (e.g. JSON
+ * objects) are shared between copies.
+ */
+public final class EntityCache {
+
+    private static final Pattern WRITTEN_TABLE = Pattern.compile(
+        "^\\s*(?:UPDATE|DELETE\\s+FROM|INSERT\\s+(?:IGNORE\\s+)?INTO|MERGE\\s+INTO|REPLACE\\s+INTO|TRUNCATE(?:\\s+TABLE)?)\\s+([^\\s(]+)",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private static final Map<Class<?>, Optional<Cacheable>> CONFIG_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Field[]> FIELD_CACHE = new ConcurrentHashMap<>();
+
+    /** Share of a region reserved for rows that were hit at least twice. */
+    private static final double PROTECTED_SHARE = 0.8;
+
+    private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+
+    EntityCache() {
+    }
+
+    /**
+     * Check whether an entity class is annotated with {@link Cacheable}.
+     *
+     * @param entityClass the entity class
+     * @return true if rows of this class are cached
+     */
+    public boolean isCacheable(Class<?> entityClass) {
+        return Objects.nonNull(entityClass)
+            && config(entityClass).isPresent()
+            && IdentityMap.isIdentifiable(entityClass);
+    }
+
+    /**
+     * Check whether lookups of {@code entityClass} by {@code column} can be answered by the cache.
+     *
+     * @param entityClass the entity class
+     * @param column      the lookup column
+     * @return true if the class is cacheable and {@code column} is its {@code @Id} column
+     */
+    public boolean isCacheable(Class<?> entityClass, String column) {
+        return isCacheable(entityClass)
+            && Objects.nonNull(column)
+            && EntityReflector.getEntityMeta(entityClass).idColumn().equalsIgnoreCase(column);
+    }
+
+    /**
+     * Look up a cached row.
+     *
+     * @param entityClass the entity class
+     * @param id          the primary key value
+     * @param <T>         entity type
+     * @return a copy of the cached row, or empty on a miss (always empty for non-cacheable classes)
+     */
+    public <T> Optional<T> get(Class<T> entityClass, Object id) {
+        if (Objects.isNull(id) || !isReadable(entityClass)) {
+            return Optional.empty();
+        }
+        Object cached = region(entityClass).get(normalizeKey(id));
+        return Optional.ofNullable(cached).map(value -> entityClass.cast(copyOf(value)));
+    }
+
+    /**
+     * Run a database load and cache the loaded rows.
+     *
+     * <p>Rows are only cached if no invalidation of the region happened while the loader ran,
+     * so a load racing with a committed write cannot re-insert stale data.
+     *
+     * @param entityClass the entity class
+     * @param loader      the database load
+     * @param <T>         entity type
+     * @return the loaded rows, as returned by {@code loader}
+     */
+    public <T> List<T> loadThrough(Class<T> entityClass, Supplier<List<T>> loader) {
+        if (!isReadable(entityClass)) {
+            return loader.get();
+        }
+        long stamp = stamp(entityClass);
+        List<T> loaded = loader.get();
+        for (T entity : loaded) {
+            put(entity, stamp);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop every cached row of an entity class.
+     *
+     * @param entityClass the entity class
+     */
+    public void invalidate(Class<?> entityClass) {
+        Region region = regions.get(entityClass);
+        if (Objects.nonNull(region)) {
+            region.clear();
+        }
+    }
+
+    /**
+     * Drop one cached row.
+     *
+     * @param entityClass the entity class
+     * @param id          the primary key value
+     */
+    public void invalidate(Class<?> entityClass, Object id) {
+        Region region = regions.get(entityClass);
+        if (Objects.nonNull(region) && Objects.nonNull(id)) {
+            region.remove(normalizeKey(id));
+        }
+    }
+
+    /**
+     * Drop every cached row of every entity.
+     */
+    public void invalidateAll() {
+        regions.values().forEach(Region::clear);
+    }
+
+    /**
+     * Get the counters of one entity's region.
+     *
+     * @param entityClass the entity class
+     * @return region statistics, or {@link CacheStats#EMPTY} if nothing was cached yet
+     */
+    public CacheStats stats(Class<?> entityClass) {
+        Region region = regions.get(entityClass);
+        return Objects.isNull(region) ? CacheStats.EMPTY : region.stats();
+    }
+
+    /**
+     * Get the counters summed over all regions.
+     *
+     * @return cache-wide statistics
+     */
+    public CacheStats stats() {
+        CacheStats total = CacheStats.EMPTY;
+        for (Region region : regions.values()) {
+            total = total.plus(region.stats());
+        }
+        return total;
+    }
+
+    // ==================== INTERNAL ====================
+
+    /**
+     * Capture a region's generation before a database load.
+     */
+    long stamp(Class<?> entityClass) {
+        return region(entityClass).generation.get();
+    }
+
+    /**
+     * Cache a loaded row unless the region was invalidated after {@code stamp} was taken.
+     */
+    void put(Object entity, long stamp) {
+        if (Objects.isNull(entity) || !isReadable(entity.getClass()) || EntityPersistence.isTrashed(entity)) {
+            return;
+        }
+        Object id = EntityReflector.getIdOrNull(entity);
+        if (Objects.nonNull(id)) {
+            region(entity.getClass()).put(normalizeKey(id), copyOf(entity), stamp);
+        }
+    }
+
+    /**
+     * Invalidate the regions of written tables. A null table name means "unknown", which
+     * invalidates everything.
+     */
+    void invalidateTables(Collection<String> tables) {
+        if (regions.isEmpty() || tables.isEmpty()) {
+            return;
+        }
+        if (tables.contains(null)) {
+            invalidateAll();
+            return;
+        }
+        for (Region region : regions.values()) {
+            if (tables.contains(region.table)) {
+                region.clear();
+            }
+        }
+    }
+
+    /**
+     * Extract the lower-cased, unqualified table name written by a DML statement.
+     *
+     * @param sql the statement
+     * @return the table name, or null if it cannot be determined
+     */
+    static String writtenTable(String sql) {
+        if (Objects.isNull(sql)) {
+            return null;
+        }
+        Matcher matcher = WRITTEN_TABLE.matcher(sql);
+        if (!matcher.find()) {
+            return null;
+        }
+        String qualified = matcher.group(1);
+        String table = qualified.substring(qualified.lastIndexOf('.') + 1);
+        return table.replace("\"", "").replace("`", "").replace("[", "").replace("]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lower-cased table name of an entity class, as used for invalidation.
+     */
+    static String tableOf(Class<?> entityClass) {
+        return EntityReflector.getEntityMeta(entityClass).tableName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cacheable, and not written by the current transaction (whose changes are not committed yet).
+     */
+    private boolean isReadable(Class<?> entityClass) {
+        return isCacheable(entityClass) && !SuprimContext.hasPendingWrite(tableOf(entityClass));
+    }
+
+    private Region region(Class<?> entityClass) {
+        return regions.computeIfAbsent(entityClass, key -> {
+            Cacheable cacheable = config(key).orElseThrow();
+            return new Region(tableOf(key), cacheable.ttlSeconds(), cacheable.maxEntries());
+        });
+    }
+
+    private static Optional<Cacheable> config(Class<?> entityClass) {
+        return CONFIG_CACHE.computeIfAbsent(entityClass, key -> Optional.ofNullable(key.getAnnotation(Cacheable.class)));
+    }
+
+    /**
+     * Shallow copy of all instance fields, including inherited ones.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copyOf(T entity) {
+        Class<?> entityClass = entity.getClass();
+        try {
+            T copy = (T) entityClass.getDeclaredConstructor().newInstance();
+            for (Field field : fieldsOf(entityClass)) {
+                field.set(copy, field.get(entity));
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new PersistenceException("Failed to copy entity: " + e.getMessage(), entityClass, e);
+        }
+    }
+
+    /**
+     * Copy entities together with the relations loaded onto them, for results handed to more
+     * than one caller. Related entities, lists and sets, and loaded {@link Lazy} and
+     * {@link LazyList} holders are copied as well, so no caller can change what another sees.
+     * Unloaded holders are left null for the caller to rebind with {@link LazyBatch#bind}.
+     * Other field values are shared, as in {@link #copyOf}.
+     *
+     * @param entities the entities to copy
+     * @param copies   receives every copied entity, keyed by its original; an entity reached
+     *                 twice is copied once
+     * @return the copies of {@code entities}, in order
+     */
+    static <T> List<T> copyGraph(List<T> entities, Map<Object, Object> copies) {
+        List<T> result = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            result.add(Objects.isNull(entity) ? null : copyEntity(entity, copies));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyEntity(T entity, Map<Object, Object> copies) {
+        Object existing = copies.get(entity);
+        if (Objects.nonNull(existing)) {
+            return (T) existing;
+        }
+        Class<?> entityClass = entity.getClass();
+        try {
+            T copy = (T) entityClass.getDeclaredConstructor().newInstance();
+            copies.put(entity, copy);
+            for (Field field : fieldsOf(entityClass)) {
+                Object value = field.get(entity);
+                Object copied = copyRelationValue(value, copies);
+                // Keep the original when the field's declared type cannot hold the copy
+                field.set(copy, Objects.isNull(copied) || field.getType().isInstance(copied) ? copied : value);
+            }
+            return copy;
+        } catch (ReflectiveOperationException e) {
+            throw new PersistenceException("Failed to copy entity: " + e.getMessage(), entityClass, e);
+        }
+    }
+
+    private static Object copyRelationValue(Object value, Map<Object, Object> copies) {
+        if (value instanceof Lazy<?> lazy) {
+            return lazy.isLoaded() ? Lazy.of(copyRelationValue(lazy.get(), copies)) : null;
+        }
+        if (value instanceof LazyList<?> list) {
+            return list.isLoaded() ? LazyList.of(copyEntities(list, copies)) : null;
+        }
+        // Relation collections, including empty ones a caller might add to
+        if (value instanceof List<?> list) {
+            return copyEntities(list, copies);
+        }
+        if (value instanceof Set<?> set) {
+            return new LinkedHashSet<>(copyEntities(set, copies));
+        }
+        if (Objects.nonNull(value) && value.getClass().isAnnotationPresent(Entity.class)) {
+            return copyEntity(value, copies);
+        }
+        return value;
+    }
+
+    private static List<Object> copyEntities(Collection<?> values, Map<Object, Object> copies) {
+        List<Object> copied = new ArrayList<>(values.size());
+        for (Object value : values) {
+            copied.add(copyRelationValue(value, copies));
+        }
+        return copied;
+    }
+
+    private static Field[] fieldsOf(Class<?> entityClass) {
+        return FIELD_CACHE.computeIfAbsent(entityClass, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = key; Objects.nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[0]);
+        });
+    }
+
+    /**
+     * Normalize ids so that {@code 1}, {@code 1L} and a UUID and its string form share one key.
+     */
+    private static Object normalizeKey(Object id) {
+        if (id instanceof Integer || id instanceof Long || id instanceof Short || id instanceof Byte) {
+            return ((Number) id).longValue();
+        }
+        if (id instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return id;
+    }
+
+    // ==================== REGION ====================
+
+    /**
+     * Bounded, expiring map for one entity class (segmented LRU).
+     */
+    private static final class Region {
+
+        private final String table;
+        private final long ttlNanos;
+        private final int maxEntries;
+        private final int protectedMax;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Object, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Object, Entry> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+        private final AtomicLong generation = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        Region(String table, long ttlSeconds, int maxEntries) {
+            this.table = table;
+            this.ttlNanos = ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos(ttlSeconds) : 0;
+            this.maxEntries = Math.max(1, maxEntries);
+            this.protectedMax = Math.max(1, (int) (this.maxEntries * PROTECTED_SHARE));
+        }
+
+        Object get(Object key) {
+            lock.lock();
+            try {
+                Entry entry = protectedSegment.get(key);
+                if (Objects.nonNull(entry)) {
+                    if (isExpired(entry)) {
+                        protectedSegment.remove(key);
+                        entry = null;
+                    }
+                } else {
+                    entry = probation.remove(key);
+                    if (Objects.nonNull(entry)) {
+                        if (isExpired(entry)) {
+                            entry = null;
+                        } else {
+                            promote(key, entry);
+                        }
+                    }
+                }
+                if (Objects.isNull(entry)) {
+                    misses.increment();
+                    return null;
+                }
+                hits.increment();
+                return entry.value();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Object key, Object value, long stamp) {
+            lock.lock();
+            try {
+                if (generation.get() != stamp) {
+                    return;
+                }
+                Entry entry = new Entry(value, System.nanoTime());
+                if (protectedSegment.containsKey(key)) {
+                    protectedSegment.put(key, entry);
+                    return;
+                }
+                probation.put(key, entry);
+                while (probation.size() + protectedSegment.size() > maxEntries) {
+                    LinkedHashMap<Object, Entry> victims = probation.isEmpty() ? protectedSegment : probation;
+                    removeEldest(victims);
+                    evictions.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Object key) {
+            lock.lock();
+            try {
+                generation.incrementAndGet();
+                probation.remove(key);
+                protectedSegment.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                generation.incrementAndGet();
+                probation.clear();
+                protectedSegment.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        CacheStats stats() {
+            lock.lock();
+            try {
+                return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), probation.size() + protectedSegment.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Move a probation entry to the protected segment, demoting the protected LRU entry if full.
+         */
+        private void promote(Object key, Entry entry) {
+            protectedSegment.put(key, entry);
+            while (protectedSegment.size() > protectedMax) {
+                Iterator<Map.Entry<Object, Entry>> eldest = protectedSegment.entrySet().iterator();
+                Map.Entry<Object, Entry> demoted = eldest.next();
+                eldest.remove();
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+
+        private boolean isExpired(Entry entry) {
+            return ttlNanos > 0 && System.nanoTime() - entry.loadedAt() >= ttlNanos;
+        }
+
+        private static void removeEldest(LinkedHashMap<Object, Entry> segment) {
+            Iterator<Object> eldest = segment.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private record Entry(Object value, long loadedAt) {
+    }
+}
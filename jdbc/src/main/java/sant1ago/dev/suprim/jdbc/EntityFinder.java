@@ -40,7 +40,7 @@ final class EntityFinder {
 
         EntityReflector.EntityMeta meta = EntityReflector.getEntityMeta(entityClass);
 
-        try (Connection conn = executor.getConnectionInternal()) {
+        try (Connection conn = executor.getReadConnectionInternal()) {
             SqlDialect dialect = getDialect(executor, conn);
 
             String tableName = buildTableName(meta, dialect);
@@ -52,10 +52,11 @@ final class EntityFinder {
                 " LIMIT ? OFFSET ?";
 
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                StatementGuard.guard(ps, executor.timeoutFor(null), sql);
                 ps.setInt(1, limit);
                 ps.setInt(2, offset);
 
-                try (ResultSet rs = ps.executeQuery()) {
+                try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                     List<T> results = new ArrayList<>();
                     RowMapper<T> mapper = EntityMapper.of(entityClass);
                     while (rs.next()) {
@@ -64,7 +65,7 @@ final class EntityFinder {
                     return results;
                 }
             } catch (SQLException e) {
-                throw ExceptionTranslator.translateQuery(sql, new Object[]{limit, offset}, e);
+                throw ExceptionTranslator.translateQuery(sql, new Object[]{limit, offset}, StatementGuard.timedOut(e));
             }
         } catch (SQLException e) {
             throw ConnectionException.fromSQLException(e);
@@ -89,7 +90,7 @@ final class EntityFinder {
         EntityReflector.EntityMeta meta = EntityReflector.getEntityMeta(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
 
-        try (Connection conn = executor.getConnectionInternal()) {
+        try (Connection conn = executor.getReadConnectionInternal()) {
             SqlDialect dialect = getDialect(executor, conn);
 
             String tableName = buildTableName(meta, dialect);
@@ -119,11 +120,12 @@ final class EntityFinder {
             }
 
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                StatementGuard.guard(ps, executor.timeoutFor(null), sql);
                 for (int i = 0; i < params.length; i++) {
                     ps.setObject(i + 1, params[i]);
                 }
 
-                try (ResultSet rs = ps.executeQuery()) {
+                try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                     List<T> results = new ArrayList<>();
                     RowMapper<T> mapper = EntityMapper.of(entityClass);
                     while (rs.next()) {
@@ -155,7 +157,7 @@ final class EntityFinder {
                     return CursorResult.of(results, nextCursor, prevCursor, limit);
                 }
             } catch (SQLException e) {
-                throw ExceptionTranslator.translateQuery(sql, params, e);
+                throw ExceptionTranslator.translateQuery(sql, params, StatementGuard.timedOut(e));
             }
         } catch (SQLException e) {
             throw ConnectionException.fromSQLException(e);
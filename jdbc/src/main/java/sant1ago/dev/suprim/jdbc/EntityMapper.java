@@ -59,10 +59,12 @@ public final class EntityMapper<T> implements RowMapper<T> {
 
     private final Class<T> entityClass;
     private final EntityMetadata<T> metadata;
+    private final String columnPrefix;
 
-    private EntityMapper(Class<T> entityClass) {
+    private EntityMapper(Class<T> entityClass, String columnPrefix) {
         this.entityClass = Objects.requireNonNull(entityClass, "entityClass must not be null");
         this.metadata = getOrCreateMetadata(entityClass);
+        this.columnPrefix = columnPrefix;
     }
 
     /**
@@ -74,12 +76,41 @@ public final class EntityMapper<T> implements RowMapper<T> {
      * @throws MappingException if the class cannot be mapped (no suitable constructor)
      */
     public static <T> EntityMapper<T> of(Class<T> entityClass) {
-        return new EntityMapper<>(entityClass);
+        return new EntityMapper<>(entityClass, "");
+    }
+
+    /**
+     * Create an EntityMapper reading columns labelled with a prefix, such as the
+     * {@code suprim_j0__id} columns of a join-fetched relation.
+     *
+     * @param entityClass  the class to map ResultSet rows to
+     * @param columnPrefix lowercase prefix of the column labels
+     * @param <T>          the entity type
+     * @return a new EntityMapper instance
+     */
+    static <T> EntityMapper<T> prefixed(Class<T> entityClass, String columnPrefix) {
+        return new EntityMapper<>(entityClass, columnPrefix);
     }
 
     @Override
     public T map(ResultSet rs) throws SQLException {
-        return metadata.createInstance(rs, entityClass);
+        return metadata.createInstance(rs, entityClass, columnPrefix);
+    }
+
+    /**
+     * Mappers of the same class and column prefix map rows identically, so the query cache
+     * can share their results.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof EntityMapper<?> other
+                && entityClass == other.entityClass
+                && columnPrefix.equals(other.columnPrefix);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityClass, columnPrefix);
     }
 
     /**
@@ -111,12 +142,12 @@ public final class EntityMapper<T> implements RowMapper<T> {
             }
         }
 
-        T createInstance(ResultSet rs, Class<T> targetClass) throws SQLException {
+        T createInstance(ResultSet rs, Class<T> targetClass, String prefix) throws SQLException {
             try {
                 if (isRecord) {
-                    return createRecordInstance(rs, targetClass);
+                    return createRecordInstance(rs, targetClass, prefix);
                 } else {
-                    return createClassInstance(rs, targetClass);
+                    return createClassInstance(rs, targetClass, prefix);
                 }
             } catch (SQLException | MappingException e) {
                 throw e;
@@ -128,13 +159,13 @@ public final class EntityMapper<T> implements RowMapper<T> {
             }
         }
 
-        private T createRecordInstance(ResultSet rs, Class<T> targetClass) throws Exception {
+        private T createRecordInstance(ResultSet rs, Class<T> targetClass, String prefix) throws Exception {
             Object[] args = new Object[fieldMappings.length];
             Map<String, Integer> columnIndices = getColumnIndices(rs);
 
             for (int i = 0; i < fieldMappings.length; i++) {
                 FieldMapping mapping = fieldMappings[i];
-                Integer columnIndex = columnIndices.get(mapping.columnName.toLowerCase());
+                Integer columnIndex = columnIndices.get(prefix + mapping.columnName.toLowerCase());
                 if (Objects.nonNull(columnIndex)) {
                     try {
                         args[i] = ResultSetTypeConverter.getValue(rs, columnIndex, mapping.fieldType);
@@ -155,7 +186,7 @@ public final class EntityMapper<T> implements RowMapper<T> {
             }
         }
 
-        private T createClassInstance(ResultSet rs, Class<T> targetClass) throws Exception {
+        private T createClassInstance(ResultSet rs, Class<T> targetClass, String prefix) throws Exception {
             T instance;
             try {
                 instance = constructor.newInstance();
@@ -168,7 +199,7 @@ public final class EntityMapper<T> implements RowMapper<T> {
             Map<String, Integer> columnIndices = getColumnIndices(rs);
 
             for (FieldMapping mapping : fieldMappings) {
-                Integer columnIndex = columnIndices.get(mapping.columnName.toLowerCase());
+                Integer columnIndex = columnIndices.get(prefix + mapping.columnName.toLowerCase());
                 if (Objects.nonNull(columnIndex)) {
                     try {
                         Object value = ResultSetTypeConverter.getValue(rs, columnIndex, mapping.fieldType);
@@ -14,6 +14,8 @@ import sant1ago.dev.suprim.core.util.UUIDUtils;
 import sant1ago.dev.suprim.core.dialect.MySqlDialect;
 import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
 import sant1ago.dev.suprim.core.dialect.SqlDialect;
+import sant1ago.dev.suprim.jdbc.event.EventDispatcher;
+import sant1ago.dev.suprim.jdbc.event.QueryEvent;
 import sant1ago.dev.suprim.jdbc.exception.PersistenceException;
 
 import java.lang.reflect.Field;
@@ -53,6 +55,9 @@ final class EntityPersistence {
 
     private static final Map<Class<? extends IdGenerator<?>>, IdGenerator<?>> GENERATOR_CACHE = new ConcurrentHashMap<>();
     private static final Map<Class<?>, SoftDeleteMeta> SOFT_DELETE_CACHE = new ConcurrentHashMap<>();
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+    // Used when no executor is bound, e.g. persistence on a caller-supplied connection
+    private static final EventDispatcher NO_LISTENERS = new EventDispatcher();
 
     /**
      * Soft delete metadata for an entity class.
@@ -82,6 +87,7 @@ final class EntityPersistence {
         Objects.requireNonNull(connection, "Connection cannot be null");
 
         Class<?> entityClass = entity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -124,7 +130,7 @@ final class EntityPersistence {
     /**
      * Generate an ID value based on the strategy.
      */
-    private static Object generateId(EntityReflector.IdMeta idMeta) {
+    static Object generateId(EntityReflector.IdMeta idMeta) {
         // Custom generator takes precedence
         if (idMeta.hasCustomGenerator()) {
             IdGenerator<?> generator = getOrCreateGenerator(idMeta.generatorClass());
@@ -382,8 +388,9 @@ final class EntityPersistence {
         if (supportsReturning) {
             // PostgreSQL: use RETURNING clause
             try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                StatementGuard.guard(ps, sql);
                 setParameters(ps, columns.values().toArray());
-                try (ResultSet rs = ps.executeQuery()) {
+                try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                     if (rs.next()) {
                         Object generatedId = rs.getObject(1);
                         generatedId = convertIdType(generatedId, idMeta.fieldType());
@@ -394,8 +401,9 @@ final class EntityPersistence {
         } else {
             // MySQL: use RETURN_GENERATED_KEYS
             try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                StatementGuard.guard(ps, sql);
                 setParameters(ps, columns.values().toArray());
-                ps.executeUpdate();
+                StatementGuard.executeUpdate(ps);
 
                 try (ResultSet rs = ps.getGeneratedKeys()) {
                     if (rs.next()) {
@@ -419,8 +427,9 @@ final class EntityPersistence {
         Connection connection
     ) throws SQLException {
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             setParameters(ps, columns.values().toArray());
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
         }
     }
 
@@ -492,6 +501,7 @@ final class EntityPersistence {
         Objects.requireNonNull(connection, "Connection cannot be null");
 
         Class<?> entityClass = entity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -512,10 +522,11 @@ final class EntityPersistence {
         String sql = buildUpdateSql(entityMeta, idMeta, columns, dialect);
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             Object[] values = columns.values().toArray();
             setParameters(ps, values);
             ps.setObject(values.length + 1, convertIdForQuery(id, idMeta));
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
             return entity;
         } catch (SQLException e) {
             throw new PersistenceException(
@@ -538,6 +549,7 @@ final class EntityPersistence {
         Objects.requireNonNull(connection, "Connection cannot be null");
 
         Class<?> entityClass = entity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -549,6 +561,8 @@ final class EntityPersistence {
             );
         }
 
+        evictFromIdentityMap(entity);
+
         // Check for soft deletes
         SoftDeleteMeta softDeleteMeta = getSoftDeleteMeta(entityClass);
         if (softDeleteMeta.enabled()) {
@@ -565,8 +579,9 @@ final class EntityPersistence {
             " WHERE " + dialect.quoteIdentifier(idMeta.columnName()) + " = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             ps.setObject(1, convertIdForQuery(id, idMeta));
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
         } catch (SQLException e) {
             throw new PersistenceException(
                 "Failed to delete entity: " + e.getMessage(),
@@ -576,6 +591,142 @@ final class EntityPersistence {
         }
     }
 
+    /**
+     * Update several entities with JDBC batching.
+     *
+     * <p>Entities whose non-null column sets produce the same UPDATE statement share one
+     * {@link PreparedStatement} and are sent with {@code executeBatch()}.
+     *
+     * @param entities the entities to update (all must have an ID)
+     * @param connection the database connection
+     * @param dialect the SQL dialect
+     */
+    static void updateAll(List<?> entities, Connection connection, SqlDialect dialect) {
+        Objects.requireNonNull(entities, "Entities cannot be null");
+        Objects.requireNonNull(connection, "Connection cannot be null");
+
+        Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+        Map<String, Class<?>> batchClasses = new HashMap<>();
+        for (Object entity : entities) {
+            Class<?> entityClass = entity.getClass();
+            SuprimContext.recordWrite(entityClass);
+            EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
+            EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
+
+            Object id = EntityReflector.getIdOrNull(entity);
+            if (Objects.isNull(id)) {
+                throw new PersistenceException(
+                    "Cannot update entity without ID. Set the ID or use save() for new entities.",
+                    entityClass
+                );
+            }
+
+            Map<String, Object> columns = buildColumnMap(entity, idMeta, true, false);
+            if (columns.isEmpty()) {
+                continue;
+            }
+
+            String sql = buildUpdateSql(entityMeta, idMeta, columns, dialect);
+            Object[] values = Arrays.copyOf(columns.values().toArray(), columns.size() + 1);
+            values[columns.size()] = convertIdForQuery(id, idMeta);
+            batches.computeIfAbsent(sql, k -> new ArrayList<>()).add(values);
+            batchClasses.putIfAbsent(sql, entityClass);
+        }
+
+        for (Map.Entry<String, List<Object[]>> batch : batches.entrySet()) {
+            try (PreparedStatement ps = connection.prepareStatement(batch.getKey())) {
+                StatementGuard.guard(ps, batch.getKey());
+                for (Object[] values : batch.getValue()) {
+                    setParameters(ps, values);
+                    ps.addBatch();
+                }
+                StatementGuard.executeBatch(ps);
+            } catch (SQLException e) {
+                throw new PersistenceException(
+                    "Failed to update entities: " + e.getMessage(),
+                    batchClasses.get(batch.getKey()),
+                    e
+                );
+            }
+        }
+    }
+
+    /**
+     * Delete several entities of the same class by ID.
+     *
+     * <p>Issues {@code DELETE ... WHERE id IN (...)}, or the equivalent
+     * {@code UPDATE ... SET deleted_at = ?} for {@code @SoftDeletes} entities,
+     * in chunks of {@value #MAX_IDS_PER_STATEMENT} IDs.
+     *
+     * @param entities the entities to delete (all must have an ID)
+     * @param connection the database connection
+     * @param dialect the SQL dialect
+     */
+    static void deleteAll(List<?> entities, Connection connection, SqlDialect dialect) {
+        Objects.requireNonNull(entities, "Entities cannot be null");
+        Objects.requireNonNull(connection, "Connection cannot be null");
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        Class<?> entityClass = entities.get(0).getClass();
+        SuprimContext.recordWrite(entityClass);
+        EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
+        EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
+        SoftDeleteMeta softDeleteMeta = getSoftDeleteMeta(entityClass);
+
+        List<Object> ids = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            Object id = EntityReflector.getIdOrNull(entity);
+            if (Objects.isNull(id)) {
+                throw new PersistenceException(
+                    "Cannot delete entity without ID.",
+                    entityClass
+                );
+            }
+            ids.add(convertIdForQuery(id, idMeta));
+            evictFromIdentityMap(entity);
+        }
+
+        String tableName = Objects.nonNull(entityMeta.schema())
+            ? dialect.quoteIdentifier(entityMeta.schema()) + "." + dialect.quoteIdentifier(entityMeta.tableName())
+            : dialect.quoteIdentifier(entityMeta.tableName());
+        Instant now = Instant.now();
+
+        for (int start = 0; start < ids.size(); start += MAX_IDS_PER_STATEMENT) {
+            List<Object> chunk = ids.subList(start, Math.min(start + MAX_IDS_PER_STATEMENT, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            String where = " WHERE " + dialect.quoteIdentifier(idMeta.columnName()) + " IN (" + placeholders + ")";
+            String sql = softDeleteMeta.enabled()
+                ? "UPDATE " + tableName + " SET " + dialect.quoteIdentifier(softDeleteMeta.columnName()) + " = ?" + where
+                : "DELETE FROM " + tableName + where;
+
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                StatementGuard.guard(ps, sql);
+                int index = 1;
+                if (softDeleteMeta.enabled()) {
+                    ps.setTimestamp(index++, Timestamp.from(now));
+                }
+                for (Object id : chunk) {
+                    ps.setObject(index++, id);
+                }
+                StatementGuard.executeUpdate(ps);
+            } catch (SQLException e) {
+                throw new PersistenceException(
+                    "Failed to delete entities: " + e.getMessage(),
+                    entityClass,
+                    e
+                );
+            }
+        }
+
+        if (softDeleteMeta.enabled()) {
+            for (Object entity : entities) {
+                setDeletedAtValue(entity, softDeleteMeta.columnName(), now);
+            }
+        }
+    }
+
     /**
      * Refresh an entity from the database.
      *
@@ -607,11 +758,22 @@ final class EntityPersistence {
 
         String sql = "SELECT * FROM " + tableName +
             " WHERE " + dialect.quoteIdentifier(idMeta.columnName()) + " = ?";
+        Object[] parameters = {convertIdForQuery(id, idMeta)};
+
+        // Report to the listeners of the executor running this transaction or auto-commit call
+        SuprimExecutor executor = SuprimContext.currentExecutor();
+        EventDispatcher dispatcher = Objects.nonNull(executor) ? executor.getDispatcher() : NO_LISTENERS;
+        QueryEvent beforeEvent = dispatcher.beginQuery(sql, parameters,
+            Objects.nonNull(executor) ? executor.getConnectionName() : "default");
+        long startNanos = System.nanoTime();
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setObject(1, convertIdForQuery(id, idMeta));
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
+            StatementGuard.guard(ps, sql);
+            ps.setObject(1, parameters[0]);
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                boolean found = rs.next();
+                dispatcher.completeQuery(beforeEvent, System.nanoTime() - startNanos, found ? 1 : 0);
+                if (found) {
                     populateEntityFromResultSet(entity, rs);
                     return entity;
                 }
@@ -621,6 +783,7 @@ final class EntityPersistence {
                 );
             }
         } catch (SQLException e) {
+            dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
             throw new PersistenceException(
                 "Failed to refresh entity: " + e.getMessage(),
                 entityClass,
@@ -934,9 +1097,10 @@ final class EntityPersistence {
         Timestamp timestamp = Timestamp.from(now);
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             ps.setTimestamp(1, timestamp);
             ps.setObject(2, convertIdForQuery(id, idMeta));
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
 
             // Update the entity's deleted_at field (auto-converts to field's type)
             setDeletedAtValue(entity, softDeleteMeta.columnName(), now);
@@ -962,6 +1126,7 @@ final class EntityPersistence {
         Objects.requireNonNull(connection, "Connection cannot be null");
 
         Class<?> entityClass = entity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -980,9 +1145,12 @@ final class EntityPersistence {
         String sql = "DELETE FROM " + tableName +
             " WHERE " + dialect.quoteIdentifier(idMeta.columnName()) + " = ?";
 
+        evictFromIdentityMap(entity);
+
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             ps.setObject(1, convertIdForQuery(id, idMeta));
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
         } catch (SQLException e) {
             throw new PersistenceException(
                 "Failed to force delete entity: " + e.getMessage(),
@@ -1004,6 +1172,7 @@ final class EntityPersistence {
         Objects.requireNonNull(connection, "Connection cannot be null");
 
         Class<?> entityClass = entity.getClass();
+        SuprimContext.recordWrite(entityClass);
         SoftDeleteMeta softDeleteMeta = getSoftDeleteMeta(entityClass);
 
         if (!softDeleteMeta.enabled()) {
@@ -1033,8 +1202,9 @@ final class EntityPersistence {
             " WHERE " + dialect.quoteIdentifier(idMeta.columnName()) + " = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             ps.setObject(1, convertIdForQuery(id, idMeta));
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
 
             // Clear the entity's deleted_at field
             setDeletedAtValue(entity, softDeleteMeta.columnName(), null);
@@ -1060,6 +1230,7 @@ final class EntityPersistence {
         Objects.requireNonNull(connection, "Connection cannot be null");
 
         Class<?> entityClass = entity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -1089,8 +1260,9 @@ final class EntityPersistence {
             " WHERE " + dialect.quoteIdentifier(idMeta.columnName()) + " = ?";
 
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
             ps.setObject(1, convertIdForQuery(id, idMeta));
-            ps.executeUpdate();
+            StatementGuard.executeUpdate(ps);
         } catch (SQLException e) {
             throw new PersistenceException(
                 "Failed to touch entity: " + e.getMessage(),
@@ -1100,6 +1272,15 @@ final class EntityPersistence {
         }
     }
 
+    /**
+     * Drop a deleted entity from the current transaction's identity map.
+     */
+    private static void evictFromIdentityMap(Object entity) {
+        if (SuprimContext.hasIdentityMap()) {
+            SuprimContext.getIdentityMap().remove(entity);
+        }
+    }
+
     /**
      * Find the updated_at column name from @UpdateTimestamp annotation.
      */
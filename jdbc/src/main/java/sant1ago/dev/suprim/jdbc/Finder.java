@@ -13,6 +13,7 @@ import sant1ago.dev.suprim.core.type.Predicate;
 import sant1ago.dev.suprim.jdbc.exception.NoResultException;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -56,6 +57,8 @@ public final class Finder<T> {
     private final Class<T> entityClass;
     private final SelectBuilder builder;
     private int paramCounter = 0;
+    private Object idLookup;
+    private Predicate idLookupClause;
 
     Finder(SuprimExecutor executor, Class<T> entityClass) {
         this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
@@ -301,6 +304,11 @@ public final class Finder<T> {
     public Finder<T> where(String column, Object value) {
         String paramName = nextParamName();
         builder.whereRaw(column + " = :" + paramName, Map.of(paramName, normalizeValue(column, value)));
+        if (Objects.nonNull(value) && isIdColumn(column)) {
+            // Remember pure primary-key lookups so first() can use the identity map
+            idLookup = value;
+            idLookupClause = builder.getWhereClause();
+        }
         return this;
     }
 
@@ -1785,6 +1793,50 @@ public final class Finder<T> {
         return this;
     }
 
+    // ==================== CACHING ====================
+
+    /**
+     * Serve the results of {@link #get()} and {@link #first()} from the executor's query cache
+     * for up to {@code ttl}, until a write to the entity's table through the same executor.
+     *
+     * <pre>{@code
+     * List<Country> countries = executor.find(Country.class)
+     *     .orderBy("name")
+     *     .cached(Duration.ofMinutes(5))
+     *     .get();
+     * }</pre>
+     *
+     * @param ttl how long a cached result stays valid
+     * @return this finder for chaining
+     * @see QueryCache
+     */
+    public Finder<T> cached(Duration ttl) {
+        builder.cached(ttl);
+        return this;
+    }
+
+    // ==================== TIMEOUT ====================
+
+    /**
+     * Cancel the finder's statements when one runs longer than {@code timeout}, overriding the
+     * executor's default timeout.
+     *
+     * <pre>{@code
+     * List<Order> orders = executor.find(Order.class)
+     *     .where("status", "open")
+     *     .timeout(Duration.ofSeconds(5))
+     *     .get();
+     * }</pre>
+     *
+     * @param timeout the statement timeout
+     * @return this finder for chaining
+     * @throws IllegalArgumentException if timeout is not positive
+     */
+    public Finder<T> timeout(Duration timeout) {
+        builder.timeout(timeout);
+        return this;
+    }
+
     // ==================== TERMINAL OPERATIONS ====================
 
     /**
@@ -1794,7 +1846,8 @@ public final class Finder<T> {
      */
     public List<T> get() {
         QueryResult query = builder.build();
-        return executor.query(query, EntityMapper.of(entityClass));
+        List<T> results = executor.query(query, EntityMapper.of(entityClass));
+        return SuprimContext.hasIdentityMap() ? SuprimContext.getIdentityMap().putAll(results) : results;
     }
 
     /**
@@ -1803,9 +1856,51 @@ public final class Finder<T> {
      * @return optional containing first entity, or empty
      */
     public Optional<T> first() {
+        IdentityMap identityMap = SuprimContext.hasIdentityMap() ? SuprimContext.getIdentityMap() : null;
+        boolean pureIdLookup = isPureIdLookup();
+        if (Objects.nonNull(identityMap) && pureIdLookup) {
+            Optional<T> cached = identityMap.get(entityClass, idLookup);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+
+        // The entity cache never holds soft-deleted rows, so it cannot answer onlyTrashed()
+        EntityCache entityCache = executor.entityCache();
+        boolean sharedLookup = pureIdLookup
+            && builder.getSoftDeleteScope() != SelectBuilder.SoftDeleteScope.ONLY_TRASHED
+            && entityCache.isCacheable(entityClass);
+        if (sharedLookup) {
+            Optional<T> shared = entityCache.get(entityClass, idLookup);
+            if (shared.isPresent()) {
+                return Objects.nonNull(identityMap) ? shared.map(identityMap::put) : shared;
+            }
+        }
+
         builder.limit(1);
         QueryResult query = builder.build();
-        return executor.queryOne(query, EntityMapper.of(entityClass));
+        Optional<T> result = sharedLookup
+            ? entityCache.loadThrough(entityClass, () -> executor.onPrimary(() -> executor.queryOne(query, EntityMapper.of(entityClass)).stream().toList()))
+                .stream().findFirst()
+            : executor.queryOne(query, EntityMapper.of(entityClass));
+        return Objects.nonNull(identityMap) ? result.map(identityMap::put) : result;
+    }
+
+    /**
+     * Check whether the query is exactly {@code WHERE id = ?} with no other conditions,
+     * joins or eager loads, so a cached instance is an equivalent answer.
+     */
+    private boolean isPureIdLookup() {
+        return Objects.nonNull(idLookup)
+            && builder.getWhereClause() == idLookupClause
+            && builder.getEagerLoads().isEmpty();
+    }
+
+    private boolean isIdColumn(String column) {
+        if (!IdentityMap.isIdentifiable(entityClass)) {
+            return false;
+        }
+        return EntityReflector.getEntityMeta(entityClass).idColumn().equalsIgnoreCase(column);
     }
 
     /**
@@ -0,0 +1,184 @@
+package sant1ago.dev.suprim.jdbc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * First-level cache of loaded entities, keyed by (entity class, id).
+ *
+ * <p>One map is opened per {@code executor.transaction(...)} and bound to
+ * {@link SuprimContext}. Inside the transaction, {@code findById}, id lookups through
+ * {@link Finder#first()} and {@code BELONGS_TO} eager loads return the instance already
+ * loaded for that row instead of querying again, and every load of the same row yields
+ * the same object:
+ *
+ * <pre>{@code
+ * executor.transaction(tx -> {
+ *     User a = executor.findById(User.class, 1L).orElseThrow();  // SELECT
+ *     User b = executor.findById(User.class, 1L).orElseThrow();  // in-memory hit
+ *     assert a == b;
+ * });
+ * }</pre>
+ *
+ * <p>Entries are evicted when an entity is deleted and the whole map is cleared when raw
+ * DML runs through {@link Transaction#execute}, since those statements can change rows
+ * behind the cached instances. Entities without an {@code @Id} field are never cached.
+ */
+public final class IdentityMap {
+
+    private static final Map<Class<?>, Boolean> IDENTIFIABLE_CACHE = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Map<Object, Object>> entities = new HashMap<>();
+
+    IdentityMap() {
+    }
+
+    /**
+     * Look up a loaded entity.
+     *
+     * @param entityClass the entity class
+     * @param id          the primary key value
+     * @param <T>         entity type
+     * @return the cached instance, or empty if the row was not loaded in this transaction
+     */
+    public <T> Optional<T> get(Class<T> entityClass, Object id) {
+        if (Objects.isNull(entityClass) || Objects.isNull(id)) {
+            return Optional.empty();
+        }
+        Map<Object, Object> byId = entities.get(entityClass);
+        if (Objects.isNull(byId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId.get(normalizeKey(id))).map(entityClass::cast);
+    }
+
+    /**
+     * Register a loaded entity and return the canonical instance for its row.
+     *
+     * <p>If an instance with the same class and id is already registered, that instance is
+     * returned and {@code entity} is discarded, so callers always share one object per row.
+     *
+     * @param entity the freshly loaded entity
+     * @param <T>    entity type
+     * @return the registered instance for the entity's row
+     */
+    public <T> T put(T entity) {
+        if (Objects.isNull(entity) || !isIdentifiable(entity.getClass())) {
+            return entity;
+        }
+        Object id = EntityReflector.getIdOrNull(entity);
+        if (Objects.isNull(id)) {
+            return entity;
+        }
+        Object existing = entities.computeIfAbsent(entity.getClass(), k -> new HashMap<>())
+            .putIfAbsent(normalizeKey(id), entity);
+        if (Objects.isNull(existing)) {
+            return entity;
+        }
+        @SuppressWarnings("unchecked")
+        T canonical = (T) existing;
+        return canonical;
+    }
+
+    /**
+     * Register several loaded entities.
+     *
+     * @param loaded the freshly loaded entities
+     * @param <T>    entity type
+     * @return the canonical instances, in the same order
+     */
+    public <T> List<T> putAll(List<T> loaded) {
+        List<T> canonical = new ArrayList<>(loaded.size());
+        for (T entity : loaded) {
+            canonical.add(put(entity));
+        }
+        return canonical;
+    }
+
+    /**
+     * Evict an entity from the map.
+     *
+     * @param entity the entity to evict
+     */
+    public void remove(Object entity) {
+        if (Objects.isNull(entity) || !isIdentifiable(entity.getClass())) {
+            return;
+        }
+        Object id = EntityReflector.getIdOrNull(entity);
+        Map<Object, Object> byId = entities.get(entity.getClass());
+        if (Objects.nonNull(id) && Objects.nonNull(byId)) {
+            byId.remove(normalizeKey(id));
+        }
+    }
+
+    /**
+     * Evict every cached entity.
+     */
+    public void clear() {
+        entities.clear();
+    }
+
+    /**
+     * Get the number of cached entities.
+     *
+     * @return cached entity count
+     */
+    public int size() {
+        int size = 0;
+        for (Map<Object, Object> byId : entities.values()) {
+            size += byId.size();
+        }
+        return size;
+    }
+
+    /**
+     * Check whether lookups of {@code entityClass} by {@code column} can be answered by this map,
+     * i.e. the column is the entity's primary key.
+     *
+     * @param entityClass the entity class
+     * @param column      the lookup column
+     * @return true if {@code column} is the {@code @Id} column of {@code entityClass}
+     */
+    public boolean isKeyedBy(Class<?> entityClass, String column) {
+        return Objects.nonNull(entityClass)
+            && Objects.nonNull(column)
+            && isIdentifiable(entityClass)
+            && EntityReflector.getEntityMeta(entityClass).idColumn().equalsIgnoreCase(column);
+    }
+
+    /**
+     * Check whether entities of a class can be cached (have an {@code @Id} field).
+     *
+     * @param entityClass the entity class
+     * @return true if the class declares an {@code @Id} field
+     */
+    static boolean isIdentifiable(Class<?> entityClass) {
+        return IDENTIFIABLE_CACHE.computeIfAbsent(entityClass, key -> {
+            try {
+                EntityReflector.getEntityMeta(key);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Normalize ids so that {@code 1}, {@code 1L} and a UUID and its string form share one key.
+     */
+    private static Object normalizeKey(Object id) {
+        if (id instanceof Integer || id instanceof Long || id instanceof Short || id instanceof Byte) {
+            return ((Number) id).longValue();
+        }
+        if (id instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,132 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.core.query.EagerLoadSpec;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.Relation;
+import sant1ago.dev.suprim.core.type.TypeUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Splits the join-fetched to-one relations out of each row of a query built with
+ * {@code SelectBuilder.withJoin}, while the root entity is mapped as usual.
+ *
+ * <p>Related entities are deduplicated by key, so parents shared by many rows are mapped
+ * once. Relations whose columns are not in the result (e.g. a custom select list) are left
+ * out of {@link #fetched()} and loaded by {@link sant1ago.dev.suprim.jdbc.eager.EagerLoader}
+ * with a second query.</p>
+ */
+final class JoinFetchCollector {
+
+    private final List<Fetch<?>> fetches;
+    private boolean resolved;
+
+    private JoinFetchCollector(List<Fetch<?>> fetches) {
+        this.fetches = fetches;
+    }
+
+    /**
+     * Create a collector for the query's join-fetched specs.
+     *
+     * @param specs the query's eager load specs
+     * @return the collector, or null if no spec is join-fetched
+     */
+    static JoinFetchCollector of(List<EagerLoadSpec> specs) {
+        List<Fetch<?>> fetches = new ArrayList<>();
+        for (EagerLoadSpec spec : specs) {
+            // Same selection and order as SelectBuilder assigns join aliases
+            if (spec.isJoinFetch() && !Suprim.columns(spec.relation().getRelatedTable().getEntityType()).isEmpty()) {
+                fetches.add(new Fetch<>(spec, EagerLoadSpec.joinAlias(fetches.size()) + "__"));
+            }
+        }
+        return fetches.isEmpty() ? null : new JoinFetchCollector(fetches);
+    }
+
+    /**
+     * Map the joined relations of the current row.
+     */
+    void collect(ResultSet rs) throws SQLException {
+        if (!resolved) {
+            resolveColumns(rs.getMetaData());
+            resolved = true;
+        }
+        for (Fetch<?> fetch : fetches) {
+            fetch.collect(rs);
+        }
+    }
+
+    /**
+     * Locate each relation's key column, disabling relations the query did not join.
+     */
+    private void resolveColumns(ResultSetMetaData metaData) throws SQLException {
+        Map<String, Integer> labels = new HashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            labels.put(metaData.getColumnLabel(i).toLowerCase(), i);
+        }
+        for (Fetch<?> fetch : fetches) {
+            fetch.keyIndex = labels.get(fetch.prefix + fetch.keyColumn().toLowerCase());
+        }
+    }
+
+    /**
+     * Related entities per join-fetched spec, for specs the query actually joined.
+     *
+     * @return distinct related entities keyed by spec identity
+     */
+    Map<EagerLoadSpec, List<?>> fetched() {
+        Map<EagerLoadSpec, List<?>> fetched = new IdentityHashMap<>();
+        for (Fetch<?> fetch : fetches) {
+            if (!resolved || Objects.nonNull(fetch.keyIndex)) {
+                fetched.put(fetch.spec, new ArrayList<>(fetch.byKey.values()));
+            }
+        }
+        return fetched;
+    }
+
+    /**
+     * One join-fetched relation and the entities mapped for it so far.
+     */
+    private static final class Fetch<R> {
+        private final EagerLoadSpec spec;
+        private final String prefix;
+        private final EntityMapper<R> mapper;
+        private final Map<Object, R> byKey = new LinkedHashMap<>();
+        private Integer keyIndex;
+
+        Fetch(EagerLoadSpec spec, String prefix) {
+            this.spec = spec;
+            this.prefix = prefix;
+            Relation<?, R> relation = TypeUtils.castRelation(spec.relation());
+            this.mapper = EntityMapper.prefixed(relation.getRelatedTable().getEntityType(), prefix);
+        }
+
+        /**
+         * Column identifying the related row: its key for BelongsTo, its foreign key for HasOne.
+         */
+        String keyColumn() {
+            Relation<?, ?> relation = spec.relation();
+            return relation.getType() == Relation.Type.BELONGS_TO ? relation.getRelatedKey() : relation.getForeignKey();
+        }
+
+        void collect(ResultSet rs) throws SQLException {
+            if (Objects.isNull(keyIndex)) {
+                return;
+            }
+            Object key = rs.getObject(keyIndex);
+            // No match on the LEFT JOIN, or already mapped from an earlier row
+            if (Objects.isNull(key) || byKey.containsKey(key)) {
+                return;
+            }
+            byKey.put(key, mapper.map(rs));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package sant1ago.dev.suprim.jdbc;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Lazily loaded to-one relation (HasOne, BelongsTo, MorphTo, ...).
+ *
+ * <pre>{@code
+ * @Entity(table = "posts")
+ * public class Post {
+ *     @BelongsTo(entity = User.class, foreignKey = "user_id")
+ *     private Lazy<User> author;
+ *
+ *     public User getAuthor() { return author.get(); }
+ * }
+ *
+ * List<Post> posts = executor.query(query, EntityMapper.of(Post.class));
+ * posts.get(0).getAuthor();  // one SELECT loads the authors of every post in the list
+ * posts.get(1).getAuthor();  // already loaded
+ * }</pre>
+ *
+ * <p>Entities returned by {@link SuprimExecutor#query} and {@link SuprimExecutor#queryOne}
+ * get an unloaded holder in every {@code Lazy} field. The first {@link #get()} on any of
+ * them loads the relation for all entities of that result with a single batched query, so
+ * iterating the list costs one query instead of one per entity. Relations declared with
+ * {@code fetch = FetchType.EAGER} are loaded right after the query instead.</p>
+ *
+ * <p>Loading runs through the executor that ran the original query, and through
+ * {@link SuprimContext#setGlobalExecutor(SuprimExecutor) the global executor} for holders
+ * created outside of one. The entity's metamodel class must be generated, since the
+ * relation is looked up there by field name.</p>
+ *
+ * @param <R> related entity type
+ */
+public final class Lazy<R> implements Supplier<R> {
+
+    private final LazyBatch batch;
+    private volatile boolean loaded;
+    private R value;
+
+    Lazy(LazyBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Create an already loaded holder, e.g. for entities built in memory.
+     *
+     * @param value the related entity, or null
+     * @param <R>   related entity type
+     * @return a loaded holder
+     */
+    public static <R> Lazy<R> of(R value) {
+        Lazy<R> lazy = new Lazy<>(null);
+        lazy.resolve(value);
+        return lazy;
+    }
+
+    /**
+     * Get the related entity, loading it for the whole batch on first access.
+     *
+     * @return the related entity, or null if there is none
+     * @throws IllegalStateException if loading is needed and no executor is available
+     */
+    @Override
+    public R get() {
+        if (!loaded && Objects.nonNull(batch)) {
+            batch.load();
+        }
+        return value;
+    }
+
+    /**
+     * Check whether the relation has been loaded.
+     *
+     * @return true if {@link #get()} will not query
+     */
+    public boolean isLoaded() {
+        return loaded || Objects.isNull(batch);
+    }
+
+    /**
+     * Set the loaded value. Called by eager and batch loading.
+     */
+    void resolve(Object loadedValue) {
+        @SuppressWarnings("unchecked")
+        R related = (R) loadedValue;
+        this.value = related;
+        this.loaded = true;
+    }
+
+    @Override
+    public String toString() {
+        return loaded ? "Lazy[" + value + "]" : "Lazy[not loaded]";
+    }
+}
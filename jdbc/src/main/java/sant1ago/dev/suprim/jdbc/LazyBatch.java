@@ -0,0 +1,207 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.core.query.EagerLoadSpec;
+import sant1ago.dev.suprim.core.query.PathResolver;
+import sant1ago.dev.suprim.core.type.Relation;
+import sant1ago.dev.suprim.jdbc.eager.EagerLoader;
+import sant1ago.dev.suprim.jdbc.exception.MappingException;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One {@link Lazy} or {@link LazyList} field across the entities of one query result.
+ *
+ * <p>Touching any holder of the batch loads the relation for every entity whose holder is
+ * still unloaded with a single {@link EagerLoader} pass (Hibernate-style batch fetching).</p>
+ */
+final class LazyBatch {
+
+    // Lazy relation fields per entity class; empty for classes without any
+    private static final Map<Class<?>, List<LazyField>> FIELDS = new ConcurrentHashMap<>();
+
+    private final SuprimExecutor executor;
+    private final LazyField field;
+    private final List<Object> entities;
+    // Not a monitor, so loading from a virtual thread does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    private LazyBatch(SuprimExecutor executor, LazyField field, List<Object> entities) {
+        this.executor = executor;
+        this.field = field;
+        this.entities = entities;
+    }
+
+    /**
+     * Install unloaded holders in the lazy relation fields of freshly mapped entities, and
+     * load those declared {@code FetchType.EAGER} unless the query already eager-loads them.
+     *
+     * @param entities   the query result
+     * @param executor   the executor that ran the query
+     * @param eagerLoads the query's eager load specs, or null
+     */
+    static void bind(List<?> entities, SuprimExecutor executor, List<EagerLoadSpec> eagerLoads) {
+        if (entities.isEmpty() || Objects.isNull(entities.get(0))) {
+            return;
+        }
+        Class<?> type = entities.get(0).getClass();
+        List<LazyField> fields = FIELDS.computeIfAbsent(type, LazyBatch::scan);
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        List<Object> siblings = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            if (Objects.nonNull(entity) && entity.getClass() == type) {
+                siblings.add(entity);
+            }
+        }
+        for (LazyField lazyField : fields) {
+            LazyBatch batch = new LazyBatch(executor, lazyField, siblings);
+            for (Object entity : siblings) {
+                if (Objects.isNull(lazyField.get(entity))) {
+                    lazyField.set(entity, lazyField.isList() ? new LazyList<>(batch) : new Lazy<>(batch));
+                }
+            }
+            boolean requested = Objects.nonNull(eagerLoads) && eagerLoads.stream().anyMatch(spec -> spec.relation().equals(lazyField.relation()));
+            if (lazyField.relation().isEager() && !requested) {
+                batch.load();
+            }
+        }
+    }
+
+    /**
+     * Check whether a field type is a lazy relation holder.
+     */
+    static boolean isHolder(Class<?> fieldType) {
+        return fieldType == Lazy.class || fieldType == LazyList.class;
+    }
+
+    /**
+     * Store a loaded relation value in a holder field, creating the holder if absent.
+     */
+    static void resolve(Object entity, Field field, Object value) {
+        try {
+            field.setAccessible(true);
+            Object holder = field.get(entity);
+            if (holder instanceof Lazy<?> lazy) {
+                lazy.resolve(value);
+            } else if (holder instanceof LazyList<?> list) {
+                list.resolve(value);
+            } else {
+                field.set(entity, field.getType() == LazyList.class
+                        ? LazyList.of(Objects.isNull(value) ? List.of() : (List<?>) value)
+                        : Lazy.of(value));
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw MappingException.fieldAccessError(entity.getClass(), field.getName(), e);
+        }
+    }
+
+    /**
+     * Load the relation for every entity of the batch that is not loaded yet.
+     */
+    void load() {
+        lock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<Object> pending = new ArrayList<>();
+            for (Object entity : entities) {
+                if (!field.isLoaded(entity)) {
+                    pending.add(entity);
+                }
+            }
+            if (!pending.isEmpty()) {
+                new EagerLoader(resolveExecutor()).loadRelations(pending, List.of(EagerLoadSpec.of(field.relation())));
+                // Parents without a key or match are left untouched by the loader
+                for (Object entity : pending) {
+                    if (!field.isLoaded(entity)) {
+                        resolve(entity, field.field(), null);
+                    }
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SuprimExecutor resolveExecutor() {
+        SuprimExecutor current = Objects.nonNull(executor) ? executor : SuprimContext.getGlobalExecutor();
+        if (Objects.isNull(current)) {
+            throw new IllegalStateException(
+                    "Cannot load lazy relation '" + field.field().getName() + "': no executor. "
+                            + "Register one with SuprimContext.setGlobalExecutor(executor)");
+        }
+        return current;
+    }
+
+    /**
+     * Find the Lazy and LazyList fields of an entity class and their relations.
+     */
+    private static List<LazyField> scan(Class<?> type) {
+        if (!type.isAnnotationPresent(Entity.class)) {
+            return List.of();
+        }
+        List<LazyField> fields = new ArrayList<>();
+        for (Class<?> current = type; Objects.nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!isHolder(field.getType())) {
+                    continue;
+                }
+                Relation<?, ?> relation;
+                try {
+                    relation = PathResolver.resolve(field.getName(), type).relation();
+                } catch (IllegalArgumentException e) {
+                    throw MappingException.fieldAccessError(type, field.getName(), e);
+                }
+                field.setAccessible(true);
+                fields.add(new LazyField(field, relation));
+            }
+        }
+        return List.copyOf(fields);
+    }
+
+    /**
+     * A lazy relation field and the relation it holds.
+     */
+    private record LazyField(Field field, Relation<?, ?> relation) {
+
+        boolean isList() {
+            return field.getType() == LazyList.class;
+        }
+
+        Object get(Object entity) {
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw MappingException.fieldAccessError(entity.getClass(), field.getName(), e);
+            }
+        }
+
+        void set(Object entity, Object holder) {
+            try {
+                field.set(entity, holder);
+            } catch (IllegalAccessException e) {
+                throw MappingException.fieldAccessError(entity.getClass(), field.getName(), e);
+            }
+        }
+
+        boolean isLoaded(Object entity) {
+            Object holder = get(entity);
+            if (holder instanceof Lazy<?> lazy) {
+                return lazy.isLoaded();
+            }
+            return holder instanceof LazyList<?> list && list.isLoaded();
+        }
+    }
+}
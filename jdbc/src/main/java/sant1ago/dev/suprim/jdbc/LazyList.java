@@ -0,0 +1,94 @@
+package sant1ago.dev.suprim.jdbc;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lazily loaded to-many relation (HasMany, BelongsToMany, MorphMany, ...).
+ *
+ * <pre>{@code
+ * @Entity(table = "users")
+ * public class User {
+ *     @HasMany(entity = Post.class, foreignKey = "user_id")
+ *     private LazyList<Post> posts;
+ *
+ *     public List<Post> getPosts() { return posts; }
+ * }
+ *
+ * for (User user : executor.query(query, EntityMapper.of(User.class))) {
+ *     user.getPosts().size();  // first access loads posts for every user in one SELECT
+ * }
+ * }</pre>
+ *
+ * <p>Behaves as a read-only {@link List} that loads on first access, batched across the
+ * entities of the same query result like {@link Lazy}.</p>
+ *
+ * @param <R> related entity type
+ */
+public final class LazyList<R> extends AbstractList<R> {
+
+    private final LazyBatch batch;
+    private volatile boolean loaded;
+    private List<R> values = List.of();
+
+    LazyList(LazyBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Create an already loaded list, e.g. for entities built in memory.
+     *
+     * @param values the related entities
+     * @param <R>    related entity type
+     * @return a loaded list
+     */
+    public static <R> LazyList<R> of(Collection<? extends R> values) {
+        LazyList<R> list = new LazyList<>(null);
+        list.resolve(values);
+        return list;
+    }
+
+    /**
+     * Check whether the relation has been loaded.
+     *
+     * @return true if reading the list will not query
+     */
+    public boolean isLoaded() {
+        return loaded || Objects.isNull(batch);
+    }
+
+    private List<R> values() {
+        if (!loaded && Objects.nonNull(batch)) {
+            batch.load();
+        }
+        return values;
+    }
+
+    @Override
+    public R get(int index) {
+        return values().get(index);
+    }
+
+    @Override
+    public int size() {
+        return values().size();
+    }
+
+    /**
+     * Set the loaded values. Called by eager and batch loading.
+     */
+    void resolve(Object loadedValue) {
+        @SuppressWarnings("unchecked")
+        Collection<? extends R> related = Objects.isNull(loadedValue) ? List.of() : (Collection<? extends R>) loadedValue;
+        this.values = new ArrayList<>(related);
+        this.loaded = true;
+    }
+
+    @Override
+    public String toString() {
+        return loaded ? values.toString() : "LazyList[not loaded]";
+    }
+}
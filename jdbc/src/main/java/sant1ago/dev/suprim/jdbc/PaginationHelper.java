@@ -98,19 +98,20 @@ final class PaginationHelper {
         // Wrap the original query in a count query
         String countSql = "SELECT COUNT(*) FROM (" + converted.sql() + ") AS count_query";
 
-        try (Connection conn = executor.getConnectionInternal();
+        try (Connection conn = executor.getReadConnectionInternal(countSql);
              PreparedStatement ps = conn.prepareStatement(countSql)) {
 
+            StatementGuard.guard(ps, executor.timeoutFor(original), countSql);
             setParameters(ps, converted.parameters());
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                 if (rs.next()) {
                     return rs.getLong(1);
                 }
                 return 0;
             }
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(countSql, converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(countSql, converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -0,0 +1,444 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.core.query.EagerLoadSpec;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.type.Relation;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Result cache for queries marked with {@code cached(Duration)}.
+ *
+ * <pre>{@code
+ * List<Country> countries = executor.query(
+ *     Suprim.selectAll().from(Country_.TABLE).cached(Duration.ofMinutes(5)).build(),
+ *     EntityMapper.of(Country.class));                 // SELECT, result cached
+ *
+ * executor.find(Country.class).cached(Duration.ofMinutes(5)).get();
+ *
+ * log.info("query cache hit ratio: {}", executor.queryCache().stats().hitRatio());
+ * }</pre>
+ *
+ * <p>Results are keyed by whitespace-normalized SQL, parameter values and row mapper, and
+ * tagged with every table the query reads (FROM and JOIN targets plus the tables of eager
+ * loaded relations). Concurrent misses on one key run a single query whose result all callers
+ * share. The cache is bounded by entry count and by an estimate of the retained bytes,
+ * evicting least recently used results first.</p>
+ *
+ * <p>Invalidation: the same writes that invalidate the {@link EntityCache} (entity saves and
+ * deletes, batch inserts, upserts and statements run through {@code execute()} on this
+ * executor) drop every result tagged with the written table once the write is committed.
+ * Writes by other executors or processes are only picked up when results expire. Queries
+ * running inside a transaction bypass the cache.</p>
+ *
+ * <p>Cached lists are shared between callers and unmodifiable. Entities mapped with
+ * {@link EntityMapper} are copied on every hit together with their eager-loaded relations
+ * and with fresh lazy holders, so callers may modify their own.</p>
+ */
+public final class QueryCache {
+
+    /** Entries kept by default. */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    /** Estimated bytes kept by default. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    // Table references after FROM or JOIN, up to the next clause; comma joins are split afterwards
+    private static final Pattern READ_TABLES = Pattern.compile(
+        "\\b(?:FROM|JOIN)\\s+([^\\s(),]+(?:\\s+(?:AS\\s+)?[^\\s(),]+)?(?:\\s*,\\s*[^\\s(),]+(?:\\s+(?:AS\\s+)?[^\\s(),]+)?)*)",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Rough JVM sizes used by estimateBytes
+    private static final int OBJECT_BYTES = 16;
+    private static final int REFERENCE_BYTES = 8;
+    private static final int MAX_ESTIMATE_DEPTH = 3;
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Key>> byTable = new HashMap<>();
+    private final Map<String, Long> tableGenerations = new HashMap<>();
+    private final QueryCoalescer coalescedMisses = new QueryCoalescer(null);
+    private long generation;
+    private long bytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    QueryCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1, got " + maxEntries);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be at least 1, got " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Drop every cached result that reads a table.
+     *
+     * @param table the table name, matched case-insensitively and without schema
+     */
+    public void invalidate(String table) {
+        invalidateTables(Set.of(normalizeTable(table)));
+    }
+
+    /**
+     * Drop every cached result.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            byTable.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the cache counters.
+     *
+     * @return hits, misses, evictions and current entry count
+     */
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the estimated bytes held by cached results.
+     *
+     * @return the sum of the size estimates of all entries
+     */
+    public long estimatedBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== INTERNAL ====================
+
+    /**
+     * Return the cached result of a query, or run {@code loader} and cache its result.
+     * Concurrent misses on the same key wait for the first caller's load.
+     *
+     * @param query  the cacheable query
+     * @param params its positional parameter values
+     * @param shape  what distinguishes results of the same statement, e.g. the row mapper
+     * @param loader the database load
+     * @param <V>    result type
+     * @return the cached or loaded result
+     */
+    <V> V load(QueryResult query, Object[] params, Object shape, Supplier<V> loader) {
+        Key key = new Key(WHITESPACE.matcher(query.sql().trim()).replaceAll(" "), Arrays.asList(params), shape);
+        Object cached = get(key);
+        if (Objects.nonNull(cached)) {
+            return cast(cached);
+        }
+
+        return coalescedMisses.run(key, () -> {
+            Set<String> tables = readTables(query);
+            Stamp stamp = stamp(tables);
+            V loaded = loader.get();
+            put(key, loaded, tables, query.cacheTtl(), stamp);
+            return loaded;
+        }, UnaryOperator.identity());
+    }
+
+    /**
+     * Invalidate the results that read any of the written tables. A null table name means
+     * "unknown", which invalidates everything.
+     */
+    void invalidateTables(Collection<String> tables) {
+        if (tables.isEmpty()) {
+            return;
+        }
+        if (tables.contains(null)) {
+            invalidateAll();
+            return;
+        }
+        lock.lock();
+        try {
+            for (String table : tables) {
+                tableGenerations.merge(table, 1L, Long::sum);
+                Set<Key> keys = byTable.remove(table);
+                if (Objects.nonNull(keys)) {
+                    for (Key key : keys) {
+                        remove(key);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lower-cased, unqualified names of the tables a query reads, including the tables its
+     * eager loads query.
+     */
+    static Set<String> readTables(QueryResult query) {
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher matcher = READ_TABLES.matcher(query.sql());
+        while (matcher.find()) {
+            for (String reference : matcher.group(1).split(",")) {
+                tables.add(normalizeTable(reference.trim().split("\\s+")[0]));
+            }
+        }
+        if (query.hasEagerLoads()) {
+            addRelationTables(query.eagerLoads(), tables);
+        }
+        return tables;
+    }
+
+    private static void addRelationTables(List<EagerLoadSpec> specs, Set<String> tables) {
+        for (EagerLoadSpec spec : specs) {
+            Relation<?, ?> relation = spec.relation();
+            if (Objects.nonNull(relation.getRelatedTable())) {
+                tables.add(normalizeTable(relation.getRelatedTable().getName()));
+            }
+            if (Objects.nonNull(relation.getPivotTable())) {
+                tables.add(normalizeTable(relation.getPivotTable()));
+            }
+            if (Objects.nonNull(relation.getThroughTable())) {
+                tables.add(normalizeTable(relation.getThroughTable().getName()));
+            }
+            if (relation.getType() == Relation.Type.MORPH_TO) {
+                // Targets are resolved per row
+                tables.add(null);
+            }
+            addRelationTables(spec.nested(), tables);
+        }
+    }
+
+    private static String normalizeTable(String reference) {
+        String table = reference.substring(reference.lastIndexOf('.') + 1);
+        return table.replace("\"", "").replace("`", "").replace("[", "").replace("]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private Object get(Key key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (Objects.nonNull(entry) && System.nanoTime() - entry.expiresAt() >= 0) {
+                remove(key);
+                entry = null;
+            }
+            if (Objects.isNull(entry)) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Capture the generations of the read tables before a database load.
+     */
+    private Stamp stamp(Set<String> tables) {
+        lock.lock();
+        try {
+            Map<String, Long> tableStamps = new HashMap<>();
+            for (String table : tables) {
+                tableStamps.put(table, tableGenerations.getOrDefault(table, 0L));
+            }
+            return new Stamp(generation, tableStamps);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cache a loaded result unless one of its tables was invalidated while it loaded, so a
+     * load racing with a committed write cannot re-insert stale data.
+     */
+    private void put(Key key, Object value, Set<String> tables, Duration ttl, Stamp stamp) {
+        // Results reading a table that cannot be identified are never cached
+        if (tables.isEmpty() || tables.contains(null)) {
+            return;
+        }
+        long size = estimateBytes(value, 0) + estimateBytes(key.sql(), 0);
+        if (size > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (stamp.generation() != generation) {
+                return;
+            }
+            for (Map.Entry<String, Long> tableStamp : stamp.tables().entrySet()) {
+                if (!tableGenerations.getOrDefault(tableStamp.getKey(), 0L).equals(tableStamp.getValue())) {
+                    return;
+                }
+            }
+            remove(key);
+            entries.put(key, new Entry(value, tables, size, System.nanoTime() + ttl.toNanos()));
+            bytes += size;
+            for (String table : tables) {
+                byTable.computeIfAbsent(table, ignored -> new HashSet<>()).add(key);
+            }
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                Map.Entry<Key, Entry> victim = eldest.next();
+                eldest.remove();
+                unlink(victim.getKey(), victim.getValue());
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove an entry. Must hold the lock.
+     */
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (Objects.nonNull(entry)) {
+            unlink(key, entry);
+        }
+    }
+
+    /**
+     * Drop a removed entry from the table index and byte count. Must hold the lock.
+     */
+    private void unlink(Key key, Entry entry) {
+        bytes -= entry.bytes();
+        for (String table : entry.tables()) {
+            Set<Key> keys = byTable.get(table);
+            if (Objects.nonNull(keys)) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    byTable.remove(table);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+
+    /**
+     * Rough retained size of a result: object headers, references, strings and arrays,
+     * following entity fields a few levels deep.
+     */
+    static long estimateBytes(Object value, int depth) {
+        if (Objects.isNull(value)) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return OBJECT_BYTES * 2L + text.length() * 2L;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum<?>
+            || value instanceof java.time.temporal.Temporal || value instanceof java.util.UUID) {
+            return OBJECT_BYTES * 2L;
+        }
+        if (value instanceof byte[] data) {
+            return OBJECT_BYTES + data.length;
+        }
+        if (depth >= MAX_ESTIMATE_DEPTH) {
+            return OBJECT_BYTES;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_BYTES * 2L;
+            for (Object element : collection) {
+                size += REFERENCE_BYTES + estimateBytes(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_BYTES * 2L;
+            for (Map.Entry<?, ?> mapEntry : map.entrySet()) {
+                size += OBJECT_BYTES + estimateBytes(mapEntry.getKey(), depth + 1) + estimateBytes(mapEntry.getValue(), depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof java.util.Optional<?> optional) {
+            return OBJECT_BYTES + estimateBytes(optional.orElse(null), depth);
+        }
+        if (value.getClass().isArray()) {
+            long size = OBJECT_BYTES;
+            for (int i = 0; i < Array.getLength(value); i++) {
+                size += REFERENCE_BYTES + estimateBytes(Array.get(value, i), depth + 1);
+            }
+            return size;
+        }
+        long size = OBJECT_BYTES;
+        for (Field field : fieldsOf(value.getClass())) {
+            try {
+                size += field.getType().isPrimitive() ? REFERENCE_BYTES : REFERENCE_BYTES + estimateBytes(field.get(value), depth + 1);
+            } catch (IllegalAccessException e) {
+                size += REFERENCE_BYTES;
+            }
+        }
+        return size;
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = key; Objects.nonNull(current) && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || !field.trySetAccessible()) {
+                        continue;
+                    }
+                    fields.add(field);
+                }
+            }
+            return List.copyOf(fields);
+        });
+    }
+
+    private record Key(String sql, List<Object> parameters, Object shape) {
+    }
+
+    private record Entry(Object value, Set<String> tables, long bytes, long expiresAt) {
+    }
+
+    private record Stamp(long generation, Map<String, Long> tables) {
+    }
+}
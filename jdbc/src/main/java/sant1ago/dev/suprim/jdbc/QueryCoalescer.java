@@ -0,0 +1,154 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.jdbc.exception.QueryException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight execution of identical reads: while a query runs, callers issuing the same
+ * query wait for its result instead of sending their own.
+ *
+ * <pre>{@code
+ * SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+ *     .coalesceReads(Duration.ofSeconds(2))
+ *     .build();
+ *
+ * // 50 threads calling this concurrently run one SELECT
+ * executor.findById(Product.class, 42L);
+ *
+ * log.info("coalesced: {}", executor.readCoalescer().stats().coalescedRatio());
+ * }</pre>
+ *
+ * <p>Only reads that can be answered by another caller's query are coalesced: SELECTs
+ * outside a transaction without a locking clause, keyed by SQL, parameter values, row mapper,
+ * eager loads, timeout and {@link Deadline}. Followers receive copies of entity rows and their loaded relations, so each caller
+ * can modify its entities independently; rows of other mappers are shared. A follower waits at most
+ * {@code maxWait} and then runs its own query. A failed query fails its followers with the
+ * same exception.</p>
+ *
+ * <p>Nothing is kept once a query completes; combine with {@code cached(Duration)} to
+ * reuse results over time.</p>
+ */
+public final class QueryCoalescer {
+
+    private final Duration maxWait;
+    private final ConcurrentHashMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * @param maxWait how long a follower waits for the running query; null waits until it completes
+     */
+    QueryCoalescer(Duration maxWait) {
+        if (Objects.nonNull(maxWait) && (maxWait.isNegative() || maxWait.isZero())) {
+            throw new IllegalArgumentException("maxWait must be positive, got " + maxWait);
+        }
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Get the longest time a follower waits for an in-flight query.
+     *
+     * @return the maximum wait, or null when followers wait until the query completes
+     */
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Get the coalescing counters.
+     *
+     * @return executions, coalesced calls, timeouts and queries in flight
+     */
+    public CoalescingStats stats() {
+        return new CoalescingStats(executions.sum(), coalesced.sum(), timeouts.sum(), inFlight.size());
+    }
+
+    // ==================== INTERNAL ====================
+
+    /**
+     * Run {@code loader}, or wait for the identical load already in flight.
+     *
+     * @param key    identifies identical loads
+     * @param loader the database load
+     * @param share  derives a follower's copy from the shared result; the leader's caller also
+     *               gets a copy when there were followers, so nobody mutates the shared result
+     * @param <V>    result type
+     * @return the loaded result or a copy of it
+     */
+    <V> V run(Object key, Supplier<V> loader, UnaryOperator<V> share) {
+        Flight created = new Flight();
+        // compute() makes joining and the leader's remove() atomic, so the follower count is final once removed
+        Flight flight = inFlight.compute(key, (ignored, running) -> {
+            if (Objects.isNull(running)) {
+                return created;
+            }
+            running.followers.incrementAndGet();
+            return running;
+        });
+        if (flight != created) {
+            return follow(flight, loader, share);
+        }
+
+        executions.increment();
+        V loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        flight.result.complete(loaded);
+        return flight.followers.get() > 0 ? share.apply(loaded) : loaded;
+    }
+
+    private <V> V follow(Flight flight, Supplier<V> loader, UnaryOperator<V> share) {
+        Object result;
+        try {
+            result = Objects.isNull(maxWait)
+                ? flight.result.get()
+                : flight.result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            executions.increment();
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw QueryException.builder()
+                .message("Interrupted while waiting for an identical query in flight")
+                .category(SuprimException.ErrorCategory.QUERY_CANCELED)
+                .cause(e)
+                .build();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        coalesced.increment();
+        @SuppressWarnings("unchecked")
+        V value = (V) result;
+        return share.apply(value);
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger followers = new AtomicInteger();
+    }
+}
@@ -0,0 +1,351 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.SelectBuilder;
+import sant1ago.dev.suprim.jdbc.event.EventDispatcher;
+import sant1ago.dev.suprim.jdbc.event.QueryEvent;
+import sant1ago.dev.suprim.jdbc.event.QueryTimer;
+import sant1ago.dev.suprim.jdbc.exception.ConnectionException;
+import sant1ago.dev.suprim.jdbc.exception.ExceptionTranslator;
+import sant1ago.dev.suprim.jdbc.exception.NonUniqueResultException;
+import sant1ago.dev.suprim.jdbc.exception.QueryException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Independent reads sent over one connection, in a single round-trip where the driver
+ * allows it. Created by {@link SuprimExecutor#batch(Function)}; each read returns a
+ * {@link Handle} that resolves once the batch has run.
+ *
+ * <pre>{@code
+ * var page = executor.batch(b -> new Object() {
+ *     final ReadBatch.Handle<List<Post>> posts = b.query(latestPosts, EntityMapper.of(Post.class));
+ *     final ReadBatch.Handle<Optional<User>> author = b.queryOne(authorQuery, EntityMapper.of(User.class));
+ *     final ReadBatch.Handle<Long> total = b.count(Suprim.selectAll().from(Post_.TABLE));
+ * });
+ * render(page.posts.get(), page.author.get(), page.total.get());
+ * }</pre>
+ *
+ * <p>On PostgreSQL (pgjdbc) and on MySQL or MariaDB connections with
+ * {@code allowMultiQueries=true}, the statements are joined into one multi-statement query
+ * and their result sets are read in order. Other drivers, and statements that already
+ * contain a {@code ;}, run one after another on the same connection. Eager loads run after
+ * all result sets are read, as for {@link SuprimExecutor#query}.</p>
+ *
+ * <p>Batched reads always reach the database: they bypass the query cache and read
+ * coalescing. A multi-statement query runs with the longest timeout set on its reads.</p>
+ */
+public final class ReadBatch {
+
+    private final List<Read<?, ?>> reads = new ArrayList<>();
+    private boolean executed;
+
+    ReadBatch() {
+    }
+
+    /**
+     * Add a SELECT whose rows are mapped with {@code mapper}.
+     *
+     * @param queryResult the query
+     * @param mapper      the row mapper
+     * @param <T>         row type
+     * @return a handle to the mapped rows
+     */
+    public <T> Handle<List<T>> query(QueryResult queryResult, RowMapper<T> mapper) {
+        return add(queryResult, queryResult.timeout(), SqlParameterConverter.convert(queryResult), mapper, rows -> rows);
+    }
+
+    /**
+     * Add a SELECT returning at most one row.
+     *
+     * @param queryResult the query
+     * @param mapper      the row mapper
+     * @param <T>         row type
+     * @return a handle to the row, or empty when none matched; resolving throws
+     *         {@link NonUniqueResultException} if more than one row matched
+     */
+    public <T> Handle<Optional<T>> queryOne(QueryResult queryResult, RowMapper<T> mapper) {
+        SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
+        return add(queryResult, queryResult.timeout(), converted, mapper, rows -> {
+            if (rows.size() > 1) {
+                throw NonUniqueResultException.forQuery(converted.sql(), converted.parameters());
+            }
+            return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+        });
+    }
+
+    /**
+     * Add a count of the rows a query returns, like {@link SuprimExecutor#count(SelectBuilder)}.
+     *
+     * @param builder the select builder
+     * @return a handle to the row count
+     */
+    public Handle<Long> count(SelectBuilder builder) {
+        QueryResult query = builder.build();
+        SqlParameterConverter.Result converted = SqlParameterConverter.convert(query);
+        SqlParameterConverter.Result counted = new SqlParameterConverter.Result(
+            "SELECT COUNT(*) FROM (" + converted.sql() + ") AS count_query", converted.parameters());
+        return add(null, query.timeout(), counted, rs -> rs.getLong(1), rows -> rows.isEmpty() ? 0L : rows.get(0));
+    }
+
+    /**
+     * Get the number of reads added so far.
+     *
+     * @return the number of statements in this batch
+     */
+    public int size() {
+        return reads.size();
+    }
+
+    private <T, V> Handle<V> add(QueryResult query, Duration timeout, SqlParameterConverter.Result converted,
+                                 RowMapper<T> mapper, Function<List<T>, V> result) {
+        if (executed) {
+            throw new IllegalStateException("Cannot add reads to a batch that has already run");
+        }
+        Read<T, V> read = new Read<>(query, timeout, converted, mapper, result);
+        reads.add(read);
+        return read.handle;
+    }
+
+    // ==================== EXECUTION ====================
+
+    /**
+     * Run all reads on one connection and resolve their handles.
+     */
+    void execute(SuprimExecutor executor) {
+        if (executed) {
+            throw new IllegalStateException("Batch has already run");
+        }
+        executed = true;
+        if (reads.isEmpty()) {
+            return;
+        }
+
+        String sql = reads.stream().map(read -> read.converted.sql()).collect(Collectors.joining("; "));
+        try (Connection conn = executor.getReadConnectionInternal(sql)) {
+            boolean combinable = reads.size() > 1
+                && reads.stream().noneMatch(read -> read.converted.sql().contains(";"));
+            if (combinable && supportsMultiStatements(conn)) {
+                executeCombined(executor, conn, sql);
+            } else {
+                executeSequential(executor, conn);
+            }
+        } catch (SQLException e) {
+            throw ConnectionException.fromSQLException(e);
+        }
+
+        for (Read<?, ?> read : reads) {
+            read.complete(executor);
+        }
+    }
+
+    /**
+     * One multi-statement query; result sets come back in statement order.
+     */
+    private void executeCombined(SuprimExecutor executor, Connection conn, String sql) {
+        List<Object> parameterList = new ArrayList<>();
+        for (Read<?, ?> read : reads) {
+            parameterList.addAll(Arrays.asList(read.converted.parameters()));
+        }
+        Object[] parameters = parameterList.toArray();
+
+        EventDispatcher dispatcher = executor.getDispatcher();
+        QueryEvent beforeEvent = dispatcher.beginQuery(sql, parameters, executor.getConnectionName());
+        long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            StatementGuard.guard(ps, combinedTimeout(executor), sql);
+            setParameters(ps, parameters);
+            timer.prepared();
+            boolean hasResultSet = StatementGuard.execute(ps);
+            timer.executed();
+
+            int rows = 0;
+            for (Read<?, ?> read : reads) {
+                while (!hasResultSet && ps.getUpdateCount() != -1) {
+                    hasResultSet = ps.getMoreResults();
+                }
+                if (!hasResultSet) {
+                    throw QueryException.builder()
+                        .message("Batch returned fewer result sets than the " + reads.size() + " statements sent")
+                        .sql(sql)
+                        .parameters(parameters)
+                        .build();
+                }
+                try (ResultSet rs = ps.getResultSet()) {
+                    rows += read.map(executor, rs);
+                }
+                hasResultSet = ps.getMoreResults();
+            }
+            timer.fetched();
+
+            dispatcher.completeQuery(beforeEvent, System.nanoTime() - startNanos, rows, timer);
+        } catch (SQLException e) {
+            dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
+            throw ExceptionTranslator.translateQuery(sql, parameters, StatementGuard.timedOut(e));
+        } catch (SuprimException e) {
+            dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
+            throw e;
+        }
+    }
+
+    /**
+     * One statement after another on the same connection.
+     */
+    private void executeSequential(SuprimExecutor executor, Connection conn) {
+        EventDispatcher dispatcher = executor.getDispatcher();
+        for (Read<?, ?> read : reads) {
+            String sql = read.converted.sql();
+            Object[] parameters = read.converted.parameters();
+            QueryEvent beforeEvent = dispatcher.beginQuery(sql, parameters, executor.getConnectionName());
+            long startNanos = System.nanoTime();
+            QueryTimer timer = dispatcher.startTimer(beforeEvent);
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                StatementGuard.guard(ps, Objects.nonNull(read.timeout) ? read.timeout : executor.timeoutFor(null), sql);
+                setParameters(ps, parameters);
+                timer.prepared();
+                try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                    timer.executed();
+                    int rows = read.map(executor, rs);
+                    timer.fetched();
+                    dispatcher.completeQuery(beforeEvent, System.nanoTime() - startNanos, rows, timer);
+                }
+            } catch (SQLException e) {
+                dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
+                throw ExceptionTranslator.translateQuery(sql, parameters, StatementGuard.timedOut(e));
+            } catch (SuprimException e) {
+                dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The timeout of the combined statement: the longest timeout set on a read, else the
+     * executor default.
+     */
+    private Duration combinedTimeout(SuprimExecutor executor) {
+        return reads.stream()
+            .map(read -> read.timeout)
+            .filter(Objects::nonNull)
+            .max(Duration::compareTo)
+            .orElseGet(() -> executor.timeoutFor(null));
+    }
+
+    /**
+     * Check whether the driver sends several statements of one PreparedStatement in a single
+     * round-trip and returns one result set per statement.
+     */
+    static boolean supportsMultiStatements(Connection conn) throws SQLException {
+        String url = conn.getMetaData().getURL();
+        if (Objects.isNull(url)) {
+            return false;
+        }
+        String lower = url.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("jdbc:postgresql:")) {
+            return true;
+        }
+        return (lower.startsWith("jdbc:mysql:") || lower.startsWith("jdbc:mariadb:"))
+            && lower.contains("allowmultiqueries=true");
+    }
+
+    private static void setParameters(PreparedStatement ps, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            ps.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    // ==================== HANDLES ====================
+
+    /**
+     * The result of one read in a batch, available once the batch has run.
+     *
+     * @param <V> result type
+     */
+    public static final class Handle<V> {
+        private V value;
+        private RuntimeException failure;
+        private boolean done;
+
+        private Handle() {
+        }
+
+        /**
+         * Get the result of the read.
+         *
+         * @return the result
+         * @throws IllegalStateException    if the batch has not run yet
+         * @throws NonUniqueResultException if a {@code queryOne} read matched more than one row
+         */
+        public V get() {
+            if (!done) {
+                throw new IllegalStateException("Batch has not run yet");
+            }
+            if (Objects.nonNull(failure)) {
+                throw failure;
+            }
+            return value;
+        }
+
+        /**
+         * Check whether the batch has run.
+         *
+         * @return true once the result is available
+         */
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+    private static final class Read<T, V> {
+        private final QueryResult query;
+        private final Duration timeout;
+        private final SqlParameterConverter.Result converted;
+        private final RowMapper<T> mapper;
+        private final Function<List<T>, V> result;
+        private final Handle<V> handle = new Handle<>();
+        private List<T> rows;
+        private JoinFetchCollector joined;
+
+        private Read(QueryResult query, Duration timeout, SqlParameterConverter.Result converted,
+                     RowMapper<T> mapper, Function<List<T>, V> result) {
+            this.query = query;
+            this.timeout = timeout;
+            this.converted = converted;
+            this.mapper = mapper;
+            this.result = result;
+        }
+
+        private int map(SuprimExecutor executor, ResultSet rs) throws SQLException {
+            joined = Objects.nonNull(query) && query.hasEagerLoads() ? JoinFetchCollector.of(query.eagerLoads()) : null;
+            rows = executor.mapRows(rs, mapper, joined, converted);
+            return rows.size();
+        }
+
+        private void complete(SuprimExecutor executor) {
+            if (Objects.nonNull(query)) {
+                executor.loadRelations(rows, query, joined, QueryTimer.DISABLED);
+            }
+            try {
+                handle.value = result.apply(rows);
+            } catch (RuntimeException e) {
+                handle.failure = e;
+            }
+            handle.done = true;
+        }
+    }
+}
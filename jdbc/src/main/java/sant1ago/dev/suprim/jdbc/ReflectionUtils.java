@@ -295,6 +295,27 @@ public final class ReflectionUtils {
         return false;
     }
 
+    /**
+     * Set a relation field on an entity. {@link Lazy} and {@link LazyList} fields are
+     * resolved in place instead of being replaced by the loaded value.
+     *
+     * @param entity    the entity instance
+     * @param fieldName the relation field name
+     * @param value     the related entity, or a collection for to-many relations
+     * @return true if value was set successfully, false otherwise
+     */
+    public static boolean setRelationValue(Object entity, String fieldName, Object value) {
+        if (Objects.isNull(entity) || Objects.isNull(fieldName)) {
+            return false;
+        }
+        Field field = findField(entity.getClass(), fieldName);
+        if (Objects.nonNull(field) && LazyBatch.isHolder(field.getType())) {
+            LazyBatch.resolve(entity, field, value);
+            return true;
+        }
+        return setFieldValue(entity, fieldName, value);
+    }
+
     private static boolean setFieldValueInternal(Object entity, Class<?> clazz, String fieldName, Object value) {
         // Include classloader identity hash to handle Spring Boot DevTools restart classloader
         String cacheKey = System.identityHashCode(clazz.getClassLoader()) + "#" + clazz.getName() + "#set#" + fieldName + "#" + (Objects.isNull(value) ? "null" : value.getClass().getName());
@@ -1,5 +1,7 @@
 package sant1ago.dev.suprim.jdbc;
 
+import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
+import sant1ago.dev.suprim.core.query.BatchInsertBuilder;
 import sant1ago.dev.suprim.core.query.InsertBuilder;
 import sant1ago.dev.suprim.core.query.QueryResult;
 import sant1ago.dev.suprim.core.query.SelectBuilder;
@@ -8,6 +10,7 @@ import sant1ago.dev.suprim.core.query.UpdateBuilder;
 import sant1ago.dev.suprim.core.type.Column;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.core.type.Table;
+import sant1ago.dev.suprim.core.util.IdMetadata;
 
 import java.time.Instant;
 import java.util.*;
@@ -30,15 +33,27 @@ import java.util.stream.Collectors;
  * // BelongsToMany: attach/detach/sync/toggle
  * manager.attach(user, User_.ROLES, roleId);
  * manager.attach(user, User_.ROLES, roleId, Map.of("assigned_by", 1));
+ * manager.attachMany(user, User_.ROLES, List.of(1L, 2L, 3L));
  * manager.detach(user, User_.ROLES, roleId);
  * manager.detach(user, User_.ROLES); // detach all
+ * manager.detachMany(user, User_.ROLES, List.of(1L, 2L));
  * manager.sync(user, User_.ROLES, List.of(1L, 2L, 3L));
  * manager.toggle(user, User_.ROLES, List.of(1L, 2L));
  * manager.updateExistingPivot(user, User_.ROLES, roleId, Map.of("is_primary", true));
  * }</pre>
+ *
+ * <p>Multi-row mutations ({@code saveMany}, {@code createMany}, {@code attachMany}, {@code detachMany},
+ * {@code sync}, {@code syncWithoutDetaching}, {@code toggle}) are set-based: they issue one multi-row
+ * INSERT and/or one {@code DELETE ... IN (...)} per call, split only when a statement would exceed
+ * the bind parameter limit.
  */
 public final class RelationshipManager {
 
+    /**
+     * Upper bound on bind parameters per statement (PostgreSQL and MySQL accept 65535).
+     */
+    static final int MAX_PARAMETERS_PER_STATEMENT = 32_767;
+
     private final Transaction transaction;
 
     RelationshipManager(Transaction transaction) {
@@ -143,6 +158,9 @@ public final class RelationshipManager {
 
     /**
      * Save multiple related entities by inserting them with the foreign key set to the parent's ID.
+     * SQL: INSERT INTO {child_table} (..., fk) VALUES (..., parent_id), (..., parent_id)...
+     *
+     * <p>Children are inserted with one multi-row INSERT per distinct set of non-null columns.
      *
      * @param parent the parent entity
      * @param relation the HasMany relation
@@ -155,10 +173,24 @@ public final class RelationshipManager {
     public <T, R> List<R> saveMany(T parent, Relation<T, R> relation, List<R> children) {
         validateRelationType(relation, Relation.Type.HAS_ONE, Relation.Type.HAS_MANY);
 
+        if (children.isEmpty()) {
+            return children;
+        }
+
+        Object parentId = EntityReflector.getId(parent);
+        IdMetadata.Info idInfo = IdMetadata.get(relation.getRelatedTable().getEntityType());
+
+        List<Map<String, Object>> rows = new ArrayList<>(children.size());
         for (R child : children) {
-            save(parent, relation, child);
+            EntityReflector.setFieldByColumnName(child, relation.getForeignKey(), parentId);
+            Map<String, Object> row = withGeneratedId(EntityReflector.toColumnMap(child), idInfo);
+            if (Objects.nonNull(idInfo) && Objects.isNull(EntityReflector.getIdOrNull(child)) && row.containsKey(idInfo.columnName())) {
+                EntityReflector.setId(child, row.get(idInfo.columnName()));
+            }
+            rows.add(row);
         }
 
+        insertRows(relation.getRelatedTable(), rows);
         return children;
     }
 
@@ -315,6 +347,100 @@ public final class RelationshipManager {
         return transaction.execute(delete);
     }
 
+    /**
+     * Attach multiple related entities in the pivot table with a single multi-row INSERT.
+     * SQL: INSERT INTO {pivot} (fk, related_fk) VALUES (?, ?), (?, ?)...
+     *
+     * @param parent the parent entity
+     * @param relation the BelongsToMany relation
+     * @param relatedIds the IDs of the related entities to attach
+     * @param <T> parent entity type
+     * @param <R> related entity type
+     * @return number of affected rows
+     * @throws IllegalArgumentException if relation type is not BELONGS_TO_MANY
+     */
+    public <T, R> int attachMany(T parent, Relation<T, R> relation, Collection<?> relatedIds) {
+        return attachMany(parent, relation, relatedIds, null);
+    }
+
+    /**
+     * Attach multiple related entities in the pivot table with shared pivot attributes.
+     * SQL: INSERT INTO {pivot} (fk, related_fk, attr1) VALUES (?, ?, ?), (?, ?, ?)...
+     *
+     * @param parent the parent entity
+     * @param relation the BelongsToMany relation
+     * @param relatedIds the IDs of the related entities to attach
+     * @param pivotAttributes additional pivot column values applied to every row (can be null)
+     * @param <T> parent entity type
+     * @param <R> related entity type
+     * @return number of affected rows
+     * @throws IllegalArgumentException if relation type is not BELONGS_TO_MANY
+     */
+    public <T, R> int attachMany(T parent, Relation<T, R> relation, Collection<?> relatedIds, Map<String, Object> pivotAttributes) {
+        validateRelationType(relation, Relation.Type.BELONGS_TO_MANY);
+
+        if (relatedIds.isEmpty()) {
+            return 0;
+        }
+
+        Object parentId = EntityReflector.getId(parent);
+        Table<?> pivotTable = new Table<>(relation.getPivotTable(), "", Object.class);
+        Instant now = relation.hasPivotTimestamps() ? Instant.now() : null;
+
+        List<Map<String, Object>> rows = new ArrayList<>(relatedIds.size());
+        for (Object relatedId : relatedIds) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put(relation.getForeignPivotKey(), parentId);
+            row.put(relation.getRelatedPivotKey(), relatedId);
+            if (Objects.nonNull(pivotAttributes)) {
+                row.putAll(pivotAttributes);
+            }
+            if (Objects.nonNull(now)) {
+                row.put("created_at", now);
+                row.put("updated_at", now);
+            }
+            rows.add(row);
+        }
+
+        return insertRows(pivotTable, rows);
+    }
+
+    /**
+     * Detach multiple related entities from the pivot table with a single DELETE.
+     * SQL: DELETE FROM {pivot} WHERE fk = ? AND related_fk IN (?, ?, ...)
+     *
+     * @param parent the parent entity
+     * @param relation the BelongsToMany relation
+     * @param relatedIds the IDs of the related entities to detach
+     * @param <T> parent entity type
+     * @param <R> related entity type
+     * @return number of affected rows
+     * @throws IllegalArgumentException if relation type is not BELONGS_TO_MANY
+     */
+    public <T, R> int detachMany(T parent, Relation<T, R> relation, Collection<?> relatedIds) {
+        validateRelationType(relation, Relation.Type.BELONGS_TO_MANY);
+
+        if (relatedIds.isEmpty()) {
+            return 0;
+        }
+
+        Object parentId = EntityReflector.getId(parent);
+        Table<?> pivotTable = new Table<>(relation.getPivotTable(), "", Object.class);
+        Column<?, Object> foreignPivotKey = createColumn(pivotTable, relation.getForeignPivotKey(), Object.class);
+        Column<?, Object> relatedPivotKey = createColumn(pivotTable, relation.getRelatedPivotKey(), Object.class);
+
+        // One parameter is taken by the parent key
+        int affected = 0;
+        for (List<Object> chunk : chunk(new ArrayList<Object>(relatedIds), MAX_PARAMETERS_PER_STATEMENT - 1)) {
+            QueryResult delete = Suprim.deleteFrom(pivotTable)
+                    .where(foreignPivotKey.eq(parentId))
+                    .and(relatedPivotKey.in(chunk))
+                    .build();
+            affected += transaction.execute(delete);
+        }
+        return affected;
+    }
+
     /**
      * Sync the pivot table to match exactly the given list of IDs.
      * Detaches IDs not in the list, attaches IDs not currently present.
@@ -332,26 +458,18 @@ public final class RelationshipManager {
 
         // Get current attachments
         Set<Object> currentIds = getCurrentAttachments(parent, relation);
-        Set<Object> desiredIds = new HashSet<>(relatedIds);
+        Set<Object> desiredIds = new LinkedHashSet<>(relatedIds);
 
         // Calculate diff
-        Set<Object> toAttach = new HashSet<>(desiredIds);
+        Set<Object> toAttach = new LinkedHashSet<>(desiredIds);
         toAttach.removeAll(currentIds);
 
         Set<Object> toDetach = new HashSet<>(currentIds);
         toDetach.removeAll(desiredIds);
 
-        // Execute changes
-        int attachedCount = 0;
-        int detachedCount = 0;
-
-        for (Object id : toDetach) {
-            detachedCount += detach(parent, relation, id);
-        }
-
-        for (Object id : toAttach) {
-            attachedCount += attach(parent, relation, id);
-        }
+        // Execute changes: one DELETE and one multi-row INSERT
+        int detachedCount = detachMany(parent, relation, toDetach);
+        int attachedCount = attachMany(parent, relation, toAttach);
 
         return new SyncResult(attachedCount, detachedCount);
     }
@@ -372,18 +490,13 @@ public final class RelationshipManager {
 
         // Get current attachments
         Set<Object> currentIds = getCurrentAttachments(parent, relation);
-        Set<Object> desiredIds = new HashSet<>(relatedIds);
+        Set<Object> desiredIds = new LinkedHashSet<>(relatedIds);
 
         // Only attach missing
-        Set<Object> toAttach = new HashSet<>(desiredIds);
+        Set<Object> toAttach = new LinkedHashSet<>(desiredIds);
         toAttach.removeAll(currentIds);
 
-        int attachedCount = 0;
-        for (Object id : toAttach) {
-            attachedCount += attach(parent, relation, id);
-        }
-
-        return attachedCount;
+        return attachMany(parent, relation, toAttach);
     }
 
     /**
@@ -406,16 +519,17 @@ public final class RelationshipManager {
         List<Object> attached = new ArrayList<>();
         List<Object> detached = new ArrayList<>();
 
-        for (Object id : relatedIds) {
+        for (Object id : new LinkedHashSet<>(relatedIds)) {
             if (currentIds.contains(id)) {
-                detach(parent, relation, id);
                 detached.add(id);
             } else {
-                attach(parent, relation, id);
                 attached.add(id);
             }
         }
 
+        detachMany(parent, relation, detached);
+        attachMany(parent, relation, attached);
+
         return new ToggleResult(attached, detached);
     }
 
@@ -468,6 +582,8 @@ public final class RelationshipManager {
      * Batch create multiple related entities from attribute maps.
      * SQL: INSERT INTO {child_table} (attr1, attr2, fk) VALUES (?, ?, ?), (?, ?, ?)...
      *
+     * <p>Attribute maps sharing the same keys are inserted with a single multi-row INSERT.
+     *
      * @param parent the parent entity
      * @param relation the HasOne or HasMany relation
      * @param attributesList list of attribute maps for each entity to create
@@ -479,11 +595,21 @@ public final class RelationshipManager {
     public <T, R> int createMany(T parent, Relation<T, R> relation, List<Map<String, Object>> attributesList) {
         validateRelationType(relation, Relation.Type.HAS_ONE, Relation.Type.HAS_MANY);
 
-        int count = 0;
+        if (attributesList.isEmpty()) {
+            return 0;
+        }
+
+        Object parentId = EntityReflector.getId(parent);
+        IdMetadata.Info idInfo = IdMetadata.get(relation.getRelatedTable().getEntityType());
+
+        List<Map<String, Object>> rows = new ArrayList<>(attributesList.size());
         for (Map<String, Object> attributes : attributesList) {
-            count += create(parent, relation, attributes);
+            Map<String, Object> row = new LinkedHashMap<>(attributes);
+            row.put(relation.getForeignKey(), parentId);
+            rows.add(withGeneratedId(row, idInfo));
         }
-        return count;
+
+        return insertRows(relation.getRelatedTable(), rows);
     }
 
     /**
@@ -755,6 +881,58 @@ public final class RelationshipManager {
         return results.isEmpty() ? null : results.get(0);
     }
 
+    /**
+     * Insert rows with multi-row INSERT statements.
+     * Rows are grouped by column set so omitted columns keep their database defaults,
+     * and each group is split only when it would exceed the bind parameter limit.
+     *
+     * @return total number of affected rows
+     */
+    private int insertRows(Table<?> table, List<Map<String, Object>> rows) {
+        Map<Set<String>, List<Map<String, Object>>> byColumns = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            byColumns.computeIfAbsent(row.keySet(), k -> new ArrayList<>()).add(row);
+        }
+
+        int affected = 0;
+        for (List<Map<String, Object>> group : byColumns.values()) {
+            List<String> columns = new ArrayList<>(group.get(0).keySet());
+            int rowsPerStatement = Math.max(1, MAX_PARAMETERS_PER_STATEMENT / columns.size());
+            for (List<Map<String, Object>> chunk : chunk(group, rowsPerStatement)) {
+                BatchInsertBuilder<?> insert = Suprim.batchInsertInto(table)
+                        .columns(columns)
+                        .values(chunk);
+                affected += transaction.execute(insert.build(PostgreSqlDialect.INSTANCE));
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Add an application-generated ID to a row when the related entity declares one and the row lacks it.
+     * Mirrors the ID generation performed by {@link InsertBuilder} for single inserts.
+     */
+    private Map<String, Object> withGeneratedId(Map<String, Object> row, IdMetadata.Info idInfo) {
+        if (Objects.isNull(idInfo) || !idInfo.isApplicationGenerated() || Objects.nonNull(row.get(idInfo.columnName()))) {
+            return row;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(idInfo.columnName(), IdMetadata.generateId(idInfo));
+        result.putAll(row);
+        return result;
+    }
+
+    /**
+     * Split a list into consecutive sublists of at most {@code size} elements.
+     */
+    private static <E> List<List<E>> chunk(List<E> list, int size) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return chunks;
+    }
+
     /**
      * Get current pivot table attachments for a parent entity.
      *
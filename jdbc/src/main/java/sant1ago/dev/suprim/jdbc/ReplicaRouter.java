@@ -0,0 +1,335 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routes reads to a pool of replica DataSources.
+ *
+ * <p>Registered on an executor with {@link SuprimExecutor.Builder#replicas(ReplicaRouter)}.
+ * Reads outside a transaction ({@code query}, {@code queryOne}, {@code lazy},
+ * {@code paginate}, {@code count}, {@code pluck}, {@code findById}, ...) go to a healthy
+ * replica; writes, transactions and {@code SELECT ... FOR UPDATE} stay on the primary.</p>
+ *
+ * <pre>{@code
+ * ReplicaRouter router = ReplicaRouter.builder()
+ *     .replica("replica-1", replica1)
+ *     .replica("replica-2", replica2)
+ *     .strategy(ReplicaRouter.Strategy.LEAST_OUTSTANDING)
+ *     .readYourWrites(Duration.ofSeconds(2))
+ *     .build();
+ *
+ * SuprimExecutor executor = SuprimExecutor.builder(primary)
+ *     .replicas(router)
+ *     .build();
+ * }</pre>
+ *
+ * <p><b>Read-your-writes:</b> after a write, reads on the same thread stay on the primary
+ * for the configured window so they observe the write despite replication lag.</p>
+ *
+ * <p><b>Health:</b> a replica that fails to hand out a connection is marked unhealthy and
+ * skipped for {@link Builder#unhealthyFor(Duration)}; the read falls through to the next
+ * replica, or to the primary when none is left. After the window it is tried again.</p>
+ */
+public final class ReplicaRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    /**
+     * Replica selection strategy.
+     */
+    public enum Strategy {
+        /** Cycle through healthy replicas in order. */
+        ROUND_ROBIN,
+        /** Pick the healthy replica with the fewest connections currently checked out. */
+        LEAST_OUTSTANDING
+    }
+
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final long stickyNanos;
+    private final long unhealthyNanos;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ThreadLocal<Long> lastWriteNanos = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    private ReplicaRouter(Builder builder) {
+        this.replicas = List.copyOf(builder.replicas);
+        this.strategy = builder.strategy;
+        this.stickyNanos = builder.readYourWrites.toNanos();
+        this.unhealthyNanos = builder.unhealthyFor.toNanos();
+    }
+
+    /**
+     * Create a builder.
+     *
+     * @return a new Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Current state of every replica.
+     *
+     * @return one status per replica, in registration order
+     */
+    public List<ReplicaStatus> status() {
+        long now = System.nanoTime();
+        List<ReplicaStatus> result = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            result.add(new ReplicaStatus(replica.name, replica.isHealthy(now), replica.outstanding.get()));
+        }
+        return result;
+    }
+
+    /**
+     * Mark a replica healthy again before its unhealthy window has elapsed.
+     *
+     * @param name the replica name
+     */
+    public void markHealthy(String name) {
+        replicas.stream()
+                .filter(replica -> replica.name.equals(name))
+                .forEach(replica -> replica.unhealthyUntil = 0);
+    }
+
+    // ==================== ROUTING ====================
+
+    /**
+     * Record a write on the current thread, starting the read-your-writes window.
+     */
+    void markWrite() {
+        if (stickyNanos > 0) {
+            lastWriteNanos.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * Run an action with all reads on the current thread sent to the primary.
+     */
+    <T> T onPrimary(Supplier<T> action) {
+        Boolean outer = pinned.get();
+        pinned.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (Objects.isNull(outer)) {
+                pinned.remove();
+            }
+        }
+    }
+
+    /**
+     * Open a connection to a healthy replica.
+     *
+     * @return a replica connection, or null when the read must go to the primary
+     */
+    Connection acquire() {
+        if (Objects.nonNull(pinned.get()) || isSticky()) {
+            return null;
+        }
+        for (int tried = 0; tried < replicas.size(); tried++) {
+            Replica replica = select(System.nanoTime());
+            if (Objects.isNull(replica)) {
+                return null;
+            }
+            try {
+                return replica.open();
+            } catch (SQLException e) {
+                replica.unhealthyUntil = System.nanoTime() + unhealthyNanos;
+                LOG.warn("Replica {} marked unhealthy: {}", replica.name, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private boolean isSticky() {
+        Long lastWrite = lastWriteNanos.get();
+        if (Objects.isNull(lastWrite)) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < stickyNanos) {
+            return true;
+        }
+        lastWriteNanos.remove();
+        return false;
+    }
+
+    private Replica select(long now) {
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (!candidate.isHealthy(now)) {
+                continue;
+            }
+            if (strategy == Strategy.ROUND_ROBIN) {
+                return candidate;
+            }
+            if (Objects.isNull(best) || candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A replica DataSource with its checkout count and health.
+     */
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile long unhealthyUntil;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean isHealthy(long now) {
+            long until = unhealthyUntil;
+            return until == 0 || now - until >= 0;
+        }
+
+        Connection open() throws SQLException {
+            outstanding.incrementAndGet();
+            Connection connection;
+            try {
+                connection = dataSource.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                outstanding.decrementAndGet();
+                throw e;
+            }
+            unhealthyUntil = 0;
+            return track(connection);
+        }
+
+        /**
+         * Wrap the connection so closing it releases the checkout exactly once.
+         */
+        private Connection track(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            outstanding.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Builder for {@link ReplicaRouter}.
+     */
+    public static final class Builder {
+        private final List<Replica> replicas = new ArrayList<>();
+        private Strategy strategy = Strategy.ROUND_ROBIN;
+        private Duration readYourWrites = Duration.ofSeconds(1);
+        private Duration unhealthyFor = Duration.ofSeconds(30);
+
+        private Builder() {
+        }
+
+        /**
+         * Add a replica named {@code replica-<n>}.
+         *
+         * @param dataSource the replica DataSource
+         * @return this builder
+         */
+        public Builder replica(DataSource dataSource) {
+            return replica("replica-" + (replicas.size() + 1), dataSource);
+        }
+
+        /**
+         * Add a named replica.
+         *
+         * @param name       name reported in {@link #status()} and logs
+         * @param dataSource the replica DataSource
+         * @return this builder
+         */
+        public Builder replica(String name, DataSource dataSource) {
+            Objects.requireNonNull(name, "name must not be null");
+            Objects.requireNonNull(dataSource, "dataSource must not be null");
+            replicas.add(new Replica(name, dataSource));
+            return this;
+        }
+
+        /**
+         * Replica selection strategy. Defaults to {@link Strategy#ROUND_ROBIN}.
+         *
+         * @param strategy the strategy
+         * @return this builder
+         */
+        public Builder strategy(Strategy strategy) {
+            this.strategy = Objects.requireNonNull(strategy, "strategy must not be null");
+            return this;
+        }
+
+        /**
+         * How long reads stay on the primary after a write on the same thread.
+         * Defaults to 1 second; {@link Duration#ZERO} disables stickiness.
+         *
+         * @param window the read-your-writes window
+         * @return this builder
+         */
+        public Builder readYourWrites(Duration window) {
+            Objects.requireNonNull(window, "window must not be null");
+            if (window.isNegative()) {
+                throw new IllegalArgumentException("window must not be negative");
+            }
+            this.readYourWrites = window;
+            return this;
+        }
+
+        /**
+         * How long a replica is skipped after a connection failure. Defaults to 30 seconds.
+         *
+         * @param duration the unhealthy window
+         * @return this builder
+         */
+        public Builder unhealthyFor(Duration duration) {
+            Objects.requireNonNull(duration, "duration must not be null");
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException("duration must not be negative");
+            }
+            this.unhealthyFor = duration;
+            return this;
+        }
+
+        /**
+         * Build the router.
+         *
+         * @return new ReplicaRouter
+         * @throws IllegalStateException if no replica was added
+         */
+        public ReplicaRouter build() {
+            if (replicas.isEmpty()) {
+                throw new IllegalStateException("At least one replica is required");
+            }
+            return new ReplicaRouter(this);
+        }
+    }
+}
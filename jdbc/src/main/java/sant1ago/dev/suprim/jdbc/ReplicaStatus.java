@@ -0,0 +1,11 @@
+package sant1ago.dev.suprim.jdbc;
+
+/**
+ * Point-in-time state of a read replica.
+ *
+ * @param name        the replica name
+ * @param healthy     false while the replica is skipped after a connection failure
+ * @param outstanding connections currently checked out from the replica
+ */
+public record ReplicaStatus(String name, boolean healthy, int outstanding) {
+}
@@ -0,0 +1,223 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.jdbc.exception.DeadlockException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Retry policy for transactions that fail with serialization failures or deadlocks.
+ *
+ * <p>The whole transaction is re-run on a fresh connection after an exponential backoff
+ * with full jitter. By default a failure is retried when its SQLSTATE is {@code 40001}
+ * (serialization failure) or {@code 40P01} (PostgreSQL deadlock), its MySQL error code is
+ * {@code 1213} (deadlock), or it is a {@link DeadlockException}.</p>
+ *
+ * <pre>{@code
+ * RetryPolicy policy = RetryPolicy.builder()
+ *     .maxAttempts(5)
+ *     .backoff(Duration.ofMillis(20), Duration.ofSeconds(1))
+ *     .isolation(Connection.TRANSACTION_SERIALIZABLE)
+ *     .build();
+ *
+ * executor.transaction(policy, tx -> {
+ *     tx.execute(debit);
+ *     tx.execute(credit);
+ * });
+ * }</pre>
+ *
+ * <p>The action may run several times, so it must not have side effects outside the
+ * transaction. {@link sant1ago.dev.suprim.jdbc.event.TransactionEvent#attempt()} reports
+ * which attempt an event belongs to.</p>
+ */
+public final class RetryPolicy {
+
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01");
+    private static final int MYSQL_DEADLOCK = 1213;
+
+    private static final RetryPolicy DEFAULTS = builder().build();
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Integer isolation;
+    private final Predicate<Throwable> retryOn;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.isolation = builder.isolation;
+        this.retryOn = builder.retryOn;
+    }
+
+    /**
+     * Policy with 3 attempts, 50ms initial and 2s maximum backoff, and the connection's
+     * default isolation level.
+     *
+     * @return the default policy
+     */
+    public static RetryPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Create a builder for a custom policy.
+     *
+     * @return a new Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Maximum number of attempts, including the first.
+     *
+     * @return the maximum attempts
+     */
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Isolation level set on the connection for each attempt.
+     *
+     * @return a {@link Connection} {@code TRANSACTION_*} constant, or null to keep the connection default
+     */
+    public Integer isolation() {
+        return isolation;
+    }
+
+    /**
+     * Check whether a failure should be retried.
+     *
+     * @param failure the exception thrown by the transaction
+     * @return true if another attempt may succeed
+     */
+    public boolean isRetryable(Throwable failure) {
+        return Objects.nonNull(failure) && retryOn.test(failure);
+    }
+
+    /**
+     * Backoff before the given attempt: a random duration between zero and
+     * {@code min(maxBackoff, initialBackoff * 2^(attempt - 2))}.
+     *
+     * @param nextAttempt the attempt about to start (2 for the first retry)
+     * @return backoff in nanoseconds
+     */
+    long backoffNanos(int nextAttempt) {
+        long initial = initialBackoff.toNanos();
+        long cap = maxBackoff.toNanos();
+        int shift = Math.min(Math.max(nextAttempt - 2, 0), 30);
+        long ceiling = initial > (cap >> shift) ? cap : Math.min(cap, initial << shift);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Default classification by SQLSTATE and vendor code along the cause chain.
+     */
+    static boolean isSerializationFailure(Throwable failure) {
+        for (Throwable t = failure; Objects.nonNull(t); t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof DeadlockException) {
+                return true;
+            }
+            if (t instanceof SuprimException e && isSerializationFailure(e.getSqlState(), e.getVendorCode())) {
+                return true;
+            }
+            if (t instanceof SQLException e && isSerializationFailure(e.getSQLState(), e.getErrorCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSerializationFailure(String sqlState, int vendorCode) {
+        return (Objects.nonNull(sqlState) && RETRYABLE_SQL_STATES.contains(sqlState)) || vendorCode == MYSQL_DEADLOCK;
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private Integer isolation;
+        private Predicate<Throwable> retryOn = RetryPolicy::isSerializationFailure;
+
+        private Builder() {
+        }
+
+        /**
+         * Maximum number of attempts, including the first. Defaults to 3.
+         *
+         * @param maxAttempts at least 1
+         * @return this builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Exponential backoff bounds. Defaults to 50ms initial and 2s maximum.
+         *
+         * @param initial backoff ceiling before the first retry
+         * @param max     upper bound of the backoff ceiling
+         * @return this builder
+         */
+        public Builder backoff(Duration initial, Duration max) {
+            Objects.requireNonNull(initial, "initial must not be null");
+            Objects.requireNonNull(max, "max must not be null");
+            if (initial.isNegative() || max.compareTo(initial) < 0) {
+                throw new IllegalArgumentException("backoff must satisfy 0 <= initial <= max");
+            }
+            this.initialBackoff = initial;
+            this.maxBackoff = max;
+            return this;
+        }
+
+        /**
+         * Isolation level for each attempt; the connection's previous level is restored afterwards.
+         *
+         * @param level a {@link Connection} {@code TRANSACTION_*} constant
+         * @return this builder
+         */
+        public Builder isolation(int level) {
+            if (level != Connection.TRANSACTION_READ_UNCOMMITTED && level != Connection.TRANSACTION_READ_COMMITTED
+                    && level != Connection.TRANSACTION_REPEATABLE_READ && level != Connection.TRANSACTION_SERIALIZABLE) {
+                throw new IllegalArgumentException("Unsupported isolation level: " + level);
+            }
+            this.isolation = level;
+            return this;
+        }
+
+        /**
+         * Replace the default SQLSTATE-based classification.
+         *
+         * @param retryOn returns true for failures that should be retried
+         * @return this builder
+         */
+        public Builder retryOn(Predicate<Throwable> retryOn) {
+            this.retryOn = Objects.requireNonNull(retryOn, "retryOn must not be null");
+            return this;
+        }
+
+        /**
+         * Build the policy.
+         *
+         * @return new RetryPolicy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.annotation.entity.ShardKey;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.SelectBuilder;
+import sant1ago.dev.suprim.core.type.OrderDirection;
+import sant1ago.dev.suprim.core.type.OrderSpec;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Routes entity operations across horizontally sharded databases.
+ *
+ * <p>Each shard is a regular {@link SuprimExecutor}. The shard of an entity is chosen by
+ * the field annotated with {@link ShardKey}, hashed or split into numeric ranges:
+ *
+ * <pre>{@code
+ * ShardedExecutor sharded = ShardedExecutor.builder()
+ *     .shard(SuprimExecutor.create(shard0))
+ *     .shard(SuprimExecutor.create(shard1))
+ *     .shard(SuprimExecutor.create(shard2))
+ *     .build();
+ *
+ * sharded.save(order);                                     // routed by order.tenantId
+ * sharded.saveAll(orders);                                 // split per shard, run in parallel
+ * sharded.find(Order.class, tenantId).where(...).get();    // Finder on the tenant's shard
+ *
+ * List<Order> latest = sharded.queryAll(                   // scatter-gather, merge-sorted
+ *     Suprim.selectAll().from(Order_.TABLE).orderBy(Order_.CREATED_AT.desc()).limit(20),
+ *     Order.class);
+ * }</pre>
+ *
+ * <p>Writes spanning several shards are not atomic: each shard's batch commits on its own.
+ * Transactions are available per shard through {@link #shardFor(Class, Object)}.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Safe to share across threads. Call {@link #close()}
+ * to stop the internal thread pool when it was not supplied by the caller.</p>
+ */
+public final class ShardedExecutor implements AutoCloseable {
+
+    private static final Map<Class<?>, ShardKeyMeta> SHARD_KEY_CACHE = new ConcurrentHashMap<>();
+
+    private final List<SuprimExecutor> shards;
+    private final ExecutorService workers;
+    private final boolean ownsWorkers;
+
+    private ShardedExecutor(Builder builder) {
+        this.shards = List.copyOf(builder.shards);
+        this.ownsWorkers = Objects.isNull(builder.workers);
+        this.workers = ownsWorkers ? newWorkerPool(shards.size()) : builder.workers;
+    }
+
+    private static ExecutorService newWorkerPool(int size) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "suprim-shard-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a builder.
+     *
+     * @return a new Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ==================== SHARD RESOLUTION ====================
+
+    /**
+     * Number of shards.
+     *
+     * @return the shard count
+     */
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Executor of a shard by index.
+     *
+     * @param index 0-based shard index
+     * @return the shard's executor
+     */
+    public SuprimExecutor shard(int index) {
+        return shards.get(index);
+    }
+
+    /**
+     * Index of the shard holding a shard key value of an entity class.
+     *
+     * @param entityClass the entity class declaring a {@link ShardKey}
+     * @param key         the shard key value
+     * @return 0-based shard index
+     * @throws IllegalArgumentException if the class has no shard key or the key is null
+     */
+    public int shardIndex(Class<?> entityClass, Object key) {
+        if (Objects.isNull(key)) {
+            throw new IllegalArgumentException("Shard key of " + entityClass.getSimpleName() + " cannot be null");
+        }
+        return shardKeyMeta(entityClass).shardOf(key, shards.size());
+    }
+
+    /**
+     * Executor of the shard holding a shard key value.
+     *
+     * @param entityClass the entity class declaring a {@link ShardKey}
+     * @param key         the shard key value
+     * @return the shard's executor
+     */
+    public SuprimExecutor shardFor(Class<?> entityClass, Object key) {
+        return shards.get(shardIndex(entityClass, key));
+    }
+
+    /**
+     * Executor of the shard an entity belongs to, by its shard key field.
+     *
+     * @param entity the entity
+     * @return the shard's executor
+     */
+    public SuprimExecutor shardOf(Object entity) {
+        Objects.requireNonNull(entity, "entity must not be null");
+        return shards.get(shardIndexOf(entity));
+    }
+
+    private int shardIndexOf(Object entity) {
+        ShardKeyMeta meta = shardKeyMeta(entity.getClass());
+        return shardIndex(entity.getClass(), meta.valueOf(entity));
+    }
+
+    /**
+     * Shard of an entity about to be inserted. When the id is the shard key and is
+     * generated by the application, it is generated here so the row can be routed.
+     */
+    private int shardIndexForInsert(Object entity) {
+        ShardKeyMeta meta = shardKeyMeta(entity.getClass());
+        if (meta.isId() && Objects.isNull(meta.valueOf(entity))) {
+            EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entity.getClass());
+            if (idMeta.isApplicationGenerated()) {
+                EntityReflector.setId(entity, EntityPersistence.generateId(idMeta));
+            }
+        }
+        return shardIndexOf(entity);
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * Find an entity by id. Routed directly when the id is the shard key, otherwise
+     * looked up on all shards in parallel.
+     *
+     * @param entityClass the entity class
+     * @param id          the primary key value
+     * @param <T>         the entity type
+     * @return the entity, or empty if no shard has it
+     */
+    public <T> Optional<T> findById(Class<T> entityClass, Object id) {
+        if (shardKeyMeta(entityClass).isId()) {
+            return shardFor(entityClass, id).findById(entityClass, id);
+        }
+        return onAllShards(shard -> shard.findById(entityClass, id)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    /**
+     * Start a {@link Finder} on the shard holding a shard key value.
+     *
+     * @param entityClass the entity class
+     * @param shardKey    the shard key value, e.g. the tenant id
+     * @param <T>         the entity type
+     * @return a Finder bound to that shard
+     */
+    public <T> Finder<T> find(Class<T> entityClass, Object shardKey) {
+        return shardFor(entityClass, shardKey).find(entityClass);
+    }
+
+    /**
+     * Run a query on every shard and merge the results in the builder's ORDER BY order.
+     *
+     * <p>LIMIT and OFFSET are pushed down: every shard returns at most {@code offset + limit}
+     * rows, which are merge-sorted before the global offset and limit are applied. ORDER BY
+     * must consist of columns mapped on the entity; raw order expressions are rejected.</p>
+     *
+     * @param builder     the query, run unchanged (apart from LIMIT/OFFSET) on every shard
+     * @param entityClass the entity class to map rows to
+     * @param <T>         the entity type
+     * @return merged results
+     * @throws IllegalArgumentException if the ORDER BY contains raw SQL
+     */
+    public <T> List<T> queryAll(SelectBuilder builder, Class<T> entityClass) {
+        Comparator<T> order = comparatorOf(builder.getOrderSpecs(), shards.get(0).dialect().sortsNullsFirst());
+        Integer limit = builder.getLimit();
+        int offset = Objects.requireNonNullElse(builder.getOffset(), 0);
+
+        QueryResult query = Objects.isNull(limit) ? builder.build() : pushDownLimit(builder, limit, offset);
+        List<List<T>> perShard = onAllShards(shard -> shard.query(query, EntityMapper.of(entityClass)));
+
+        List<T> merged = merge(perShard, order);
+        int from = Math.min(offset, merged.size());
+        int to = Objects.isNull(limit) ? merged.size() : Math.min(merged.size(), from + limit);
+        return new ArrayList<>(merged.subList(from, to));
+    }
+
+    /**
+     * Run a raw query on every shard and merge the results.
+     *
+     * @param queryResult the query to run on every shard
+     * @param mapper      the row mapper
+     * @param order       order of the rows returned by each shard, or null to concatenate in shard order
+     * @param <T>         the row type
+     * @return merged results
+     */
+    public <T> List<T> queryAll(QueryResult queryResult, RowMapper<T> mapper, Comparator<? super T> order) {
+        return merge(onAllShards(shard -> shard.query(queryResult, mapper)), order);
+    }
+
+    /**
+     * Count matching rows across all shards.
+     *
+     * @param builder the query to count
+     * @return the total count
+     */
+    public long count(SelectBuilder builder) {
+        // Build once: builders are not safe to render from several threads
+        QueryResult original = builder.build();
+        QueryResult countQuery = new QueryResult(
+                "SELECT COUNT(*) FROM (" + original.sql() + ") AS count_query", original.parameters());
+        return onAllShards(shard -> shard.queryOneRequired(countQuery, rs -> rs.getLong(1))).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * Per-shard query returning the first {@code offset + limit} rows, built from a copy so the
+     * caller's builder keeps its own LIMIT and OFFSET.
+     */
+    private static QueryResult pushDownLimit(SelectBuilder builder, int limit, int offset) {
+        return builder.copy().limit(limit + offset).offset(0).build();
+    }
+
+    /**
+     * K-way merge of per-shard lists that are each sorted by {@code order}.
+     */
+    static <T> List<T> merge(List<List<T>> perShard, Comparator<? super T> order) {
+        List<T> merged = new ArrayList<>(perShard.stream().mapToInt(List::size).sum());
+        if (Objects.isNull(order)) {
+            perShard.forEach(merged::addAll);
+            return merged;
+        }
+        // Heap entries: {shard, position}; ties keep shard order
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) -> {
+            int cmp = order.compare(perShard.get(a[0]).get(a[1]), perShard.get(b[0]).get(b[1]));
+            return cmp != 0 ? cmp : Integer.compare(a[0], b[0]);
+        });
+        for (int i = 0; i < perShard.size(); i++) {
+            if (!perShard.get(i).isEmpty()) {
+                heap.add(new int[]{i, 0});
+            }
+        }
+        while (!heap.isEmpty()) {
+            int[] head = heap.poll();
+            List<T> rows = perShard.get(head[0]);
+            merged.add(rows.get(head[1]));
+            if (head[1] + 1 < rows.size()) {
+                heap.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Comparator matching an ORDER BY on mapped entity columns. NULLs sort the way the shards'
+     * dialect sorts them: first for ascending order on MySQL, last on PostgreSQL, and the
+     * other way round for descending order.
+     */
+    static <T> Comparator<T> comparatorOf(List<OrderSpec> specs, boolean nullsFirst) {
+        if (specs.isEmpty()) {
+            return null;
+        }
+        Comparator<T> result = null;
+        for (OrderSpec spec : specs) {
+            if (Objects.isNull(spec.column())) {
+                throw new IllegalArgumentException("Cannot merge shard results ordered by raw SQL: " + spec.rawSql());
+            }
+            String column = spec.column().getName();
+            Comparator<T> byColumn = (a, b) -> compareValues(
+                    EntityReflector.getFieldByColumnName(a, column),
+                    EntityReflector.getFieldByColumnName(b, column),
+                    nullsFirst);
+            if (spec.direction() == OrderDirection.DESC) {
+                byColumn = byColumn.reversed();
+            }
+            result = Objects.isNull(result) ? byColumn : result.thenComparing(byColumn);
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b, boolean nullsFirst) {
+        if (Objects.isNull(a) || Objects.isNull(b)) {
+            if (Objects.isNull(a) && Objects.isNull(b)) {
+                return 0;
+            }
+            return Objects.isNull(a) == nullsFirst ? -1 : 1;
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    // ==================== WRITES ====================
+
+    /**
+     * Insert an entity on its shard. The shard key must be set, unless it is an
+     * application-generated id, which is then generated before routing.
+     *
+     * @param entity the entity to save
+     * @param <T>    the entity type
+     * @return the saved entity
+     */
+    public <T> T save(T entity) {
+        Objects.requireNonNull(entity, "entity must not be null");
+        return shards.get(shardIndexForInsert(entity)).executeAutoCommit((conn, dialect) -> EntityPersistence.save(entity, conn, dialect));
+    }
+
+    /**
+     * Update an entity on its shard.
+     *
+     * @param entity the entity to update
+     * @param <T>    the entity type
+     * @return the updated entity
+     */
+    public <T> T update(T entity) {
+        return shardOf(entity).executeAutoCommit((conn, dialect) -> EntityPersistence.update(entity, conn, dialect));
+    }
+
+    /**
+     * Delete an entity from its shard.
+     *
+     * @param entity the entity to delete
+     */
+    public void delete(Object entity) {
+        shardOf(entity).executeAutoCommitVoid((conn, dialect) -> EntityPersistence.delete(entity, conn, dialect));
+    }
+
+    /**
+     * Batch insert entities, split per shard and run in parallel.
+     *
+     * @param entities the entities to save, each with its shard key set
+     * @param <T>      the entity type
+     * @return the same entities, in input order, with generated ids set
+     */
+    public <T> List<T> saveAll(List<T> entities) {
+        forEachShardBatch(entities, this::shardIndexForInsert, SuprimExecutor::saveAll);
+        return entities;
+    }
+
+    /**
+     * Batch upsert entities, split per shard and run in parallel.
+     *
+     * @param entities        the entities to upsert
+     * @param conflictColumns columns for conflict detection
+     * @param <T>             the entity type
+     * @return the same entities, in input order
+     */
+    public <T> List<T> upsertAll(List<T> entities, String[] conflictColumns) {
+        return upsertAll(entities, conflictColumns, null);
+    }
+
+    /**
+     * Batch upsert entities, split per shard and run in parallel.
+     *
+     * @param entities        the entities to upsert
+     * @param conflictColumns columns for conflict detection
+     * @param updateColumns   columns to update on conflict (null = all non-conflict)
+     * @param <T>             the entity type
+     * @return the same entities, in input order
+     */
+    public <T> List<T> upsertAll(List<T> entities, String[] conflictColumns, String[] updateColumns) {
+        forEachShardBatch(entities, this::shardIndexForInsert,
+                (shard, batch) -> shard.upsertAll(batch, conflictColumns, updateColumns));
+        return entities;
+    }
+
+    private <T> void forEachShardBatch(List<T> entities, ToIntFunction<Object> router,
+                                       BiConsumer<SuprimExecutor, List<T>> operation) {
+        if (Objects.isNull(entities) || entities.isEmpty()) {
+            return;
+        }
+        List<List<T>> batches = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (T entity : entities) {
+            batches.get(router.applyAsInt(entity)).add(entity);
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            List<T> batch = batches.get(i);
+            if (!batch.isEmpty()) {
+                SuprimExecutor shard = shards.get(i);
+                futures.add(CompletableFuture.runAsync(() -> operation.accept(shard, batch), workers));
+            }
+        }
+        join(futures);
+    }
+
+    // ==================== FAN-OUT ====================
+
+    private <R> List<R> onAllShards(Function<SuprimExecutor, R> operation) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(shards.size());
+        for (SuprimExecutor shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> operation.apply(shard), workers));
+        }
+        join(futures);
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Wait for all futures, rethrowing the first failure unwrapped.
+     */
+    private static void join(List<? extends CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stop the internal thread pool. A pool supplied through
+     * {@link Builder#workers(ExecutorService)} is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsWorkers) {
+            workers.shutdown();
+        }
+    }
+
+    // ==================== SHARD KEY ====================
+
+    private static ShardKeyMeta shardKeyMeta(Class<?> entityClass) {
+        return SHARD_KEY_CACHE.computeIfAbsent(entityClass, ShardKeyMeta::of);
+    }
+
+    /**
+     * Shard key field of an entity class and its routing rule.
+     */
+    record ShardKeyMeta(Field field, long[] ranges, boolean isId) {
+
+        static ShardKeyMeta of(Class<?> entityClass) {
+            for (Class<?> c = entityClass; Objects.nonNull(c) && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    ShardKey shardKey = field.getAnnotation(ShardKey.class);
+                    if (Objects.nonNull(shardKey)) {
+                        field.setAccessible(true);
+                        long[] ranges = shardKey.ranges().clone();
+                        for (int i = 1; i < ranges.length; i++) {
+                            if (ranges[i] <= ranges[i - 1]) {
+                                throw new IllegalArgumentException("@ShardKey ranges must be ascending on "
+                                        + entityClass.getSimpleName() + ": " + Arrays.toString(ranges));
+                            }
+                        }
+                        return new ShardKeyMeta(field, ranges, field.isAnnotationPresent(Id.class));
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Entity " + entityClass.getSimpleName() + " has no @ShardKey field");
+        }
+
+        Object valueOf(Object entity) {
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read shard key " + field.getName(), e);
+            }
+        }
+
+        int shardOf(Object key, int shardCount) {
+            if (ranges.length == 0) {
+                return Math.floorMod(mix(hashOf(key)), shardCount);
+            }
+            if (ranges.length >= shardCount) {
+                throw new IllegalStateException("@ShardKey declares " + (ranges.length + 1)
+                        + " ranges but only " + shardCount + " shards are configured");
+            }
+            if (!(key instanceof Number number)) {
+                throw new IllegalArgumentException("Range shard key must be numeric: " + key);
+            }
+            long value = number.longValue();
+            int index = 0;
+            while (index < ranges.length && value >= ranges[index]) {
+                index++;
+            }
+            return index;
+        }
+
+        /**
+         * Hash that is stable across JVMs and treats equal integral numbers alike.
+         */
+        private static long hashOf(Object key) {
+            if (key instanceof Byte || key instanceof Short || key instanceof Integer || key instanceof Long) {
+                return ((Number) key).longValue();
+            }
+            if (key instanceof UUID uuid) {
+                return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+            }
+            return key.toString().hashCode();
+        }
+
+        /**
+         * 64-bit finalizer of MurmurHash3, spreading sequential keys over all shards.
+         */
+        private static int mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+
+    /**
+     * Builder for {@link ShardedExecutor}.
+     */
+    public static final class Builder {
+        private final List<SuprimExecutor> shards = new ArrayList<>();
+        private ExecutorService workers;
+
+        private Builder() {
+        }
+
+        /**
+         * Add the next shard. Shard order must stay stable, since it determines routing.
+         *
+         * @param executor the shard's executor
+         * @return this builder
+         */
+        public Builder shard(SuprimExecutor executor) {
+            shards.add(Objects.requireNonNull(executor, "executor must not be null"));
+            return this;
+        }
+
+        /**
+         * Thread pool for parallel per-shard work. Defaults to an internal pool with one
+         * thread per shard, stopped by {@link ShardedExecutor#close()}.
+         *
+         * @param workers the pool to use
+         * @return this builder
+         */
+        public Builder workers(ExecutorService workers) {
+            this.workers = Objects.requireNonNull(workers, "workers must not be null");
+            return this;
+        }
+
+        /**
+         * Build the sharded executor.
+         *
+         * @return new ShardedExecutor
+         * @throws IllegalStateException if no shard was added
+         */
+        public ShardedExecutor build() {
+            if (shards.isEmpty()) {
+                throw new IllegalStateException("At least one shard is required");
+            }
+            return new ShardedExecutor(this);
+        }
+    }
+}
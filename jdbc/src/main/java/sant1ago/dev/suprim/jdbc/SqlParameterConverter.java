@@ -45,7 +45,7 @@ public final class SqlParameterConverter {
         }
 
         List<Object> orderedParams = new ArrayList<>();
-        StringBuffer convertedSql = new StringBuffer();
+        StringBuilder convertedSql = new StringBuilder();
 
         Matcher matcher = NAMED_PARAM_PATTERN.matcher(sql);
         while (matcher.find()) {
@@ -0,0 +1,262 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.jdbc.exception.QueryException;
+import sant1ago.dev.suprim.jdbc.exception.QueryTimeoutException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Timeout and cancellation for statements about to run.
+ *
+ * <p>Every statement the executor sends goes through {@link #guard}, which applies the
+ * effective timeout, fails fast once the ambient {@link Deadline} has passed, and makes the
+ * statement cancellable: by {@code Future.cancel} for async operations, and by interrupting
+ * the thread that runs it. JDBC drivers generally ignore interrupts while blocked on the
+ * socket, so a watchdog thread polls the threads with a running statement and calls
+ * {@link Statement#cancel()} for those that were interrupted.</p>
+ *
+ * <p>Only statements under a timeout, a deadline or an async operation are registered with the
+ * watchdog, and only while they execute: the {@code execute*} helpers deregister the statement
+ * as soon as the call returns. The watchdog runs only while statements are registered.</p>
+ */
+final class StatementGuard {
+
+    static final long WATCHDOG_INTERVAL_MILLIS = 100;
+
+    // Statement executing on each thread; entries go when execution returns
+    private static final Map<Thread, Statement> RUNNING = new ConcurrentHashMap<>();
+    private static final AtomicBoolean WATCHDOG_RUNNING = new AtomicBoolean();
+    // Whether the current thread's latest statement got a timeout from guard()
+    private static final ThreadLocal<Boolean> TIMED = new ThreadLocal<>();
+
+    private StatementGuard() {
+    }
+
+    /**
+     * Prepare a statement for execution.
+     *
+     * @param statement the statement about to run
+     * @param timeout   the statement's own timeout, or null for none
+     * @param sql       the statement's SQL, for error reporting
+     * @throws QueryTimeoutException if the ambient deadline has already passed
+     * @throws QueryException        if the current thread is interrupted
+     */
+    static void guard(Statement statement, Duration timeout, String sql) throws SQLException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw QueryException.cancelled(sql);
+        }
+        AsyncExecutor.track(statement);
+        Duration effective = effectiveTimeout(timeout);
+        if (Objects.nonNull(effective)) {
+            if (effective.isNegative() || effective.isZero()) {
+                throw QueryTimeoutException.deadlineExceeded(sql, effective.negated());
+            }
+            statement.setQueryTimeout(toSeconds(effective));
+            TIMED.set(Boolean.TRUE);
+        } else {
+            TIMED.remove();
+        }
+        if (Objects.nonNull(effective) || AsyncExecutor.inOperation()) {
+            RUNNING.put(Thread.currentThread(), statement);
+            startWatchdog();
+        }
+    }
+
+    /**
+     * Prepare an entity persistence statement (save, update, delete, refresh, and the batches a
+     * {@link UnitOfWork} flushes). These have no timeout of their own, so the default of the
+     * executor running the current transaction or auto-commit operation applies, capped by the
+     * ambient deadline like any other statement.
+     *
+     * @param statement the statement about to run
+     * @param sql       the statement's SQL, for error reporting
+     * @throws QueryTimeoutException if the ambient deadline has already passed
+     * @throws QueryException        if the current thread is interrupted
+     */
+    static void guard(Statement statement, String sql) throws SQLException {
+        SuprimExecutor executor = SuprimContext.currentExecutor();
+        guard(statement, Objects.nonNull(executor) ? executor.timeoutFor(null) : null, sql);
+    }
+
+    /**
+     * Execute a guarded query and deregister the statement once it returns.
+     *
+     * @param statement the guarded statement
+     * @return the query's result set
+     */
+    static ResultSet executeQuery(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeQuery();
+        } finally {
+            release(statement);
+        }
+    }
+
+    /**
+     * Execute a guarded update and deregister the statement once it returns.
+     *
+     * @param statement the guarded statement
+     * @return the affected row count
+     */
+    static int executeUpdate(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeUpdate();
+        } finally {
+            release(statement);
+        }
+    }
+
+    /**
+     * Execute a guarded batch and deregister the statement once it returns.
+     *
+     * @param statement the guarded statement
+     * @return the affected row count per batch entry
+     */
+    static int[] executeBatch(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.executeBatch();
+        } finally {
+            release(statement);
+        }
+    }
+
+    /**
+     * Execute a guarded statement and deregister it once it returns.
+     *
+     * @param statement the guarded statement
+     * @return true if the first result is a result set
+     */
+    static boolean execute(PreparedStatement statement) throws SQLException {
+        try {
+            return statement.execute();
+        } finally {
+            release(statement);
+        }
+    }
+
+    /**
+     * Deregister a statement from the watchdog, so interrupting the thread no longer cancels it.
+     *
+     * @param statement the guarded statement
+     */
+    static void release(Statement statement) {
+        RUNNING.remove(Thread.currentThread(), statement);
+    }
+
+    /**
+     * Report the cancellation of a statement that ran under a timeout as a timeout.
+     *
+     * <p>Drivers such as pgjdbc enforce {@link Statement#setQueryTimeout} by cancelling the
+     * statement, which fails with the same SQL state 57014 ("canceling statement due to user
+     * request") as any other cancel. The guard knows it applied a timeout, so such failures
+     * become {@link SQLTimeoutException}s. Interrupts and cancelled async operations remain
+     * plain cancellations.</p>
+     *
+     * @param e the failure of the current thread's latest guarded statement
+     * @return a SQLTimeoutException wrapping e, or e itself
+     */
+    static SQLException timedOut(SQLException e) {
+        String sqlState = e.getSQLState();
+        if (e instanceof SQLTimeoutException || Objects.isNull(sqlState) || !sqlState.startsWith("57")
+                || !Boolean.TRUE.equals(TIMED.get())
+                || Thread.currentThread().isInterrupted() || AsyncExecutor.cancelled()) {
+            return e;
+        }
+        return new SQLTimeoutException(e.getMessage(), sqlState, e.getErrorCode(), e);
+    }
+
+    /**
+     * The smaller of the statement's timeout and the time left before the ambient deadline.
+     *
+     * @return the timeout to apply, or null when neither is set
+     */
+    static Duration effectiveTimeout(Duration timeout) {
+        Duration remaining = Deadline.current().map(Deadline::remaining).orElse(null);
+        if (Objects.isNull(remaining)) {
+            return timeout;
+        }
+        return Objects.nonNull(timeout) && timeout.compareTo(remaining) < 0 ? timeout : remaining;
+    }
+
+    /**
+     * JDBC timeouts are whole seconds and 0 means none, so round up and never below one second.
+     */
+    static int toSeconds(Duration timeout) {
+        long millis = timeout.toMillis();
+        long seconds = Math.max(1, (millis + 999) / 1000);
+        return (int) Math.min(Integer.MAX_VALUE, seconds);
+    }
+
+    // ==================== WATCHDOG ====================
+
+    private static void startWatchdog() {
+        // Plain read first: once running, statements start without contending on the flag
+        if (WATCHDOG_RUNNING.get() || !WATCHDOG_RUNNING.compareAndSet(false, true)) {
+            return;
+        }
+        Thread watchdog = new Thread(StatementGuard::watch, "suprim-statement-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    private static void watch() {
+        while (true) {
+            try {
+                Thread.sleep(WATCHDOG_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                WATCHDOG_RUNNING.set(false);
+                return;
+            }
+            sweep();
+            if (RUNNING.isEmpty()) {
+                WATCHDOG_RUNNING.set(false);
+                // guard() registers before checking the flag: a statement registered since the
+                // check above either saw the flag cleared and started a new watchdog, or is
+                // picked up here by taking the flag back
+                if (RUNNING.isEmpty() || !WATCHDOG_RUNNING.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancel statements of interrupted threads and forget finished ones.
+     */
+    static void sweep() {
+        RUNNING.forEach((thread, statement) -> {
+            if (!thread.isAlive() || isClosed(statement)) {
+                RUNNING.remove(thread, statement);
+            } else if (thread.isInterrupted()) {
+                RUNNING.remove(thread, statement);
+                cancelQuietly(statement);
+            }
+        });
+    }
+
+    private static boolean isClosed(Statement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void cancelQuietly(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException ignored) {
+            // Statement already finished or driver does not support cancel
+        }
+    }
+}
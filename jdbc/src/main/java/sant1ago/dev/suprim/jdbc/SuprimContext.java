@@ -4,7 +4,9 @@ import sant1ago.dev.suprim.core.dialect.SqlDialect;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Thread-local context holder for Active Record pattern.
@@ -31,10 +33,19 @@ import java.util.Objects;
  *     tx.save(profile);  // Both commit together
  * });
  * }</pre>
+ *
+ * <p><b>Virtual threads:</b> the context lives in thread-locals, so every virtual thread
+ * has its own. It is set for the duration of a transaction and removed in a
+ * {@code finally} block, so it never outlives the transaction on pooled or carrier threads.
+ * No code path holds a monitor while blocking on the database.
  */
 public final class SuprimContext {
 
     private static final ThreadLocal<TransactionContext> CONTEXT = new ThreadLocal<>();
+    private static final ThreadLocal<UnitOfWork> UNIT_OF_WORK = new ThreadLocal<>();
+    private static final ThreadLocal<IdentityMap> IDENTITY_MAP = new ThreadLocal<>();
+    private static final ThreadLocal<Set<String>> WRITE_LOG = new ThreadLocal<>();
+    private static final ThreadLocal<SuprimExecutor> EXECUTOR = new ThreadLocal<>();
     private static volatile SuprimExecutor globalExecutor;
 
     private SuprimContext() {
@@ -107,6 +118,8 @@ public final class SuprimContext {
      */
     static void setContext(Connection connection, SqlDialect dialect) {
         CONTEXT.set(new TransactionContext(connection, dialect));
+        IDENTITY_MAP.set(new IdentityMap());
+        WRITE_LOG.set(new HashSet<>());
     }
 
     /**
@@ -115,6 +128,187 @@ public final class SuprimContext {
      */
     static void clearContext() {
         CONTEXT.remove();
+        UNIT_OF_WORK.remove();
+        IDENTITY_MAP.remove();
+        WRITE_LOG.remove();
+        EXECUTOR.remove();
+    }
+
+    // ==================== EXECUTOR ====================
+
+    /**
+     * Bind the executor running a transaction or auto-commit operation, so statements issued
+     * by entity persistence report query events to its listeners.
+     * Package-private - called by SuprimExecutor.
+     *
+     * @param executor the executor
+     * @return the previously bound executor (restore it with {@link #restoreExecutor(SuprimExecutor)})
+     */
+    static SuprimExecutor bindExecutor(SuprimExecutor executor) {
+        SuprimExecutor previous = EXECUTOR.get();
+        EXECUTOR.set(executor);
+        return previous;
+    }
+
+    /**
+     * Restore the executor that was bound before {@link #bindExecutor(SuprimExecutor)}.
+     *
+     * @param previous the executor returned by {@code bindExecutor()}, may be null
+     */
+    static void restoreExecutor(SuprimExecutor previous) {
+        if (Objects.isNull(previous)) {
+            EXECUTOR.remove();
+        } else {
+            EXECUTOR.set(previous);
+        }
+    }
+
+    /**
+     * Get the executor running the current transaction or auto-commit operation.
+     *
+     * @return the bound executor, or null outside both
+     */
+    static SuprimExecutor currentExecutor() {
+        return EXECUTOR.get();
+    }
+
+    // ==================== WRITE LOG ====================
+
+    /**
+     * Install a fresh write log for an auto-commit operation.
+     * Package-private - called by SuprimExecutor.
+     *
+     * @return the previously installed log (restore it with {@link #endWriteLog(Set)})
+     */
+    static Set<String> beginWriteLog() {
+        Set<String> previous = WRITE_LOG.get();
+        WRITE_LOG.set(new HashSet<>());
+        return previous;
+    }
+
+    /**
+     * Restore the write log that was active before {@link #beginWriteLog()}.
+     *
+     * @param previous the log returned by {@code beginWriteLog()}, may be null
+     */
+    static void endWriteLog(Set<String> previous) {
+        if (Objects.isNull(previous)) {
+            WRITE_LOG.remove();
+        } else {
+            WRITE_LOG.set(previous);
+        }
+    }
+
+    /**
+     * Record that an entity's table was written on the current connection.
+     * No-op outside a transaction or auto-commit operation.
+     *
+     * @param entityClass the written entity class
+     */
+    static void recordWrite(Class<?> entityClass) {
+        if (Objects.nonNull(WRITE_LOG.get()) && IdentityMap.isIdentifiable(entityClass)) {
+            WRITE_LOG.get().add(EntityCache.tableOf(entityClass));
+        }
+    }
+
+    /**
+     * Record that a table was written on the current connection.
+     *
+     * @param table lower-cased table name, or null if unknown (invalidates every table)
+     */
+    static void recordWrite(String table) {
+        Set<String> log = WRITE_LOG.get();
+        if (Objects.nonNull(log)) {
+            log.add(table);
+        }
+    }
+
+    /**
+     * Check whether the current transaction has uncommitted writes to a table.
+     *
+     * @param table lower-cased table name
+     * @return true if the table (or an unknown table) was written
+     */
+    static boolean hasPendingWrite(String table) {
+        Set<String> log = WRITE_LOG.get();
+        return Objects.nonNull(log) && !log.isEmpty() && (log.contains(table) || log.contains(null));
+    }
+
+    /**
+     * Take and reset the tables written since the log was opened.
+     *
+     * @return written table names (null entries mean "unknown table")
+     */
+    static Set<String> drainWrites() {
+        Set<String> log = WRITE_LOG.get();
+        if (Objects.isNull(log) || log.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> written = new HashSet<>(log);
+        log.clear();
+        return written;
+    }
+
+    /**
+     * Check if an identity map is active on the current thread.
+     *
+     * @return true inside a transaction context
+     */
+    public static boolean hasIdentityMap() {
+        return Objects.nonNull(IDENTITY_MAP.get());
+    }
+
+    /**
+     * Get the current transaction's identity map.
+     *
+     * @return current identity map
+     * @throws IllegalStateException if not in transaction context
+     */
+    public static IdentityMap getIdentityMap() {
+        IdentityMap identityMap = IDENTITY_MAP.get();
+        if (Objects.isNull(identityMap)) {
+            throw new IllegalStateException(
+                "No active transaction context. " +
+                "The identity map is only available within executor.transaction(tx -> {...})"
+            );
+        }
+        return identityMap;
+    }
+
+    /**
+     * Bind a unit of work to the current thread's transaction.
+     * Package-private - called by Transaction.
+     *
+     * @param unitOfWork the unit of work receiving Active Record operations
+     */
+    static void setUnitOfWork(UnitOfWork unitOfWork) {
+        UNIT_OF_WORK.set(unitOfWork);
+    }
+
+    /**
+     * Check if a unit of work is active on the current thread.
+     *
+     * @return true if Active Record operations are being deferred
+     */
+    public static boolean hasUnitOfWork() {
+        return Objects.nonNull(UNIT_OF_WORK.get());
+    }
+
+    /**
+     * Get the current thread's unit of work.
+     *
+     * @return current unit of work
+     * @throws IllegalStateException if no unit of work is active
+     */
+    public static UnitOfWork getUnitOfWork() {
+        UnitOfWork unitOfWork = UNIT_OF_WORK.get();
+        if (Objects.isNull(unitOfWork)) {
+            throw new IllegalStateException(
+                "No active unit of work. " +
+                "Open one with tx.unitOfWork() inside executor.transaction(tx -> {...})"
+            );
+        }
+        return unitOfWork;
     }
 
     /**
@@ -76,6 +76,8 @@ public abstract class SuprimEntity {
      *   <li><b>Transaction mode:</b> Uses the current transaction's connection</li>
      *   <li><b>Auto-commit mode:</b> Gets a new connection and commits immediately
      *       (requires {@link SuprimContext#setGlobalExecutor(SuprimExecutor)} at startup)</li>
+     *   <li><b>Unit of work:</b> Records the insert for a batched flush
+     *       (see {@link UnitOfWork}); database-generated IDs are set at flush time</li>
      * </ul>
      *
      * <p>Supports all ID generation strategies:
@@ -91,7 +93,9 @@ public abstract class SuprimEntity {
      * @throws PersistenceException if save fails
      */
     public SuprimEntity save() {
-        if (SuprimContext.hasContext()) {
+        if (SuprimContext.hasUnitOfWork()) {
+            SuprimContext.getUnitOfWork().registerNew(this);
+        } else if (SuprimContext.hasContext()) {
             // In transaction - use transaction's connection
             Connection connection = SuprimContext.getConnection();
             SqlDialect dialect = SuprimContext.getDialect();
@@ -216,14 +220,17 @@ public abstract class SuprimEntity {
      * Update this entity in the database.
      *
      * <p>Entity must have an ID set. Updates all non-null columns.
-     * Supports both transaction and auto-commit modes.
+     * Supports both transaction and auto-commit modes. Inside a {@link UnitOfWork}
+     * the update is recorded and coalesced until flush.
      *
      * @return this entity
      * @throws IllegalStateException if no transaction context and no global executor
      * @throws PersistenceException if update fails or entity has no ID
      */
     public SuprimEntity update() {
-        if (SuprimContext.hasContext()) {
+        if (SuprimContext.hasUnitOfWork()) {
+            SuprimContext.getUnitOfWork().registerDirty(this);
+        } else if (SuprimContext.hasContext()) {
             Connection connection = SuprimContext.getConnection();
             SqlDialect dialect = SuprimContext.getDialect();
             EntityPersistence.update(this, connection, dialect);
@@ -248,13 +255,16 @@ public abstract class SuprimEntity {
      * Delete this entity from the database.
      *
      * <p>Entity must have an ID set.
-     * Supports both transaction and auto-commit modes.
+     * Supports both transaction and auto-commit modes. Inside a {@link UnitOfWork}
+     * the delete is recorded until flush.
      *
      * @throws IllegalStateException if no transaction context and no global executor
      * @throws PersistenceException if delete fails or entity has no ID
      */
     public void delete() {
-        if (SuprimContext.hasContext()) {
+        if (SuprimContext.hasUnitOfWork()) {
+            SuprimContext.getUnitOfWork().registerDeleted(this);
+        } else if (SuprimContext.hasContext()) {
             Connection connection = SuprimContext.getConnection();
             SqlDialect dialect = SuprimContext.getDialect();
             EntityPersistence.delete(this, connection, dialect);
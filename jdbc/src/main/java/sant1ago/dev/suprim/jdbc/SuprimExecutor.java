@@ -6,6 +6,7 @@ import sant1ago.dev.suprim.core.query.EagerLoadSpec;
 import sant1ago.dev.suprim.core.query.QueryResult;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.jdbc.eager.EagerLoader;
+import sant1ago.dev.suprim.jdbc.eager.OfManyStrategy;
 import sant1ago.dev.suprim.jdbc.event.*;
 import sant1ago.dev.suprim.jdbc.exception.*;
 
@@ -17,9 +18,14 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /**
@@ -60,24 +66,50 @@ import java.util.stream.Stream;
  */
 public final class SuprimExecutor {
 
+    // Row-locking reads must run on the primary even outside a transaction
+    private static final Pattern LOCKING_READ = Pattern.compile(
+            "\\bFOR\\s+(NO\\s+KEY\\s+UPDATE|UPDATE|KEY\\s+SHARE|SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b",
+            Pattern.CASE_INSENSITIVE);
+
     private final DataSource dataSource;
+    private final ReplicaRouter replicaRouter;
     private final EventDispatcher dispatcher;
     private final String connectionName;
     private volatile SqlDialect dialect;
-
-    // Lazy-initialized internal helpers
-    private volatile PaginationHelper paginationHelper;
-    private volatile ChunkProcessor chunkProcessor;
+    private final OfManyStrategy ofManyStrategy;
+    private final boolean concurrentMorphLoading;
+    private final EntityCache entityCache = new EntityCache();
+    private final QueryCache queryCache;
+    private final QueryCoalescer readCoalescer;
+    private final Duration queryTimeout;
+
+    // Stateless internal helpers, created up front so no hot path needs a lock
+    private final PaginationHelper paginationHelper;
+    private final ChunkProcessor chunkProcessor;
+    private final AsyncExecutor asyncExecutor;
 
     private SuprimExecutor(DataSource dataSource) {
-        this(dataSource, new EventDispatcher(), "default", null);
+        this(dataSource, null, new EventDispatcher(), "default", null, null, AsyncExecutor.DEFAULT_MAX_CONCURRENCY, null, false,
+                new QueryCache(QueryCache.DEFAULT_MAX_ENTRIES, QueryCache.DEFAULT_MAX_BYTES), null, null);
     }
 
-    private SuprimExecutor(DataSource dataSource, EventDispatcher dispatcher, String connectionName, SqlDialect dialect) {
+    private SuprimExecutor(DataSource dataSource, ReplicaRouter replicaRouter, EventDispatcher dispatcher,
+                           String connectionName, SqlDialect dialect, Executor asyncWorkers, int maxAsyncConcurrency,
+                           OfManyStrategy ofManyStrategy, boolean concurrentMorphLoading, QueryCache queryCache,
+                           QueryCoalescer readCoalescer, Duration queryTimeout) {
         this.dataSource = Objects.requireNonNull(dataSource, "dataSource must not be null");
+        this.replicaRouter = replicaRouter;
+        this.paginationHelper = new PaginationHelper(this);
+        this.chunkProcessor = new ChunkProcessor(this);
+        this.asyncExecutor = new AsyncExecutor(this, asyncWorkers, maxAsyncConcurrency);
         this.dispatcher = dispatcher;
         this.connectionName = connectionName;
         this.dialect = dialect;
+        this.ofManyStrategy = ofManyStrategy;
+        this.concurrentMorphLoading = concurrentMorphLoading;
+        this.queryCache = queryCache;
+        this.readCoalescer = readCoalescer;
+        this.queryTimeout = queryTimeout;
     }
 
     /**
@@ -95,6 +127,42 @@ public final class SuprimExecutor {
         return dialect;
     }
 
+    /**
+     * Get the SQL dialect, auto-detecting it from a primary connection on first use if not set explicitly.
+     *
+     * @return the SQL dialect
+     * @throws ConnectionException if a connection is needed for detection and cannot be obtained
+     */
+    public SqlDialect dialect() {
+        SqlDialect current = dialect;
+        if (Objects.nonNull(current)) {
+            return current;
+        }
+        try (Connection conn = getConnection()) {
+            return getDialect(conn);
+        } catch (SQLException e) {
+            throw ConnectionException.fromSQLException(e);
+        }
+    }
+
+    /**
+     * Get the strategy for eager-loading LatestOfMany, OldestOfMany and OfMany relations.
+     *
+     * @return the configured strategy, or the best one the dialect supports
+     */
+    public OfManyStrategy ofManyStrategy() {
+        return Objects.nonNull(ofManyStrategy) ? ofManyStrategy : OfManyStrategy.forDialect(dialect());
+    }
+
+    /**
+     * Check whether MorphTo eager loads query their target types concurrently outside transactions.
+     *
+     * @return true if enabled with {@link Builder#concurrentMorphLoading(boolean)}
+     */
+    public boolean concurrentMorphLoading() {
+        return concurrentMorphLoading;
+    }
+
     /**
      * Safely quote an identifier, only if it requires quoting.
      * Simple alphanumeric/underscore identifiers are left unquoted to preserve
@@ -152,6 +220,15 @@ public final class SuprimExecutor {
         private final EventDispatcher dispatcher = new EventDispatcher();
         private String connectionName = "default";
         private SqlDialect dialect;
+        private ReplicaRouter replicaRouter;
+        private Executor asyncWorkers;
+        private int maxAsyncConcurrency = AsyncExecutor.DEFAULT_MAX_CONCURRENCY;
+        private OfManyStrategy ofManyStrategy;
+        private boolean concurrentMorphLoading;
+        private int queryCacheMaxEntries = QueryCache.DEFAULT_MAX_ENTRIES;
+        private long queryCacheMaxBytes = QueryCache.DEFAULT_MAX_BYTES;
+        private Duration coalesceMaxWait;
+        private Duration queryTimeout;
 
         private Builder(DataSource dataSource) {
             this.dataSource = Objects.requireNonNull(dataSource, "dataSource must not be null");
@@ -236,13 +313,148 @@ public final class SuprimExecutor {
             return this;
         }
 
+        /**
+         * Register an N+1 query detector for queries and transaction scopes.
+         *
+         * @param detector the detector to register
+         * @return this builder
+         */
+        public Builder nPlusOneDetector(NPlusOneDetector detector) {
+            dispatcher.addQueryListener(detector);
+            dispatcher.addTransactionListener(detector);
+            return this;
+        }
+
+        /**
+         * Route reads outside transactions to read replicas.
+         * The builder's DataSource remains the primary for writes and transactions.
+         *
+         * @param router the replica router
+         * @return this builder
+         */
+        public Builder replicas(ReplicaRouter router) {
+            this.replicaRouter = Objects.requireNonNull(router, "router must not be null");
+            return this;
+        }
+
+        /**
+         * Configure where {@link SuprimExecutor#async()} operations run.
+         * Without this, virtual threads are used on JDK 21+ and a daemon pool otherwise,
+         * limited to 10 concurrent operations.
+         *
+         * @param workers        the executor running async operations, or null for the default
+         * @param maxConcurrency maximum operations running at once, usually the connection pool size
+         * @return this builder
+         */
+        public Builder async(Executor workers, int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be at least 1, got " + maxConcurrency);
+            }
+            this.asyncWorkers = workers;
+            this.maxAsyncConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Set how LatestOfMany, OldestOfMany, OfMany and per-parent limited relations are eager-loaded.
+         * If not set, the best strategy supported by the dialect is used.
+         *
+         * @param strategy the top-1-per-parent strategy
+         * @return this builder
+         */
+        public Builder ofManyStrategy(OfManyStrategy strategy) {
+            this.ofManyStrategy = strategy;
+            return this;
+        }
+
+        /**
+         * Query the target types of a MorphTo eager load concurrently on {@link #async(Executor, int)}
+         * workers. Only applies outside transactions, since async operations use their own connections,
+         * and outside async operations, which would otherwise wait on their own concurrency slot.
+         *
+         * @param enabled true to run one query per morph type in parallel
+         * @return this builder
+         */
+        public Builder concurrentMorphLoading(boolean enabled) {
+            this.concurrentMorphLoading = enabled;
+            return this;
+        }
+
+        /**
+         * Bound the result cache used by queries built with {@code cached(Duration)}.
+         * Defaults to {@value QueryCache#DEFAULT_MAX_ENTRIES} entries and 64 MB.
+         *
+         * @param maxEntries maximum cached results
+         * @param maxBytes   maximum estimated bytes of all cached results
+         * @return this builder
+         */
+        public Builder queryCache(int maxEntries, long maxBytes) {
+            if (maxEntries < 1 || maxBytes < 1) {
+                throw new IllegalArgumentException("Query cache bounds must be positive, got "
+                        + maxEntries + " entries and " + maxBytes + " bytes");
+            }
+            this.queryCacheMaxEntries = maxEntries;
+            this.queryCacheMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Coalesce concurrent identical reads: while a SELECT runs outside a transaction,
+         * callers issuing the same SQL with the same parameters and row mapper wait for its
+         * result instead of running their own. Applies to {@code query}, {@code queryOne}
+         * and {@code findById}, and so to {@link Finder} reads.
+         *
+         * <pre>{@code
+         * SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+         *     .coalesceReads(Duration.ofSeconds(2))
+         *     .build();
+         * }</pre>
+         *
+         * @param maxWait how long a caller waits for the identical query before running its own
+         * @return this builder
+         * @see QueryCoalescer
+         */
+        public Builder coalesceReads(Duration maxWait) {
+            if (Objects.isNull(maxWait) || maxWait.isNegative() || maxWait.isZero()) {
+                throw new IllegalArgumentException("maxWait must be positive, got " + maxWait);
+            }
+            this.coalesceMaxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Set the default timeout of every statement, so a runaway query cannot hold a pooled
+         * connection indefinitely. Queries built with {@code timeout(Duration)} override it,
+         * and an ambient {@link Deadline} shortens it. JDBC applies timeouts in whole seconds,
+         * rounded up.
+         *
+         * <pre>{@code
+         * SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+         *     .queryTimeout(Duration.ofSeconds(30))
+         *     .build();
+         * }</pre>
+         *
+         * @param timeout the default statement timeout
+         * @return this builder
+         */
+        public Builder queryTimeout(Duration timeout) {
+            if (Objects.isNull(timeout) || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("Query timeout must be positive, got " + timeout);
+            }
+            this.queryTimeout = timeout;
+            return this;
+        }
+
         /**
          * Build the configured SuprimExecutor instance.
          *
          * @return new SuprimExecutor with configured listeners
          */
         public SuprimExecutor build() {
-            return new SuprimExecutor(dataSource, dispatcher, connectionName, dialect);
+            return new SuprimExecutor(dataSource, replicaRouter, dispatcher, connectionName, dialect,
+                    asyncWorkers, maxAsyncConcurrency, ofManyStrategy, concurrentMorphLoading,
+                    new QueryCache(queryCacheMaxEntries, queryCacheMaxBytes),
+                    Objects.nonNull(coalesceMaxWait) ? new QueryCoalescer(coalesceMaxWait) : null, queryTimeout);
         }
     }
 
@@ -286,6 +498,133 @@ public final class SuprimExecutor {
         return dispatcher.removeTransactionListener(listener);
     }
 
+    // ============ Entity Cache ============
+
+    /**
+     * Get the second-level cache of {@link sant1ago.dev.suprim.annotation.entity.Cacheable} entities.
+     *
+     * <pre>{@code
+     * CacheStats stats = executor.entityCache().stats(Country.class);
+     * executor.entityCache().invalidate(Country.class);
+     * }</pre>
+     *
+     * @return this executor's entity cache
+     */
+    public EntityCache entityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Get the result cache of queries built with {@code cached(Duration)}.
+     *
+     * <pre>{@code
+     * CacheStats stats = executor.queryCache().stats();
+     * executor.queryCache().invalidate("countries");
+     * }</pre>
+     *
+     * @return this executor's query cache
+     */
+    public QueryCache queryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Check whether a query's result may come from the query cache. Transactions bypass it,
+     * since they may read their own uncommitted writes.
+     */
+    private boolean isCacheable(QueryResult queryResult) {
+        return queryResult.isCached() && !SuprimContext.hasContext();
+    }
+
+    /**
+     * What besides SQL and parameters distinguishes results: the method, row mapper and the
+     * relations eager-loaded onto the rows. Entity mappers compare by entity class and column
+     * prefix; other mappers and eager-load constraints by identity, since lambdas of one class
+     * may capture different state.
+     */
+    private static Object resultShape(String method, RowMapper<?> mapper, QueryResult queryResult) {
+        List<EagerLoadSpec> eagerLoads = queryResult.hasEagerLoads() ? queryResult.eagerLoads() : List.of();
+        return List.of(method, mapper, eagerLoads);
+    }
+
+    /**
+     * Get the coalescer of concurrent identical reads, when enabled with
+     * {@link Builder#coalesceReads(Duration)}.
+     *
+     * <pre>{@code
+     * executor.readCoalescer().ifPresent(coalescer ->
+     *     log.info("coalesced reads: {}", coalescer.stats().coalesced()));
+     * }</pre>
+     *
+     * @return the read coalescer, or empty when reads are not coalesced
+     */
+    public Optional<QueryCoalescer> readCoalescer() {
+        return Optional.ofNullable(readCoalescer);
+    }
+
+    /**
+     * Get the default statement timeout set with {@link Builder#queryTimeout(Duration)}.
+     *
+     * @return the default timeout, or empty when statements run without one
+     */
+    public Optional<Duration> queryTimeout() {
+        return Optional.ofNullable(queryTimeout);
+    }
+
+    /**
+     * The timeout of a statement before any ambient deadline: its own, else the executor default.
+     */
+    Duration timeoutFor(QueryResult queryResult) {
+        return Objects.nonNull(queryResult) && Objects.nonNull(queryResult.timeout()) ? queryResult.timeout() : queryTimeout;
+    }
+
+    /**
+     * Check whether concurrent callers may share one execution of a statement: plain SELECTs
+     * outside a transaction, which could otherwise see their own uncommitted writes.
+     */
+    private boolean isCoalescable(String sql) {
+        return Objects.nonNull(readCoalescer)
+                && !SuprimContext.hasContext()
+                && QueryType.fromSql(sql) == QueryType.SELECT
+                && !LOCKING_READ.matcher(sql).find();
+    }
+
+    /**
+     * Requests coalesce only when they would run the same statement the same way: besides the
+     * result shape, a follower must share the leader's timeout and deadline, so it is never
+     * cancelled by a budget shorter than its own.
+     */
+    private Object coalescingKey(String method, QueryResult queryResult, SqlParameterConverter.Result converted,
+                                 RowMapper<?> mapper) {
+        return Arrays.asList(converted.sql(), Arrays.asList(converted.parameters()), resultShape(method, mapper, queryResult),
+                timeoutFor(queryResult), Deadline.current().orElse(null));
+    }
+
+    /**
+     * Copy rows handed to another caller: entities are copied with the relations loaded onto
+     * them, and get fresh lazy holders, so each caller can modify its own; other rows are shared.
+     */
+    private <T> List<T> copyRows(List<T> rows, RowMapper<T> mapper, QueryResult queryResult) {
+        if (!(mapper instanceof EntityMapper<?>)) {
+            return new ArrayList<>(rows);
+        }
+        Map<Object, Object> copies = new IdentityHashMap<>();
+        List<T> copy = EntityCache.copyGraph(rows, copies);
+        // Rebind the holders left unloaded in the original, one batch per entity class
+        Map<Class<?>, List<Object>> byClass = new LinkedHashMap<>();
+        for (Object copied : copies.values()) {
+            byClass.computeIfAbsent(copied.getClass(), key -> new ArrayList<>()).add(copied);
+        }
+        Class<?> rowClass = copy.isEmpty() || Objects.isNull(copy.get(0)) ? null : copy.get(0).getClass();
+        byClass.forEach((type, entities) ->
+                LazyBatch.bind(entities, this, type == rowClass ? queryResult.eagerLoads() : null));
+        return copy;
+    }
+
+    private <T> Optional<T> copyRow(Optional<T> row, RowMapper<T> mapper, QueryResult queryResult) {
+        return row.map(value -> copyRows(Collections.singletonList(value), mapper, queryResult).get(0));
+    }
+
     // Package-private for Transaction class
     EventDispatcher getDispatcher() {
         return dispatcher;
@@ -308,58 +647,100 @@ public final class SuprimExecutor {
      */
     public <T> List<T> query(QueryResult queryResult, RowMapper<T> mapper) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
+        if (isCacheable(queryResult)) {
+            List<T> rows = queryCache.load(queryResult, converted.parameters(), resultShape("query", mapper, queryResult),
+                    () -> Collections.unmodifiableList(query(queryResult, converted, mapper)));
+            // Each caller gets its own entities; the cached ones stay as loaded
+            return mapper instanceof EntityMapper<?> ? Collections.unmodifiableList(copyRows(rows, mapper, queryResult)) : rows;
+        }
+        if (isCoalescable(converted.sql())) {
+            return readCoalescer.run(coalescingKey("query", queryResult, converted, mapper),
+                    () -> query(queryResult, converted, mapper), rows -> copyRows(rows, mapper, queryResult));
+        }
+        return query(queryResult, converted, mapper);
+    }
 
-        // Create and fire before the event
-        QueryEvent beforeEvent = QueryEvent.before(converted.sql(), converted.parameters(), connectionName);
-        dispatcher.fireBeforeQuery(beforeEvent);
+    private <T> List<T> query(QueryResult queryResult, SqlParameterConverter.Result converted, RowMapper<T> mapper) {
+        // Fire before event (null when no query listeners are registered)
+        QueryEvent beforeEvent = dispatcher.beginQuery(converted.sql(), converted.parameters(), connectionName);
 
         long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(converted.sql(), timer);
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
+            timer.prepared();
 
-            try (ResultSet rs = ps.executeQuery()) {
-                List<T> results = new ArrayList<>();
-                while (rs.next()) {
-                    try {
-                        results.add(mapper.map(rs));
-                    } catch (SQLException e) {
-                        throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
-                    } catch (SuprimException e) {
-                        throw e;
-                    } catch (Exception e) {
-                        throw MappingException.builder()
-                                .message("Row mapping failed")
-                                .cause(e)
-                                .build();
-                    }
-                }
-
-                // Fire success event
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                timer.executed();
+                JoinFetchCollector joined = queryResult.hasEagerLoads() ? JoinFetchCollector.of(queryResult.eagerLoads()) : null;
+                List<T> results = mapRows(rs, mapper, joined, converted);
+                timer.fetched();
                 long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, results.size()));
 
-                // Autoload eager relations if specified
-                if (queryResult.hasEagerLoads() && !results.isEmpty()) {
-                    EagerLoader loader = new EagerLoader(this);
-                    loader.loadRelations(results, queryResult.eagerLoads());
-                }
+                loadRelations(results, queryResult, joined, timer);
+
+                // Fire success event
+                dispatcher.completeQuery(beforeEvent, durationNanos, results.size(), timer);
 
                 return results;
             }
         } catch (SQLException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         } catch (SuprimException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
             throw e;
         }
     }
 
+    /**
+     * Map every row of a result set, collecting JOIN-fetched relation rows along the way.
+     */
+    <T> List<T> mapRows(ResultSet rs, RowMapper<T> mapper, JoinFetchCollector joined,
+                        SqlParameterConverter.Result converted) throws SQLException {
+        List<T> results = new ArrayList<>();
+        while (rs.next()) {
+            try {
+                results.add(mapper.map(rs));
+                if (Objects.nonNull(joined)) {
+                    joined.collect(rs);
+                }
+            } catch (SQLException e) {
+                throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
+            } catch (SuprimException e) {
+                throw e;
+            } catch (Exception e) {
+                throw MappingException.builder()
+                        .message("Row mapping failed")
+                        .cause(e)
+                        .build();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Bind lazy relation holders and run the eager loads of mapped rows.
+     */
+    <T> void loadRelations(List<T> results, QueryResult queryResult, JoinFetchCollector joined, QueryTimer timer) {
+        // Lazy relation fields load on first access, batched across the result
+        LazyBatch.bind(results, this, queryResult.eagerLoads());
+
+        // Autoload eager relations if specified
+        if (queryResult.hasEagerLoads() && !results.isEmpty()) {
+            EagerLoader loader = new EagerLoader(this);
+            loader.loadRelations(results, queryResult.eagerLoads(),
+                    Objects.nonNull(joined) ? joined.fetched() : Map.of());
+            timer.eagerLoaded();
+        }
+    }
+
     /**
      * Execute a SELECT query and return a single optional result.
      *
@@ -373,49 +754,75 @@ public final class SuprimExecutor {
      */
     public <T> Optional<T> queryOne(QueryResult queryResult, RowMapper<T> mapper) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
+        if (isCacheable(queryResult)) {
+            Optional<T> row = queryCache.load(queryResult, converted.parameters(), resultShape("queryOne", mapper, queryResult),
+                    () -> queryOne(queryResult, converted, mapper));
+            return copyRow(row, mapper, queryResult);
+        }
+        if (isCoalescable(converted.sql())) {
+            return readCoalescer.run(coalescingKey("queryOne", queryResult, converted, mapper),
+                    () -> queryOne(queryResult, converted, mapper), row -> copyRow(row, mapper, queryResult));
+        }
+        return queryOne(queryResult, converted, mapper);
+    }
 
-        // Create and fire before event
-        QueryEvent beforeEvent = QueryEvent.before(converted.sql(), converted.parameters(), connectionName);
-        dispatcher.fireBeforeQuery(beforeEvent);
+    private <T> Optional<T> queryOne(QueryResult queryResult, SqlParameterConverter.Result converted, RowMapper<T> mapper) {
+        // Fire before event (null when no query listeners are registered)
+        QueryEvent beforeEvent = dispatcher.beginQuery(converted.sql(), converted.parameters(), connectionName);
 
         long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(converted.sql(), timer);
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
+            timer.prepared();
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                timer.executed();
                 if (!rs.next()) {
+                    timer.fetched();
+
                     // Fire success event (0 rows)
                     long durationNanos = System.nanoTime() - startNanos;
-                    dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, 0));
+                    dispatcher.completeQuery(beforeEvent, durationNanos, 0, timer);
                     return Optional.empty();
                 }
                 T result = mapper.map(rs);
+                JoinFetchCollector joined = queryResult.hasEagerLoads() ? JoinFetchCollector.of(queryResult.eagerLoads()) : null;
+                if (Objects.nonNull(joined)) {
+                    joined.collect(rs);
+                }
                 if (rs.next()) {
                     throw NonUniqueResultException.forQuery(converted.sql(), converted.parameters());
                 }
-
-                // Fire success event (1 row)
+                timer.fetched();
                 long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, 1));
+
+                LazyBatch.bind(Collections.singletonList(result), this, queryResult.eagerLoads());
 
                 // Auto-load eager relations if specified
                 if (queryResult.hasEagerLoads() && Objects.nonNull(result)) {
                     EagerLoader loader = new EagerLoader(this);
-                    loader.loadRelations(List.of(result), queryResult.eagerLoads());
+                    loader.loadRelations(List.of(result), queryResult.eagerLoads(),
+                            Objects.nonNull(joined) ? joined.fetched() : Map.of());
+                    timer.eagerLoaded();
                 }
 
+                // Fire success event (1 row)
+                dispatcher.completeQuery(beforeEvent, durationNanos, 1, timer);
+
                 return Optional.of(result);
             }
         } catch (SQLException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         } catch (SuprimException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
             throw e;
         }
     }
@@ -435,18 +842,21 @@ public final class SuprimExecutor {
     public <T> T queryOneRequired(QueryResult queryResult, RowMapper<T> mapper) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        // Create and fire before event
-        QueryEvent beforeEvent = QueryEvent.before(converted.sql(), converted.parameters(), connectionName);
-        dispatcher.fireBeforeQuery(beforeEvent);
+        // Fire before event (null when no query listeners are registered)
+        QueryEvent beforeEvent = dispatcher.beginQuery(converted.sql(), converted.parameters(), connectionName);
 
         long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(converted.sql(), timer);
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
+            timer.prepared();
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                timer.executed();
                 if (!rs.next()) {
                     throw NoResultException.forQuery(converted.sql(), converted.parameters());
                 }
@@ -454,20 +864,21 @@ public final class SuprimExecutor {
                 if (rs.next()) {
                     throw NonUniqueResultException.forQuery(converted.sql(), converted.parameters());
                 }
+                timer.fetched();
 
                 // Fire success event
                 long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, 1));
+                dispatcher.completeQuery(beforeEvent, durationNanos, 1, timer);
 
                 return result;
             }
         } catch (SQLException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         } catch (SuprimException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
             throw e;
         }
     }
@@ -484,27 +895,34 @@ public final class SuprimExecutor {
     public int execute(QueryResult queryResult) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        // Create and fire before event
-        QueryEvent beforeEvent = QueryEvent.before(converted.sql(), converted.parameters(), connectionName);
-        dispatcher.fireBeforeQuery(beforeEvent);
+        // Fire before event (null when no query listeners are registered)
+        QueryEvent beforeEvent = dispatcher.beginQuery(converted.sql(), converted.parameters(), connectionName);
 
         long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
+        markWrite();
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getConnection(timer);
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
-            int affected = ps.executeUpdate();
+            timer.prepared();
+            int affected = StatementGuard.executeUpdate(ps);
+            timer.executed();
+            Set<String> written = Collections.singleton(EntityCache.writtenTable(converted.sql()));
+            entityCache.invalidateTables(written);
+            queryCache.invalidateTables(written);
 
             // Fire success event
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, affected));
+            dispatcher.completeQuery(beforeEvent, durationNanos, affected, timer);
 
             return affected;
         } catch (SQLException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
-            throw ExceptionTranslator.translateExecution(converted.sql(), converted.parameters(), e);
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
+            throw ExceptionTranslator.translateExecution(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -525,68 +943,10 @@ public final class SuprimExecutor {
      * @throws SuprimException      if a database error occurs within the transaction
      */
     public void transaction(Consumer<Transaction> action) {
-        Connection conn = null;
-        TransactionEvent beginEvent = null;
-        long startNanos = System.nanoTime();
-
-        try {
-            conn = getConnection();
-            conn.setAutoCommit(false);
-
-            // Set thread-local context for Active Record pattern
-            SqlDialect txDialect = getDialect(conn);
-            SuprimContext.setContext(conn, txDialect);
-
-            // Fire BEGIN event
-            beginEvent = TransactionEvent.begin(connectionName);
-            dispatcher.fireTransactionEvent(beginEvent);
-
-            Transaction tx = new Transaction(conn, dispatcher, connectionName, beginEvent);
+        runTransaction(tx -> {
             action.accept(tx);
-
-            conn.commit();
-
-            // Fire COMMIT event
-            long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireTransactionEvent(beginEvent.commit(durationNanos));
-        } catch (SQLException e) {
-            rollbackQuietly(conn);
-
-            // Fire ROLLBACK event
-            if (Objects.nonNull(beginEvent)) {
-                long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireTransactionEvent(beginEvent.rollback(durationNanos));
-            }
-
-            throw TransactionException.fromSQLException(e);
-        } catch (SuprimException e) {
-            rollbackQuietly(conn);
-
-            // Fire ROLLBACK event
-            if (Objects.nonNull(beginEvent)) {
-                long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireTransactionEvent(beginEvent.rollback(durationNanos));
-            }
-
-            throw e;
-        } catch (Exception e) {
-            rollbackQuietly(conn);
-
-            // Fire ROLLBACK event
-            if (Objects.nonNull(beginEvent)) {
-                long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireTransactionEvent(beginEvent.rollback(durationNanos));
-            }
-
-            throw TransactionException.builder()
-                    .message("Transaction failed")
-                    .cause(e)
-                    .build();
-        } finally {
-            // Clear context before closing connection to prevent leaks
-            SuprimContext.clearContext();
-            closeQuietly(conn);
-        }
+            return null;
+        }, null, 1);
     }
 
     /**
@@ -606,26 +966,107 @@ public final class SuprimExecutor {
      * @throws SuprimException      if a database error occurs within the transaction
      */
     public <T> T transactionWithResult(TransactionFunction<T> action) {
+        return runTransaction(action, null, 1);
+    }
+
+    /**
+     * Execute multiple statements within a transaction, re-running the whole transaction
+     * on a fresh connection when it fails with a failure the policy classifies as retryable
+     * (serialization failure or deadlock by default).
+     *
+     * <pre>{@code
+     * executor.transaction(RetryPolicy.builder()
+     *         .isolation(Connection.TRANSACTION_SERIALIZABLE)
+     *         .build(), tx -> {
+     *     tx.execute(debit);
+     *     tx.execute(credit);
+     * });
+     * }</pre>
+     *
+     * @param policy the retry policy
+     * @param action the action to execute within the transaction; may run several times
+     * @throws TransactionException if transaction management fails
+     * @throws SuprimException      the last failure once attempts are exhausted or it is not retryable
+     */
+    public void transaction(RetryPolicy policy, Consumer<Transaction> action) {
+        transactionWithResult(policy, tx -> {
+            action.accept(tx);
+            return null;
+        });
+    }
+
+    /**
+     * Execute multiple statements within a transaction and return a result, re-running the
+     * whole transaction when it fails with a failure the policy classifies as retryable.
+     *
+     * @param policy the retry policy
+     * @param action the action to execute within the transaction; may run several times
+     * @param <T>    the type of result to return
+     * @return the result from the successful attempt
+     * @throws TransactionException if transaction management fails
+     * @throws SuprimException      the last failure once attempts are exhausted or it is not retryable
+     */
+    public <T> T transactionWithResult(RetryPolicy policy, TransactionFunction<T> action) {
+        Objects.requireNonNull(policy, "policy must not be null");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return runTransaction(action, policy.isolation(), attempt);
+            } catch (SuprimException e) {
+                if (attempt >= policy.maxAttempts() || !policy.isRetryable(e)) {
+                    throw e;
+                }
+                sleepBeforeRetry(policy, attempt + 1, e);
+            }
+        }
+    }
+
+    private static void sleepBeforeRetry(RetryPolicy policy, int nextAttempt, SuprimException failure) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(policy.backoffNanos(nextAttempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    /**
+     * Run one transaction attempt on a fresh connection.
+     *
+     * @param isolation isolation level for this attempt, or null to keep the connection default
+     * @param attempt   1-based attempt number reported in transaction events
+     */
+    private <T> T runTransaction(TransactionFunction<T> action, Integer isolation, int attempt) {
         Connection conn = null;
+        Integer previousIsolation = null;
         TransactionEvent beginEvent = null;
         long startNanos = System.nanoTime();
+        SuprimExecutor outerExecutor = SuprimContext.currentExecutor();
 
         try {
             conn = getConnection();
+            if (Objects.nonNull(isolation)) {
+                previousIsolation = conn.getTransactionIsolation();
+                conn.setTransactionIsolation(isolation);
+            }
             conn.setAutoCommit(false);
 
             // Set thread-local context for Active Record pattern
             SqlDialect txDialect = getDialect(conn);
             SuprimContext.setContext(conn, txDialect);
+            SuprimContext.bindExecutor(this);
 
             // Fire BEGIN event
-            beginEvent = TransactionEvent.begin(connectionName);
+            beginEvent = TransactionEvent.begin(connectionName, attempt);
             dispatcher.fireTransactionEvent(beginEvent);
 
-            Transaction tx = new Transaction(conn, dispatcher, connectionName, beginEvent);
+            Transaction tx = new Transaction(conn, dispatcher, connectionName, beginEvent, queryTimeout);
             T result = action.apply(tx);
+            tx.flushUnitOfWork();
 
             conn.commit();
+            Set<String> written = SuprimContext.drainWrites();
+            entityCache.invalidateTables(written);
+            queryCache.invalidateTables(written);
 
             // Fire COMMIT event
             long durationNanos = System.nanoTime() - startNanos;
@@ -668,7 +1109,10 @@ public final class SuprimExecutor {
         } finally {
             // Clear context before closing connection to prevent leaks
             SuprimContext.clearContext();
+            SuprimContext.restoreExecutor(outerExecutor);
+            restoreIsolationQuietly(conn, previousIsolation);
             closeQuietly(conn);
+            markWrite();
         }
     }
 
@@ -680,6 +1124,56 @@ public final class SuprimExecutor {
         }
     }
 
+    /**
+     * Obtain a connection and record the acquisition time on the query's timer.
+     */
+    private Connection getConnection(QueryTimer timer) throws SQLException {
+        Connection connection = getConnection();
+        timer.acquired();
+        return connection;
+    }
+
+    /**
+     * Obtain a connection for a statement that may be a read. Plain SELECTs outside a
+     * transaction go to a replica when one is available; anything else goes to the
+     * primary and counts as a write for read-your-writes routing.
+     */
+    private Connection getReadConnection(String sql) throws SQLException {
+        if (Objects.isNull(replicaRouter)) {
+            return getConnection();
+        }
+        if (QueryType.fromSql(sql) != QueryType.SELECT || LOCKING_READ.matcher(sql).find()) {
+            markWrite();
+            return getConnection();
+        }
+        return getReadConnection();
+    }
+
+    private Connection getReadConnection(String sql, QueryTimer timer) throws SQLException {
+        Connection connection = getReadConnection(sql);
+        timer.acquired();
+        return connection;
+    }
+
+    /**
+     * Obtain a connection for a SELECT built by the library.
+     */
+    private Connection getReadConnection() throws SQLException {
+        if (Objects.nonNull(replicaRouter) && !SuprimContext.hasContext()) {
+            Connection replica = replicaRouter.acquire();
+            if (Objects.nonNull(replica)) {
+                return replica;
+            }
+        }
+        return getConnection();
+    }
+
+    private void markWrite() {
+        if (Objects.nonNull(replicaRouter)) {
+            replicaRouter.markWrite();
+        }
+    }
+
     private void setParameters(PreparedStatement ps, Object[] parameters) throws SQLException {
         for (int i = 0; i < parameters.length; i++) {
             ps.setObject(i + 1, parameters[i]);
@@ -696,6 +1190,16 @@ public final class SuprimExecutor {
         }
     }
 
+    private void restoreIsolationQuietly(Connection conn, Integer isolation) {
+        if (Objects.nonNull(conn) && Objects.nonNull(isolation)) {
+            try {
+                conn.setTransactionIsolation(isolation);
+            } catch (SQLException ignored) {
+                // Ignore restore errors
+            }
+        }
+    }
+
     private void closeQuietly(Connection conn) {
         if (Objects.nonNull(conn)) {
             try {
@@ -836,6 +1340,30 @@ public final class SuprimExecutor {
             UpsertPersistence.upsertAll(entities, conn, dialect, conflictColumns, updateColumns));
     }
 
+    /**
+     * Upsert multiple entities and return the stored rows in one round-trip per chunk.
+     *
+     * <p>On PostgreSQL each row also reports whether it was inserted or updated.
+     *
+     * <pre>{@code
+     * UpsertResult<Plan> result = executor.upsertAllReturning(plans, new String[]{"code"}, null);
+     * List<Plan> stored = result.entities();
+     * }</pre>
+     *
+     * @param entities        list of entities to upsert
+     * @param conflictColumns columns that define the conflict
+     * @param updateColumns   columns to update on conflict (null = all non-conflict)
+     * @param <T>             entity type
+     * @return refreshed entities in input order with per-row inserted flags
+     */
+    public <T> UpsertResult<T> upsertAllReturning(List<T> entities, String[] conflictColumns, String[] updateColumns) {
+        if (Objects.isNull(entities) || entities.isEmpty()) {
+            return new UpsertResult<>(new ArrayList<>(), new ArrayList<>());
+        }
+        return executeAutoCommit((conn, dialect) ->
+            UpsertPersistence.upsertAllReturning(entities, conn, dialect, conflictColumns, updateColumns));
+    }
+
     // ============ Auto-Commit Entity Operations ============
 
     /**
@@ -851,6 +1379,8 @@ public final class SuprimExecutor {
      */
     <T> T executeAutoCommit(java.util.function.BiFunction<Connection, SqlDialect, T> operation) {
         Connection conn = null;
+        Set<String> outerWriteLog = SuprimContext.beginWriteLog();
+        SuprimExecutor outerExecutor = SuprimContext.bindExecutor(this);
         try {
             conn = getConnection();
             conn.setAutoCommit(true);
@@ -859,7 +1389,14 @@ public final class SuprimExecutor {
         } catch (SQLException e) {
             throw TransactionException.fromSQLException(e);
         } finally {
+            // Auto-committed statements are durable even if a later one failed
+            Set<String> written = SuprimContext.drainWrites();
+            entityCache.invalidateTables(written);
+            queryCache.invalidateTables(written);
+            SuprimContext.endWriteLog(outerWriteLog);
+            SuprimContext.restoreExecutor(outerExecutor);
             closeQuietly(conn);
+            markWrite();
         }
     }
 
@@ -869,48 +1406,61 @@ public final class SuprimExecutor {
      * @param operation the operation to execute (receives connection and dialect)
      */
     void executeAutoCommitVoid(java.util.function.BiConsumer<Connection, SqlDialect> operation) {
-        Connection conn = null;
-        try {
-            conn = getConnection();
-            conn.setAutoCommit(true);
-            SqlDialect currentDialect = getDialect(conn);
+        executeAutoCommit((conn, currentDialect) -> {
             operation.accept(conn, currentDialect);
-        } catch (SQLException e) {
-            throw TransactionException.fromSQLException(e);
-        } finally {
-            closeQuietly(conn);
-        }
+            return null;
+        });
     }
 
     // ============ Internal Helpers ============
 
     /**
-     * Package-private connection accessor for internal helpers.
+     * Package-private read connection accessor for SELECTs built by internal helpers.
      */
-    Connection getConnectionInternal() throws SQLException {
-        return getConnection();
+    Connection getReadConnectionInternal() throws SQLException {
+        return getReadConnection();
     }
 
-    private PaginationHelper getPaginationHelper() {
-        if (Objects.isNull(paginationHelper)) {
-            synchronized (this) {
-                if (Objects.isNull(paginationHelper)) {
-                    paginationHelper = new PaginationHelper(this);
-                }
-            }
-        }
-        return paginationHelper;
+    /**
+     * Package-private read connection accessor for caller-supplied SQL.
+     *
+     * @param sql the statement to run, used to keep writes and locking reads on the primary
+     */
+    Connection getReadConnectionInternal(String sql) throws SQLException {
+        return getReadConnection(sql);
     }
 
-    private ChunkProcessor getChunkProcessor() {
-        if (Objects.isNull(chunkProcessor)) {
-            synchronized (this) {
-                if (Objects.isNull(chunkProcessor)) {
-                    chunkProcessor = new ChunkProcessor(this);
-                }
-            }
-        }
-        return chunkProcessor;
+    /**
+     * Run an action with every read on the current thread sent to the primary.
+     *
+     * <p>Use when a read must observe the latest committed state regardless of
+     * replication lag. Without configured replicas the action simply runs.</p>
+     *
+     * <pre>{@code
+     * Order order = executor.onPrimary(() -> executor.findByIdOrFail(Order.class, id));
+     * }</pre>
+     *
+     * @param action the action to run
+     * @param <T>    the result type
+     * @return the action's result
+     */
+    public <T> T onPrimary(Supplier<T> action) {
+        return Objects.isNull(replicaRouter) ? action.get() : replicaRouter.onPrimary(action);
+    }
+
+    /**
+     * Asynchronous view of this executor, returning CompletableFutures.
+     *
+     * <pre>{@code
+     * CompletableFuture<List<User>> users = executor.async().query(usersQuery, userMapper);
+     * CompletableFuture<Long> total = executor.async().count(orders);
+     * }</pre>
+     *
+     * @return the async executor
+     * @see AsyncExecutor
+     */
+    public AsyncExecutor async() {
+        return asyncExecutor;
     }
 
     /**
@@ -1004,7 +1554,7 @@ public final class SuprimExecutor {
      * Execute a query with pagination metadata using custom mapper.
      */
     public <T> PaginatedResult<T> paginate(SelectBuilder builder, int page, int perPage, RowMapper<T> mapper) {
-        return getPaginationHelper().paginate(builder, page, perPage, mapper);
+        return paginationHelper.paginate(builder, page, perPage, mapper);
     }
 
     /**
@@ -1042,14 +1592,48 @@ public final class SuprimExecutor {
      * For bidirectional navigation, use offset pagination or implement seek-based pagination.</p>
      */
     public <T, V> CursorResult<T> cursorPaginate(SelectBuilder builder, String cursor, int perPage, RowMapper<T> mapper, Column<T, V> cursorColumn) {
-        return getPaginationHelper().cursorPaginate(builder, cursor, perPage, mapper, cursorColumn);
+        return paginationHelper.cursorPaginate(builder, cursor, perPage, mapper, cursorColumn);
     }
 
     /**
      * Count total rows for a query (without pagination).
      */
     public long count(SelectBuilder builder) {
-        return getPaginationHelper().count(builder);
+        return paginationHelper.count(builder);
+    }
+
+    // ==================== BATCHED READS ====================
+
+    /**
+     * Run independent reads over one connection, in a single round-trip where the driver
+     * supports multi-statement queries. Reads are added inside {@code reads}; their handles
+     * resolve once it returns.
+     *
+     * <pre>{@code
+     * record Dashboard(ReadBatch.Handle<List<Order>> orders, ReadBatch.Handle<Long> customers) {}
+     *
+     * Dashboard dashboard = executor.batch(b -> new Dashboard(
+     *     b.query(recentOrders, EntityMapper.of(Order.class)),
+     *     b.count(Suprim.selectAll().from(Customer_.TABLE))));
+     *
+     * List<Order> orders = dashboard.orders().get();
+     * }</pre>
+     *
+     * @param reads adds the reads to the batch and returns what the caller needs of their handles
+     * @param <R>   what {@code reads} returns
+     * @return the value returned by {@code reads}, with all handles resolved
+     * @throws QueryException      if a statement fails
+     * @throws ConnectionException if connection cannot be obtained
+     * @see ReadBatch
+     */
+    public <R> R batch(Function<ReadBatch, R> reads) {
+        if (Objects.isNull(reads)) {
+            throw new IllegalArgumentException("reads cannot be null");
+        }
+        ReadBatch batch = new ReadBatch();
+        R result = reads.apply(batch);
+        batch.execute(this);
+        return result;
     }
 
     // ==================== CHUNKING ====================
@@ -1085,7 +1669,7 @@ public final class SuprimExecutor {
      * Process query results in chunks with custom mapper.
      */
     public <T> long chunk(SelectBuilder builder, int chunkSize, RowMapper<T> mapper, Function<List<T>, Boolean> processor) {
-        return getChunkProcessor().chunk(builder, chunkSize, mapper, processor);
+        return chunkProcessor.chunk(builder, chunkSize, mapper, processor);
     }
 
     /**
@@ -1110,7 +1694,7 @@ public final class SuprimExecutor {
      * Uses WHERE id > lastId instead of OFFSET for O(1) performance on large datasets.
      */
     public <T, V> long chunkById(SelectBuilder builder, int chunkSize, RowMapper<T> mapper, Column<T, V> idColumn, Function<List<T>, Boolean> processor) {
-        return getChunkProcessor().chunkById(builder, chunkSize, mapper, idColumn, processor);
+        return chunkProcessor.chunkById(builder, chunkSize, mapper, idColumn, processor);
     }
 
     /**
@@ -1135,7 +1719,7 @@ public final class SuprimExecutor {
      * Create a lazy stream with custom mapper.
      */
     public <T> Stream<T> lazy(QueryResult queryResult, RowMapper<T> mapper) {
-        return getChunkProcessor().lazy(queryResult, mapper);
+        return chunkProcessor.lazy(queryResult, mapper);
     }
 
     // ==================== QUERY RESULT METHODS ====================
@@ -1198,6 +1782,9 @@ public final class SuprimExecutor {
     /**
      * Find an entity by its primary key ID.
      * Uses reflection to extract table name and ID column from entity annotations.
+     * Inside a transaction, rows already loaded are returned from the {@link IdentityMap};
+     * rows of {@link sant1ago.dev.suprim.annotation.entity.Cacheable} entities are served
+     * from the shared {@link EntityCache}.
      *
      * <pre>{@code
      * Optional<User> user = executor.findById(User.class, 1L);
@@ -1220,7 +1807,32 @@ public final class SuprimExecutor {
 
         EntityReflector.EntityMeta meta = EntityReflector.getEntityMeta(entityClass);
 
-        try (Connection conn = getConnection()) {
+        // Inside a transaction, rows already loaded are served from the identity map
+        IdentityMap identityMap = SuprimContext.hasIdentityMap() ? SuprimContext.getIdentityMap() : null;
+        if (Objects.nonNull(identityMap)) {
+            Optional<T> cached = identityMap.get(entityClass, id);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+
+        // Shared second-level cache for @Cacheable entities
+        Optional<T> shared = entityCache.get(entityClass, id);
+        if (shared.isPresent()) {
+            return Objects.nonNull(identityMap) ? shared.map(identityMap::put) : shared;
+        }
+        if (Objects.isNull(identityMap) && Objects.nonNull(readCoalescer) && !SuprimContext.hasContext()) {
+            return readCoalescer.run(List.of("findById", entityClass, id),
+                    () -> loadById(entityClass, id, meta, null), row -> row.map(EntityCache::copyOf));
+        }
+        return loadById(entityClass, id, meta, identityMap);
+    }
+
+    private <T> Optional<T> loadById(Class<T> entityClass, Object id, EntityReflector.EntityMeta meta, IdentityMap identityMap) {
+        long cacheStamp = entityCache.isCacheable(entityClass) ? entityCache.stamp(entityClass) : 0;
+
+        // Cache fills read from the primary so a lagging replica cannot re-cache stale rows
+        try (Connection conn = entityCache.isCacheable(entityClass) ? getConnection() : getReadConnection()) {
             SqlDialect sqlDialect = getDialect(conn);
 
             // Build a qualified table name with safe identifier quoting (quotes only when needed)
@@ -1231,17 +1843,31 @@ public final class SuprimExecutor {
             // Build a parameterized query with SQL:2008 standard FETCH FIRST (more portable)
             String sql = "SELECT * FROM " + tableName + " WHERE " + safeQuoteIdentifier(meta.idColumn(), sqlDialect) + " = ? FETCH FIRST 1 ROWS ONLY";
 
+            Object[] parameters = {id};
+            // Fire before event (null when no query listeners are registered)
+            QueryEvent beforeEvent = dispatcher.beginQuery(sql, parameters, connectionName);
+            long startNanos = System.nanoTime();
+
             try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                StatementGuard.guard(ps, queryTimeout, sql);
                 ps.setObject(1, id);
 
-                try (ResultSet rs = ps.executeQuery()) {
+                try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                     if (!rs.next()) {
+                        dispatcher.completeQuery(beforeEvent, System.nanoTime() - startNanos, 0);
                         return Optional.empty();
                     }
-                    return Optional.of(EntityMapper.of(entityClass).map(rs));
+                    T entity = EntityMapper.of(entityClass).map(rs);
+                    dispatcher.completeQuery(beforeEvent, System.nanoTime() - startNanos, 1);
+                    entityCache.put(entity, cacheStamp);
+                    return Optional.of(Objects.nonNull(identityMap) ? identityMap.put(entity) : entity);
                 }
             } catch (SQLException e) {
-                throw ExceptionTranslator.translateQuery(sql, new Object[]{id}, e);
+                dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
+                throw ExceptionTranslator.translateQuery(sql, parameters, StatementGuard.timedOut(e));
+            } catch (SuprimException e) {
+                dispatcher.failQuery(beforeEvent, System.nanoTime() - startNanos, e);
+                throw e;
             }
         } catch (SQLException e) {
             throw ConnectionException.fromSQLException(e);
@@ -1291,12 +1917,13 @@ public final class SuprimExecutor {
     public <T> Optional<T> value(QueryResult queryResult, String columnName, Class<T> type) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(converted.sql());
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                 if (rs.next()) {
                     T value = type.cast(rs.getObject(columnName));
                     return Optional.ofNullable(value);
@@ -1304,7 +1931,7 @@ public final class SuprimExecutor {
                 return Optional.empty();
             }
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -1318,12 +1945,13 @@ public final class SuprimExecutor {
     public <T> List<T> pluck(QueryResult queryResult, String columnName, Class<T> type) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(converted.sql());
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                 List<T> results = new ArrayList<>();
                 while (rs.next()) {
                     T value = type.cast(rs.getObject(columnName));
@@ -1332,7 +1960,7 @@ public final class SuprimExecutor {
                 return results;
             }
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -1346,12 +1974,13 @@ public final class SuprimExecutor {
     public <K, V> Map<K, V> pluck(QueryResult queryResult, String valueColumn, String keyColumn, Class<V> valueType, Class<K> keyType) {
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(converted.sql());
              PreparedStatement ps = conn.prepareStatement(converted.sql())) {
 
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                 Map<K, V> results = new LinkedHashMap<>();
                 while (rs.next()) {
                     K key = keyType.cast(rs.getObject(keyColumn));
@@ -1361,7 +1990,7 @@ public final class SuprimExecutor {
                 return results;
             }
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 }
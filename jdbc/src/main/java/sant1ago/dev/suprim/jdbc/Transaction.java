@@ -11,6 +11,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -54,6 +55,8 @@ public final class Transaction {
     private final EventDispatcher dispatcher;
     private final String connectionName;
     private final TransactionEvent beginEvent;
+    private final Duration queryTimeout;
+    private UnitOfWork unitOfWork;
 
     /**
      * Legacy constructor for backward compatibility.
@@ -66,10 +69,19 @@ public final class Transaction {
      * Constructor with event support.
      */
     Transaction(Connection connection, EventDispatcher dispatcher, String connectionName, TransactionEvent beginEvent) {
+        this(connection, dispatcher, connectionName, beginEvent, null);
+    }
+
+    /**
+     * Constructor with event support and the executor's default statement timeout.
+     */
+    Transaction(Connection connection, EventDispatcher dispatcher, String connectionName, TransactionEvent beginEvent,
+                Duration queryTimeout) {
         this.connection = Objects.requireNonNull(connection, "connection must not be null");
         this.dispatcher = Objects.nonNull(dispatcher) ? dispatcher : new EventDispatcher();
         this.connectionName = Objects.nonNull(connectionName) ? connectionName : "default";
         this.beginEvent = beginEvent;
+        this.queryTimeout = queryTimeout;
     }
 
     /**
@@ -83,24 +95,28 @@ public final class Transaction {
      * @throws MappingException if row mapping fails
      */
     public <T> List<T> query(QueryResult queryResult, RowMapper<T> mapper) {
+        flushUnitOfWork();
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        // Create and fire before event
-        QueryEvent beforeEvent = QueryEvent.before(converted.sql(), converted.parameters(), connectionName);
-        dispatcher.fireBeforeQuery(beforeEvent);
+        // Fire before event (null when no query listeners are registered)
+        QueryEvent beforeEvent = dispatcher.beginQuery(converted.sql(), converted.parameters(), connectionName);
 
         long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
 
         try (PreparedStatement ps = connection.prepareStatement(converted.sql())) {
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
+            timer.prepared();
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                timer.executed();
                 List<T> results = new ArrayList<>();
                 while (rs.next()) {
                     try {
                         results.add(mapper.map(rs));
                     } catch (SQLException e) {
-                        throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+                        throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
                     } catch (SuprimException e) {
                         throw e;
                     } catch (Exception e) {
@@ -110,20 +126,21 @@ public final class Transaction {
                                 .build();
                     }
                 }
+                timer.fetched();
 
                 // Fire success event
                 long durationNanos = System.nanoTime() - startNanos;
-                dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, results.size()));
+                dispatcher.completeQuery(beforeEvent, durationNanos, results.size(), timer);
 
                 return results;
             }
         } catch (SQLException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         } catch (SuprimException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
             throw e;
         }
     }
@@ -139,12 +156,14 @@ public final class Transaction {
      * @throws QueryException           if query execution fails
      */
     public <T> Optional<T> queryOne(QueryResult queryResult, RowMapper<T> mapper) {
+        flushUnitOfWork();
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
         try (PreparedStatement ps = connection.prepareStatement(converted.sql())) {
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                 if (!rs.next()) {
                     return Optional.empty();
                 }
@@ -155,7 +174,7 @@ public final class Transaction {
                 return Optional.of(result);
             }
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -171,12 +190,14 @@ public final class Transaction {
      * @throws QueryException           if query execution fails
      */
     public <T> T queryOneRequired(QueryResult queryResult, RowMapper<T> mapper) {
+        flushUnitOfWork();
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
         try (PreparedStatement ps = connection.prepareStatement(converted.sql())) {
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
 
-            try (ResultSet rs = ps.executeQuery()) {
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                 if (!rs.next()) {
                     throw NoResultException.forQuery(converted.sql(), converted.parameters());
                 }
@@ -187,7 +208,7 @@ public final class Transaction {
                 return result;
             }
         } catch (SQLException e) {
-            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), e);
+            throw ExceptionTranslator.translateQuery(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -200,27 +221,33 @@ public final class Transaction {
      * @throws ConstraintViolationException if a constraint is violated
      */
     public int execute(QueryResult queryResult) {
+        flushUnitOfWork();
         SqlParameterConverter.Result converted = SqlParameterConverter.convert(queryResult);
 
-        // Create and fire before event
-        QueryEvent beforeEvent = QueryEvent.before(converted.sql(), converted.parameters(), connectionName);
-        dispatcher.fireBeforeQuery(beforeEvent);
+        // Fire before event (null when no query listeners are registered)
+        QueryEvent beforeEvent = dispatcher.beginQuery(converted.sql(), converted.parameters(), connectionName);
 
         long startNanos = System.nanoTime();
+        QueryTimer timer = dispatcher.startTimer(beforeEvent);
 
         try (PreparedStatement ps = connection.prepareStatement(converted.sql())) {
+            StatementGuard.guard(ps, timeoutFor(queryResult), converted.sql());
             setParameters(ps, converted.parameters());
-            int affected = ps.executeUpdate();
+            timer.prepared();
+            int affected = StatementGuard.executeUpdate(ps);
+            timer.executed();
+            clearIdentityMap();
+            SuprimContext.recordWrite(EntityCache.writtenTable(converted.sql()));
 
             // Fire success event
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireAfterQuery(beforeEvent.completed(durationNanos, affected));
+            dispatcher.completeQuery(beforeEvent, durationNanos, affected, timer);
 
             return affected;
         } catch (SQLException e) {
             long durationNanos = System.nanoTime() - startNanos;
-            dispatcher.fireQueryError(beforeEvent.failed(durationNanos, e));
-            throw ExceptionTranslator.translateExecution(converted.sql(), converted.parameters(), e);
+            dispatcher.failQuery(beforeEvent, durationNanos, e);
+            throw ExceptionTranslator.translateExecution(converted.sql(), converted.parameters(), StatementGuard.timedOut(e));
         }
     }
 
@@ -256,6 +283,7 @@ public final class Transaction {
         try {
             String name = getSavepointName(savepoint);
             connection.rollback(savepoint);
+            clearIdentityMap();
 
             // Fire savepoint rollback event
             if (Objects.nonNull(beginEvent)) {
@@ -298,6 +326,55 @@ public final class Transaction {
         return connection;
     }
 
+    /**
+     * Open (or return) this transaction's unit of work.
+     *
+     * <p>While open, {@link SuprimEntity#save()}, {@code update()} and {@code delete()}
+     * are recorded and written in batches when the transaction commits.
+     *
+     * <pre>{@code
+     * executor.transaction(tx -> {
+     *     UnitOfWork uow = tx.unitOfWork();
+     *     users.forEach(User::update);   // recorded
+     *     uow.flush();                   // optional early flush
+     * });
+     * }</pre>
+     *
+     * @return the unit of work bound to this transaction
+     * @throws IllegalStateException if called outside {@code executor.transaction(...)}
+     */
+    public UnitOfWork unitOfWork() {
+        if (Objects.isNull(unitOfWork)) {
+            if (!SuprimContext.hasContext()) {
+                throw new IllegalStateException(
+                    "No transaction context. " +
+                    "Open the unit of work inside executor.transaction(tx -> {...})"
+                );
+            }
+            unitOfWork = new UnitOfWork(connection, SuprimContext.getDialect());
+            SuprimContext.setUnitOfWork(unitOfWork);
+        }
+        return unitOfWork;
+    }
+
+    /**
+     * Raw DML and savepoint rollbacks can change rows behind cached instances.
+     */
+    private void clearIdentityMap() {
+        if (SuprimContext.hasIdentityMap()) {
+            SuprimContext.getIdentityMap().clear();
+        }
+    }
+
+    /**
+     * Flush pending unit-of-work operations. Called by SuprimExecutor before commit.
+     */
+    void flushUnitOfWork() {
+        if (Objects.nonNull(unitOfWork)) {
+            unitOfWork.flush();
+        }
+    }
+
     /**
      * Get a RelationshipManager for executing relationship mutations.
      *
@@ -478,6 +555,34 @@ public final class Transaction {
         return UpsertPersistence.upsertAll(entities, connection, dialect, conflictColumns, updateColumns);
     }
 
+    /**
+     * Upsert multiple entities and return the stored rows with inserted-vs-updated flags.
+     *
+     * <pre>{@code
+     * executor.transaction(tx -> {
+     *     UpsertResult<Plan> result = tx.upsertAllReturning(plans, new String[]{"code"}, null, dialect);
+     *     log.info("{} created, {} updated", result.insertedCount(), result.updatedCount());
+     * });
+     * }</pre>
+     *
+     * @param entities        list of entities to upsert
+     * @param conflictColumns columns that define the conflict
+     * @param updateColumns   columns to update on conflict (null = all non-conflict)
+     * @param dialect         the SQL dialect (must support RETURNING)
+     * @param <T>             entity type
+     * @return refreshed entities in input order with per-row inserted flags
+     */
+    public <T> UpsertResult<T> upsertAllReturning(List<T> entities, String[] conflictColumns, String[] updateColumns, SqlDialect dialect) {
+        return UpsertPersistence.upsertAllReturning(entities, connection, dialect, conflictColumns, updateColumns);
+    }
+
+    /**
+     * The statement's own timeout, else the executor default; the ambient deadline applies on top.
+     */
+    private Duration timeoutFor(QueryResult queryResult) {
+        return Objects.nonNull(queryResult.timeout()) ? queryResult.timeout() : queryTimeout;
+    }
+
     private void setParameters(PreparedStatement ps, Object[] parameters) throws SQLException {
         for (int i = 0; i < parameters.length; i++) {
             ps.setObject(i + 1, parameters[i]);
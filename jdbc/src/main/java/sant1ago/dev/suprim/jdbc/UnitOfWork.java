@@ -0,0 +1,319 @@
+package sant1ago.dev.suprim.jdbc;
+
+import sant1ago.dev.suprim.core.dialect.SqlDialect;
+import sant1ago.dev.suprim.core.type.Relation;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records entity changes within a transaction and writes them in batches.
+ *
+ * <p>Once opened with {@link Transaction#unitOfWork()}, Active Record calls on
+ * {@link SuprimEntity} ({@code save()}, {@code update()}, {@code delete()}) are
+ * recorded instead of executed. Pending work is flushed when the transaction
+ * commits, or earlier with {@link #flush()}:
+ *
+ * <pre>{@code
+ * executor.transaction(tx -> {
+ *     tx.unitOfWork();
+ *     for (Order order : orders) {
+ *         order.setStatus(Status.SHIPPED);
+ *         order.update();          // recorded, no round-trip
+ *     }
+ *     audit.save();                // recorded
+ * });                              // one batched UPDATE + one INSERT at commit
+ * }</pre>
+ *
+ * <p>Flushing:
+ * <ul>
+ *   <li>Repeated {@code update()} calls on the same instance collapse into one UPDATE;
+ *       an update of a pending insert is folded into the INSERT.</li>
+ *   <li>Deleting a pending insert cancels both operations.</li>
+ *   <li>Inserts are ordered so that {@code BELONGS_TO} parents are written before their
+ *       children (derived from the generated metamodel's {@link Relation} fields);
+ *       deletes run in the reverse order.</li>
+ *   <li>Inserts use {@link BatchPersistence}, updates share one JDBC batch per statement
+ *       shape and deletes use a single {@code WHERE id IN (...)} per entity class.</li>
+ * </ul>
+ *
+ * <p>Pending work is not visible to the database until it is flushed. {@link Transaction#query},
+ * {@code queryOne}, {@code queryOneRequired} and {@code execute} flush it first, so statements
+ * on the transaction see earlier recorded changes. Other reads, such as {@code Finder} queries or
+ * plain JDBC on {@link Transaction#getConnection()}, do not: call {@link #flush()} before them.
+ * Database-generated IDs ({@code IDENTITY}, {@code UUID_DB}) are also assigned at flush time,
+ * so flush before reading them or using them as foreign keys.
+ */
+public final class UnitOfWork {
+
+    private static final Map<Class<?>, List<Relation<?, ?>>> RELATION_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Pending operation for a registered entity.
+     */
+    enum Operation {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private final Connection connection;
+    private final SqlDialect dialect;
+    private final Map<Object, Operation> pending = new IdentityHashMap<>();
+    private final List<Object> registrationOrder = new ArrayList<>();
+
+    UnitOfWork(Connection connection, SqlDialect dialect) {
+        this.connection = Objects.requireNonNull(connection, "Connection cannot be null");
+        this.dialect = Objects.requireNonNull(dialect, "Dialect cannot be null");
+    }
+
+    /**
+     * Schedule an INSERT for a new entity.
+     *
+     * @param entity the entity to insert
+     * @throws IllegalStateException if the entity is already scheduled for deletion
+     */
+    public void registerNew(Object entity) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Operation current = pending.get(entity);
+        if (current == Operation.DELETE) {
+            throw new IllegalStateException("Cannot insert an entity scheduled for deletion: " + entity.getClass().getSimpleName());
+        }
+        if (Objects.isNull(current)) {
+            track(entity, Operation.INSERT);
+        }
+    }
+
+    /**
+     * Schedule an UPDATE for an existing entity. Repeated calls are coalesced.
+     *
+     * @param entity the entity to update
+     * @throws IllegalStateException if the entity is already scheduled for deletion
+     */
+    public void registerDirty(Object entity) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Operation current = pending.get(entity);
+        if (current == Operation.DELETE) {
+            throw new IllegalStateException("Cannot update an entity scheduled for deletion: " + entity.getClass().getSimpleName());
+        }
+        if (Objects.isNull(current)) {
+            track(entity, Operation.UPDATE);
+        }
+    }
+
+    /**
+     * Schedule a DELETE. Deleting a pending insert cancels it.
+     *
+     * @param entity the entity to delete
+     */
+    public void registerDeleted(Object entity) {
+        Objects.requireNonNull(entity, "Entity cannot be null");
+        Operation current = pending.get(entity);
+        if (current == Operation.INSERT) {
+            pending.remove(entity);
+            registrationOrder.remove(indexOf(entity));
+            return;
+        }
+        if (Objects.isNull(current)) {
+            registrationOrder.add(entity);
+        }
+        pending.put(entity, Operation.DELETE);
+    }
+
+    /**
+     * Check whether any operations are waiting to be flushed.
+     *
+     * @return true if there is pending work
+     */
+    public boolean hasPendingChanges() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Get the number of entities with a pending operation.
+     *
+     * @return pending entity count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending operations to the database and clear the queue.
+     *
+     * <p>Runs on the transaction's connection; nothing is committed until the
+     * enclosing transaction commits.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Class<?>, List<Object>> inserts = new LinkedHashMap<>();
+        Map<Class<?>, List<Object>> updates = new LinkedHashMap<>();
+        Map<Class<?>, List<Object>> deletes = new LinkedHashMap<>();
+        for (Object entity : registrationOrder) {
+            Map<Class<?>, List<Object>> target = switch (pending.get(entity)) {
+                case INSERT -> inserts;
+                case UPDATE -> updates;
+                case DELETE -> deletes;
+            };
+            target.computeIfAbsent(entity.getClass(), k -> new ArrayList<>()).add(entity);
+        }
+
+        // Clear first so a failing statement does not replay the same work on the next flush
+        pending.clear();
+        registrationOrder.clear();
+
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        classes.addAll(inserts.keySet());
+        classes.addAll(updates.keySet());
+        classes.addAll(deletes.keySet());
+        List<Class<?>> order = flushOrder(classes);
+
+        for (Class<?> entityClass : order) {
+            List<Object> batch = inserts.get(entityClass);
+            if (Objects.nonNull(batch)) {
+                BatchPersistence.saveAll(batch, connection, dialect);
+            }
+        }
+        for (Class<?> entityClass : order) {
+            List<Object> batch = updates.get(entityClass);
+            if (Objects.nonNull(batch)) {
+                EntityPersistence.updateAll(batch, connection, dialect);
+            }
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            List<Object> batch = deletes.get(order.get(i));
+            if (Objects.nonNull(batch)) {
+                EntityPersistence.deleteAll(batch, connection, dialect);
+            }
+        }
+    }
+
+    /**
+     * Discard all pending operations without writing them.
+     */
+    public void clear() {
+        pending.clear();
+        registrationOrder.clear();
+    }
+
+    /**
+     * Get the pending operation for an entity, or null if none.
+     */
+    Operation pendingOperation(Object entity) {
+        return pending.get(entity);
+    }
+
+    private void track(Object entity, Operation operation) {
+        pending.put(entity, operation);
+        registrationOrder.add(entity);
+    }
+
+    private int indexOf(Object entity) {
+        for (int i = 0; i < registrationOrder.size(); i++) {
+            if (registrationOrder.get(i) == entity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ==================== DEPENDENCY ORDERING ====================
+
+    /**
+     * Order entity classes so that referenced (parent) tables come first.
+     *
+     * <p>A {@code BELONGS_TO} relation from A to B, or a {@code HAS_ONE}/{@code HAS_MANY}
+     * relation from B to A, means B must be written before A. Classes without
+     * metamodel relations, and classes in a dependency cycle, keep registration order.
+     *
+     * @param classes entity classes in registration order
+     * @return classes in insert order
+     */
+    static List<Class<?>> flushOrder(Collection<Class<?>> classes) {
+        Map<Class<?>, Set<Class<?>>> parents = new LinkedHashMap<>();
+        for (Class<?> entityClass : classes) {
+            parents.put(entityClass, new LinkedHashSet<>());
+        }
+
+        for (Class<?> entityClass : classes) {
+            for (Relation<?, ?> relation : relationsOf(entityClass)) {
+                if (relation.isMorphic() || relation.isThrough() || relation.usesPivotTable()) {
+                    continue;
+                }
+                Class<?> related = relation.getRelatedTable().getEntityType();
+                if (Objects.isNull(related) || related == entityClass || !parents.containsKey(related)) {
+                    continue;
+                }
+                switch (relation.getType()) {
+                    case BELONGS_TO -> parents.get(entityClass).add(related);
+                    case HAS_ONE, HAS_MANY -> parents.get(related).add(entityClass);
+                    default -> {
+                        // Other relation types do not imply a write order
+                    }
+                }
+            }
+        }
+
+        List<Class<?>> ordered = new ArrayList<>(classes.size());
+        Set<Class<?>> placed = new LinkedHashSet<>();
+        while (placed.size() < parents.size()) {
+            Class<?> next = null;
+            for (Map.Entry<Class<?>, Set<Class<?>>> entry : parents.entrySet()) {
+                if (!placed.contains(entry.getKey()) && placed.containsAll(entry.getValue())) {
+                    next = entry.getKey();
+                    break;
+                }
+            }
+            if (Objects.isNull(next)) {
+                // Cycle: fall back to registration order for the rest
+                for (Class<?> entityClass : parents.keySet()) {
+                    if (placed.add(entityClass)) {
+                        ordered.add(entityClass);
+                    }
+                }
+                break;
+            }
+            placed.add(next);
+            ordered.add(next);
+        }
+        return ordered;
+    }
+
+    /**
+     * Read the static {@link Relation} fields of an entity's generated metamodel ({@code User -> User_}).
+     */
+    private static List<Relation<?, ?>> relationsOf(Class<?> entityClass) {
+        return RELATION_CACHE.computeIfAbsent(entityClass, key -> {
+            List<Relation<?, ?>> relations = new ArrayList<>();
+            try {
+                Class<?> metamodel = Class.forName(key.getName() + "_", true, key.getClassLoader());
+                for (Field field : metamodel.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && Relation.class.isAssignableFrom(field.getType())) {
+                        field.setAccessible(true);
+                        Object value = field.get(null);
+                        if (value instanceof Relation<?, ?> relation) {
+                            relations.add(relation);
+                        }
+                    }
+                }
+            } catch (ClassNotFoundException | IllegalAccessException | RuntimeException e) {
+                // No metamodel: no ordering constraints for this class
+            }
+            return relations;
+        });
+    }
+}
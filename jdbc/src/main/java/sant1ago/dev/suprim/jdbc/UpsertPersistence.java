@@ -10,6 +10,8 @@ import sant1ago.dev.suprim.annotation.type.SqlType;
 import sant1ago.dev.suprim.casey.Casey;
 import sant1ago.dev.suprim.core.util.UUIDUtils;
 import sant1ago.dev.suprim.core.dialect.SqlDialect;
+import sant1ago.dev.suprim.core.dialect.UnsupportedDialectFeatureException;
+import sant1ago.dev.suprim.core.type.TypeUtils;
 import sant1ago.dev.suprim.jdbc.exception.PersistenceException;
 
 import java.lang.reflect.Field;
@@ -17,11 +19,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -49,10 +53,16 @@ import java.util.Map;
  *
  * // Upsert with email as conflict, update only name
  * User saved = UpsertPersistence.upsert(user, connection, dialect, new String[]{"email"}, new String[]{"name"});
+ *
+ * // Batch upsert returning stored rows and inserted/updated flags (PostgreSQL)
+ * UpsertResult<User> result = UpsertPersistence.upsertAllReturning(users, connection, dialect, new String[]{"email"}, null);
  * }</pre>
  */
 public final class UpsertPersistence {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 32_767;
+    private static final String INSERTED_FLAG_COLUMN = "suprim_inserted";
     private static final Map<Class<? extends IdGenerator<?>>, IdGenerator<?>> GENERATOR_CACHE = new ConcurrentHashMap<>();
 
     private UpsertPersistence() {
@@ -62,6 +72,11 @@ public final class UpsertPersistence {
     /**
      * Upsert a single entity.
      *
+     * <p>Database-generated IDs are back-filled with {@code RETURNING} where supported. On MySQL,
+     * {@code IDENTITY} keys are back-filled in the same round-trip by adding
+     * {@code id = LAST_INSERT_ID(id)} to the {@code ON DUPLICATE KEY UPDATE} clause, so the driver
+     * reports the existing row's ID when the row was updated instead of inserted.
+     *
      * @param entity          the entity to upsert
      * @param connection      the database connection
      * @param dialect         the SQL dialect
@@ -82,60 +97,44 @@ public final class UpsertPersistence {
         }
 
         Class<?> entityClass = entity.getClass();
-        EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
-        EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
-
-        // Generate ID if needed
-        if (idMeta.isApplicationGenerated()) {
-            Object existingId = EntityReflector.getIdOrNull(entity);
-            if (Objects.isNull(existingId)) {
-                Object generatedId = generateId(idMeta);
-                EntityReflector.setId(entity, generatedId);
-            }
-        }
-
-        // Build column metadata
-        List<ColumnMeta> columnMetas = buildColumnMetas(entity, idMeta);
-        if (columnMetas.isEmpty()) {
-            throw new PersistenceException("No columns to upsert", entityClass);
-        }
-
-        // Determine update columns (all non-conflict if not specified)
-        List<String> conflictList = Arrays.asList(conflictColumns);
-        List<String> updateList;
-        if (Objects.isNull(updateColumns) || updateColumns.length == 0) {
-            updateList = new ArrayList<>();
-            for (ColumnMeta meta : columnMetas) {
-                if (!conflictList.contains(meta.columnName())) {
-                    updateList.add(meta.columnName());
-                }
-            }
-        } else {
-            updateList = Arrays.asList(updateColumns);
-        }
-
-        String sql = buildUpsertSql(entityMeta, columnMetas, conflictList, updateList, dialect);
-        List<Object> params = collectParameters(entity, columnMetas);
-
-        boolean supportsReturning = dialect.capabilities().supportsReturning();
+        UpsertPlan plan = prepare(List.of(entity), dialect, conflictColumns, updateColumns);
+        List<Object> params = collectParameters(entity, plan.columnMetas());
 
         try {
-            if (supportsReturning && idMeta.isDatabaseGenerated()) {
-                // PostgreSQL with RETURNING
-                try (PreparedStatement ps = connection.prepareStatement(sql + " RETURNING " + dialect.quoteIdentifier(idMeta.columnName()))) {
+            if (plan.backfillsWithReturning()) {
+                // PostgreSQL / MariaDB with RETURNING
+                String sql = buildUpsertSql(plan, dialect) + " RETURNING " + dialect.quoteIdentifier(plan.idMeta().columnName());
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    StatementGuard.guard(ps, sql);
                     setParameters(ps, params);
-                    try (ResultSet rs = ps.executeQuery()) {
+                    try (ResultSet rs = StatementGuard.executeQuery(ps)) {
                         if (rs.next()) {
                             Object generatedId = rs.getObject(1);
-                            generatedId = convertIdType(generatedId, idMeta.fieldType());
+                            generatedId = convertIdType(generatedId, plan.idMeta().fieldType());
+                            EntityReflector.setId(entity, generatedId);
+                        }
+                    }
+                }
+            } else if (plan.backfillsWithLastInsertId() && Objects.isNull(EntityReflector.getIdOrNull(entity))) {
+                // MySQL: id = LAST_INSERT_ID(id) makes the generated key valid for updated rows too
+                String sql = buildUpsertSql(plan, dialect);
+                try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    StatementGuard.guard(ps, sql);
+                    setParameters(ps, params);
+                    StatementGuard.executeUpdate(ps);
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            Object generatedId = convertIdType(rs.getObject(1), plan.idMeta().fieldType());
                             EntityReflector.setId(entity, generatedId);
                         }
                     }
                 }
             } else {
+                String sql = buildUpsertSql(plan, dialect);
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    StatementGuard.guard(ps, sql);
                     setParameters(ps, params);
-                    ps.executeUpdate();
+                    StatementGuard.executeUpdate(ps);
                 }
             }
             return entity;
@@ -151,6 +150,20 @@ public final class UpsertPersistence {
     /**
      * Upsert multiple entities in batch.
      *
+     * <p>Entities are written with multi-row statements, split so that no statement exceeds
+     * {@value #MAX_BATCH_SIZE} rows or {@value #MAX_PARAMETERS_PER_STATEMENT} bind parameters.
+     * Database-generated IDs are back-filled on every entity:
+     * <ul>
+     *   <li>PostgreSQL / MariaDB: {@code RETURNING id, conflict columns} in the same round-trip.
+     *       Returned rows are matched back by position, or by conflict-column values when
+     *       {@code DO NOTHING} may skip rows. Without written conflict columns to match on,
+     *       a chunk with skipped rows gets no IDs back-filled.</li>
+     *   <li>MySQL: single-row chunks use {@code LAST_INSERT_ID(id)}; multi-row chunks resolve
+     *       the IDs of rows that had none with one keyed {@code SELECT} per chunk. When the
+     *       conflict columns are not written, rows without an ID are inserted in their own
+     *       statement and take the generated keys in order.</li>
+     * </ul>
+     *
      * @param entities        list of entities to upsert
      * @param connection      the database connection
      * @param dialect         the SQL dialect
@@ -165,6 +178,64 @@ public final class UpsertPersistence {
             return new ArrayList<>();
         }
 
+        validateBatch(connection, dialect, conflictColumns);
+
+        UpsertPlan plan = prepare(entities, dialect, conflictColumns, updateColumns);
+        for (List<T> chunk : chunk(entities, plan.rowsPerStatement())) {
+            upsertChunk(chunk, plan, connection, dialect);
+        }
+        return entities;
+    }
+
+    /**
+     * Upsert multiple entities and return the rows as stored, in one round-trip per chunk.
+     *
+     * <p>Uses {@code RETURNING *}, so the result reflects database defaults, triggers and values
+     * written by the {@code DO UPDATE} clause. On PostgreSQL each row also carries an
+     * inserted-vs-updated flag computed from the system column ({@code xmax = 0} for freshly
+     * inserted tuples). Rows skipped by {@code DO NOTHING} are reported with the submitted entity
+     * and {@code inserted = false}; when the conflict columns are not written (e.g. only the
+     * generated ID), rows of a chunk with skipped rows cannot be told apart and are reported with
+     * the submitted entity and {@code inserted = null}.
+     *
+     * <pre>{@code
+     * UpsertResult<Plan> result = UpsertPersistence.upsertAllReturning(
+     *     plans, connection, dialect, new String[]{"code"}, null);
+     * int created = result.insertedCount();
+     * }</pre>
+     *
+     * @param entities        list of entities to upsert
+     * @param connection      the database connection
+     * @param dialect         the SQL dialect (must support RETURNING)
+     * @param conflictColumns columns that define the conflict
+     * @param updateColumns   columns to update on conflict (null = all non-conflict columns)
+     * @param <T>             entity type
+     * @return refreshed entities in input order with per-row inserted flags
+     * @throws UnsupportedDialectFeatureException if the dialect has no RETURNING support
+     */
+    public static <T> UpsertResult<T> upsertAllReturning(List<T> entities, Connection connection, SqlDialect dialect,
+                                                         String[] conflictColumns, String[] updateColumns) {
+        if (Objects.isNull(entities) || entities.isEmpty()) {
+            return new UpsertResult<>(new ArrayList<>(), new ArrayList<>());
+        }
+
+        validateBatch(connection, dialect, conflictColumns);
+
+        if (!dialect.capabilities().supportsReturning()) {
+            throw new UnsupportedDialectFeatureException("RETURNING", dialect.getName(),
+                "Use upsertAll() which back-fills generated IDs instead.");
+        }
+
+        UpsertPlan plan = prepare(entities, dialect, conflictColumns, updateColumns);
+        List<T> rows = new ArrayList<>(entities.size());
+        List<Boolean> inserted = new ArrayList<>(entities.size());
+        for (List<T> chunk : chunk(entities, plan.rowsPerStatement())) {
+            upsertChunkReturning(chunk, plan, connection, dialect, rows, inserted);
+        }
+        return new UpsertResult<>(rows, inserted);
+    }
+
+    private static void validateBatch(Connection connection, SqlDialect dialect, String[] conflictColumns) {
         Objects.requireNonNull(connection, "Connection cannot be null");
         Objects.requireNonNull(dialect, "Dialect cannot be null");
         Objects.requireNonNull(conflictColumns, "Conflict columns cannot be null");
@@ -172,9 +243,78 @@ public final class UpsertPersistence {
         if (conflictColumns.length == 0) {
             throw new IllegalArgumentException("At least one conflict column is required");
         }
+    }
 
+    /**
+     * Resolved statement shape shared by every chunk of an upsert.
+     */
+    private record UpsertPlan(
+        EntityReflector.EntityMeta entityMeta,
+        EntityReflector.IdMeta idMeta,
+        List<ColumnMeta> columnMetas,
+        List<String> conflictColumns,
+        List<String> updateColumns,
+        boolean isPostgres,
+        boolean supportsReturning
+    ) {
+        boolean backfillsWithReturning() {
+            return supportsReturning && idMeta.isDatabaseGenerated();
+        }
+
+        boolean backfillsWithLastInsertId() {
+            return !supportsReturning && !isPostgres && idMeta.strategy() == GenerationType.IDENTITY;
+        }
+
+        int rowsPerStatement() {
+            return Math.max(1, Math.min(MAX_BATCH_SIZE, MAX_PARAMETERS_PER_STATEMENT / columnMetas.size()));
+        }
+
+        /**
+         * Conflict column positions used to match RETURNING rows, or null when positional matching suffices.
+         * Only DO NOTHING / INSERT IGNORE can skip rows; otherwise every row comes back in order.
+         */
+        int[] returnedRowKeyIndexes() {
+            return updateColumns.isEmpty() ? conflictIndexes() : null;
+        }
+
+        /**
+         * Positions of the conflict columns that identify a row, or null if any is not written.
+         * A database-generated ID is left out: its submitted value is null and cannot be matched.
+         */
+        int[] conflictIndexes() {
+            List<Integer> indexes = new ArrayList<>();
+            for (String conflictColumn : conflictColumns) {
+                if (idMeta.isDatabaseGenerated() && conflictColumn.equals(idMeta.columnName())) {
+                    continue;
+                }
+                int index = -1;
+                for (int c = 0; c < columnMetas.size(); c++) {
+                    if (columnMetas.get(c).columnName().equals(conflictColumn)) {
+                        index = c;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return null;
+                }
+                indexes.add(index);
+            }
+            return indexes.isEmpty() ? null : indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        String columnName(int index) {
+            return columnMetas.get(index).columnName();
+        }
+    }
+
+    /**
+     * Generate application IDs and resolve columns, update list and dialect flags.
+     */
+    private static <T> UpsertPlan prepare(List<T> entities, SqlDialect dialect,
+                                          String[] conflictColumns, String[] updateColumns) {
         T firstEntity = entities.get(0);
         Class<?> entityClass = firstEntity.getClass();
+        SuprimContext.recordWrite(entityClass);
         EntityReflector.IdMeta idMeta = EntityReflector.getIdMeta(entityClass);
         EntityReflector.EntityMeta entityMeta = EntityReflector.getEntityMeta(entityClass);
 
@@ -195,7 +335,7 @@ public final class UpsertPersistence {
             throw new PersistenceException("No columns to upsert", entityClass);
         }
 
-        // Determine update columns
+        // Determine update columns (all non-conflict if not specified)
         List<String> conflictList = Arrays.asList(conflictColumns);
         List<String> updateList;
         if (Objects.isNull(updateColumns) || updateColumns.length == 0) {
@@ -209,36 +349,169 @@ public final class UpsertPersistence {
             updateList = Arrays.asList(updateColumns);
         }
 
-        String sql = buildBatchUpsertSql(entityMeta, columnMetas, conflictList, updateList, entities.size(), dialect);
-        List<Object> allParams = new ArrayList<>();
-        for (T entity : entities) {
-            allParams.addAll(collectParameters(entity, columnMetas));
+        return new UpsertPlan(
+            entityMeta,
+            idMeta,
+            columnMetas,
+            conflictList,
+            updateList,
+            dialect.getName().toLowerCase().contains("postgres"),
+            dialect.capabilities().supportsReturning()
+        );
+    }
+
+    /**
+     * Upsert one chunk and back-fill database-generated IDs.
+     */
+    private static <T> void upsertChunk(List<T> chunk, UpsertPlan plan, Connection connection, SqlDialect dialect) {
+        Class<?> entityClass = chunk.get(0).getClass();
+        List<List<Object>> rowParams = new ArrayList<>(chunk.size());
+        for (T entity : chunk) {
+            rowParams.add(collectParameters(entity, plan.columnMetas()));
         }
 
-        boolean supportsReturning = dialect.capabilities().supportsReturning();
+        String sql = buildBatchUpsertSql(plan, chunk.size(), dialect);
 
         try {
-            if (supportsReturning && idMeta.isDatabaseGenerated()) {
-                String sqlWithReturning = sql + " RETURNING " + dialect.quoteIdentifier(idMeta.columnName());
-                try (PreparedStatement ps = connection.prepareStatement(sqlWithReturning)) {
-                    setParameters(ps, allParams);
-                    try (ResultSet rs = ps.executeQuery()) {
-                        int idx = 0;
-                        while (rs.next() && idx < entities.size()) {
-                            Object generatedId = rs.getObject(1);
-                            generatedId = convertIdType(generatedId, idMeta.fieldType());
-                            EntityReflector.setId(entities.get(idx), generatedId);
-                            idx++;
+            if (plan.backfillsWithReturning()) {
+                int[] keyIndexes = plan.returnedRowKeyIndexes();
+                StringJoiner returning = new StringJoiner(", ", " RETURNING ", "");
+                returning.add(dialect.quoteIdentifier(plan.idMeta().columnName()));
+                if (Objects.nonNull(keyIndexes)) {
+                    for (int index : keyIndexes) {
+                        returning.add(dialect.quoteIdentifier(plan.columnName(index)));
+                    }
+                }
+                try (PreparedStatement ps = connection.prepareStatement(sql + returning)) {
+                    StatementGuard.guard(ps, sql);
+                    setParameters(ps, flatten(rowParams));
+                    List<Object> ids = new ArrayList<>();
+                    List<String> keys = new ArrayList<>();
+                    try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                        while (rs.next()) {
+                            ids.add(rs.getObject(1));
+                            if (Objects.nonNull(keyIndexes)) {
+                                Object[] values = new Object[keyIndexes.length];
+                                for (int i = 0; i < values.length; i++) {
+                                    values[i] = rs.getObject(i + 2);
+                                }
+                                keys.add(conflictKey(values));
+                            }
+                        }
+                    }
+                    int[] positions = matchReturnedRows(rowParams, keyIndexes, keys, ids.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (positions[i] >= 0) {
+                            Object generatedId = convertIdType(ids.get(positions[i]), plan.idMeta().fieldType());
+                            EntityReflector.setId(chunk.get(i), generatedId);
+                        }
+                    }
+                }
+            } else if (plan.backfillsWithLastInsertId() && hasMissingId(chunk) && chunk.size() == 1) {
+                try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    StatementGuard.guard(ps, sql);
+                    setParameters(ps, flatten(rowParams));
+                    StatementGuard.executeUpdate(ps);
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            Object generatedId = convertIdType(rs.getObject(1), plan.idMeta().fieldType());
+                            EntityReflector.setId(chunk.get(0), generatedId);
                         }
                     }
                 }
+            } else if (plan.backfillsWithLastInsertId() && hasMissingId(chunk) && Objects.nonNull(plan.conflictIndexes())) {
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    StatementGuard.guard(ps, sql);
+                    setParameters(ps, flatten(rowParams));
+                    StatementGuard.executeUpdate(ps);
+                }
+                // LAST_INSERT_ID() only describes a multi-row statement reliably when every row was
+                // inserted; resolve the remaining IDs by conflict key instead of guessing.
+                backfillIdsByConflictKey(chunk, rowParams, plan.conflictIndexes(), plan, connection, dialect);
+            } else if (plan.backfillsWithLastInsertId() && hasMissingId(chunk)) {
+                // No written conflict key to look rows up by: write rows that carry an ID as usual
+                // and insert the rest on their own, reading their generated keys back in order.
+                List<T> withId = new ArrayList<>();
+                List<T> withoutId = new ArrayList<>();
+                for (T entity : chunk) {
+                    if (Objects.isNull(EntityReflector.getIdOrNull(entity))) {
+                        withoutId.add(entity);
+                    } else {
+                        withId.add(entity);
+                    }
+                }
+                if (!withId.isEmpty()) {
+                    upsertChunk(withId, plan, connection, dialect);
+                }
+                if (withoutId.size() == 1) {
+                    upsertChunk(withoutId, plan, connection, dialect);
+                } else {
+                    backfillIdsFromGeneratedKeys(withoutId, plan, connection, dialect);
+                }
             } else {
                 try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                    setParameters(ps, allParams);
-                    ps.executeUpdate();
+                    StatementGuard.guard(ps, sql);
+                    setParameters(ps, flatten(rowParams));
+                    StatementGuard.executeUpdate(ps);
+                }
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException(
+                "Failed to batch upsert entities: " + e.getMessage(),
+                entityClass,
+                e
+            );
+        }
+    }
+
+    /**
+     * Upsert one chunk with {@code RETURNING *} and collect refreshed rows in input order.
+     */
+    private static <T> void upsertChunkReturning(List<T> chunk, UpsertPlan plan, Connection connection,
+                                                 SqlDialect dialect, List<T> rows, List<Boolean> inserted) {
+        Class<T> entityClass = TypeUtils.classOf(chunk.get(0));
+        EntityMapper<T> mapper = EntityMapper.of(entityClass);
+        int[] keyIndexes = plan.returnedRowKeyIndexes();
+        List<List<Object>> rowParams = new ArrayList<>(chunk.size());
+        for (T entity : chunk) {
+            rowParams.add(collectParameters(entity, plan.columnMetas()));
+        }
+
+        String sql = buildBatchUpsertSql(plan, chunk.size(), dialect) + " RETURNING *";
+        if (plan.isPostgres()) {
+            sql += ", (xmax = 0) AS " + dialect.quoteIdentifier(INSERTED_FLAG_COLUMN);
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
+            setParameters(ps, flatten(rowParams));
+            List<T> returned = new ArrayList<>();
+            List<Boolean> flags = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                while (rs.next()) {
+                    returned.add(mapper.map(rs));
+                    flags.add(plan.isPostgres() ? rs.getBoolean(INSERTED_FLAG_COLUMN) : null);
+                    if (Objects.nonNull(keyIndexes)) {
+                        Object[] values = new Object[keyIndexes.length];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = rs.getObject(plan.columnName(keyIndexes[i]));
+                        }
+                        keys.add(conflictKey(values));
+                    }
+                }
+            }
+            int[] positions = matchReturnedRows(rowParams, keyIndexes, keys, returned.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                if (positions[i] >= 0) {
+                    rows.add(returned.get(positions[i]));
+                    inserted.add(flags.get(positions[i]));
+                } else {
+                    // Skipped by DO NOTHING, or unknown when there was no conflict key to match on
+                    rows.add(chunk.get(i));
+                    inserted.add(plan.isPostgres() && Objects.nonNull(keyIndexes) ? Boolean.FALSE : null);
                 }
             }
-            return entities;
         } catch (SQLException e) {
             throw new PersistenceException(
                 "Failed to batch upsert entities: " + e.getMessage(),
@@ -248,6 +521,166 @@ public final class UpsertPersistence {
         }
     }
 
+    /**
+     * Resolve IDs of entities without one by selecting them back on their conflict columns.
+     * SQL: SELECT id, c1, c2 FROM t WHERE (c1 = ? AND c2 = ?) OR (c1 = ? AND c2 = ?) ...
+     */
+    private static <T> void backfillIdsByConflictKey(List<T> chunk, List<List<Object>> rowParams, int[] conflictIndexes,
+                                                     UpsertPlan plan, Connection connection, SqlDialect dialect) throws SQLException {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (Objects.isNull(EntityReflector.getIdOrNull(chunk.get(i)))) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        StringJoiner select = new StringJoiner(", ", "SELECT ", "");
+        select.add(dialect.quoteIdentifier(plan.idMeta().columnName()));
+        StringJoiner rowMatch = new StringJoiner(" AND ", "(", ")");
+        for (int index : conflictIndexes) {
+            select.add(dialect.quoteIdentifier(plan.columnName(index)));
+            rowMatch.add(dialect.quoteIdentifier(plan.columnName(index)) + " = ?");
+        }
+        StringJoiner where = new StringJoiner(" OR ");
+        List<Object> params = new ArrayList<>();
+        for (int i : missing) {
+            where.add(rowMatch.toString());
+            for (int index : conflictIndexes) {
+                params.add(rowParams.get(i).get(index));
+            }
+        }
+
+        String sql = select + " FROM " + tableName(plan.entityMeta(), dialect) + " WHERE " + where;
+        Map<String, Object> idsByKey = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            StatementGuard.guard(ps, sql);
+            setParameters(ps, params);
+            try (ResultSet rs = StatementGuard.executeQuery(ps)) {
+                while (rs.next()) {
+                    Object[] values = new Object[conflictIndexes.length];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = rs.getObject(i + 2);
+                    }
+                    idsByKey.put(conflictKey(values), rs.getObject(1));
+                }
+            }
+        }
+
+        for (int i : missing) {
+            Object id = idsByKey.get(conflictKey(rowParams.get(i), conflictIndexes));
+            if (Objects.nonNull(id)) {
+                EntityReflector.setId(chunk.get(i), convertIdType(id, plan.idMeta().fieldType()));
+            }
+        }
+    }
+
+    /**
+     * Insert rows that have no ID with one statement and assign the driver's generated keys in order.
+     * Rows without an ID cannot conflict on the generated key, so each is inserted and MySQL
+     * Connector/J reports consecutive keys for them. If a row was updated through another unique
+     * key instead, the affected-row count no longer matches and the rows are left without IDs.
+     */
+    private static <T> void backfillIdsFromGeneratedKeys(List<T> rows, UpsertPlan plan,
+                                                         Connection connection, SqlDialect dialect) throws SQLException {
+        List<List<Object>> rowParams = new ArrayList<>(rows.size());
+        for (T entity : rows) {
+            rowParams.add(collectParameters(entity, plan.columnMetas()));
+        }
+        String sql = buildBatchUpsertSql(plan, rows.size(), dialect);
+        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            StatementGuard.guard(ps, sql);
+            setParameters(ps, flatten(rowParams));
+            int affected = StatementGuard.executeUpdate(ps);
+            List<Object> keys = new ArrayList<>();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                while (rs.next()) {
+                    keys.add(rs.getObject(1));
+                }
+            }
+            // An updated row counts twice, so a mismatch means the keys do not line up with the rows
+            if (affected != rows.size() || keys.size() != rows.size()) {
+                return;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                EntityReflector.setId(rows.get(i), convertIdType(keys.get(i), plan.idMeta().fieldType()));
+            }
+        }
+    }
+
+    /**
+     * Map each submitted row to the index of its returned row, or -1 if none was returned.
+     * Rows are matched by conflict key when one was returned. Without a key, rows are matched by
+     * position only when every row came back; otherwise no row is matched, since positions would
+     * shift past the skipped rows and pair IDs with the wrong entities.
+     */
+    private static int[] matchReturnedRows(List<List<Object>> rowParams, int[] conflictIndexes,
+                                           List<String> returnedKeys, int returnedCount) {
+        int[] positions = new int[rowParams.size()];
+        if (Objects.isNull(conflictIndexes)) {
+            boolean complete = returnedCount == rowParams.size();
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = complete ? i : -1;
+            }
+            return positions;
+        }
+
+        Map<String, Integer> byKey = new HashMap<>();
+        for (int i = 0; i < returnedKeys.size(); i++) {
+            byKey.put(returnedKeys.get(i), i);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = byKey.getOrDefault(conflictKey(rowParams.get(i), conflictIndexes), -1);
+        }
+        return positions;
+    }
+
+    private static String conflictKey(List<Object> params, int[] conflictIndexes) {
+        Object[] values = new Object[conflictIndexes.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = params.get(conflictIndexes[i]);
+        }
+        return conflictKey(values);
+    }
+
+    /**
+     * Normalize conflict column values so driver-returned and submitted values compare equal.
+     */
+    private static String conflictKey(Object[] values) {
+        StringJoiner key = new StringJoiner("\0");
+        for (Object value : values) {
+            key.add(value instanceof Enum<?> e ? e.name() : String.valueOf(value));
+        }
+        return key.toString();
+    }
+
+    private static <T> boolean hasMissingId(List<T> entities) {
+        for (T entity : entities) {
+            if (Objects.isNull(EntityReflector.getIdOrNull(entity))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <E> List<List<E>> chunk(List<E> list, int size) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return chunks;
+    }
+
+    private static List<Object> flatten(List<List<Object>> rowParams) {
+        List<Object> all = new ArrayList<>();
+        for (List<Object> row : rowParams) {
+            all.addAll(row);
+        }
+        return all;
+    }
+
     /**
      * Generate an ID value based on the strategy.
      */
@@ -380,92 +813,25 @@ public final class UpsertPersistence {
     /**
      * Build single entity upsert SQL.
      */
-    private static String buildUpsertSql(
-        EntityReflector.EntityMeta entityMeta,
-        List<ColumnMeta> columnMetas,
-        List<String> conflictColumns,
-        List<String> updateColumns,
-        SqlDialect dialect
-    ) {
-        boolean isPostgres = dialect.getName().toLowerCase().contains("postgres");
-
-        String tableName = Objects.nonNull(entityMeta.schema())
-            ? dialect.quoteIdentifier(entityMeta.schema()) + "." + dialect.quoteIdentifier(entityMeta.tableName())
-            : dialect.quoteIdentifier(entityMeta.tableName());
-
-        StringBuilder sql = new StringBuilder();
-
-        if (!isPostgres && updateColumns.isEmpty()) {
-            // MySQL INSERT IGNORE for doNothing
-            sql.append("INSERT IGNORE INTO ").append(tableName);
-        } else {
-            sql.append("INSERT INTO ").append(tableName);
-        }
-
-        // Columns
-        sql.append(" (");
-        StringJoiner columnJoiner = new StringJoiner(", ");
-        for (ColumnMeta meta : columnMetas) {
-            columnJoiner.add(dialect.quoteIdentifier(meta.columnName()));
-        }
-        sql.append(columnJoiner).append(")");
-
-        // VALUES
-        sql.append(" VALUES (");
-        StringJoiner valueJoiner = new StringJoiner(", ");
-        for (int i = 0; i < columnMetas.size(); i++) {
-            valueJoiner.add("?");
-        }
-        sql.append(valueJoiner).append(")");
-
-        // Conflict handling
-        if (isPostgres) {
-            sql.append(" ON CONFLICT (");
-            sql.append(String.join(", ", conflictColumns.stream().map(dialect::quoteIdentifier).toList()));
-            sql.append(")");
-            if (updateColumns.isEmpty()) {
-                sql.append(" DO NOTHING");
-            } else {
-                sql.append(" DO UPDATE SET ");
-                StringJoiner updateJoiner = new StringJoiner(", ");
-                for (String col : updateColumns) {
-                    updateJoiner.add(dialect.quoteIdentifier(col) + " = EXCLUDED." + dialect.quoteIdentifier(col));
-                }
-                sql.append(updateJoiner);
-            }
-        } else if (!updateColumns.isEmpty()) {
-            // MySQL ON DUPLICATE KEY UPDATE
-            sql.append(" ON DUPLICATE KEY UPDATE ");
-            StringJoiner updateJoiner = new StringJoiner(", ");
-            for (String col : updateColumns) {
-                updateJoiner.add(dialect.quoteIdentifier(col) + " = VALUES(" + dialect.quoteIdentifier(col) + ")");
-            }
-            sql.append(updateJoiner);
-        }
-
-        return sql.toString();
+    private static String buildUpsertSql(UpsertPlan plan, SqlDialect dialect) {
+        return buildBatchUpsertSql(plan, 1, dialect);
     }
 
     /**
      * Build batch upsert SQL for multiple entities.
      */
-    private static String buildBatchUpsertSql(
-        EntityReflector.EntityMeta entityMeta,
-        List<ColumnMeta> columnMetas,
-        List<String> conflictColumns,
-        List<String> updateColumns,
-        int rowCount,
-        SqlDialect dialect
-    ) {
-        boolean isPostgres = dialect.getName().toLowerCase().contains("postgres");
+    private static String buildBatchUpsertSql(UpsertPlan plan, int rowCount, SqlDialect dialect) {
+        boolean isPostgres = plan.isPostgres();
+        List<String> updateColumns = plan.updateColumns();
+        // MySQL: id = LAST_INSERT_ID(id) reports the existing row's key when the row is updated
+        boolean lastInsertIdBackfill = plan.backfillsWithLastInsertId();
 
-        String tableName = Objects.nonNull(entityMeta.schema())
-            ? dialect.quoteIdentifier(entityMeta.schema()) + "." + dialect.quoteIdentifier(entityMeta.tableName())
-            : dialect.quoteIdentifier(entityMeta.tableName());
+        String tableName = tableName(plan.entityMeta(), dialect);
 
         StringBuilder sql = new StringBuilder();
 
-        if (!isPostgres && updateColumns.isEmpty()) {
+        if (!isPostgres && updateColumns.isEmpty() && !lastInsertIdBackfill) {
+            // MySQL INSERT IGNORE for doNothing
             sql.append("INSERT IGNORE INTO ").append(tableName);
         } else {
             sql.append("INSERT INTO ").append(tableName);
@@ -474,14 +840,14 @@ public final class UpsertPersistence {
         // Columns
         sql.append(" (");
         StringJoiner columnJoiner = new StringJoiner(", ");
-        for (ColumnMeta meta : columnMetas) {
+        for (ColumnMeta meta : plan.columnMetas()) {
             columnJoiner.add(dialect.quoteIdentifier(meta.columnName()));
         }
         sql.append(columnJoiner).append(")");
 
-        // VALUES with multiple rows
+        // VALUES with one or more rows
         sql.append(" VALUES ");
-        String rowPlaceholder = "(" + String.join(", ", java.util.Collections.nCopies(columnMetas.size(), "?")) + ")";
+        String rowPlaceholder = "(" + String.join(", ", java.util.Collections.nCopies(plan.columnMetas().size(), "?")) + ")";
         StringJoiner rowJoiner = new StringJoiner(", ");
         for (int i = 0; i < rowCount; i++) {
             rowJoiner.add(rowPlaceholder);
@@ -491,7 +857,7 @@ public final class UpsertPersistence {
         // Conflict handling
         if (isPostgres) {
             sql.append(" ON CONFLICT (");
-            sql.append(String.join(", ", conflictColumns.stream().map(dialect::quoteIdentifier).toList()));
+            sql.append(String.join(", ", plan.conflictColumns().stream().map(dialect::quoteIdentifier).toList()));
             sql.append(")");
             if (updateColumns.isEmpty()) {
                 sql.append(" DO NOTHING");
@@ -503,10 +869,18 @@ public final class UpsertPersistence {
                 }
                 sql.append(updateJoiner);
             }
-        } else if (!updateColumns.isEmpty()) {
+        } else if (!updateColumns.isEmpty() || lastInsertIdBackfill) {
+            // MySQL ON DUPLICATE KEY UPDATE
             sql.append(" ON DUPLICATE KEY UPDATE ");
             StringJoiner updateJoiner = new StringJoiner(", ");
+            if (lastInsertIdBackfill) {
+                String id = dialect.quoteIdentifier(plan.idMeta().columnName());
+                updateJoiner.add(id + " = LAST_INSERT_ID(" + id + ")");
+            }
             for (String col : updateColumns) {
+                if (lastInsertIdBackfill && col.equals(plan.idMeta().columnName())) {
+                    continue;
+                }
                 updateJoiner.add(dialect.quoteIdentifier(col) + " = VALUES(" + dialect.quoteIdentifier(col) + ")");
             }
             sql.append(updateJoiner);
@@ -515,6 +889,12 @@ public final class UpsertPersistence {
         return sql.toString();
     }
 
+    private static String tableName(EntityReflector.EntityMeta entityMeta, SqlDialect dialect) {
+        return Objects.nonNull(entityMeta.schema())
+            ? dialect.quoteIdentifier(entityMeta.schema()) + "." + dialect.quoteIdentifier(entityMeta.tableName())
+            : dialect.quoteIdentifier(entityMeta.tableName());
+    }
+
     private static void setParameters(PreparedStatement ps, List<Object> values) throws SQLException {
         int i = 1;
         for (Object value : values) {
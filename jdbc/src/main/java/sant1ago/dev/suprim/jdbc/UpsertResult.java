@@ -0,0 +1,51 @@
+package sant1ago.dev.suprim.jdbc;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Result of a batch upsert that returns the stored rows.
+ * Entities and flags are aligned with the submitted entities.
+ *
+ * <p>Inserted flags are only reported by PostgreSQL; on other dialects every flag is {@code null}.
+ *
+ * @param entities rows as stored after the upsert, in input order
+ * @param inserted per-row flag: true if inserted, false if updated or skipped, null if unknown
+ * @param <T>      entity type
+ */
+public record UpsertResult<T>(List<T> entities, List<Boolean> inserted) {
+
+    /**
+     * Check whether the dialect reported inserted-vs-updated flags.
+     */
+    public boolean hasInsertedFlags() {
+        return inserted.stream().anyMatch(Objects::nonNull);
+    }
+
+    /**
+     * Check whether the row at the given index was newly inserted.
+     *
+     * @throws IllegalStateException if the dialect did not report a flag for this row
+     */
+    public boolean wasInserted(int index) {
+        Boolean flag = inserted.get(index);
+        if (Objects.isNull(flag)) {
+            throw new IllegalStateException("Inserted flag is not available for row " + index);
+        }
+        return flag;
+    }
+
+    /**
+     * Number of rows that were newly inserted.
+     */
+    public int insertedCount() {
+        return (int) inserted.stream().filter(Boolean.TRUE::equals).count();
+    }
+
+    /**
+     * Number of rows that already existed (updated or skipped).
+     */
+    public int updatedCount() {
+        return (int) inserted.stream().filter(Boolean.FALSE::equals).count();
+    }
+}
@@ -1,19 +1,28 @@
 package sant1ago.dev.suprim.jdbc.eager;
 
+import sant1ago.dev.suprim.core.dialect.SqlDialect;
 import sant1ago.dev.suprim.core.query.EagerLoadSpec;
 import sant1ago.dev.suprim.core.query.Suprim;
 import sant1ago.dev.suprim.core.query.QueryResult;
 import sant1ago.dev.suprim.core.query.SelectBuilder;
 import sant1ago.dev.suprim.core.type.Column;
+import sant1ago.dev.suprim.core.type.MorphTypeRegistry;
+import sant1ago.dev.suprim.core.type.OrderSpec;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.core.type.Table;
 import sant1ago.dev.suprim.core.type.TypeUtils;
+import sant1ago.dev.suprim.jdbc.AsyncExecutor;
+import sant1ago.dev.suprim.jdbc.EntityCache;
 import sant1ago.dev.suprim.jdbc.EntityMapper;
+import sant1ago.dev.suprim.jdbc.IdentityMap;
 import sant1ago.dev.suprim.jdbc.ReflectionUtils;
+import sant1ago.dev.suprim.jdbc.SuprimContext;
 import sant1ago.dev.suprim.jdbc.SuprimExecutor;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -25,6 +34,16 @@ import static java.util.Objects.nonNull;
  */
 public final class EagerLoader {
 
+    // Aliases used by the top-1-per-parent queries
+    private static final String RANK_COLUMN = "suprim_rn";
+    private static final String RANKED_ALIAS = "suprim_top";
+    private static final String PARENT_ALIAS = "suprim_parent";
+    private static final String PARENT_KEY_COLUMN = "suprim_key";
+
+    // Named parameters of the polymorphic queries
+    private static final String MORPH_TYPE_PARAM = "suprim_morph_type";
+    private static final String KEY_PARAM_PREFIX = "suprim_k";
+
     private final SuprimExecutor executor;
 
     public EagerLoader(SuprimExecutor executor) {
@@ -39,43 +58,74 @@ public final class EagerLoader {
      * @param <T>      parent entity type
      */
     public <T> void loadRelations(List<T> entities, List<EagerLoadSpec> specs) {
+        loadRelations(entities, specs, Map.of());
+    }
+
+    /**
+     * Load relations for a list of entities, using related entities already fetched by
+     * the main query's LEFT JOINs for join-fetched specs.
+     *
+     * @param entities the parent entities
+     * @param specs    the eager load specifications
+     * @param joined   related entities per join-fetched spec; specs missing here are queried
+     * @param <T>      parent entity type
+     */
+    public <T> void loadRelations(List<T> entities, List<EagerLoadSpec> specs, Map<EagerLoadSpec, List<?>> joined) {
         if (entities.isEmpty() || specs.isEmpty()) {
             return;
         }
 
         for (EagerLoadSpec spec : specs) {
-            loadRelation(entities, spec);
+            loadRelation(entities, spec, joined.get(spec));
         }
     }
 
     /**
      * Load a single relation for entities.
+     *
+     * @param prefetched related entities from the main query's JOIN, or null to query them
      */
-    private <T, R> void loadRelation(List<T> entities, EagerLoadSpec spec) {
+    private <T, R> void loadRelation(List<T> entities, EagerLoadSpec spec, List<?> prefetched) {
         Relation<T, R> relation = TypeUtils.castRelation(spec.relation());
 
         // Load related entities based on the relation type
-        List<R> relatedEntities = switch (relation.getType()) {
-            case HAS_ONE, HAS_MANY, LATEST_OF_MANY, OLDEST_OF_MANY, OF_MANY -> loadHasOneOrMany(entities, relation, spec);
+        List<R> relatedEntities = nonNull(prefetched) ? TypeUtils.cast(prefetched) : switch (relation.getType()) {
+            case HAS_ONE, HAS_MANY -> spec.hasPerParentLimit()
+                    ? loadTopPerParent(entities, relation, spec, orderBy(spec.perParentOrder()), spec.perParentLimit())
+                    : loadHasOneOrMany(entities, relation, spec);
+            case LATEST_OF_MANY, OLDEST_OF_MANY, OF_MANY ->
+                    loadTopPerParent(entities, relation, spec, relation.getOfManyOrderBy(), 1);
             case BELONGS_TO -> loadBelongsTo(entities, relation, spec);
             case BELONGS_TO_MANY -> loadBelongsToMany(entities, relation, spec);
             case HAS_ONE_THROUGH, HAS_MANY_THROUGH -> loadThrough(entities, relation, spec);
-            case MORPH_ONE, MORPH_MANY, MORPH_TO, MORPH_TO_MANY, MORPHED_BY_MANY ->
-                    throw new UnsupportedOperationException("Polymorphic relationships not yet implemented in eager loading");
+            case MORPH_ONE, MORPH_MANY -> loadMorphOneOrMany(entities, relation, spec);
+            case MORPH_TO -> loadMorphTo(entities, relation, spec);
+            case MORPH_TO_MANY, MORPHED_BY_MANY -> loadMorphPivot(entities, relation, spec);
         };
 
         // Populate relation field on parent entities
-        // Skip for BelongsToMany and Through relations - they populate directly in their methods
-        if (relation.getType() != Relation.Type.BELONGS_TO_MANY
+        // Skip for pivot, Through and MorphTo relations - they populate directly in their methods
+        if (!relation.usesPivotTable()
                 && relation.getType() != Relation.Type.HAS_ONE_THROUGH
-                && relation.getType() != Relation.Type.HAS_MANY_THROUGH) {
-            RelationPopulator.populate(entities, relatedEntities, relation);
+                && relation.getType() != Relation.Type.HAS_MANY_THROUGH
+                && relation.getType() != Relation.Type.MORPH_TO) {
+            // Share one instance per row with the rest of the transaction
+            if (SuprimContext.hasIdentityMap()) {
+                relatedEntities = SuprimContext.getIdentityMap().putAll(relatedEntities);
+            }
+            RelationPopulator.populate(entities, relatedEntities, relation, spec);
         }
 
         // Recursively load nested relations
         if (spec.hasNested() && !relatedEntities.isEmpty()) {
             for (EagerLoadSpec nestedSpec : spec.nested()) {
-                loadRelation(relatedEntities, nestedSpec);
+                // MorphTo loads several entity types; nested relations apply to their own type only
+                List<R> nestedParents = relation.getType() == Relation.Type.MORPH_TO
+                        ? relatedEntities.stream().filter(nestedSpec.relation().getOwnerTable().getEntityType()::isInstance).toList()
+                        : relatedEntities;
+                if (!nestedParents.isEmpty()) {
+                    loadRelation(nestedParents, nestedSpec, null);
+                }
             }
         }
     }
@@ -120,9 +170,130 @@ public final class EagerLoader {
         return executor.query(query, EntityMapper.of(relatedTable.getEntityType()));
     }
 
+    /**
+     * Load at most {@code limit} related rows per parent in one query: the single row of
+     * LatestOfMany, OldestOfMany and OfMany relations, or a HasMany with a per-parent limit.
+     * SQL (ROW_NUMBER): SELECT * FROM (SELECT related.*, ROW_NUMBER() OVER (PARTITION BY fk ORDER BY order) AS rn
+     * FROM related WHERE fk IN (parent_ids)) top WHERE rn <= limit
+     *
+     * @see OfManyStrategy
+     */
+    private <T, R> List<R> loadTopPerParent(
+            List<T> parents,
+            Relation<T, R> relation,
+            EagerLoadSpec spec,
+            String orderBy,
+            int limit
+    ) {
+        Set<Object> parentKeys = extractKeys(parents, relation.getLocalKey());
+        if (parentKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Table<R> relatedTable = relation.getRelatedTable();
+        String foreignKey = relation.getForeignKey();
+        String inClause = String.format(
+                "%s IN (%s)",
+                foreignKey,
+                parentKeys.stream()
+                        .map(this::formatValue)
+                        .collect(Collectors.joining(", "))
+        );
+
+        SqlDialect dialect = executor.dialect();
+        OfManyStrategy strategy = topPerParentStrategy(dialect, limit);
+
+        SelectBuilder builder = Suprim.select().from(relatedTable);
+        switch (strategy) {
+            case DISTINCT_ON -> builder.distinctOn(foreignKey)
+                    .whereRaw(inClause)
+                    .orderBy(OrderSpec.raw(foreignKey), OrderSpec.raw(orderBy));
+            case ROW_NUMBER -> builder.selectRaw(relatedTable.getName() + ".*")
+                    .selectRaw("ROW_NUMBER() OVER (PARTITION BY " + foreignKey + " ORDER BY " + orderBy + ") AS " + RANK_COLUMN)
+                    .whereRaw(inClause);
+            // Correlated per parent key; the key list comes from the derived table below
+            case LATERAL -> builder.whereRaw(foreignKey + " = " + PARENT_ALIAS + "." + PARENT_KEY_COLUMN)
+                    .orderBy(OrderSpec.raw(orderBy))
+                    .limit(limit);
+            case IN_MEMORY -> builder.whereRaw(inClause)
+                    .orderBy(OrderSpec.raw(orderBy));
+        }
+
+        if (spec.hasConstraint()) {
+            builder = spec.constraint().apply(builder);
+        }
+
+        QueryResult built = builder.build(dialect);
+        Map<String, Object> params = new LinkedHashMap<>(built.parameters());
+        String sql = switch (strategy) {
+            case DISTINCT_ON, IN_MEMORY -> built.sql();
+            case ROW_NUMBER -> "SELECT * FROM (" + built.sql() + ") " + RANKED_ALIAS
+                    + " WHERE " + RANK_COLUMN + " <= " + limit + " ORDER BY " + RANK_COLUMN;
+            // LATERAL runs as a nested loop over the parent keys, so each parent's rows keep the subquery's order
+            case LATERAL -> String.format(
+                    "SELECT %s.* FROM (%s) %s CROSS JOIN LATERAL (%s) %s",
+                    RANKED_ALIAS, parentKeyRows(parentKeys, params), PARENT_ALIAS, built.sql(), RANKED_ALIAS);
+        };
+
+        List<R> related = executor.query(new QueryResult(sql, params), EntityMapper.of(relatedTable.getEntityType()));
+        return strategy == OfManyStrategy.IN_MEMORY ? firstPerParent(related, foreignKey, limit) : related;
+    }
+
+    /**
+     * One row per parent key, bound as parameters so each key keeps its JDBC type:
+     * SELECT :k1 AS suprim_key UNION ALL SELECT :k2 ...
+     * Driving the LATERAL join from these rows costs one index probe per parent, unlike a
+     * SELECT DISTINCT fk over the related table, which reads every child first.
+     */
+    private String parentKeyRows(Set<Object> parentKeys, Map<String, Object> params) {
+        StringJoiner rows = new StringJoiner(" UNION ALL ");
+        for (Object key : parentKeys) {
+            rows.add("SELECT " + bindAll(List.of(key), params) + " AS " + PARENT_KEY_COLUMN);
+        }
+        return rows.toString();
+    }
+
+    /**
+     * Pick the top-per-parent strategy: the executor's choice when the dialect supports it
+     * for this limit, otherwise the best supported one.
+     */
+    private OfManyStrategy topPerParentStrategy(SqlDialect dialect, int limit) {
+        OfManyStrategy strategy = executor.ofManyStrategy();
+        return strategy.isSupportedBy(dialect, limit) ? strategy : OfManyStrategy.forDialect(dialect, limit);
+    }
+
+    /**
+     * Keep the first {@code limit} rows per foreign key from an ordered result.
+     */
+    private <R> List<R> firstPerParent(List<R> related, String foreignKey, int limit) {
+        Map<Object, Integer> kept = new HashMap<>();
+        List<R> result = new ArrayList<>();
+        for (R entity : related) {
+            Object key = ReflectionUtils.getFieldValue(entity, foreignKey);
+            if (kept.merge(key, 1, Integer::sum) <= limit) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Render per-parent order specs as an ORDER BY list.
+     */
+    private String orderBy(List<OrderSpec> specs) {
+        SqlDialect dialect = executor.dialect();
+        return specs.stream()
+                .map(spec -> spec.toSql(dialect))
+                .collect(Collectors.joining(", "));
+    }
+
     /**
      * Load BelongsTo relation.
      * SQL: SELECT * FROM related WHERE pk IN (fk_values)
+     *
+     * <p>Inside a transaction, parents already in the {@link IdentityMap} are reused; parents
+     * of {@code @Cacheable} entities are served from the shared {@link EntityCache}. Only the
+     * missing keys are queried.
      */
     private <T, R> List<R> loadBelongsTo(
             List<T> parents,
@@ -135,9 +306,47 @@ public final class EagerLoader {
             return Collections.emptyList();
         }
 
-        // Build query: SELECT * FROM related WHERE id IN (...)
         Table<R> relatedTable = relation.getRelatedTable();
 
+        // Serve already-loaded rows from the identity map (not when a constraint could filter them)
+        List<R> cached = new ArrayList<>();
+        if (SuprimContext.hasIdentityMap() && !spec.hasConstraint()) {
+            IdentityMap identityMap = SuprimContext.getIdentityMap();
+            if (identityMap.isKeyedBy(relatedTable.getEntityType(), relation.getRelatedKey())) {
+                Iterator<Object> keys = foreignKeys.iterator();
+                while (keys.hasNext()) {
+                    Optional<R> hit = identityMap.get(relatedTable.getEntityType(), keys.next());
+                    if (hit.isPresent()) {
+                        cached.add(hit.get());
+                        keys.remove();
+                    }
+                }
+                if (foreignKeys.isEmpty()) {
+                    return cached;
+                }
+            }
+        }
+
+        // Then the shared entity cache for @Cacheable entities
+        EntityCache entityCache = executor.entityCache();
+        boolean shared = !spec.hasConstraint()
+            && entityCache.isCacheable(relatedTable.getEntityType(), relation.getRelatedKey());
+        if (shared) {
+            Iterator<Object> keys = foreignKeys.iterator();
+            while (keys.hasNext()) {
+                Optional<R> hit = entityCache.get(relatedTable.getEntityType(), keys.next());
+                if (hit.isPresent()) {
+                    cached.add(hit.get());
+                    keys.remove();
+                }
+            }
+            if (foreignKeys.isEmpty()) {
+                return cached;
+            }
+        }
+
+        // Build query: SELECT * FROM related WHERE id IN (...)
+
         // Build IN clause using raw SQL
         String inClause = String.format(
                 "%s IN (%s)",
@@ -157,7 +366,158 @@ public final class EagerLoader {
         }
 
         QueryResult query = builder.build();
-        return executor.query(query, EntityMapper.of(relatedTable.getEntityType()));
+        List<R> loaded = shared
+                ? entityCache.loadThrough(relatedTable.getEntityType(),
+                        () -> executor.onPrimary(() -> executor.query(query, EntityMapper.of(relatedTable.getEntityType()))))
+                : executor.query(query, EntityMapper.of(relatedTable.getEntityType()));
+        if (cached.isEmpty()) {
+            return loaded;
+        }
+        cached.addAll(loaded);
+        return cached;
+    }
+
+    /**
+     * Load MorphOne or MorphMany relation.
+     * SQL: SELECT * FROM related WHERE morph_type = 'Owner' AND morph_id IN (parent_ids)
+     */
+    private <T, R> List<R> loadMorphOneOrMany(
+            List<T> parents,
+            Relation<T, R> relation,
+            EagerLoadSpec spec
+    ) {
+        Set<Object> parentKeys = extractKeys(parents, relation.getLocalKey());
+        if (parentKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Table<R> relatedTable = relation.getRelatedTable();
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put(MORPH_TYPE_PARAM, MorphTypeRegistry.getTypeAlias(relation.getOwnerTable().getEntityType()));
+        String condition = String.format(
+                "%s = :%s AND %s IN (%s)",
+                relation.getMorphTypeColumn(),
+                MORPH_TYPE_PARAM,
+                relation.getMorphIdColumn(),
+                bindAll(parentKeys, params)
+        );
+
+        SelectBuilder builder = Suprim.select()
+                .from(relatedTable)
+                .whereRaw(condition, params);
+
+        if (spec.hasConstraint()) {
+            builder = spec.constraint().apply(builder);
+        }
+
+        return executor.query(builder.build(), EntityMapper.of(relatedTable.getEntityType()));
+    }
+
+    /**
+     * Load MorphTo relation: one query per distinct morph type among the parents, so the
+     * query count follows the number of types rather than parents.
+     * SQL (per type): SELECT * FROM type_table WHERE id IN (morph_ids)
+     *
+     * <p>Types are resolved with {@link MorphTypeRegistry}. With
+     * {@link SuprimExecutor#concurrentMorphLoading()} enabled and no transaction open, the
+     * per-type queries run concurrently on the executor's async workers.
+     *
+     * @return the loaded entities of every type, already assigned to their parents
+     */
+    private <T, R> List<R> loadMorphTo(
+            List<T> parents,
+            Relation<T, R> relation,
+            EagerLoadSpec spec
+    ) {
+        // Group the referenced ids by morph type
+        Map<String, Set<Object>> idsByType = new LinkedHashMap<>();
+        for (T parent : parents) {
+            Object type = ReflectionUtils.getFieldValue(parent, relation.getMorphTypeColumn());
+            Object id = ReflectionUtils.getFieldValue(parent, relation.getMorphIdColumn());
+            if (nonNull(type) && nonNull(id)) {
+                idsByType.computeIfAbsent(type.toString(), k -> new LinkedHashSet<>()).add(id);
+            }
+        }
+        if (idsByType.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, QueryResult> queries = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<Object>> entry : idsByType.entrySet()) {
+            Class<?> entityType = MorphTypeRegistry.resolve(entry.getKey());
+            Map<String, Object> params = new LinkedHashMap<>();
+            SelectBuilder builder = Suprim.select()
+                    .from(Table.of(Suprim.table(entityType), entityType))
+                    .whereRaw(relation.getRelatedKey() + " IN (" + bindAll(entry.getValue(), params) + ")", params);
+            if (spec.hasConstraint()) {
+                builder = spec.constraint().apply(builder);
+            }
+            queries.put(entry.getKey(), builder.build());
+        }
+
+        Map<String, List<R>> relatedByType = queryMorphTypes(queries);
+
+        List<R> related = new ArrayList<>();
+        for (Map.Entry<String, List<R>> entry : relatedByType.entrySet()) {
+            List<R> ofType = entry.getValue();
+            // Share one instance per row with the rest of the transaction
+            if (SuprimContext.hasIdentityMap()) {
+                ofType = SuprimContext.getIdentityMap().putAll(ofType);
+                entry.setValue(ofType);
+            }
+            related.addAll(ofType);
+        }
+        RelationPopulator.populateMorphTo(parents, relatedByType, relation);
+        return related;
+    }
+
+    /**
+     * Run one query per morph type, concurrently when enabled and outside a transaction.
+     * Already on an async worker, the queries run inline: joining work queued behind this
+     * operation's own slot would deadlock once every slot is taken.
+     */
+    private <R> Map<String, List<R>> queryMorphTypes(Map<String, QueryResult> queries) {
+        Map<String, List<R>> relatedByType = new LinkedHashMap<>();
+        boolean concurrent = executor.concurrentMorphLoading() && queries.size() > 1
+                && !SuprimContext.hasContext() && !AsyncExecutor.inOperation();
+        if (!concurrent) {
+            queries.forEach((type, query) -> relatedByType.put(type, queryMorphType(type, query)));
+            return relatedByType;
+        }
+
+        Map<String, CompletableFuture<List<R>>> futures = new LinkedHashMap<>();
+        queries.forEach((type, query) -> futures.put(type, executor.async().submit(e -> queryMorphType(type, query))));
+        try {
+            futures.forEach((type, future) -> relatedByType.put(type, future.join()));
+        } catch (CompletionException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return relatedByType;
+    }
+
+    private <R> List<R> queryMorphType(String type, QueryResult query) {
+        Class<R> entityType = TypeUtils.cast(MorphTypeRegistry.resolve(type));
+        return executor.query(query, EntityMapper.of(entityType));
+    }
+
+    /**
+     * Bind values as named parameters for an IN list.
+     *
+     * @return the comma-separated placeholders
+     */
+    private String bindAll(Collection<Object> values, Map<String, Object> params) {
+        StringJoiner placeholders = new StringJoiner(", ");
+        for (Object value : values) {
+            // Trailing underscore keeps :suprim_k1_ from matching inside :suprim_k10_
+            String name = KEY_PARAM_PREFIX + params.size() + "_";
+            params.put(name, value);
+            placeholders.add(":" + name);
+        }
+        return placeholders.toString();
     }
 
     /**
@@ -189,12 +549,65 @@ public final class EagerLoader {
                 parentKeys.stream().map(this::formatValue).collect(Collectors.joining(", "))
         );
 
+        return loadThroughPivot(parents, relation, spec, new QueryResult(pivotQuery, Map.of()));
+    }
+
+    /**
+     * Load MorphToMany or MorphedByMany relation: BelongsToMany through a pivot table whose
+     * rows are restricted to one morph type.
+     * MorphToMany (Post -> Tags): SELECT taggable_id AS FK, tag_id AS RK FROM taggables WHERE taggable_type = 'Post' AND taggable_id IN (...)
+     * MorphedByMany (Tag -> Posts): SELECT tag_id AS FK, taggable_id AS RK FROM taggables WHERE taggable_type = 'Post' AND tag_id IN (...)
+     */
+    private <T, R> List<R> loadMorphPivot(
+            List<T> parents,
+            Relation<T, R> relation,
+            EagerLoadSpec spec
+    ) {
+        Set<Object> parentKeys = extractKeys(parents, relation.getLocalKey());
+        if (parentKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        boolean inverse = relation.getType() == Relation.Type.MORPHED_BY_MANY;
+        String parentPivotKey = inverse ? relation.getForeignPivotKey() : relation.getMorphIdColumn();
+        String relatedPivotKey = inverse ? relation.getMorphIdColumn() : relation.getRelatedPivotKey();
+        // The morph type names the morphable side: the owner for MorphToMany, the related entity for MorphedByMany
+        Class<?> morphable = inverse ? relation.getRelatedTable().getEntityType() : relation.getOwnerTable().getEntityType();
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put(MORPH_TYPE_PARAM, MorphTypeRegistry.getTypeAlias(morphable));
+        String pivotQuery = String.format(
+                "SELECT %s AS FK, %s AS RK FROM %s WHERE %s = :%s AND %s IN (%s)",
+                parentPivotKey,
+                relatedPivotKey,
+                relation.getPivotTable(),
+                relation.getMorphTypeColumn(),
+                MORPH_TYPE_PARAM,
+                parentPivotKey,
+                bindAll(parentKeys, params)
+        );
+
+        return loadThroughPivot(parents, relation, spec, new QueryResult(pivotQuery, params));
+    }
+
+    /**
+     * Load related entities through pivot rows selected as (FK, RK) pairs and assign them to parents.
+     * Step 1: Run the pivot query to get parent->related mappings
+     * Step 2: Query related entities
+     * Step 3: Assign to parents using the mapping
+     */
+    private <T, R> List<R> loadThroughPivot(
+            List<T> parents,
+            Relation<T, R> relation,
+            EagerLoadSpec spec,
+            QueryResult pivotQuery
+    ) {
         // Execute pivot query and build mapping
         Map<Object, List<Object>> parentToRelatedKeys = new HashMap<>();
         Set<Object> allRelatedKeys = new HashSet<>();
 
         List<Map<String, Object>> pivotRows = executor.query(
-                new QueryResult(pivotQuery, Map.of()),
+                pivotQuery,
                 rs -> {
                     Map<String, Object> row = new HashMap<>();
                     row.put("fk", rs.getObject("FK"));
@@ -265,7 +678,7 @@ public final class EagerLoader {
             Object collection = Set.class.isAssignableFrom(fieldType)
                     ? new HashSet<>(parentRelated)
                     : new ArrayList<>(parentRelated);
-            ReflectionUtils.setFieldValue(parent, fieldName, collection);
+            ReflectionUtils.setRelationValue(parent, fieldName, collection);
         }
 
         return Collections.emptyList();
@@ -384,12 +797,12 @@ public final class EagerLoader {
                 Object collection = Set.class.isAssignableFrom(fieldType)
                         ? new HashSet<>(parentRelated)
                         : new ArrayList<>(parentRelated);
-                ReflectionUtils.setFieldValue(parent, fieldName, collection);
+                ReflectionUtils.setRelationValue(parent, fieldName, collection);
                 continue;
             }
             // HasOneThrough - take first or null
             R single = parentRelated.isEmpty() ? null : parentRelated.get(0);
-            ReflectionUtils.setFieldValue(parent, fieldName, single);
+            ReflectionUtils.setRelationValue(parent, fieldName, single);
         }
 
         return Collections.emptyList();
@@ -0,0 +1,92 @@
+package sant1ago.dev.suprim.jdbc.eager;
+
+import sant1ago.dev.suprim.core.dialect.DialectCapabilities;
+import sant1ago.dev.suprim.core.dialect.SqlDialect;
+
+/**
+ * How {@link EagerLoader} fetches the first children per parent: the single child of
+ * LatestOfMany, OldestOfMany and OfMany relations, and HasMany relations loaded with a
+ * per-parent limit.
+ *
+ * <p>All strategies except {@link #IN_MEMORY} filter in the database, so the rows
+ * transferred are bounded by the number of parents regardless of how many children each has.</p>
+ */
+public enum OfManyStrategy {
+
+    /**
+     * {@code SELECT DISTINCT ON (fk) ... ORDER BY fk, order}. PostgreSQL, one row per parent only.
+     */
+    DISTINCT_ON,
+
+    /**
+     * {@code ROW_NUMBER() OVER (PARTITION BY fk ORDER BY order)} filtered to the first rows.
+     * MySQL 8, MariaDB and PostgreSQL.
+     */
+    ROW_NUMBER,
+
+    /**
+     * One {@code ORDER BY order LIMIT n} subquery per parent key through a LATERAL join.
+     * Reads a single index entry per parent when (fk, order) is indexed, which beats
+     * {@link #DISTINCT_ON} when parents have many children. PostgreSQL and MySQL 8.0.14+.
+     */
+    LATERAL,
+
+    /**
+     * Fetch every child ordered, keeping the first ones per parent. Fallback for databases
+     * without window functions such as MySQL 5.7.
+     */
+    IN_MEMORY;
+
+    /**
+     * Pick the best strategy the dialect supports.
+     *
+     * @param dialect the SQL dialect
+     * @return DISTINCT_ON, ROW_NUMBER, LATERAL or IN_MEMORY, in that order of preference
+     */
+    public static OfManyStrategy forDialect(SqlDialect dialect) {
+        return forDialect(dialect, 1);
+    }
+
+    /**
+     * Pick the best strategy the dialect supports for keeping {@code perParentLimit} rows per parent.
+     *
+     * @param dialect        the SQL dialect
+     * @param perParentLimit rows to keep per parent
+     * @return the first supported of DISTINCT_ON, ROW_NUMBER, LATERAL and IN_MEMORY
+     */
+    public static OfManyStrategy forDialect(SqlDialect dialect, int perParentLimit) {
+        for (OfManyStrategy strategy : values()) {
+            if (strategy.isSupportedBy(dialect, perParentLimit)) {
+                return strategy;
+            }
+        }
+        return IN_MEMORY;
+    }
+
+    /**
+     * Check whether the dialect can run this strategy for the given per-parent limit.
+     *
+     * @param dialect        the SQL dialect
+     * @param perParentLimit rows to keep per parent
+     * @return true if supported; DISTINCT_ON only supports a limit of 1
+     */
+    public boolean isSupportedBy(SqlDialect dialect, int perParentLimit) {
+        return isSupportedBy(dialect) && (this != DISTINCT_ON || perParentLimit == 1);
+    }
+
+    /**
+     * Check whether the dialect can run this strategy.
+     *
+     * @param dialect the SQL dialect
+     * @return true if the strategy's SQL is supported
+     */
+    public boolean isSupportedBy(SqlDialect dialect) {
+        DialectCapabilities capabilities = dialect.capabilities();
+        return switch (this) {
+            case DISTINCT_ON -> capabilities.supportsDistinctOn();
+            case ROW_NUMBER -> capabilities.supportsWindowFunctions();
+            case LATERAL -> capabilities.supportsLateral();
+            case IN_MEMORY -> true;
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package sant1ago.dev.suprim.jdbc.eager;
 
+import sant1ago.dev.suprim.core.query.EagerLoadSpec;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.jdbc.DefaultModelRegistry;
+import sant1ago.dev.suprim.jdbc.IdentityMap;
 import sant1ago.dev.suprim.jdbc.ReflectionUtils;
+import sant1ago.dev.suprim.jdbc.SuprimContext;
 import sant1ago.dev.suprim.jdbc.exception.MappingException;
 
 import java.lang.reflect.Field;
@@ -30,6 +33,22 @@ public final class RelationPopulator {
      * @param <R>      related entity type
      */
     public static <T, R> void populate(List<T> parents, List<R> related, Relation<T, R> relation) {
+        populate(parents, related, relation, null);
+    }
+
+    /**
+     * Populate a relation loaded for an eager-load spec.
+     * A constrained spec may have filtered related rows out, so missing BelongsTo parents are
+     * not filled in from the transaction's identity map.
+     *
+     * @param parents  the parent entities to populate
+     * @param related  the related entities loaded from database
+     * @param relation the relation specification
+     * @param spec     the eager-load spec the rows were loaded for, or null
+     * @param <T>      parent entity type
+     * @param <R>      related entity type
+     */
+    public static <T, R> void populate(List<T> parents, List<R> related, Relation<T, R> relation, EagerLoadSpec spec) {
         if (parents.isEmpty() || Objects.isNull(relation.getFieldName())) {
             return;
         }
@@ -37,7 +56,7 @@ public final class RelationPopulator {
         if (relation.isToMany()) {
             populateCollection(parents, related, relation);
         } else {
-            populateSingle(parents, related, relation);
+            populateSingle(parents, related, relation, spec);
         }
     }
 
@@ -47,19 +66,28 @@ public final class RelationPopulator {
     private static <T, R> void populateSingle(
             List<T> parents,
             List<R> related,
-            Relation<T, R> relation
+            Relation<T, R> relation,
+            EagerLoadSpec spec
     ) {
         // Create a map of related entities by their key
         Map<Object, R> relatedByKey = new HashMap<>();
+        // OfMany rows arrive in relation order, so the first per key is the one to keep
+        boolean keepFirst = relation.isOfMany();
 
         for (R relatedEntity : related) {
             Object keyValue = extractKeyValue(relatedEntity, relation);
-            if (Objects.nonNull(keyValue)) {
+            if (Objects.isNull(keyValue)) {
+                continue;
+            }
+            if (keepFirst) {
+                relatedByKey.putIfAbsent(keyValue, relatedEntity);
+            } else {
                 relatedByKey.put(keyValue, relatedEntity);
             }
         }
 
         String fieldName = relation.getFieldName();
+        IdentityMap identityMap = identityMapFor(relation, spec);
 
         // Match parents to related entities
         for (T parent : parents) {
@@ -68,6 +96,9 @@ public final class RelationPopulator {
 
             if (Objects.nonNull(parentKeyValue)) {
                 relatedEntity = relatedByKey.get(parentKeyValue);
+                if (Objects.isNull(relatedEntity) && Objects.nonNull(identityMap)) {
+                    relatedEntity = identityMap.get(relation.getRelatedTable().getEntityType(), parentKeyValue).orElse(null);
+                }
                 if (Objects.isNull(relatedEntity) && relation.hasDefault()) {
                     relatedEntity = createDefaultInstance(relation);
                 }
@@ -76,7 +107,7 @@ public final class RelationPopulator {
             }
 
             if (Objects.nonNull(relatedEntity) || Objects.nonNull(parentKeyValue)) {
-                boolean success = ReflectionUtils.setFieldValue(parent, fieldName, relatedEntity);
+                boolean success = ReflectionUtils.setRelationValue(parent, fieldName, relatedEntity);
                 if (!success) {
                     throw MappingException.fieldAccessError(
                             parent.getClass(),
@@ -88,6 +119,65 @@ public final class RelationPopulator {
         }
     }
 
+    /**
+     * Populate a MorphTo relation from entities loaded per morph type.
+     *
+     * @param parents       the parent entities holding the morph type and id columns
+     * @param relatedByType related entities keyed by the morph type stored on the parents
+     * @param relation      the MorphTo relation
+     * @param <T>           parent entity type
+     * @param <R>           related entity type
+     */
+    public static <T, R> void populateMorphTo(List<T> parents, Map<String, List<R>> relatedByType, Relation<T, R> relation) {
+        if (parents.isEmpty() || Objects.isNull(relation.getFieldName())) {
+            return;
+        }
+
+        Map<String, Map<Object, R>> byTypeAndKey = new HashMap<>();
+        for (Map.Entry<String, List<R>> entry : relatedByType.entrySet()) {
+            Map<Object, R> byKey = byTypeAndKey.computeIfAbsent(entry.getKey(), k -> new HashMap<>());
+            for (R relatedEntity : entry.getValue()) {
+                Object keyValue = ReflectionUtils.getFieldValue(relatedEntity, relation.getRelatedKey());
+                if (Objects.nonNull(keyValue)) {
+                    byKey.put(keyValue, relatedEntity);
+                }
+            }
+        }
+
+        String fieldName = relation.getFieldName();
+        for (T parent : parents) {
+            Object type = ReflectionUtils.getFieldValue(parent, relation.getMorphTypeColumn());
+            Object id = ReflectionUtils.getFieldValue(parent, relation.getMorphIdColumn());
+            if (Objects.isNull(type) || Objects.isNull(id)) {
+                continue;
+            }
+            R relatedEntity = byTypeAndKey.getOrDefault(type.toString(), Map.of()).get(id);
+            boolean success = ReflectionUtils.setRelationValue(parent, fieldName, relatedEntity);
+            if (!success) {
+                throw MappingException.fieldAccessError(
+                        parent.getClass(),
+                        fieldName,
+                        new IllegalAccessException("Cannot set field '" + fieldName + "'. Add a public setter or enable non-strict mode.")
+                );
+            }
+        }
+    }
+
+    /**
+     * Get the transaction's identity map when it can resolve BelongsTo parents by key, else null.
+     * Not used for constrained specs: a parent the constraint filtered out must stay unset.
+     */
+    private static IdentityMap identityMapFor(Relation<?, ?> relation, EagerLoadSpec spec) {
+        if (relation.getType() != Relation.Type.BELONGS_TO || !SuprimContext.hasIdentityMap()
+                || (Objects.nonNull(spec) && spec.hasConstraint())) {
+            return null;
+        }
+        IdentityMap identityMap = SuprimContext.getIdentityMap();
+        return identityMap.isKeyedBy(relation.getRelatedTable().getEntityType(), relation.getRelatedKey())
+                ? identityMap
+                : null;
+    }
+
     /**
      * Create a default model instance with default attributes applied.
      * Type safety guaranteed by Relation<?, R> generic parameter.
@@ -156,7 +246,7 @@ public final class RelationPopulator {
                 collection = new ArrayList<>(relatedList);
             }
 
-            boolean success = ReflectionUtils.setFieldValue(parent, fieldName, collection);
+            boolean success = ReflectionUtils.setRelationValue(parent, fieldName, collection);
             if (!success) {
                 throw MappingException.fieldAccessError(
                         parentClass,
@@ -189,8 +279,9 @@ public final class RelationPopulator {
             case HAS_ONE, HAS_MANY, LATEST_OF_MANY, OLDEST_OF_MANY, OF_MANY -> relation.getForeignKey();
             case BELONGS_TO -> relation.getRelatedKey();
             case BELONGS_TO_MANY, HAS_ONE_THROUGH, HAS_MANY_THROUGH -> relation.getRelatedKey();
-            case MORPH_ONE, MORPH_MANY, MORPH_TO, MORPH_TO_MANY, MORPHED_BY_MANY ->
-                throw new UnsupportedOperationException("Polymorphic relationships not yet fully supported");
+            case MORPH_ONE, MORPH_MANY -> relation.getMorphIdColumn();
+            case MORPH_TO, MORPH_TO_MANY, MORPHED_BY_MANY ->
+                throw new UnsupportedOperationException("Populated by EagerLoader: " + relation.getType());
         };
 
         return ReflectionUtils.getFieldValue(entity, keyField);
@@ -206,8 +297,9 @@ public final class RelationPopulator {
             case HAS_ONE, HAS_MANY, LATEST_OF_MANY, OLDEST_OF_MANY, OF_MANY -> relation.getLocalKey();
             case BELONGS_TO -> relation.getForeignKey();
             case BELONGS_TO_MANY, HAS_ONE_THROUGH, HAS_MANY_THROUGH -> relation.getLocalKey();
-            case MORPH_ONE, MORPH_MANY, MORPH_TO, MORPH_TO_MANY, MORPHED_BY_MANY ->
-                throw new UnsupportedOperationException("Polymorphic relationships not yet fully supported");
+            case MORPH_ONE, MORPH_MANY -> relation.getLocalKey();
+            case MORPH_TO, MORPH_TO_MANY, MORPHED_BY_MANY ->
+                throw new UnsupportedOperationException("Populated by EagerLoader: " + relation.getType());
         };
 
         return ReflectionUtils.getFieldValue(parent, keyField);
@@ -3,15 +3,30 @@ package sant1ago.dev.suprim.jdbc.event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Thread-safe event dispatcher with copy-on-write listener lists.
  *
- * <p>Designed for zero overhead when no listeners are registered.
- * All dispatch methods check for empty lists before iteration.</p>
+ * <p>Designed for zero overhead when no listeners are registered: listeners are
+ * indexed by the {@link QueryPhase phases} they subscribe to, and
+ * {@link #beginQuery} returns {@code null} without building an event when nobody
+ * listens, which makes {@link #completeQuery} and {@link #failQuery} no-ops.</p>
+ *
+ * <pre>{@code
+ * QueryEvent event = dispatcher.beginQuery(sql, params, connectionName);  // null without listeners
+ * try {
+ *     int rows = ps.executeUpdate();
+ *     dispatcher.completeQuery(event, System.nanoTime() - start, rows);
+ * } catch (SQLException e) {
+ *     dispatcher.failQuery(event, System.nanoTime() - start, e);
+ * }
+ * }</pre>
  *
  * <p>Exceptions in listeners are caught and logged, never propagated
  * to avoid interrupting query execution.</p>
@@ -22,6 +37,12 @@ public final class EventDispatcher {
 
     private final List<QueryListener> queryListeners = new CopyOnWriteArrayList<>();
     private final List<TransactionListener> transactionListeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock registrationLock = new ReentrantLock();
+
+    // Per-phase snapshots, rebuilt on registration changes and read lock-free on every query
+    private volatile QueryListener[] beforeListeners = new QueryListener[0];
+    private volatile QueryListener[] afterListeners = new QueryListener[0];
+    private volatile QueryListener[] errorListeners = new QueryListener[0];
 
     // ============ Query Listener Registration ============
 
@@ -32,7 +53,13 @@ public final class EventDispatcher {
      */
     public void addQueryListener(QueryListener listener) {
         if (Objects.nonNull(listener)) {
-            queryListeners.add(listener);
+            registrationLock.lock();
+            try {
+                queryListeners.add(listener);
+                indexQueryListeners();
+            } finally {
+                registrationLock.unlock();
+            }
         }
     }
 
@@ -43,7 +70,32 @@ public final class EventDispatcher {
      * @return true if listener was found and removed
      */
     public boolean removeQueryListener(QueryListener listener) {
-        return queryListeners.remove(listener);
+        registrationLock.lock();
+        try {
+            boolean removed = queryListeners.remove(listener);
+            indexQueryListeners();
+            return removed;
+        } finally {
+            registrationLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the per-phase listener arrays. Caller holds the registration lock.
+     */
+    private void indexQueryListeners() {
+        List<QueryListener> before = new ArrayList<>();
+        List<QueryListener> after = new ArrayList<>();
+        List<QueryListener> error = new ArrayList<>();
+        for (QueryListener listener : queryListeners) {
+            Set<QueryPhase> phases = listener.phases();
+            if (phases.contains(QueryPhase.BEFORE)) before.add(listener);
+            if (phases.contains(QueryPhase.AFTER)) after.add(listener);
+            if (phases.contains(QueryPhase.ERROR)) error.add(listener);
+        }
+        beforeListeners = before.toArray(new QueryListener[0]);
+        afterListeners = after.toArray(new QueryListener[0]);
+        errorListeners = error.toArray(new QueryListener[0]);
     }
 
     // ============ Transaction Listener Registration ============
@@ -69,38 +121,109 @@ public final class EventDispatcher {
         return transactionListeners.remove(listener);
     }
 
-    // ============ Query Event Dispatch ============
+    // ============ Query Lifecycle ============
 
     /**
-     * Fire beforeQuery event to all listeners.
+     * Start a query: build its event and fire {@link QueryPhase#BEFORE} listeners.
      *
-     * @param event the query event
+     * @param sql            the SQL statement
+     * @param parameters     bound parameters
+     * @param connectionName connection/datasource name
+     * @return the started event, or {@code null} if no query listeners are registered
      */
-    public void fireBeforeQuery(QueryEvent event) {
-        if (queryListeners.isEmpty()) return;
-        for (QueryListener listener : queryListeners) {
+    public QueryEvent beginQuery(String sql, Object[] parameters, String connectionName) {
+        if (queryListeners.isEmpty()) {
+            return null;
+        }
+        QueryEvent event = QueryEvent.before(sql, parameters, connectionName);
+        dispatch(beforeListeners, QueryPhase.BEFORE, event);
+        return event;
+    }
+
+    /**
+     * Complete a started query and fire {@link QueryPhase#AFTER} listeners.
+     *
+     * @param started       the event returned by {@link #beginQuery}, may be null
+     * @param durationNanos execution time in nanoseconds
+     * @param affectedRows  rows affected (or result count for SELECT)
+     */
+    public void completeQuery(QueryEvent started, long durationNanos, int affectedRows) {
+        completeQuery(started, durationNanos, affectedRows, QueryTimer.DISABLED);
+    }
+
+    /**
+     * Complete a started query with per-phase timings and fire {@link QueryPhase#AFTER} listeners.
+     *
+     * @param started       the event returned by {@link #beginQuery}, may be null
+     * @param durationNanos execution time in nanoseconds
+     * @param affectedRows  rows affected (or result count for SELECT)
+     * @param timer         the query's phase timer
+     */
+    public void completeQuery(QueryEvent started, long durationNanos, int affectedRows, QueryTimer timer) {
+        QueryListener[] listeners = afterListeners;
+        if (Objects.isNull(started) || listeners.length == 0) {
+            return;
+        }
+        dispatch(listeners, QueryPhase.AFTER, started.completed(durationNanos, affectedRows, timer.toTimings()));
+    }
+
+    /**
+     * Start a phase timer for a query, or return the no-op timer when nobody listens.
+     *
+     * @param started the event returned by {@link #beginQuery}, may be null
+     * @return a running timer, or {@link QueryTimer#DISABLED}
+     */
+    public QueryTimer startTimer(QueryEvent started) {
+        return Objects.nonNull(started) && afterListeners.length > 0 ? QueryTimer.start() : QueryTimer.DISABLED;
+    }
+
+    /**
+     * Fail a started query and fire {@link QueryPhase#ERROR} listeners.
+     *
+     * @param started       the event returned by {@link #beginQuery}, may be null
+     * @param durationNanos execution time until failure
+     * @param error         the exception that caused failure
+     */
+    public void failQuery(QueryEvent started, long durationNanos, Throwable error) {
+        QueryListener[] listeners = errorListeners;
+        if (Objects.isNull(started) || listeners.length == 0) {
+            return;
+        }
+        dispatch(listeners, QueryPhase.ERROR, started.failed(durationNanos, error));
+    }
+
+    private static void dispatch(QueryListener[] listeners, QueryPhase phase, QueryEvent event) {
+        for (QueryListener listener : listeners) {
             try {
-                listener.beforeQuery(event);
+                switch (phase) {
+                    case BEFORE -> listener.beforeQuery(event);
+                    case AFTER -> listener.afterQuery(event);
+                    case ERROR -> listener.onError(event);
+                }
             } catch (Exception e) {
-                LOG.warn("QueryListener.beforeQuery threw exception", e);
+                LOG.warn("QueryListener threw exception for {}", phase, e);
             }
         }
     }
 
+    // ============ Query Event Dispatch ============
+
+    /**
+     * Fire beforeQuery event to all listeners.
+     *
+     * @param event the query event
+     */
+    public void fireBeforeQuery(QueryEvent event) {
+        dispatch(beforeListeners, QueryPhase.BEFORE, event);
+    }
+
     /**
      * Fire afterQuery event to all listeners.
      *
      * @param event the query event with timing info
      */
     public void fireAfterQuery(QueryEvent event) {
-        if (queryListeners.isEmpty()) return;
-        for (QueryListener listener : queryListeners) {
-            try {
-                listener.afterQuery(event);
-            } catch (Exception e) {
-                LOG.warn("QueryListener.afterQuery threw exception", e);
-            }
-        }
+        dispatch(afterListeners, QueryPhase.AFTER, event);
     }
 
     /**
@@ -109,14 +232,7 @@ public final class EventDispatcher {
      * @param event the query event with error info
      */
     public void fireQueryError(QueryEvent event) {
-        if (queryListeners.isEmpty()) return;
-        for (QueryListener listener : queryListeners) {
-            try {
-                listener.onError(event);
-            } catch (Exception e) {
-                LOG.warn("QueryListener.onError threw exception", e);
-            }
-        }
+        dispatch(errorListeners, QueryPhase.ERROR, event);
     }
 
     // ============ Transaction Event Dispatch ============
@@ -168,7 +284,13 @@ public final class EventDispatcher {
      * Remove all listeners.
      */
     public void clearAll() {
-        queryListeners.clear();
+        registrationLock.lock();
+        try {
+            queryListeners.clear();
+            indexQueryListeners();
+        } finally {
+            registrationLock.unlock();
+        }
         transactionListeners.clear();
     }
 
@@ -0,0 +1,30 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap, monotonic event ids: a random per-JVM prefix plus a counter.
+ *
+ * <p>Replaces {@code UUID.randomUUID()}, which draws from a shared {@code SecureRandom}
+ * and contends under load. Ids are unique within a JVM and, thanks to the prefix,
+ * practically unique across restarts and instances.
+ */
+final class EventIds {
+
+    private static final String PREFIX = String.format("%08x-", ThreadLocalRandom.current().nextInt());
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private EventIds() {
+        // Utility class
+    }
+
+    /**
+     * Get the next id.
+     *
+     * @return a new event id
+     */
+    static String next() {
+        return PREFIX + Long.toHexString(SEQUENCE.incrementAndGet());
+    }
+}
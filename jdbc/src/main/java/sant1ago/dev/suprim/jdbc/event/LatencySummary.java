@@ -0,0 +1,49 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+/**
+ * Percentile summary of recorded latencies, in nanoseconds.
+ *
+ * <p>Percentiles are the upper bound of the histogram bucket they fall into and are
+ * accurate to within 12.5%; {@link #maxNanos()} is exact.</p>
+ *
+ * @param count     number of recorded values
+ * @param p50Nanos  median latency
+ * @param p95Nanos  95th percentile latency
+ * @param p99Nanos  99th percentile latency
+ * @param maxNanos  largest recorded latency
+ */
+public record LatencySummary(long count, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+
+    /**
+     * Summary with no recorded values.
+     */
+    public static final LatencySummary EMPTY = new LatencySummary(0, 0, 0, 0, 0);
+
+    /**
+     * Median latency in milliseconds.
+     */
+    public double p50Ms() {
+        return p50Nanos / 1_000_000.0;
+    }
+
+    /**
+     * 95th percentile latency in milliseconds.
+     */
+    public double p95Ms() {
+        return p95Nanos / 1_000_000.0;
+    }
+
+    /**
+     * 99th percentile latency in milliseconds.
+     */
+    public double p99Ms() {
+        return p99Nanos / 1_000_000.0;
+    }
+
+    /**
+     * Largest latency in milliseconds.
+     */
+    public double maxMs() {
+        return maxNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,361 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sant1ago.dev.suprim.core.type.Relation;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in detector for N+1 query patterns: single-row lookups repeated against the same
+ * table inside one scope, typically {@code findById}, {@code refresh()} or
+ * {@code Finder.first()} called in a loop instead of eager-loading with {@code with(...)}.
+ *
+ * <p>Queries are grouped by normalized shape (see {@link QueryMetrics#normalize(String)})
+ * within a scope. A scope is either opened explicitly for a request or test, or implicitly
+ * for each transaction when no explicit scope is active on the thread. Queries outside any
+ * scope are ignored. When a shape that never returned more than one row reaches the
+ * threshold, a {@link NPlusOneReport} with the call site is handed to the handler once.</p>
+ *
+ * <pre>{@code
+ * NPlusOneDetector detector = new NPlusOneDetector()
+ *     .relations(User_.class, Order_.class);   // enables Relation suggestions
+ * SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+ *     .nPlusOneDetector(detector)
+ *     .build();
+ *
+ * // In a test
+ * try (NPlusOneDetector.Scope scope = detector.open()) {
+ *     service.listOrdersWithCustomers();
+ *     scope.assertMaxQueries(2);
+ *     scope.assertNoNPlusOne();
+ * }
+ * }</pre>
+ *
+ * <p><strong>Thread Safety:</strong> Scopes are bound to the thread that opened them; the
+ * detector itself may be shared by any number of threads.</p>
+ */
+public final class NPlusOneDetector implements QueryListener, TransactionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NPlusOneDetector.class);
+
+    private static final int DEFAULT_THRESHOLD = 5;
+    private static final int CALL_SITE_FRAMES = 8;
+    private static final Pattern FROM_TABLE = Pattern.compile("(?i)\\bFROM\\s+([\\w.\"`\\[\\]]+)");
+    private static final CodeSource LIBRARY = NPlusOneDetector.class.getProtectionDomain().getCodeSource();
+
+    private final int threshold;
+    private final Consumer<NPlusOneReport> handler;
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    private final List<RelationField> relations = new CopyOnWriteArrayList<>();
+
+    /**
+     * Create a detector that logs a warning after 5 repeated lookups.
+     */
+    public NPlusOneDetector() {
+        this(DEFAULT_THRESHOLD, report -> LOG.warn(report.describe()));
+    }
+
+    /**
+     * Create a detector with a custom threshold and handler.
+     *
+     * @param threshold number of repeated lookups that triggers a report (at least 2)
+     * @param handler   receives each report once per shape and scope
+     */
+    public NPlusOneDetector(int threshold, Consumer<NPlusOneReport> handler) {
+        if (threshold < 2) {
+            throw new IllegalArgumentException("threshold must be at least 2: " + threshold);
+        }
+        this.threshold = threshold;
+        this.handler = Objects.requireNonNull(handler, "handler must not be null");
+    }
+
+    /**
+     * Register metamodel classes whose {@link Relation} constants are used to suggest
+     * the relation to eager-load.
+     *
+     * @param metamodels generated metamodel classes, e.g. {@code User_.class}
+     * @return this detector
+     */
+    public NPlusOneDetector relations(Class<?>... metamodels) {
+        for (Class<?> metamodel : metamodels) {
+            for (Field field : metamodel.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && Relation.class.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        relations.add(new RelationField(metamodel.getSimpleName() + "." + field.getName(),
+                                (Relation<?, ?>) field.get(null)));
+                    } catch (IllegalAccessException e) {
+                        LOG.debug("Skipping inaccessible relation {}.{}", metamodel.getName(), field.getName());
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    // ==================== SCOPES ====================
+
+    /**
+     * Open a scope on the current thread. Scopes nest; queries count towards every
+     * open scope on the thread.
+     *
+     * @return the new scope, to be closed when the request or test ends
+     */
+    public Scope open() {
+        Scope scope = new Scope(this, current.get(), null);
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * The innermost open scope on the current thread.
+     *
+     * @return the scope, or null if none is open
+     */
+    public Scope currentScope() {
+        return current.get();
+    }
+
+    private void close(Scope scope) {
+        if (current.get() == scope) {
+            if (Objects.nonNull(scope.parent)) {
+                current.set(scope.parent);
+            } else {
+                current.remove();
+            }
+        }
+    }
+
+    @Override
+    public void onBegin(TransactionEvent event) {
+        if (Objects.isNull(current.get())) {
+            current.set(new Scope(this, null, event.transactionId()));
+        }
+    }
+
+    @Override
+    public void onCommit(TransactionEvent event) {
+        closeTransactionScope(event);
+    }
+
+    @Override
+    public void onRollback(TransactionEvent event) {
+        closeTransactionScope(event);
+    }
+
+    private void closeTransactionScope(TransactionEvent event) {
+        Scope scope = current.get();
+        if (Objects.nonNull(scope) && Objects.equals(scope.transactionId, event.transactionId())) {
+            scope.close();
+        }
+    }
+
+    // ==================== RECORDING ====================
+
+    @Override
+    public Set<QueryPhase> phases() {
+        return EnumSet.of(QueryPhase.AFTER);
+    }
+
+    @Override
+    public void afterQuery(QueryEvent event) {
+        Scope scope = current.get();
+        if (Objects.isNull(scope)) {
+            return;
+        }
+        String shape = QueryMetrics.normalize(Objects.requireNonNullElse(event.sql(), ""));
+        int rows = Objects.nonNull(event.affectedRows()) ? event.affectedRows() : 0;
+        boolean select = event.type() == QueryType.SELECT;
+
+        for (Scope s = scope; Objects.nonNull(s); s = s.parent) {
+            NPlusOneReport report = s.record(shape, select, rows);
+            if (Objects.nonNull(report)) {
+                handler.accept(report);
+            }
+        }
+    }
+
+    private NPlusOneReport report(String shape, String table, String parentTable, int count) {
+        return new NPlusOneReport(shape, table, parentTable, count, callSite(), suggest(table, parentTable));
+    }
+
+    private String suggest(String table, String parentTable) {
+        String fallback = null;
+        for (RelationField relation : relations) {
+            if (!table.equalsIgnoreCase(relation.relation().getRelatedTable().getName())) {
+                continue;
+            }
+            if (Objects.nonNull(parentTable)
+                    && parentTable.equalsIgnoreCase(relation.relation().getOwnerTable().getName())) {
+                return relation.name();
+            }
+            if (Objects.isNull(fallback)) {
+                fallback = relation.name();
+            }
+        }
+        return fallback;
+    }
+
+    private static List<StackTraceElement> callSite() {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+                .filter(frame -> !isLibraryFrame(frame.getDeclaringClass()))
+                .limit(CALL_SITE_FRAMES)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean isLibraryFrame(Class<?> type) {
+        String name = type.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+                || name.startsWith("sun.") || name.startsWith("com.sun.")) {
+            return true;
+        }
+        return name.startsWith("sant1ago.dev.suprim.")
+                && Objects.equals(type.getProtectionDomain().getCodeSource(), LIBRARY);
+    }
+
+    static String tableOf(String shape) {
+        Matcher matcher = FROM_TABLE.matcher(shape);
+        if (!matcher.find()) {
+            return null;
+        }
+        String table = matcher.group(1).replaceAll("[\"`\\[\\]]", "");
+        int dot = table.lastIndexOf('.');
+        return (dot >= 0 ? table.substring(dot + 1) : table).toLowerCase(Locale.ROOT);
+    }
+
+    private record RelationField(String name, Relation<?, ?> relation) {
+    }
+
+    // ==================== SCOPE ====================
+
+    /**
+     * Queries observed on one thread between {@link NPlusOneDetector#open()} and
+     * {@link #close()}, or during one transaction.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final NPlusOneDetector detector;
+        private final Scope parent;
+        private final String transactionId;
+        private final Map<String, ShapeCount> shapes = new HashMap<>();
+        private final List<String> queries = new ArrayList<>();
+        private final List<NPlusOneReport> reports = new ArrayList<>();
+        private String lastMultiRowTable;
+
+        private Scope(NPlusOneDetector detector, Scope parent, String transactionId) {
+            this.detector = detector;
+            this.parent = parent;
+            this.transactionId = transactionId;
+        }
+
+        private NPlusOneReport record(String shape, boolean select, int rows) {
+            queries.add(shape);
+            if (!select) {
+                return null;
+            }
+            String table = tableOf(shape);
+            ShapeCount count = shapes.computeIfAbsent(shape, k -> new ShapeCount(lastMultiRowTable));
+            count.executions++;
+            if (rows > 1) {
+                count.multiRow = true;
+                lastMultiRowTable = table;
+            }
+            if (count.reported || count.multiRow || count.executions < detector.threshold
+                    || Objects.isNull(table) || !shape.toUpperCase(Locale.ROOT).contains(" WHERE ")) {
+                return null;
+            }
+            count.reported = true;
+            NPlusOneReport report = detector.report(shape, table, count.parentTable, count.executions);
+            reports.add(report);
+            return report;
+        }
+
+        /**
+         * Number of queries executed in this scope so far.
+         *
+         * @return query count
+         */
+        public int queryCount() {
+            return queries.size();
+        }
+
+        /**
+         * Normalized SQL of every query executed in this scope, in order.
+         *
+         * @return the executed query shapes
+         */
+        public List<String> queries() {
+            return Collections.unmodifiableList(queries);
+        }
+
+        /**
+         * N+1 patterns detected in this scope so far.
+         *
+         * @return the reports
+         */
+        public List<NPlusOneReport> reports() {
+            return Collections.unmodifiableList(reports);
+        }
+
+        /**
+         * Fail if more than {@code max} queries were executed in this scope.
+         *
+         * @param max maximum allowed number of queries
+         * @throws AssertionError listing the executed queries when exceeded
+         */
+        public void assertMaxQueries(int max) {
+            if (queries.size() > max) {
+                throw new AssertionError("Expected at most " + max + " queries but " + queries.size()
+                        + " were executed:\n  " + String.join("\n  ", queries));
+            }
+        }
+
+        /**
+         * Fail if an N+1 pattern was detected in this scope.
+         *
+         * @throws AssertionError describing the first report
+         */
+        public void assertNoNPlusOne() {
+            if (!reports.isEmpty()) {
+                throw new AssertionError(reports.get(0).describe());
+            }
+        }
+
+        /**
+         * Stop collecting queries for this scope and restore the enclosing scope.
+         */
+        @Override
+        public void close() {
+            detector.close(this);
+        }
+    }
+
+    private static final class ShapeCount {
+        final String parentTable;
+        int executions;
+        boolean multiRow;
+        boolean reported;
+
+        ShapeCount(String parentTable) {
+            this.parentTable = parentTable;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A repeated single-row lookup flagged by {@link NPlusOneDetector}.
+ *
+ * @param shape       the normalized SQL of the repeated lookup
+ * @param table       the table being looked up, lower-cased
+ * @param parentTable table of the multi-row query that preceded the lookups, or null if unknown
+ * @param count       number of executions when the report was raised
+ * @param callSite    application stack frames of the lookup that crossed the threshold
+ * @param suggestion  relation to eager-load instead, e.g. {@code User_.PROFILE}, or null if unknown
+ */
+public record NPlusOneReport(
+        String shape,
+        String table,
+        String parentTable,
+        int count,
+        List<StackTraceElement> callSite,
+        String suggestion
+) {
+
+    /**
+     * Human-readable description including the call site and suggested fix.
+     *
+     * @return multi-line description
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder()
+                .append("N+1 query: ").append(count).append(" lookups on '").append(table).append("'");
+        if (Objects.nonNull(parentTable)) {
+            sb.append(" after a query on '").append(parentTable).append("'");
+        }
+        sb.append("\n  SQL: ").append(shape);
+        if (Objects.nonNull(suggestion)) {
+            sb.append("\n  Fix: eager-load with .with(").append(suggestion).append(")");
+        } else {
+            sb.append("\n  Fix: eager-load the relation to '").append(table).append("' with .with(...)");
+        }
+        for (StackTraceElement frame : callSite) {
+            sb.append("\n    at ").append(frame);
+        }
+        return sb.toString();
+    }
+}
@@ -2,13 +2,13 @@ package sant1ago.dev.suprim.jdbc.event;
 
 import java.time.Instant;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Immutable event fired during query lifecycle.
  *
  * <p>Events are created before query execution and completed after.
- * Use {@link #isSuccess()} to check completion status.</p>
+ * Use {@link #isSuccess()} to check completion status. Events are only built when
+ * at least one listener is registered (see {@link EventDispatcher#beginQuery}).</p>
  *
  * <pre>{@code
  * executor.addQueryListener(event -> {
@@ -18,7 +18,7 @@ import java.util.UUID;
  * });
  * }</pre>
  *
- * @param queryId        Unique ID for correlation/tracing
+ * @param queryId        Unique, monotonically assigned ID for correlation/tracing
  * @param sql            The SQL statement
  * @param parameters     Bound parameters
  * @param type           Query type (SELECT/INSERT/UPDATE/DELETE/OTHER)
@@ -27,6 +27,7 @@ import java.util.UUID;
  * @param durationNanos  Execution time in nanoseconds (null before execution)
  * @param affectedRows   Rows affected for INSERT/UPDATE/DELETE (null for SELECT)
  * @param error          Exception if query failed (null on success)
+ * @param timings        Per-phase durations ({@link QueryTimings#NONE} if not measured)
  * @see QueryListener
  * @see QueryType
  */
@@ -39,7 +40,8 @@ public record QueryEvent(
         Instant startTime,
         Long durationNanos,
         Integer affectedRows,
-        Throwable error
+        Throwable error,
+        QueryTimings timings
 ) {
 
     /**
@@ -52,7 +54,7 @@ public record QueryEvent(
      */
     public static QueryEvent before(String sql, Object[] parameters, String connectionName) {
         return new QueryEvent(
-                UUID.randomUUID().toString(),
+                EventIds.next(),
                 sql,
                 parameters,
                 QueryType.fromSql(sql),
@@ -60,7 +62,8 @@ public record QueryEvent(
                 Instant.now(),
                 null,
                 null,
-                null
+                null,
+                QueryTimings.NONE
         );
     }
 
@@ -72,6 +75,18 @@ public record QueryEvent(
      * @return new QueryEvent representing successful completion
      */
     public QueryEvent completed(long durationNanos, Integer affectedRows) {
+        return completed(durationNanos, affectedRows, QueryTimings.NONE);
+    }
+
+    /**
+     * Create completed event with per-phase timings from this before-event.
+     *
+     * @param durationNanos execution time in nanoseconds
+     * @param affectedRows  rows affected (or result count for SELECT)
+     * @param timings       per-phase durations
+     * @return new QueryEvent representing successful completion
+     */
+    public QueryEvent completed(long durationNanos, Integer affectedRows, QueryTimings timings) {
         return new QueryEvent(
                 queryId,
                 sql,
@@ -81,7 +96,8 @@ public record QueryEvent(
                 startTime,
                 durationNanos,
                 affectedRows,
-                null
+                null,
+                timings
         );
     }
 
@@ -102,7 +118,8 @@ public record QueryEvent(
                 startTime,
                 durationNanos,
                 null,
-                error
+                error,
+                timings
         );
     }
 
@@ -1,5 +1,7 @@
 package sant1ago.dev.suprim.jdbc.event;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -33,6 +35,10 @@ import java.util.function.Consumer;
  * });
  * }</pre>
  *
+ * <p>Override {@link #phases()} to subscribe to fewer phases; the executor then skips
+ * building events for phases nobody listens to. The factory methods declare their
+ * phase automatically.</p>
+ *
  * <p><strong>Thread Safety:</strong> Implementations must be thread-safe
  * as events may fire from multiple threads concurrently.</p>
  *
@@ -67,6 +73,16 @@ public interface QueryListener {
     default void onError(QueryEvent event) {
     }
 
+    /**
+     * Phases this listener wants to receive. Read once when the listener is registered.
+     * Default implementation subscribes to all phases.
+     *
+     * @return the subscribed phases
+     */
+    default Set<QueryPhase> phases() {
+        return EnumSet.allOf(QueryPhase.class);
+    }
+
     // ============ Functional Factories ============
 
     /**
@@ -77,6 +93,11 @@ public interface QueryListener {
      */
     static QueryListener onQuery(Consumer<QueryEvent> handler) {
         return new QueryListener() {
+            @Override
+            public Set<QueryPhase> phases() {
+                return EnumSet.of(QueryPhase.AFTER);
+            }
+
             @Override
             public void afterQuery(QueryEvent event) {
                 handler.accept(event);
@@ -93,6 +114,11 @@ public interface QueryListener {
      */
     static QueryListener onSlowQuery(long thresholdMs, Consumer<QueryEvent> handler) {
         return new QueryListener() {
+            @Override
+            public Set<QueryPhase> phases() {
+                return EnumSet.of(QueryPhase.AFTER);
+            }
+
             @Override
             public void afterQuery(QueryEvent event) {
                 if (event.durationMs() >= thresholdMs) {
@@ -110,6 +136,11 @@ public interface QueryListener {
      */
     static QueryListener onQueryError(Consumer<QueryEvent> handler) {
         return new QueryListener() {
+            @Override
+            public Set<QueryPhase> phases() {
+                return EnumSet.of(QueryPhase.ERROR);
+            }
+
             @Override
             public void onError(QueryEvent event) {
                 handler.accept(event);
@@ -126,6 +157,11 @@ public interface QueryListener {
      */
     static QueryListener forType(QueryType type, Consumer<QueryEvent> handler) {
         return new QueryListener() {
+            @Override
+            public Set<QueryPhase> phases() {
+                return EnumSet.of(QueryPhase.AFTER);
+            }
+
             @Override
             public void afterQuery(QueryEvent event) {
                 if (event.type() == type) {
@@ -143,6 +179,11 @@ public interface QueryListener {
      */
     static QueryListener beforeQuery(Consumer<QueryEvent> handler) {
         return new QueryListener() {
+            @Override
+            public Set<QueryPhase> phases() {
+                return EnumSet.of(QueryPhase.BEFORE);
+            }
+
             @Override
             public void beforeQuery(QueryEvent event) {
                 handler.accept(event);
@@ -0,0 +1,318 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Built-in listener that aggregates query metrics per normalized SQL shape.
+ *
+ * <p>Queries that differ only in literal values or the length of an {@code IN} list or
+ * multi-row {@code VALUES} clause share a shape. For every shape and every
+ * {@link QueryType} it keeps call, row and error counts and latency histograms with
+ * p50/p95/p99/max, both end to end and per phase (acquire, prepare, execute, fetch,
+ * eager load; see {@link QueryTimings}).</p>
+ *
+ * <pre>{@code
+ * QueryMetrics metrics = new QueryMetrics();
+ * SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+ *     .addQueryListener(metrics)
+ *     .build();
+ *
+ * // Top 10 slowest shapes by p99
+ * for (QueryShapeMetrics m : metrics.slowest(10)) {
+ *     log.info("{} calls={} p99={}ms", m.shape(), m.calls(), m.latency().p99Ms());
+ * }
+ *
+ * // Export to any metrics library, e.g. a Micrometer gauge per shape
+ * metrics.snapshot().forEach(m -> registry.gauge("suprim.query.p99",
+ *     Tags.of("shape", m.shape()), m, s -> s.latency().p99Ms()));
+ * }</pre>
+ *
+ * <p>The number of distinct shapes is bounded; once {@code maxShapes} is reached, new
+ * shapes are aggregated under {@link #OTHER_SHAPE}.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Recording is lock-free and safe from any number of
+ * threads. Snapshots are not atomic across shapes.</p>
+ */
+public final class QueryMetrics implements QueryListener {
+
+    /**
+     * Shape that collects queries recorded after {@code maxShapes} was reached.
+     */
+    public static final String OTHER_SHAPE = "<other>";
+
+    private static final int DEFAULT_MAX_SHAPES = 256;
+    private static final int MAX_NORMALIZED_CACHE = 1024;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("(\\((?:\\?\\s*,\\s*)*\\?\\))(?:\\s*,\\s*\\1)+");
+
+    private final int maxShapes;
+    private final Map<ShapeKey, Recorder> shapes = new ConcurrentHashMap<>();
+    private final Map<QueryType, Recorder> types = new EnumMap<>(QueryType.class);
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final LatencyHistogram acquire = new LatencyHistogram();
+
+    /**
+     * Create metrics tracking up to 256 distinct shapes.
+     */
+    public QueryMetrics() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * Create metrics tracking up to {@code maxShapes} distinct shapes.
+     *
+     * @param maxShapes maximum number of shapes before new ones are merged into {@link #OTHER_SHAPE}
+     */
+    public QueryMetrics(int maxShapes) {
+        if (maxShapes < 1) {
+            throw new IllegalArgumentException("maxShapes must be positive: " + maxShapes);
+        }
+        this.maxShapes = maxShapes;
+        for (QueryType type : QueryType.values()) {
+            types.put(type, new Recorder());
+        }
+    }
+
+    // ==================== LISTENER ====================
+
+    @Override
+    public Set<QueryPhase> phases() {
+        return EnumSet.of(QueryPhase.AFTER, QueryPhase.ERROR);
+    }
+
+    @Override
+    public void afterQuery(QueryEvent event) {
+        long rows = Objects.nonNull(event.affectedRows()) ? event.affectedRows() : 0;
+        long duration = Objects.nonNull(event.durationNanos()) ? event.durationNanos() : -1;
+        QueryTimings timings = event.timings();
+
+        types.get(event.type()).success(duration, rows, timings);
+        recorderFor(event).success(duration, rows, timings);
+        recordAcquire(timings);
+    }
+
+    @Override
+    public void onError(QueryEvent event) {
+        types.get(event.type()).errors.increment();
+        recorderFor(event).errors.increment();
+        recordAcquire(event.timings());
+    }
+
+    private void recordAcquire(QueryTimings timings) {
+        if (Objects.nonNull(timings) && timings.hasAcquire()) {
+            acquire.record(timings.acquireNanos());
+        }
+    }
+
+    private Recorder recorderFor(QueryEvent event) {
+        ShapeKey key = new ShapeKey(normalizeCached(event.sql()), event.type());
+        Recorder recorder = shapes.get(key);
+        if (Objects.nonNull(recorder)) {
+            return recorder;
+        }
+        if (shapes.size() >= maxShapes) {
+            key = new ShapeKey(OTHER_SHAPE, event.type());
+        }
+        return shapes.computeIfAbsent(key, k -> new Recorder());
+    }
+
+    private String normalizeCached(String sql) {
+        if (Objects.isNull(sql)) {
+            return "";
+        }
+        String shape = normalized.get(sql);
+        if (Objects.isNull(shape)) {
+            shape = normalize(sql);
+            if (normalized.size() < MAX_NORMALIZED_CACHE) {
+                normalized.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * Snapshot of every tracked shape, most frequently executed first.
+     *
+     * @return metrics per shape
+     */
+    public List<QueryShapeMetrics> snapshot() {
+        List<QueryShapeMetrics> result = new ArrayList<>(shapes.size());
+        shapes.forEach((key, recorder) -> result.add(recorder.snapshot(key.shape(), key.type())));
+        result.sort(Comparator.comparingLong(QueryShapeMetrics::calls).reversed());
+        return result;
+    }
+
+    /**
+     * The shapes with the highest p99 latency.
+     *
+     * @param limit maximum number of shapes to return
+     * @return up to {@code limit} shapes, slowest first
+     */
+    public List<QueryShapeMetrics> slowest(int limit) {
+        return snapshot().stream()
+                .sorted(Comparator.comparingLong((QueryShapeMetrics m) -> m.latency().p99Nanos()).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Totals across all shapes of one statement type. The shape of the returned
+     * metrics is the type's name.
+     *
+     * @param type the statement type
+     * @return aggregated metrics for the type
+     */
+    public QueryShapeMetrics byType(QueryType type) {
+        return types.get(type).snapshot(type.name(), type);
+    }
+
+    /**
+     * Time spent obtaining connections from the DataSource, across all queries that
+     * measured it. Queries inside a transaction reuse its connection and are not included.
+     *
+     * @return connection acquisition latency
+     */
+    public LatencySummary connectionAcquire() {
+        return acquire.summary();
+    }
+
+    /**
+     * Discard all recorded metrics.
+     */
+    public void reset() {
+        shapes.clear();
+        types.values().forEach(Recorder::reset);
+        acquire.reset();
+    }
+
+    // ==================== NORMALIZATION ====================
+
+    /**
+     * Reduce SQL to its shape: string and numeric literals become {@code ?},
+     * {@code IN (?, ?, ...)} lists and repeated {@code VALUES} tuples collapse to one
+     * element, and whitespace is collapsed.
+     *
+     * @param sql the SQL statement
+     * @return the normalized shape
+     */
+    public static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                out.append('?');
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (c == ':' && i + 1 < length && Character.isJavaIdentifierStart(sql.charAt(i + 1))
+                    && (out.isEmpty() || out.charAt(out.length() - 1) != ':')) {
+                i++;
+                while (i < length && Character.isJavaIdentifierPart(sql.charAt(i))) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        String shape = WHITESPACE.matcher(out).replaceAll(" ").trim();
+        shape = IN_LIST.matcher(shape).replaceAll("IN (?)");
+        return REPEATED_TUPLES.matcher(shape).replaceAll("$1");
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.isEmpty()) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    // ==================== RECORDERS ====================
+
+    private record ShapeKey(String shape, QueryType type) {
+    }
+
+    private static final class Recorder {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram acquire = new LatencyHistogram();
+        final LatencyHistogram prepare = new LatencyHistogram();
+        final LatencyHistogram execute = new LatencyHistogram();
+        final LatencyHistogram fetch = new LatencyHistogram();
+        final LatencyHistogram eager = new LatencyHistogram();
+
+        void success(long durationNanos, long rowCount, QueryTimings timings) {
+            calls.increment();
+            rows.add(rowCount);
+            latency.record(durationNanos);
+            if (Objects.nonNull(timings)) {
+                // Unmeasured phases are -1 and ignored by record()
+                acquire.record(timings.acquireNanos());
+                prepare.record(timings.prepareNanos());
+                execute.record(timings.executeNanos());
+                fetch.record(timings.fetchNanos());
+                eager.record(timings.eagerNanos());
+            }
+        }
+
+        QueryShapeMetrics snapshot(String shape, QueryType type) {
+            return new QueryShapeMetrics(shape, type, calls.sum(), errors.sum(), rows.sum(),
+                    latency.summary(), acquire.summary(), prepare.summary(), execute.summary(),
+                    fetch.summary(), eager.summary());
+        }
+
+        void reset() {
+            calls.reset();
+            errors.reset();
+            rows.reset();
+            latency.reset();
+            acquire.reset();
+            prepare.reset();
+            execute.reset();
+            fetch.reset();
+            eager.reset();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+/**
+ * Query lifecycle phase a {@link QueryListener} can subscribe to.
+ *
+ * @see QueryListener#phases()
+ */
+public enum QueryPhase {
+    /** Before the statement is executed */
+    BEFORE,
+    /** After the statement completed successfully */
+    AFTER,
+    /** After the statement failed */
+    ERROR
+}
@@ -0,0 +1,14 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import java.time.Instant;
+
+/**
+ * Execution plan captured for a slow query by {@link SlowQueryExplainer}.
+ *
+ * @param event      the completed query event that triggered the capture
+ * @param shape      the normalized SQL (see {@link QueryMetrics#normalize(String)})
+ * @param plan       the plan as returned by the database; JSON on PostgreSQL and MySQL
+ * @param capturedAt when the plan was captured
+ */
+public record QueryPlan(QueryEvent event, String shape, String plan, Instant capturedAt) {
+}
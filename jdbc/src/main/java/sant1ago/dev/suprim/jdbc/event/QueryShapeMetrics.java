@@ -0,0 +1,43 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+/**
+ * Aggregated metrics of one normalized SQL shape.
+ *
+ * <p>Phase summaries only count executions that measured the phase; for example
+ * {@code acquire} excludes queries run inside a transaction.</p>
+ *
+ * @param shape   the SQL with literals and parameter lists collapsed (see {@link QueryMetrics#normalize(String)})
+ * @param type    the statement type
+ * @param calls   successful executions
+ * @param errors  failed executions
+ * @param rows    rows returned (SELECT) or affected (DML) across all successful executions
+ * @param latency end-to-end latency of successful executions
+ * @param acquire time spent obtaining a connection
+ * @param prepare time spent preparing the statement and binding parameters
+ * @param execute time spent executing the statement
+ * @param fetch   time spent iterating and mapping rows
+ * @param eager   time spent loading eager relations
+ * @see QueryTimings
+ */
+public record QueryShapeMetrics(
+        String shape,
+        QueryType type,
+        long calls,
+        long errors,
+        long rows,
+        LatencySummary latency,
+        LatencySummary acquire,
+        LatencySummary prepare,
+        LatencySummary execute,
+        LatencySummary fetch,
+        LatencySummary eager
+) {
+
+    /**
+     * Fraction of executions that failed, between 0.0 and 1.0.
+     */
+    public double errorRatio() {
+        long total = calls + errors;
+        return total == 0 ? 0.0 : (double) errors / total;
+    }
+}
@@ -0,0 +1,124 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+/**
+ * Mutable stopwatch that splits a query's duration into phases.
+ *
+ * <p>Created per query only when listeners are registered; otherwise the shared
+ * {@link #DISABLED} instance turns every mark into a field read.</p>
+ *
+ * <pre>{@code
+ * QueryTimer timer = dispatcher.startTimer(event);
+ * Connection conn = dataSource.getConnection();
+ * timer.acquired();
+ * PreparedStatement ps = conn.prepareStatement(sql);
+ * timer.prepared();
+ * ResultSet rs = ps.executeQuery();
+ * timer.executed();
+ * while (rs.next()) { ... }
+ * timer.fetched();
+ * eagerLoader.loadRelations(results, specs);
+ * timer.eagerLoaded();
+ * dispatcher.completeQuery(event, duration, rows, timer);
+ * }</pre>
+ *
+ * <p>Not thread-safe; a timer belongs to the thread running its query.</p>
+ */
+public final class QueryTimer {
+
+    /**
+     * No-op timer used when no listeners are registered.
+     */
+    public static final QueryTimer DISABLED = new QueryTimer(false);
+
+    private final boolean enabled;
+    private long lastMark;
+    private long acquireNanos = -1;
+    private long prepareNanos = -1;
+    private long executeNanos = -1;
+    private long fetchNanos = -1;
+    private long eagerNanos = -1;
+
+    private QueryTimer(boolean enabled) {
+        this.enabled = enabled;
+        this.lastMark = enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Start a timer at the current instant.
+     *
+     * @return a new enabled timer
+     */
+    public static QueryTimer start() {
+        return new QueryTimer(true);
+    }
+
+    /**
+     * Check whether this timer records anything.
+     *
+     * @return false for {@link #DISABLED}
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Mark the end of connection acquisition.
+     */
+    public void acquired() {
+        if (enabled) {
+            acquireNanos = lap();
+        }
+    }
+
+    /**
+     * Mark the end of statement preparation and parameter binding.
+     */
+    public void prepared() {
+        if (enabled) {
+            prepareNanos = lap();
+        }
+    }
+
+    /**
+     * Mark the end of statement execution (start of row fetching).
+     */
+    public void executed() {
+        if (enabled) {
+            executeNanos = lap();
+        }
+    }
+
+    /**
+     * Mark the end of row fetching and mapping.
+     */
+    public void fetched() {
+        if (enabled) {
+            fetchNanos = lap();
+        }
+    }
+
+    /**
+     * Mark the end of eager relation loading.
+     */
+    public void eagerLoaded() {
+        if (enabled) {
+            eagerNanos = lap();
+        }
+    }
+
+    /**
+     * Snapshot the recorded phases.
+     *
+     * @return immutable timings, or {@link QueryTimings#NONE} when disabled
+     */
+    public QueryTimings toTimings() {
+        return enabled ? new QueryTimings(acquireNanos, prepareNanos, executeNanos, fetchNanos, eagerNanos) : QueryTimings.NONE;
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - lastMark;
+        lastMark = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,73 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+/**
+ * Per-phase durations of a completed query, in nanoseconds.
+ *
+ * <p>Acquire, prepare, execute and fetch add up to the event's
+ * {@link QueryEvent#durationNanos()}. Eager loading runs after the statement has
+ * been timed and is reported on top of it; the related queries it issues also fire
+ * events of their own.</p>
+ *
+ * <p>A phase that was not measured (e.g. connection acquisition inside a
+ * transaction, which reuses its connection, or eager loading of a query without
+ * {@code with(...)}) is reported as {@code -1}.</p>
+ *
+ * @param acquireNanos time spent obtaining a connection from the DataSource
+ * @param prepareNanos time spent preparing the statement and binding parameters
+ * @param executeNanos time spent in {@code executeQuery()} / {@code executeUpdate()}
+ * @param fetchNanos   time spent iterating the ResultSet and mapping rows
+ * @param eagerNanos   time spent loading eager relations
+ * @see QueryTimer
+ */
+public record QueryTimings(long acquireNanos, long prepareNanos, long executeNanos, long fetchNanos, long eagerNanos) {
+
+    /**
+     * Timings of a query whose phases were not measured.
+     */
+    public static final QueryTimings NONE = new QueryTimings(-1, -1, -1, -1, -1);
+
+    /**
+     * Check whether connection acquisition was measured.
+     *
+     * @return true if {@link #acquireNanos()} is available
+     */
+    public boolean hasAcquire() {
+        return acquireNanos >= 0;
+    }
+
+    /**
+     * Check whether statement preparation was measured.
+     *
+     * @return true if {@link #prepareNanos()} is available
+     */
+    public boolean hasPrepare() {
+        return prepareNanos >= 0;
+    }
+
+    /**
+     * Check whether statement execution was measured.
+     *
+     * @return true if {@link #executeNanos()} is available
+     */
+    public boolean hasExecute() {
+        return executeNanos >= 0;
+    }
+
+    /**
+     * Check whether row fetching and mapping was measured.
+     *
+     * @return true if {@link #fetchNanos()} is available
+     */
+    public boolean hasFetch() {
+        return fetchNanos >= 0;
+    }
+
+    /**
+     * Check whether eager loading was measured.
+     *
+     * @return true if {@link #eagerNanos()} is available
+     */
+    public boolean hasEager() {
+        return eagerNanos >= 0;
+    }
+}
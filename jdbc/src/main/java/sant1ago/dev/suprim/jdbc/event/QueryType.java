@@ -1,6 +1,9 @@
 package sant1ago.dev.suprim.jdbc.event;
 
+import java.util.Locale;
 import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Type of SQL query being executed.
@@ -12,6 +15,9 @@ public enum QueryType {
     DELETE,
     OTHER;
 
+    // Data-modifying keywords in a CTE; FOR UPDATE / FOR NO KEY UPDATE are locking reads
+    private static final Pattern CTE_WRITE = Pattern.compile("(?<!FOR\\s)(?<!KEY\\s)\\b(INSERT|UPDATE|DELETE|MERGE)\\b");
+
     /**
      * Determine query type from SQL string.
      *
@@ -22,17 +28,24 @@ public enum QueryType {
         if (Objects.isNull(sql) || sql.isBlank()) {
             return OTHER;
         }
-        String upper = sql.trim().toUpperCase();
+        String upper = sql.trim().toUpperCase(Locale.ROOT);
         if (upper.startsWith("SELECT")) return SELECT;
         if (upper.startsWith("INSERT")) return INSERT;
         if (upper.startsWith("UPDATE")) return UPDATE;
         if (upper.startsWith("DELETE")) return DELETE;
         if (upper.startsWith("WITH")) {
-            // CTEs - check what follows
+            // CTEs - any data-modifying part makes the whole statement a write,
+            // e.g. WITH moved AS (DELETE ... RETURNING *) SELECT * FROM moved
+            Matcher write = CTE_WRITE.matcher(upper);
+            if (write.find()) {
+                return switch (write.group(1)) {
+                    case "INSERT" -> INSERT;
+                    case "UPDATE" -> UPDATE;
+                    case "DELETE" -> DELETE;
+                    default -> OTHER;
+                };
+            }
             if (upper.contains("SELECT")) return SELECT;
-            if (upper.contains("INSERT")) return INSERT;
-            if (upper.contains("UPDATE")) return UPDATE;
-            if (upper.contains("DELETE")) return DELETE;
         }
         return OTHER;
     }
@@ -0,0 +1,375 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sant1ago.dev.suprim.jdbc.AsyncExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Opt-in listener that captures the execution plan of slow queries.
+ *
+ * <p>For every successful query slower than the threshold, the statement is re-run as
+ * {@code EXPLAIN (FORMAT JSON)} on PostgreSQL, {@code EXPLAIN FORMAT=JSON} on MySQL and
+ * MariaDB, or plain {@code EXPLAIN} elsewhere, with the original parameters bound. Plans
+ * are captured in the background over a separate connection, on virtual threads on JDK 21+
+ * and a daemon thread otherwise, so the caller is never delayed and its transaction is never
+ * touched. Captures run one at a time, holding at most one pooled connection. EXPLAIN without ANALYZE does not execute
+ * the statement.</p>
+ *
+ * <pre>{@code
+ * SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, 200)
+ *     .onPlan(plan -> log.warn("Slow query {}ms\n{}", plan.event().durationMs(), plan.plan()));
+ * SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+ *     .addQueryListener(explainer)
+ *     .build();
+ *
+ * explainer.plans("SELECT * FROM orders WHERE customer_id = ?");  // latest plans for the shape
+ * }</pre>
+ *
+ * <p>Captures are rate-limited ({@link #maxPerSecond(int)}), at most one capture per shape
+ * is in flight, and requests beyond a small backlog are dropped rather than queued. The latest plans of
+ * each shape are kept in a bounded ring buffer ({@link #plansPerShape(int)}).</p>
+ *
+ * <p><strong>Thread Safety:</strong> Safe to share across threads. Call {@link #close()}
+ * to stop capturing.</p>
+ */
+public final class SlowQueryExplainer implements QueryListener, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryExplainer.class);
+
+    private static final int MAX_PENDING = 16;
+    private static final int MAX_SHAPES = 128;
+    private static final int DEFAULT_MAX_PER_SECOND = 2;
+    private static final int DEFAULT_PLANS_PER_SHAPE = 5;
+
+    private final DataSource dataSource;
+    private final long thresholdNanos;
+    private final ExecutorService worker;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock captureLock = new ReentrantLock();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextPermitNanos = new AtomicLong(System.nanoTime());
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ArrayDeque<QueryPlan>> plans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArrayDeque<QueryPlan>> eldest) {
+            return size() > MAX_SHAPES;
+        }
+    };
+
+    private volatile long permitIntervalNanos = TimeUnit.SECONDS.toNanos(1) / DEFAULT_MAX_PER_SECOND;
+    private volatile int plansPerShape = DEFAULT_PLANS_PER_SHAPE;
+    private volatile Consumer<QueryPlan> handler = plan -> {};
+    private volatile String explainPrefix;
+
+    /**
+     * Create an explainer for queries slower than {@code thresholdMs}.
+     *
+     * @param dataSource  the DataSource to obtain separate connections from
+     * @param thresholdMs minimum duration in milliseconds that triggers a capture
+     */
+    public SlowQueryExplainer(DataSource dataSource, long thresholdMs) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource must not be null");
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.worker = AsyncExecutor.newVirtualThreadExecutor().orElseGet(SlowQueryExplainer::platformWorker);
+    }
+
+    /**
+     * Single daemon thread for runtimes without virtual threads, stopping when idle.
+     */
+    private static ExecutorService platformWorker() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "suprim-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Limit the number of plan captures per second. Defaults to 2.
+     *
+     * @param maxPerSecond maximum captures per second
+     * @return this explainer
+     */
+    public SlowQueryExplainer maxPerSecond(int maxPerSecond) {
+        if (maxPerSecond < 1) {
+            throw new IllegalArgumentException("maxPerSecond must be positive: " + maxPerSecond);
+        }
+        this.permitIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+        return this;
+    }
+
+    /**
+     * Number of plans kept per SQL shape. Defaults to 5.
+     *
+     * @param plansPerShape ring buffer size per shape
+     * @return this explainer
+     */
+    public SlowQueryExplainer plansPerShape(int plansPerShape) {
+        if (plansPerShape < 1) {
+            throw new IllegalArgumentException("plansPerShape must be positive: " + plansPerShape);
+        }
+        this.plansPerShape = plansPerShape;
+        return this;
+    }
+
+    /**
+     * Handler invoked on the background thread for every captured plan.
+     *
+     * @param handler the handler to invoke
+     * @return this explainer
+     */
+    public SlowQueryExplainer onPlan(Consumer<QueryPlan> handler) {
+        this.handler = Objects.requireNonNull(handler, "handler must not be null");
+        return this;
+    }
+
+    // ==================== LISTENER ====================
+
+    @Override
+    public Set<QueryPhase> phases() {
+        return EnumSet.of(QueryPhase.AFTER);
+    }
+
+    @Override
+    public void afterQuery(QueryEvent event) {
+        if (Objects.isNull(event.durationNanos()) || event.durationNanos() < thresholdNanos
+                || event.type() == QueryType.OTHER || worker.isShutdown()) {
+            return;
+        }
+        String shape = QueryMetrics.normalize(event.sql());
+        if (!inFlight.add(shape)) {
+            return;
+        }
+        if (!tryAcquirePermit()) {
+            inFlight.remove(shape);
+            return;
+        }
+        // Drop captures beyond the backlog, releasing their shape
+        if (pending.incrementAndGet() > MAX_PENDING) {
+            release(shape);
+            return;
+        }
+        try {
+            worker.execute(new Capture(event, shape));
+        } catch (RejectedExecutionException e) {
+            // Closed concurrently
+            release(shape);
+        }
+    }
+
+    private void release(String shape) {
+        pending.decrementAndGet();
+        inFlight.remove(shape);
+    }
+
+    private boolean tryAcquirePermit() {
+        long now = System.nanoTime();
+        long next = nextPermitNanos.get();
+        return now - next >= 0 && nextPermitNanos.compareAndSet(next, now + permitIntervalNanos);
+    }
+
+    private QueryPlan capture(QueryEvent event, String shape) {
+        try (Connection conn = dataSource.getConnection()) {
+            // Pooled connections keep their flags, so hand this one back as it came
+            boolean previousReadOnly = conn.isReadOnly();
+            conn.setReadOnly(true);
+            try {
+                return explain(conn, event, shape);
+            } finally {
+                restoreReadOnlyQuietly(conn, previousReadOnly);
+            }
+        } catch (SQLException | RuntimeException e) {
+            LOG.debug("Could not capture plan for query {}: {}", event.queryId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private QueryPlan explain(Connection conn, QueryEvent event, String shape) throws SQLException {
+        String sql = explainPrefix(conn) + event.sql();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            Object[] parameters = Objects.requireNonNullElse(event.parameters(), new Object[0]);
+            for (int i = 0; i < parameters.length; i++) {
+                ps.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    if (!plan.isEmpty()) {
+                        plan.append('\n');
+                    }
+                    plan.append(rs.getString(1));
+                }
+                QueryPlan captured = new QueryPlan(event, shape, plan.toString(), Instant.now());
+                store(captured);
+                return captured;
+            }
+        }
+    }
+
+    private static void restoreReadOnlyQuietly(Connection conn, boolean readOnly) {
+        try {
+            conn.setReadOnly(readOnly);
+        } catch (SQLException ignored) {
+            // Ignore restore errors
+        }
+    }
+
+    private String explainPrefix(Connection conn) throws SQLException {
+        String prefix = explainPrefix;
+        if (Objects.isNull(prefix)) {
+            prefix = explainPrefix(conn.getMetaData().getDatabaseProductName());
+            explainPrefix = prefix;
+        }
+        return prefix;
+    }
+
+    static String explainPrefix(String productName) {
+        String product = Objects.requireNonNullElse(productName, "").toLowerCase(Locale.ROOT);
+        if (product.contains("postgres")) {
+            return "EXPLAIN (FORMAT JSON) ";
+        }
+        if (product.contains("mysql") || product.contains("mariadb")) {
+            return "EXPLAIN FORMAT=JSON ";
+        }
+        return "EXPLAIN ";
+    }
+
+    private final class Capture implements Runnable {
+        private final QueryEvent event;
+        private final String shape;
+
+        Capture(QueryEvent event, String shape) {
+            this.event = event;
+            this.shape = shape;
+        }
+
+        @Override
+        public void run() {
+            QueryPlan plan = null;
+            try {
+                captureLock.lockInterruptibly();
+                try {
+                    plan = capture(event, shape);
+                } finally {
+                    captureLock.unlock();
+                }
+            } catch (InterruptedException e) {
+                // Closed while waiting for the previous capture
+                Thread.currentThread().interrupt();
+            } finally {
+                release(shape);
+            }
+            if (Objects.nonNull(plan)) {
+                notifyHandler(plan);
+            }
+        }
+    }
+
+    private void store(QueryPlan plan) {
+        lock.lock();
+        try {
+            ArrayDeque<QueryPlan> buffer = plans.computeIfAbsent(plan.shape(), k -> new ArrayDeque<>());
+            buffer.addLast(plan);
+            while (buffer.size() > plansPerShape) {
+                buffer.removeFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void notifyHandler(QueryPlan plan) {
+        try {
+            handler.accept(plan);
+        } catch (Exception e) {
+            LOG.warn("Plan handler threw exception: {}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== INSPECTION ====================
+
+    /**
+     * Latest plans captured for a SQL shape, oldest first.
+     *
+     * @param shape the normalized SQL, or raw SQL which is normalized first
+     * @return the captured plans, possibly empty
+     */
+    public List<QueryPlan> plans(String shape) {
+        String normalized = QueryMetrics.normalize(shape);
+        lock.lock();
+        try {
+            ArrayDeque<QueryPlan> buffer = plans.get(normalized);
+            return Objects.isNull(buffer) ? List.of() : List.copyOf(buffer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Most recent plan of every shape, most recently captured or inspected first.
+     *
+     * @return the latest plan per shape
+     */
+    public List<QueryPlan> latest() {
+        lock.lock();
+        try {
+            List<QueryPlan> result = new ArrayList<>(plans.size());
+            plans.values().forEach(buffer -> result.add(buffer.peekLast()));
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discard all captured plans.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            plans.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop capturing. Pending captures are discarded.
+     */
+    @Override
+    public void close() {
+        worker.shutdownNow();
+    }
+}
@@ -2,7 +2,6 @@ package sant1ago.dev.suprim.jdbc.event;
 
 import java.time.Instant;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Immutable event fired during transaction lifecycle.
@@ -24,6 +23,7 @@ import java.util.UUID;
  * @param timestamp      When event occurred
  * @param savepointName  Name of savepoint (for savepoint events, null otherwise)
  * @param durationNanos  Total transaction time (for COMMIT/ROLLBACK, null otherwise)
+ * @param attempt        1-based attempt number; greater than 1 when a {@code RetryPolicy} re-runs the transaction
  * @see TransactionListener
  * @see TransactionEventType
  */
@@ -33,7 +33,8 @@ public record TransactionEvent(
         String connectionName,
         Instant timestamp,
         String savepointName,
-        Long durationNanos
+        Long durationNanos,
+        int attempt
 ) {
 
     /**
@@ -43,13 +44,25 @@ public record TransactionEvent(
      * @return new TransactionEvent for transaction start
      */
     public static TransactionEvent begin(String connectionName) {
+        return begin(connectionName, 1);
+    }
+
+    /**
+     * Create a BEGIN event for an attempt of a retried transaction.
+     *
+     * @param connectionName connection/datasource name
+     * @param attempt        1-based attempt number
+     * @return new TransactionEvent for transaction start
+     */
+    public static TransactionEvent begin(String connectionName, int attempt) {
         return new TransactionEvent(
-                UUID.randomUUID().toString(),
+                EventIds.next(),
                 TransactionEventType.BEGIN,
                 connectionName,
                 Instant.now(),
                 null,
-                null
+                null,
+                attempt
         );
     }
 
@@ -66,7 +79,8 @@ public record TransactionEvent(
                 connectionName,
                 Instant.now(),
                 null,
-                durationNanos
+                durationNanos,
+                attempt
         );
     }
 
@@ -83,7 +97,8 @@ public record TransactionEvent(
                 connectionName,
                 Instant.now(),
                 null,
-                durationNanos
+                durationNanos,
+                attempt
         );
     }
 
@@ -100,7 +115,8 @@ public record TransactionEvent(
                 connectionName,
                 Instant.now(),
                 savepointName,
-                null
+                null,
+                attempt
         );
     }
 
@@ -117,7 +133,8 @@ public record TransactionEvent(
                 connectionName,
                 Instant.now(),
                 savepointName,
-                null
+                null,
+                attempt
         );
     }
 
@@ -134,10 +151,20 @@ public record TransactionEvent(
                 connectionName,
                 Instant.now(),
                 savepointName,
-                null
+                null,
+                attempt
         );
     }
 
+    /**
+     * Check whether this event belongs to a retry of a failed attempt.
+     *
+     * @return true if {@link #attempt()} is greater than 1
+     */
+    public boolean isRetry() {
+        return attempt > 1;
+    }
+
     /**
      * Get transaction duration in milliseconds.
      *
@@ -3,6 +3,7 @@ package sant1ago.dev.suprim.jdbc.exception;
 import sant1ago.dev.suprim.jdbc.SuprimException;
 
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.Objects;
 
 /**
@@ -59,6 +60,11 @@ public final class ExceptionTranslator {
         int errorCode = cause.getErrorCode();
         String message = cause.getMessage();
 
+        // Drivers that report timeouts with their own exception type (MySQL, SQL Server)
+        if (cause instanceof SQLTimeoutException) {
+            return QueryTimeoutException.fromSQLException(sql, parameters, cause);
+        }
+
         // First, try SQL state based translation
         if (Objects.nonNull(sqlState)) {
             SuprimException translated = translateBySqlState(sql, parameters, sqlState, cause);
@@ -103,6 +109,8 @@ public final class ExceptionTranslator {
             case "40" -> translateTransactionRollback(sql, sqlState, cause);
             case "42" -> QueryException.executionFailed(sql, parameters, cause);
             case "53" -> translateInsufficientResources(sql, cause);
+            // Timeouts arrive as SQLTimeoutException, from the driver or from the statement guard
+            // that applied the timeout; the message cannot tell them apart from a cancel
             case "57" -> QueryException.cancelled(sql);
             default -> null;
         };
@@ -186,6 +194,11 @@ public final class ExceptionTranslator {
             }
         }
 
+        // MySQL max_execution_time (error 3024, SQL state HY000)
+        if (lowerMessage.contains("execution time exceeded")) {
+            return QueryTimeoutException.fromSQLException(sql, parameters, cause);
+        }
+
         // Deadlock
         if (lowerMessage.contains("deadlock")) {
             return DeadlockException.fromSQLException(sql, cause);
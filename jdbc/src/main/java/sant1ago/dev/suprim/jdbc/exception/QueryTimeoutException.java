@@ -0,0 +1,81 @@
+package sant1ago.dev.suprim.jdbc.exception;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Exception thrown when a statement runs past its timeout or the ambient deadline.
+ *
+ * <p>Raised for driver timeouts ({@code Statement.setQueryTimeout}, also when the driver
+ * enforces it by cancelling the statement, MySQL {@code max_execution_time}, PostgreSQL
+ * {@code statement_timeout}) and before execution when a
+ * {@link sant1ago.dev.suprim.jdbc.Deadline} has already expired. Statements cancelled for
+ * other reasons raise a plain {@link QueryException}.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try {
+ *     return executor.query(reportQuery.timeout(Duration.ofSeconds(5)), mapper);
+ * } catch (QueryTimeoutException e) {
+ *     return cachedReport();
+ * }
+ * }</pre>
+ */
+public class QueryTimeoutException extends QueryException {
+
+    protected QueryTimeoutException(Builder builder) {
+        super(builder);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static QueryTimeoutException fromSQLException(String sql, Object[] parameters, SQLException cause) {
+        return builder()
+                .message("Query execution timed out")
+                .sql(sql)
+                .parameters(parameters)
+                .cause(cause)
+                .build();
+    }
+
+    public static QueryTimeoutException deadlineExceeded(String sql, Duration overdue) {
+        return builder()
+                .message("Deadline exceeded by " + overdue.toMillis() + " ms before the statement was sent")
+                .sql(sql)
+                .build();
+    }
+
+    public static class Builder extends QueryException.Builder {
+        @Override
+        public Builder message(String message) {
+            super.message(message);
+            return this;
+        }
+
+        @Override
+        public Builder sql(String sql) {
+            super.sql(sql);
+            return this;
+        }
+
+        @Override
+        public Builder parameters(Object[] parameters) {
+            super.parameters(parameters);
+            return this;
+        }
+
+        @Override
+        public Builder cause(Throwable cause) {
+            super.cause(cause);
+            return this;
+        }
+
+        @Override
+        public QueryTimeoutException build() {
+            this.category(ErrorCategory.QUERY_CANCELED);
+            return new QueryTimeoutException(this);
+        }
+    }
+}
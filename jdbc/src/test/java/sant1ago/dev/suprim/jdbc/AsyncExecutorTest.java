@@ -0,0 +1,223 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.jdbc.event.QueryEvent;
+import sant1ago.dev.suprim.jdbc.event.QueryListener;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CompletableFuture API exposed by SuprimExecutor.async().
+ */
+@DisplayName("AsyncExecutor Tests")
+class AsyncExecutorTest {
+
+    private static final QueryResult SLOW = new QueryResult("SELECT SUM(X) FROM SYSTEM_RANGE(1, 10000000000)", Map.of());
+
+    private static JdbcDataSource dataSource;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:async_test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS as_items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            conn.createStatement().execute("DELETE FROM as_items");
+            conn.createStatement().execute("INSERT INTO as_items VALUES (1, 'alpha'), (2, 'beta'), (3, 'gamma')");
+        }
+    }
+
+    private static QueryResult nameById(long id) {
+        return new QueryResult("SELECT name FROM as_items WHERE id = :id", Map.of("id", id));
+    }
+
+    @Nested
+    @DisplayName("operations")
+    class OperationTests {
+
+        @Test
+        @DisplayName("fans out independent queries and combines the results")
+        void fanOut_combinesResults() {
+            SuprimExecutor executor = SuprimExecutor.create(dataSource);
+
+            CompletableFuture<Optional<String>> first = executor.async().queryOne(nameById(1), rs -> rs.getString(1));
+            CompletableFuture<List<String>> all = executor.async().query(
+                    new QueryResult("SELECT name FROM as_items ORDER BY id", Map.of()), rs -> rs.getString(1));
+            CompletableFuture<Integer> updated = executor.async().execute(
+                    new QueryResult("UPDATE as_items SET name = name WHERE id > :id", Map.of("id", 1L)));
+
+            CompletableFuture.allOf(first, all, updated).join();
+
+            assertEquals("alpha", first.join().orElseThrow());
+            assertEquals(List.of("alpha", "beta", "gamma"), all.join());
+            assertEquals(2, updated.join());
+        }
+
+        @Test
+        @DisplayName("fires query events on the worker thread")
+        void queryEvents_fired() {
+            Queue<QueryEvent> events = new ConcurrentLinkedQueue<>();
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource).onQuery(events::add).build();
+
+            executor.async().query(nameById(2), rs -> rs.getString(1)).join();
+
+            assertEquals(1, events.size());
+            assertTrue(events.peek().sql().contains("as_items"));
+        }
+
+        @Test
+        @DisplayName("completes exceptionally with the executor's exception")
+        void failure_completesExceptionally() {
+            SuprimExecutor executor = SuprimExecutor.create(dataSource);
+
+            CompletableFuture<List<String>> future = executor.async().query(
+                    new QueryResult("SELECT name FROM as_missing", Map.of()), rs -> rs.getString(1));
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(SuprimException.class, e.getCause());
+        }
+
+        @Test
+        @DisplayName("runs on the configured executor")
+        void configuredExecutor_used() {
+            ExecutorService workers = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "as-worker"));
+            try {
+                SuprimExecutor executor = SuprimExecutor.builder(dataSource).async(workers, 2).build();
+
+                String thread = executor.async().submit(e -> Thread.currentThread().getName()).join();
+
+                assertEquals("as-worker", thread);
+                assertEquals(2, executor.async().maxConcurrency());
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("rejects a non-positive concurrency limit")
+        void builder_invalidConcurrency_throws() {
+            assertThrows(IllegalArgumentException.class, () -> SuprimExecutor.builder(dataSource).async(null, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("concurrency limit")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("never runs more operations at once than the limit")
+        void maxConcurrency_respected() throws Exception {
+            ExecutorService workers = Executors.newCachedThreadPool();
+            try {
+                SuprimExecutor executor = SuprimExecutor.builder(dataSource).async(workers, 3).build();
+                AtomicInteger running = new AtomicInteger();
+                AtomicInteger peak = new AtomicInteger();
+                CountDownLatch release = new CountDownLatch(1);
+
+                List<CompletableFuture<String>> futures = new ArrayList<>();
+                for (long i = 0; i < 20; i++) {
+                    long id = i % 3 + 1;
+                    futures.add(executor.async().submit(e -> {
+                        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                            return e.queryOneRequired(nameById(id), rs -> rs.getString(1));
+                        } catch (InterruptedException ex) {
+                            throw new IllegalStateException(ex);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    }));
+                }
+
+                Thread.sleep(100);
+                assertEquals(3, running.get());
+                release.countDown();
+
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+                assertEquals(3, peak.get());
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("cancellation")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("cancels the running statement")
+        void cancel_runningStatement() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch failed = new CountDownLatch(1);
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource)
+                    .addQueryListener(QueryListener.beforeQuery(event -> started.countDown()))
+                    .onQueryError(event -> failed.countDown())
+                    .build();
+
+            CompletableFuture<List<Long>> future = executor.async().query(SLOW, rs -> rs.getLong(1));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Give the statement time to reach the database
+            Thread.sleep(200);
+
+            assertTrue(future.cancel(true));
+
+            assertTrue(future.isCancelled());
+            assertTrue(failed.await(5, TimeUnit.SECONDS), "statement was not cancelled");
+        }
+
+        @Test
+        @DisplayName("skips queued operations cancelled before they start")
+        void cancel_queued_skipped() throws Exception {
+            ExecutorService workers = Executors.newCachedThreadPool();
+            try {
+                SuprimExecutor executor = SuprimExecutor.builder(dataSource).async(workers, 1).build();
+                CountDownLatch release = new CountDownLatch(1);
+                AtomicInteger ran = new AtomicInteger();
+
+                CompletableFuture<Boolean> blocker = executor.async().submit(e -> {
+                    try {
+                        return release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                });
+                CompletableFuture<Integer> queued = executor.async().submit(e -> ran.incrementAndGet());
+
+                assertTrue(queued.cancel(true));
+                release.countDown();
+                blocker.get(10, TimeUnit.SECONDS);
+                executor.async().submit(e -> 0).get(10, TimeUnit.SECONDS);
+
+                assertEquals(0, ran.get());
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+}
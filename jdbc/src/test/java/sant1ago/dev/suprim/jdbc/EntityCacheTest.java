@@ -0,0 +1,262 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Cacheable;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.core.query.QueryResult;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared second-level EntityCache.
+ */
+@DisplayName("EntityCache Tests")
+class EntityCacheTest {
+
+    private static JdbcDataSource dataSource;
+    private SuprimExecutor executor;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:entity_cache_test;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS cached_countries (" +
+                "id BIGINT PRIMARY KEY, " +
+                "name VARCHAR(255))"
+            );
+        }
+    }
+
+    @AfterAll
+    static void teardown() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DROP TABLE IF EXISTS cached_countries");
+        }
+    }
+
+    @BeforeEach
+    void resetTable() throws SQLException {
+        executor = SuprimExecutor.create(dataSource);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DELETE FROM cached_countries");
+            conn.createStatement().execute("INSERT INTO cached_countries VALUES (1, 'Netherlands'), (2, 'Norway'), (3, 'Nepal')");
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        SuprimContext.clearContext();
+    }
+
+    // ==================== TEST ENTITIES ====================
+
+    @Entity(table = "cached_countries")
+    @Cacheable(maxEntries = 2)
+    public static class CachedCountry {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        public CachedCountry() {}
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    @Entity(table = "cached_countries")
+    public static class UncachedCountry {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        public UncachedCountry() {}
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    private static QueryResult rename(long id, String name) {
+        return new QueryResult(
+            "UPDATE cached_countries SET name = :name WHERE id = :id",
+            Map.of("name", name, "id", id)
+        );
+    }
+
+    // ==================== TESTS ====================
+
+    @Nested
+    @DisplayName("lookups")
+    class LookupTests {
+
+        @Test
+        @DisplayName("serves repeated findById calls from the cache")
+        void findById_repeated_hitsCache() {
+            CachedCountry first = executor.findById(CachedCountry.class, 1L).orElseThrow();
+            CachedCountry second = executor.findById(CachedCountry.class, 1L).orElseThrow();
+
+            CacheStats stats = executor.entityCache().stats(CachedCountry.class);
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(0.5, stats.hitRatio());
+            assertEquals("Netherlands", second.getName());
+            assertNotSame(first, second);
+        }
+
+        @Test
+        @DisplayName("returns copies that callers can modify")
+        void get_returnsIndependentCopies() {
+            executor.findById(CachedCountry.class, 1L).orElseThrow().setName("changed");
+
+            assertEquals("Netherlands", executor.findById(CachedCountry.class, 1L).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("serves Finder id lookups")
+        void finderFirst_byId_hitsCache() {
+            executor.findById(CachedCountry.class, 2L);
+
+            CachedCountry viaFinder = executor.find(CachedCountry.class).where("id", 2L).first().orElseThrow();
+
+            assertEquals("Norway", viaFinder.getName());
+            assertEquals(1, executor.entityCache().stats(CachedCountry.class).hits());
+        }
+
+        @Test
+        @DisplayName("ignores entities without @Cacheable")
+        void findById_uncached_bypassesCache() {
+            executor.findById(UncachedCountry.class, 1L);
+            executor.findById(UncachedCountry.class, 1L);
+
+            assertFalse(executor.entityCache().isCacheable(UncachedCountry.class));
+            assertEquals(CacheStats.EMPTY, executor.entityCache().stats(UncachedCountry.class));
+        }
+
+        @Test
+        @DisplayName("evicts least recently used rows beyond maxEntries")
+        void put_beyondMaxEntries_evicts() {
+            executor.findById(CachedCountry.class, 1L);
+            executor.findById(CachedCountry.class, 2L);
+            executor.findById(CachedCountry.class, 3L);
+
+            CacheStats stats = executor.entityCache().stats(CachedCountry.class);
+            assertEquals(2, stats.size());
+            assertEquals(1, stats.evictions());
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidation")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("drops the table's rows after execute()")
+        void execute_update_invalidates() {
+            executor.findById(CachedCountry.class, 1L);
+
+            executor.execute(rename(1L, "Holland"));
+
+            assertEquals("Holland", executor.findById(CachedCountry.class, 1L).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("drops the table's rows when a transaction commits")
+        void transaction_commit_invalidates() {
+            executor.findById(CachedCountry.class, 1L);
+
+            executor.transaction(tx -> {
+                tx.execute(rename(1L, "Holland"));
+                // Uncommitted write: reads bypass the cache
+                assertTrue(executor.entityCache().get(CachedCountry.class, 1L).isEmpty());
+            });
+
+            assertEquals(0, executor.entityCache().stats(CachedCountry.class).size());
+            assertEquals("Holland", executor.findById(CachedCountry.class, 1L).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("keeps cached rows when a transaction rolls back")
+        void transaction_rollback_keepsCache() {
+            executor.findById(CachedCountry.class, 1L);
+
+            assertThrows(RuntimeException.class, () -> executor.transaction(tx -> {
+                tx.execute(rename(1L, "Holland"));
+                throw new IllegalStateException("boom");
+            }));
+
+            assertEquals(1, executor.entityCache().stats(CachedCountry.class).size());
+            assertEquals("Netherlands", executor.findById(CachedCountry.class, 1L).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("drops the table's rows after an entity update")
+        void entityUpdate_invalidates() {
+            CachedCountry country = executor.findById(CachedCountry.class, 1L).orElseThrow();
+            country.setName("Holland");
+
+            executor.transaction(tx -> EntityPersistence.update(country, tx.getConnection(), SuprimContext.getDialect()));
+
+            assertEquals("Holland", executor.findById(CachedCountry.class, 1L).orElseThrow().getName());
+        }
+    }
+
+    @Nested
+    @DisplayName("writtenTable()")
+    class WrittenTableTests {
+
+        @Test
+        @DisplayName("extracts the unqualified, unquoted table of DML statements")
+        void writtenTable_parsesDml() {
+            assertEquals("countries", EntityCache.writtenTable("UPDATE \"countries\" SET name = ?"));
+            assertEquals("countries", EntityCache.writtenTable("delete from app.countries where id = ?"));
+            assertEquals("countries", EntityCache.writtenTable("INSERT INTO `countries` (id) VALUES (?)"));
+        }
+
+        @Test
+        @DisplayName("returns null for statements it cannot attribute")
+        void writtenTable_unknown_returnsNull() {
+            assertNull(EntityCache.writtenTable("WITH x AS (SELECT 1) UPDATE countries SET name = ?"));
+        }
+
+        @Test
+        @DisplayName("invalidates every region for unknown tables")
+        void invalidateTables_unknown_clearsAll() {
+            executor.findById(CachedCountry.class, 1L);
+
+            executor.entityCache().invalidateTables(Set.of("other_table"));
+            assertEquals(1, executor.entityCache().stats().size());
+
+            executor.entityCache().invalidateTables(Collections.singleton(null));
+            assertEquals(0, executor.entityCache().stats().size());
+        }
+    }
+}
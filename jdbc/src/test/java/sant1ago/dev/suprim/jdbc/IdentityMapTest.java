@@ -0,0 +1,258 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.OrderSpec;
+import sant1ago.dev.suprim.core.type.Relation;
+import sant1ago.dev.suprim.core.type.Table;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-transaction IdentityMap.
+ */
+@DisplayName("IdentityMap Tests")
+class IdentityMapTest {
+
+    private static JdbcDataSource dataSource;
+    private static SuprimExecutor executor;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:identity_map_test;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        executor = SuprimExecutor.create(dataSource);
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS \"identity_users\" (" +
+                "\"id\" BIGINT PRIMARY KEY, " +
+                "\"name\" VARCHAR(255))"
+            );
+            conn.createStatement().execute("DELETE FROM \"identity_users\"");
+            conn.createStatement().execute("INSERT INTO \"identity_users\" VALUES (1, 'Alice'), (2, 'Bob')");
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS \"identity_posts\" (" +
+                "\"id\" BIGINT PRIMARY KEY, " +
+                "\"user_id\" BIGINT)"
+            );
+            conn.createStatement().execute("DELETE FROM \"identity_posts\"");
+            conn.createStatement().execute("INSERT INTO \"identity_posts\" VALUES (10, 1), (20, 2)");
+        }
+    }
+
+    @AfterAll
+    static void teardown() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DROP TABLE IF EXISTS \"identity_users\"");
+            conn.createStatement().execute("DROP TABLE IF EXISTS \"identity_posts\"");
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        SuprimContext.clearContext();
+    }
+
+    // ==================== TEST ENTITIES ====================
+
+    @Entity(table = "identity_users")
+    public static class IdentityUser {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        public IdentityUser() {}
+
+        IdentityUser(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    @Entity(table = "identity_posts")
+    public static class IdentityPost {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "user_id")
+        private Long userId;
+
+        private IdentityUser author;
+
+        public IdentityPost() {}
+
+        public Long getId() { return id; }
+        public Long getUserId() { return userId; }
+        public IdentityUser getAuthor() { return author; }
+        public void setAuthor(IdentityUser author) { this.author = author; }
+    }
+
+    private static final Table<IdentityUser> USERS = Table.of("identity_users", IdentityUser.class);
+    private static final Table<IdentityPost> POSTS = Table.of("identity_posts", IdentityPost.class);
+    private static final Relation<IdentityPost, IdentityUser> POST_AUTHOR = Relation.belongsTo(
+        POSTS, USERS, "user_id", "id", false, false, "author"
+    );
+
+    // ==================== TESTS ====================
+
+    @Nested
+    @DisplayName("put() / get()")
+    class PutGetTests {
+
+        @Test
+        @DisplayName("returns the first registered instance for a row")
+        void put_sameRow_returnsCanonicalInstance() {
+            IdentityMap map = new IdentityMap();
+            IdentityUser first = new IdentityUser(1L, "Alice");
+            IdentityUser second = new IdentityUser(1L, "Alice (reloaded)");
+
+            assertSame(first, map.put(first));
+            assertSame(first, map.put(second));
+            assertEquals(1, map.size());
+        }
+
+        @Test
+        @DisplayName("normalizes integral id types")
+        void get_normalizesIntegralIds() {
+            IdentityMap map = new IdentityMap();
+            IdentityUser user = map.put(new IdentityUser(7L, "Eve"));
+
+            assertSame(user, map.get(IdentityUser.class, 7).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("returns canonical instances in order for putAll()")
+        void putAll_returnsCanonicalInstances() {
+            IdentityMap map = new IdentityMap();
+            IdentityUser alice = map.put(new IdentityUser(1L, "Alice"));
+
+            List<IdentityUser> result = map.putAll(List.of(new IdentityUser(2L, "Bob"), new IdentityUser(1L, "Alice")));
+
+            assertEquals(2L, result.get(0).getId());
+            assertSame(alice, result.get(1));
+        }
+
+        @Test
+        @DisplayName("ignores entities without @Id")
+        void put_withoutIdAnnotation_passesThrough() {
+            IdentityMap map = new IdentityMap();
+            TestProfile profile = new TestProfile();
+            profile.setId(1L);
+
+            assertSame(profile, map.put(profile));
+            assertEquals(0, map.size());
+        }
+
+        @Test
+        @DisplayName("evicts removed entities")
+        void remove_evictsEntity() {
+            IdentityMap map = new IdentityMap();
+            IdentityUser user = map.put(new IdentityUser(1L, "Alice"));
+
+            map.remove(user);
+
+            assertTrue(map.get(IdentityUser.class, 1L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("is keyed by the @Id column only")
+        void isKeyedBy_idColumnOnly() {
+            IdentityMap map = new IdentityMap();
+
+            assertTrue(map.isKeyedBy(IdentityUser.class, "id"));
+            assertFalse(map.isKeyedBy(IdentityUser.class, "name"));
+            assertFalse(map.isKeyedBy(TestProfile.class, "id"));
+        }
+    }
+
+    @Nested
+    @DisplayName("within transaction")
+    class TransactionTests {
+
+        @Test
+        @DisplayName("findById returns the same instance for repeated lookups")
+        void findById_repeated_returnsSameInstance() {
+            executor.transaction(tx -> {
+                IdentityUser first = executor.findById(IdentityUser.class, 1L).orElseThrow();
+                IdentityUser second = executor.findById(IdentityUser.class, 1L).orElseThrow();
+
+                assertSame(first, second);
+            });
+        }
+
+        @Test
+        @DisplayName("Finder.first() by id is served from the map")
+        void finderFirst_byId_usesMap() {
+            executor.transaction(tx -> {
+                IdentityUser loaded = executor.findById(IdentityUser.class, 2L).orElseThrow();
+                Optional<IdentityUser> viaFinder = executor.find(IdentityUser.class).where("id", 2L).first();
+
+                assertSame(loaded, viaFinder.orElseThrow());
+            });
+        }
+
+        @Test
+        @DisplayName("constrained BelongsTo eager loads do not fill filtered parents from the map")
+        void constrainedBelongsTo_skipsMap() {
+            executor.transaction(tx -> {
+                IdentityUser alice = executor.findById(IdentityUser.class, 1L).orElseThrow();
+                executor.findById(IdentityUser.class, 2L).orElseThrow();
+
+                List<IdentityPost> posts = executor.query(
+                    Suprim.selectAll().from(POSTS)
+                        .with(POST_AUTHOR, q -> q.whereRaw("name = 'Alice'"))
+                        .orderBy(OrderSpec.raw("id"))
+                        .build(),
+                    EntityMapper.of(IdentityPost.class)
+                );
+
+                assertSame(alice, posts.get(0).getAuthor());
+                assertNull(posts.get(1).getAuthor());
+            });
+        }
+
+        @Test
+        @DisplayName("does not share instances across transactions")
+        void separateTransactions_loadSeparateInstances() {
+            IdentityUser first = executor.transactionWithResult(tx -> executor.findById(IdentityUser.class, 1L).orElseThrow());
+            IdentityUser second = executor.transactionWithResult(tx -> executor.findById(IdentityUser.class, 1L).orElseThrow());
+
+            assertNotSame(first, second);
+        }
+
+        @Test
+        @DisplayName("is cleared after the transaction ends")
+        void afterTransaction_noIdentityMap() {
+            executor.transaction(tx -> assertTrue(SuprimContext.hasIdentityMap()));
+
+            assertFalse(SuprimContext.hasIdentityMap());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.OrderSpec;
+import sant1ago.dev.suprim.core.type.Relation;
+import sant1ago.dev.suprim.core.type.Table;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Lazy} and {@link LazyList} relation holders.
+ */
+class LazyLoadingTest {
+
+    private JdbcDataSource dataSource;
+    private Connection setupConnection;
+    private final List<String> sql = new ArrayList<>();
+    private SuprimExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:lazytest" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        setupConnection = dataSource.getConnection();
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("CREATE TABLE lazy_authors (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            stmt.execute("CREATE TABLE lazy_books (id BIGINT PRIMARY KEY, title VARCHAR(255), author_id BIGINT)");
+            stmt.execute("INSERT INTO lazy_authors VALUES (1, 'Alice'), (2, 'Bob')");
+            stmt.execute("INSERT INTO lazy_books VALUES (1, 'A1', 1), (2, 'A2', 1), (3, 'B1', 2), (4, 'Orphan', 99)");
+        }
+        executor = SuprimExecutor.builder(dataSource).onQuery(event -> sql.add(event.sql())).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS lazy_books");
+            stmt.execute("DROP TABLE IF EXISTS lazy_authors");
+        }
+        setupConnection.close();
+    }
+
+    private List<LazyBook> books() {
+        return executor.query(
+                Suprim.selectAll().from(LazyBook_.TABLE).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(LazyBook.class));
+    }
+
+    // ==================== Lazy Tests ====================
+
+    @Test
+    void lazy_notLoadedUntilFirstAccess() {
+        List<LazyBook> books = books();
+
+        assertEquals(1, sql.size());
+        assertNotNull(books.get(0).author);
+        assertFalse(books.get(0).author.isLoaded());
+        assertEquals("Lazy[not loaded]", books.get(0).author.toString());
+    }
+
+    @Test
+    void lazy_firstAccessLoadsWholeResultInOneQuery() {
+        List<LazyBook> books = books();
+
+        assertEquals("Alice", books.get(0).getAuthor().getName());
+        assertEquals(2, sql.size());
+        assertTrue(books.get(3).author.isLoaded());
+
+        assertSame(books.get(0).getAuthor(), books.get(1).getAuthor());
+        assertEquals("Bob", books.get(2).getAuthor().getName());
+        assertNull(books.get(3).getAuthor());
+        assertEquals(2, sql.size());
+    }
+
+    @Test
+    void lazy_eagerLoadedWithWith_doesNotQueryOnAccess() {
+        List<LazyBook> books = executor.query(
+                Suprim.selectAll().from(LazyBook_.TABLE).with(LazyBook_.AUTHOR).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(LazyBook.class));
+
+        assertEquals(2, sql.size());
+        assertTrue(books.get(0).author.isLoaded());
+        assertEquals("Alice", books.get(0).getAuthor().getName());
+        assertEquals(2, sql.size());
+    }
+
+    @Test
+    void lazy_queryOne_loadsOnAccess() {
+        LazyBook book = executor.queryOne(
+                Suprim.selectAll().from(LazyBook_.TABLE).whereRaw("id = 3").build(),
+                EntityMapper.of(LazyBook.class)).orElseThrow();
+
+        assertFalse(book.author.isLoaded());
+        assertEquals("Bob", book.getAuthor().getName());
+    }
+
+    @Test
+    void lazy_of_isLoaded() {
+        LazyAuthor author = new LazyAuthor();
+        Lazy<LazyAuthor> lazy = Lazy.of(author);
+
+        assertTrue(lazy.isLoaded());
+        assertSame(author, lazy.get());
+        assertNull(Lazy.of(null).get());
+    }
+
+    @Test
+    void lazy_presetHolderIsKept() {
+        LazyBook book = new LazyBook();
+        Lazy<LazyAuthor> preset = Lazy.of(null);
+        book.author = preset;
+
+        ReflectionUtils.setRelationValue(book, "author", new LazyAuthor());
+
+        assertSame(preset, book.author);
+        assertNotNull(book.getAuthor());
+    }
+
+    // ==================== LazyList Tests ====================
+
+    @Test
+    void lazyList_firstAccessLoadsWholeResultInOneQuery() {
+        List<LazyAuthor> authors = executor.query(
+                Suprim.selectAll().from(LazyAuthor_.TABLE).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(LazyAuthor.class));
+        assertEquals(1, sql.size());
+        assertFalse(authors.get(0).books.isLoaded());
+
+        assertEquals(2, authors.get(0).getBooks().size());
+        assertEquals(2, sql.size());
+        assertTrue(authors.get(1).books.isLoaded());
+        assertEquals("B1", authors.get(1).getBooks().get(0).getTitle());
+        assertEquals(2, sql.size());
+    }
+
+    @Test
+    void lazyList_of_isLoaded() {
+        LazyList<String> list = LazyList.of(List.of("a", "b"));
+
+        assertTrue(list.isLoaded());
+        assertEquals(List.of("a", "b"), list);
+    }
+
+    // ==================== Test Entities ====================
+
+    @Entity(table = "lazy_authors")
+    public static class LazyAuthor {
+        @Column(name = "id")
+        private Long id;
+        @Column(name = "name")
+        private String name;
+
+        private LazyList<LazyBook> books;
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public List<LazyBook> getBooks() { return books; }
+    }
+
+    @Entity(table = "lazy_books")
+    public static class LazyBook {
+        @Column(name = "id")
+        private Long id;
+        @Column(name = "title")
+        private String title;
+        @Column(name = "author_id")
+        private Long authorId;
+
+        private Lazy<LazyAuthor> author;
+
+        public Long getId() { return id; }
+        public String getTitle() { return title; }
+        public Long getAuthorId() { return authorId; }
+        public LazyAuthor getAuthor() { return author.get(); }
+    }
+
+    // Metamodels, found by PathResolver as <Entity>_ next to each entity
+
+    public static final class LazyAuthor_ {
+        public static final Table<LazyAuthor> TABLE = Table.of("lazy_authors", LazyAuthor.class);
+        public static final Relation<LazyAuthor, LazyBook> BOOKS = Relation.hasMany(
+                TABLE, LazyBook_.TABLE, "author_id", "id", false, false, "books"
+        );
+    }
+
+    public static final class LazyBook_ {
+        public static final Table<LazyBook> TABLE = Table.of("lazy_books", LazyBook.class);
+        public static final Relation<LazyBook, LazyAuthor> AUTHOR = Relation.belongsTo(
+                TABLE, LazyAuthor_.TABLE, "author_id", "id", false, false, "author"
+        );
+    }
+}
@@ -0,0 +1,398 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.OrderSpec;
+import sant1ago.dev.suprim.core.type.Relation;
+import sant1ago.dev.suprim.core.type.Table;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link QueryCache} behind {@code cached(Duration)} queries.
+ */
+@DisplayName("QueryCache Tests")
+class QueryCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final RowMapper<String> NAME = rs -> rs.getString(1);
+
+    private JdbcDataSource dataSource;
+    private Connection setupConnection;
+    private final AtomicInteger selects = new AtomicInteger();
+    private SuprimExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:querycache" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        setupConnection = dataSource.getConnection();
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("CREATE TABLE qc_countries (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            stmt.execute("INSERT INTO qc_countries VALUES (1, 'Netherlands'), (2, 'Norway'), (3, 'Nepal')");
+            stmt.execute("CREATE TABLE qc_cities (id BIGINT PRIMARY KEY, country_id BIGINT, name VARCHAR(255))");
+            stmt.execute("INSERT INTO qc_cities VALUES (1, 1, 'Amsterdam'), (2, 1, 'Rotterdam'), (3, 2, 'Oslo')");
+        }
+        executor = executorWith(SuprimExecutor.builder(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SuprimContext.clearContext();
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS qc_countries");
+            stmt.execute("DROP TABLE IF EXISTS qc_cities");
+        }
+        setupConnection.close();
+    }
+
+    private SuprimExecutor executorWith(SuprimExecutor.Builder builder) {
+        return builder.onQuery(event -> {
+            if (event.sql().startsWith("SELECT")) {
+                selects.incrementAndGet();
+            }
+        }).build();
+    }
+
+    private static QueryResult allCountries() {
+        return Suprim.selectAll().from(COUNTRIES).orderBy(OrderSpec.raw("id")).cached(TTL).build();
+    }
+
+    private static QueryResult allCountriesWithCities() {
+        return Suprim.selectAll().from(COUNTRIES).with(COUNTRY_CITIES).orderBy(OrderSpec.raw("id")).cached(TTL).build();
+    }
+
+    private static QueryResult countryName(long id) {
+        return new QueryResult("SELECT name FROM qc_countries WHERE id = :id", Map.of("id", id)).cached(TTL);
+    }
+
+    private static QueryResult countryById(long id) {
+        return new QueryResult("SELECT id, name FROM qc_countries WHERE id = :id", Map.of("id", id)).cached(TTL);
+    }
+
+    private List<QcCountry> countries(QueryResult query) {
+        return executor.query(query, EntityMapper.of(QcCountry.class));
+    }
+
+    // ==================== Caching ====================
+
+    @Test
+    @DisplayName("serves a repeated cached query from the cache")
+    void cachedQuery_repeated_runsOnce() {
+        List<QcCountry> first = countries(allCountries());
+        List<QcCountry> second = countries(allCountries());
+
+        assertEquals(1, selects.get());
+        assertEquals(3, second.size());
+        assertEquals(first.get(0).getName(), second.get(0).getName());
+        assertEquals(new CacheStats(1, 1, 0, 1), executor.queryCache().stats());
+        assertTrue(executor.queryCache().estimatedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("returns unmodifiable lists")
+    void cachedQuery_resultIsUnmodifiable() {
+        List<QcCountry> result = countries(allCountries());
+
+        assertThrows(UnsupportedOperationException.class, () -> result.remove(0));
+    }
+
+    @Test
+    @DisplayName("gives each caller its own entities")
+    void cachedQuery_entitiesCopiedPerCaller() {
+        List<QcCountry> first = countries(allCountries());
+        first.get(0).setName("Changed");
+        QcCountry changed = executor.queryOne(countryById(1), EntityMapper.of(QcCountry.class)).orElseThrow();
+        changed.setName("Changed");
+
+        List<QcCountry> second = countries(allCountries());
+        QcCountry reloaded = executor.queryOne(countryById(1), EntityMapper.of(QcCountry.class)).orElseThrow();
+
+        assertEquals(2, selects.get());
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("Netherlands", second.get(0).getName());
+        assertNotSame(changed, reloaded);
+        assertEquals("Netherlands", reloaded.getName());
+    }
+
+    @Test
+    @DisplayName("gives each caller its own eager-loaded relations")
+    void cachedQuery_relationsCopiedPerCaller() {
+        List<QcCountry> first = countries(allCountriesWithCities());
+        first.get(0).getCities().get(0).setName("Changed");
+        first.get(0).getCities().clear();
+        first.get(2).getCities().add(new QcCity());
+
+        List<QcCountry> second = countries(allCountriesWithCities());
+
+        assertEquals(2, selects.get());
+        assertEquals(2, second.get(0).getCities().size());
+        assertNotSame(first.get(1).getCities().get(0), second.get(1).getCities().get(0));
+        assertTrue(second.get(2).getCities().isEmpty());
+        assertTrue(second.get(0).getCities().stream().noneMatch(city -> "Changed".equals(city.getName())));
+    }
+
+    @Test
+    @DisplayName("does not cache queries without cached()")
+    void uncachedQuery_alwaysRuns() {
+        QueryResult query = Suprim.selectAll().from(COUNTRIES).build();
+        countries(query);
+        countries(query);
+
+        assertEquals(2, selects.get());
+        assertEquals(0, executor.queryCache().stats().size());
+    }
+
+    @Test
+    @DisplayName("keys results by parameter values and row mapper instance")
+    void cachedQuery_keyedByParametersAndMapper() {
+        assertEquals("Norway", executor.queryOne(countryName(2), NAME).orElseThrow());
+        assertEquals("Nepal", executor.queryOne(countryName(3), NAME).orElseThrow());
+        assertEquals("Norway", executor.queryOne(countryName(2), NAME).orElseThrow());
+        assertEquals(2, selects.get());
+
+        assertEquals(List.of("Nepal"), executor.query(countryName(3), NAME));
+        assertEquals(List.of("Nepal"), executor.query(countryName(3), rs -> rs.getString("name")));
+        assertEquals(4, selects.get());
+    }
+
+    @Test
+    @DisplayName("keys results by the relations eager-loaded onto them")
+    void cachedQuery_keyedByEagerLoads() {
+        List<QcCountry> plain = countries(allCountries());
+        List<QcCountry> withCities = countries(allCountriesWithCities());
+        assertEquals(3, selects.get());
+
+        List<QcCountry> plainAgain = countries(allCountries());
+        List<QcCountry> withCitiesAgain = countries(allCountriesWithCities());
+
+        assertEquals(3, selects.get());
+        assertTrue(plain.get(0).getCities().isEmpty());
+        assertTrue(plainAgain.get(0).getCities().isEmpty());
+        assertEquals(2, withCities.get(0).getCities().size());
+        assertEquals(2, withCitiesAgain.get(0).getCities().size());
+        assertEquals(1, withCitiesAgain.get(1).getCities().size());
+    }
+
+    @Test
+    @DisplayName("rejects non-positive TTLs")
+    void cached_nonPositiveTtl_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Suprim.selectAll().from(COUNTRIES).cached(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new QueryResult("SELECT 1", Map.of()).cached(Duration.ofSeconds(-1)));
+    }
+
+    // ==================== Invalidation ====================
+
+    @Test
+    @DisplayName("execute() on a read table invalidates its results")
+    void execute_update_invalidatesTable() {
+        countries(allCountries());
+        executor.execute(new QueryResult("UPDATE qc_countries SET name = :name WHERE id = :id", Map.of("name", "Nederland", "id", 1L)));
+
+        List<QcCountry> reloaded = countries(allCountries());
+
+        assertEquals(2, selects.get());
+        assertEquals("Nederland", reloaded.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("writes to other tables keep cached results")
+    void execute_otherTable_keepsResults() throws Exception {
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("CREATE TABLE qc_other (id BIGINT)");
+        }
+        countries(allCountries());
+        executor.execute(new QueryResult("INSERT INTO qc_other VALUES (1)", Map.of()));
+        countries(allCountries());
+
+        assertEquals(1, selects.get());
+    }
+
+    @Test
+    @DisplayName("committed transactions invalidate the tables they wrote")
+    void transaction_commit_invalidates() {
+        countries(allCountries());
+        executor.transaction(tx -> tx.execute(new QueryResult("DELETE FROM qc_countries WHERE id = 3", Map.of())));
+
+        assertEquals(2, countries(allCountries()).size());
+        assertEquals(2, selects.get());
+    }
+
+    @Test
+    @DisplayName("queries inside a transaction bypass the cache")
+    void transaction_bypassesCache() {
+        countries(allCountries());
+        executor.transaction(tx -> countries(allCountries()));
+
+        assertEquals(2, selects.get());
+        assertEquals(0, executor.queryCache().stats().hits());
+    }
+
+    @Test
+    @DisplayName("invalidate() and invalidateAll() drop results")
+    void manualInvalidation() {
+        countries(allCountries());
+        executor.queryCache().invalidate("QC_COUNTRIES");
+        countries(allCountries());
+        executor.queryCache().invalidateAll();
+        countries(allCountries());
+
+        assertEquals(3, selects.get());
+    }
+
+    // ==================== Finder ====================
+
+    @Test
+    @DisplayName("Finder.cached() caches get() and first()")
+    void finder_cached() {
+        executor.find(QcCountry.class).where("name", "Norway").cached(TTL).first();
+        QcCountry norway = executor.find(QcCountry.class).where("name", "Norway").cached(TTL).first().orElseThrow();
+        executor.find(QcCountry.class).cached(TTL).get();
+        executor.find(QcCountry.class).cached(TTL).get();
+
+        assertEquals(2L, norway.getId());
+        assertEquals(2, selects.get());
+    }
+
+    // ==================== Bounds and Concurrency ====================
+
+    @Test
+    @DisplayName("evicts least recently used results beyond maxEntries")
+    void maxEntries_evictsLeastRecentlyUsed() {
+        executor = executorWith(SuprimExecutor.builder(dataSource).queryCache(2, QueryCache.DEFAULT_MAX_BYTES));
+        executor.queryOne(countryName(1), NAME);
+        executor.queryOne(countryName(2), NAME);
+        executor.queryOne(countryName(1), NAME);
+        executor.queryOne(countryName(3), NAME);   // evicts id 2
+        executor.queryOne(countryName(1), NAME);
+        executor.queryOne(countryName(2), NAME);
+
+        assertEquals(4, selects.get());
+        assertEquals(2, executor.queryCache().stats().size());
+        assertEquals(2, executor.queryCache().stats().evictions());
+    }
+
+    @Test
+    @DisplayName("evicts results beyond maxBytes")
+    void maxBytes_evicts() {
+        executor = executorWith(SuprimExecutor.builder(dataSource).queryCache(100, 1));
+        countries(allCountries());
+        countries(allCountries());
+
+        assertEquals(2, selects.get());
+        assertEquals(0, executor.queryCache().stats().size());
+    }
+
+    @Test
+    @DisplayName("concurrent misses on one key run a single query")
+    void concurrentMisses_singleQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        QueryCache cache = executor.queryCache();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = pool.submit(() -> cache.load(allCountries(), new Object[0], "shape", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "loaded";
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertEquals("loaded", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("collects the tables a query reads")
+    void readTables() {
+        QueryResult joined = new QueryResult(
+                "SELECT * FROM \"public\".\"Orders\" o, items AS i JOIN customers c ON c.id = o.customer_id "
+                        + "WHERE o.id IN (SELECT order_id FROM refunds)", Map.of());
+
+        assertEquals(Set.of("orders", "customers", "items", "refunds"), QueryCache.readTables(joined));
+    }
+
+    // ==================== Test Entities ====================
+
+    private static final Table<QcCountry> COUNTRIES = Table.of("qc_countries", QcCountry.class);
+    private static final Table<QcCity> CITIES = Table.of("qc_cities", QcCity.class);
+    private static final Relation<QcCountry, QcCity> COUNTRY_CITIES = Relation.hasMany(
+            COUNTRIES, CITIES, "country_id", "id", false, false, "cities"
+    );
+
+    @Entity(table = "qc_countries")
+    public static class QcCountry {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        private List<QcCity> cities = new ArrayList<>();
+
+        public QcCountry() {}
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public List<QcCity> getCities() { return cities; }
+        public void setCities(List<QcCity> cities) { this.cities = cities; }
+    }
+
+    @Entity(table = "qc_cities")
+    public static class QcCity {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "country_id")
+        private Long countryId;
+
+        @Column(name = "name")
+        private String name;
+
+        public QcCity() {}
+
+        public Long getId() { return id; }
+        public Long getCountryId() { return countryId; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+}
@@ -0,0 +1,294 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.core.query.QueryResult;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for single-flight execution of concurrent identical reads.
+ */
+@DisplayName("QueryCoalescer Tests")
+class QueryCoalescerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Object> results = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    private Supplier<List<String>> blockingLoad(String value) {
+        return () -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return new ArrayList<>(List.of(value));
+        };
+    }
+
+    private void awaitRelease() {
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Thread start(Runnable call) {
+        Thread thread = new Thread(() -> {
+            try {
+                call.run();
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Wait until a thread blocks, i.e. the leader is inside its load or a follower is waiting.
+     */
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "thread did not block");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+    }
+
+    // ==================== QueryCoalescer ====================
+
+    @Test
+    @DisplayName("followers wait for the leader's load and receive copies")
+    void followers_shareLeaderResult() throws Exception {
+        QueryCoalescer coalescer = new QueryCoalescer(Duration.ofSeconds(5));
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = start(() -> results.add(coalescer.run("key", blockingLoad("row"), ArrayList::new)));
+            awaitBlocked(thread);
+            threads.add(thread);
+        }
+        assertEquals(1, coalescer.stats().inFlight());
+        release.countDown();
+        joinAll(threads);
+
+        assertTrue(failures.isEmpty());
+        assertEquals(1, loads.get());
+        assertEquals(4, results.size());
+        results.forEach(result -> assertEquals(List.of("row"), result));
+        assertEquals(4, results.stream().map(System::identityHashCode).distinct().count());
+        assertEquals(new CoalescingStats(1, 3, 0, 0), coalescer.stats());
+        assertEquals(0.75, coalescer.stats().coalescedRatio());
+    }
+
+    @Test
+    @DisplayName("a leader without followers keeps its own result")
+    void noFollowers_resultNotCopied() {
+        QueryCoalescer coalescer = new QueryCoalescer(null);
+        List<String> loaded = new ArrayList<>();
+
+        assertSame(loaded, coalescer.run("key", () -> loaded, ArrayList::new));
+        assertEquals(new CoalescingStats(1, 0, 0, 0), coalescer.stats());
+    }
+
+    @Test
+    @DisplayName("different keys run independently")
+    void differentKeys_runIndependently() {
+        QueryCoalescer coalescer = new QueryCoalescer(null);
+
+        assertEquals("b", coalescer.run("a", () -> coalescer.run("b", () -> "b", v -> v), v -> v));
+        assertEquals(2, coalescer.stats().executions());
+    }
+
+    @Test
+    @DisplayName("a failed load fails its followers with the same exception")
+    void leaderFailure_propagatesToFollowers() throws Exception {
+        QueryCoalescer coalescer = new QueryCoalescer(Duration.ofSeconds(5));
+        IllegalStateException failure = new IllegalStateException("boom");
+        Supplier<Object> failing = () -> {
+            awaitRelease();
+            throw failure;
+        };
+        Thread leader = start(() -> coalescer.run("key", failing, v -> v));
+        awaitBlocked(leader);
+        Thread follower = start(() -> coalescer.run("key", failing, v -> v));
+        awaitBlocked(follower);
+        release.countDown();
+        joinAll(List.of(leader, follower));
+
+        assertEquals(2, failures.size());
+        failures.forEach(e -> assertSame(failure, e));
+        assertEquals(1, coalescer.stats().executions());
+        assertEquals(0, coalescer.stats().inFlight());
+    }
+
+    @Test
+    @DisplayName("a follower runs its own load after maxWait")
+    void follower_timesOut_runsOwnLoad() throws Exception {
+        QueryCoalescer coalescer = new QueryCoalescer(Duration.ofMillis(50));
+        Thread leader = start(() -> results.add(coalescer.run("key", blockingLoad("slow"), ArrayList::new)));
+        awaitBlocked(leader);
+
+        assertEquals(List.of("fast"), coalescer.run("key", () -> List.of("fast"), ArrayList::new));
+        release.countDown();
+        leader.join(5_000);
+
+        assertEquals(List.of(List.of("slow")), List.copyOf(results));
+        assertEquals(new CoalescingStats(2, 0, 1, 0), coalescer.stats());
+    }
+
+    @Test
+    @DisplayName("rejects a non-positive maxWait")
+    void nonPositiveMaxWait_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new QueryCoalescer(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> SuprimExecutor.builder(new JdbcDataSource()).coalesceReads(Duration.ofMillis(-1)));
+    }
+
+    // ==================== SuprimExecutor ====================
+
+    private JdbcDataSource dataSource;
+    private Connection setupConnection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:coalesce" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        setupConnection = dataSource.getConnection();
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("CREATE TABLE coalesce_items (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            stmt.execute("INSERT INTO coalesce_items VALUES (1, 'one'), (2, 'two')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SuprimContext.clearContext();
+        setupConnection.close();
+    }
+
+    private static QueryResult itemName(long id) {
+        return new QueryResult("SELECT name FROM coalesce_items WHERE id = :id", Map.of("id", id));
+    }
+
+    @Test
+    @DisplayName("concurrent identical queries run one SELECT")
+    void executor_identicalQueries_coalesced() throws Exception {
+        SuprimExecutor executor = SuprimExecutor.builder(dataSource).coalesceReads(Duration.ofSeconds(5)).build();
+        RowMapper<String> blockingMapper = rs -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return rs.getString(1);
+        };
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread thread = start(() -> results.add(executor.query(itemName(1), blockingMapper)));
+            awaitBlocked(thread);
+            threads.add(thread);
+        }
+        release.countDown();
+        joinAll(threads);
+
+        assertTrue(failures.isEmpty());
+        assertEquals(1, loads.get());
+        results.forEach(result -> assertEquals(List.of("one"), result));
+        CoalescingStats stats = executor.readCoalescer().orElseThrow().stats();
+        assertEquals(1, stats.executions());
+        assertEquals(2, stats.coalesced());
+    }
+
+    @Test
+    @DisplayName("different parameters are not coalesced")
+    void executor_differentParameters_notCoalesced() {
+        SuprimExecutor executor = SuprimExecutor.builder(dataSource).coalesceReads(Duration.ofSeconds(5)).build();
+        RowMapper<String> name = rs -> rs.getString(1);
+
+        assertEquals(List.of("one"), executor.query(itemName(1), name));
+        assertEquals(List.of("two"), executor.query(itemName(2), name));
+        assertEquals("two", executor.queryOne(itemName(2), name).orElseThrow());
+        assertEquals(3, executor.readCoalescer().orElseThrow().stats().executions());
+    }
+
+    @Test
+    @DisplayName("requests with a different timeout or deadline are not coalesced")
+    void executor_differentTimeoutOrDeadline_notCoalesced() throws Exception {
+        SuprimExecutor executor = SuprimExecutor.builder(dataSource).coalesceReads(Duration.ofSeconds(5)).build();
+        RowMapper<String> blockingMapper = rs -> {
+            loads.incrementAndGet();
+            awaitRelease();
+            return rs.getString(1);
+        };
+        List<Runnable> calls = List.of(
+                () -> results.add(executor.query(itemName(1), blockingMapper)),
+                () -> results.add(executor.query(itemName(1).timeout(Duration.ofSeconds(3)), blockingMapper)),
+                () -> Deadline.run(Duration.ofSeconds(4), () -> results.add(executor.query(itemName(1), blockingMapper))),
+                () -> results.add(executor.query(itemName(1), blockingMapper)));
+        List<Thread> threads = new ArrayList<>();
+        for (Runnable call : calls) {
+            Thread thread = start(call);
+            awaitBlocked(thread);
+            threads.add(thread);
+        }
+        release.countDown();
+        joinAll(threads);
+
+        assertTrue(failures.isEmpty());
+        assertEquals(3, loads.get());
+        assertEquals(1, executor.readCoalescer().orElseThrow().stats().coalesced());
+    }
+
+    @Test
+    @DisplayName("reads inside a transaction and locking reads are not coalesced")
+    void executor_transactionAndLockingReads_bypass() {
+        SuprimExecutor executor = SuprimExecutor.builder(dataSource).coalesceReads(Duration.ofSeconds(5)).build();
+        RowMapper<String> name = rs -> rs.getString(1);
+
+        executor.transaction(tx -> executor.query(itemName(1), name));
+        executor.query(new QueryResult("SELECT name FROM coalesce_items WHERE id = 1 FOR UPDATE", Map.of()), name);
+
+        assertEquals(0, executor.readCoalescer().orElseThrow().stats().requests());
+    }
+
+    @Test
+    @DisplayName("data-modifying CTEs are not coalesced")
+    void executor_dataModifyingCte_bypass() {
+        SuprimExecutor executor = SuprimExecutor.builder(dataSource).coalesceReads(Duration.ofSeconds(5)).build();
+        RowMapper<String> name = rs -> rs.getString(1);
+
+        executor.query(new QueryResult("WITH item AS (SELECT name FROM coalesce_items WHERE id = 1) SELECT name FROM item", Map.of()), name);
+        assertEquals(1, executor.readCoalescer().orElseThrow().stats().requests());
+
+        // H2 rejects data-modifying CTEs; where they run, sharing one execution would drop writes
+        assertThrows(SuprimException.class, () -> executor.query(
+                new QueryResult("WITH gone AS (DELETE FROM coalesce_items WHERE id = 1 RETURNING name) SELECT name FROM gone", Map.of()), name));
+        assertEquals(1, executor.readCoalescer().orElseThrow().stats().requests());
+    }
+
+    @Test
+    @DisplayName("coalescing is off by default")
+    void executor_disabledByDefault() {
+        assertTrue(SuprimExecutor.create(dataSource).readCoalescer().isEmpty());
+    }
+}
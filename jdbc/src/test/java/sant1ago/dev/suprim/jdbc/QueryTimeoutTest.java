@@ -0,0 +1,315 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.Table;
+import sant1ago.dev.suprim.jdbc.exception.QueryException;
+import sant1ago.dev.suprim.jdbc.exception.QueryTimeoutException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for statement timeouts, {@link Deadline} propagation and cancellation on interrupt.
+ */
+@DisplayName("Query Timeout Tests")
+class QueryTimeoutTest {
+
+    private static final RowMapper<String> NAME = rs -> rs.getString(1);
+    private static final QueryResult QUERY = new QueryResult("SELECT name FROM qt_items WHERE id = :id", Map.of("id", 1L));
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private SuprimExecutor executor(Duration defaultTimeout) {
+        SuprimExecutor.Builder builder = SuprimExecutor.builder(dataSource).dialect(PostgreSqlDialect.INSTANCE);
+        return Objects.isNull(defaultTimeout) ? builder.build() : builder.queryTimeout(defaultTimeout).build();
+    }
+
+    // ==================== Timeouts ====================
+
+    @Test
+    @DisplayName("statements run without a timeout unless one is set")
+    void noTimeout_notApplied() throws SQLException {
+        executor(null).query(QUERY, NAME);
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+        assertTrue(executor(null).queryTimeout().isEmpty());
+    }
+
+    @Test
+    @DisplayName("applies the executor default, overridden per query")
+    void defaultAndPerQueryTimeout() throws SQLException {
+        SuprimExecutor executor = executor(Duration.ofSeconds(30));
+
+        executor.query(QUERY, NAME);
+        verify(statement).setQueryTimeout(30);
+
+        executor.query(QUERY.timeout(Duration.ofMillis(2500)), NAME);
+        verify(statement).setQueryTimeout(3);
+        assertEquals(Optional.of(Duration.ofSeconds(30)), executor.queryTimeout());
+    }
+
+    @Test
+    @DisplayName("SelectBuilder and Finder timeouts reach the statement")
+    void builderAndFinderTimeout() throws SQLException {
+        QueryResult built = Suprim.selectAll().from(ITEMS).timeout(Duration.ofSeconds(4)).build();
+        assertEquals(Duration.ofSeconds(4), built.timeout());
+        assertEquals(Duration.ofSeconds(4), built.cached(Duration.ofMinutes(1)).timeout());
+
+        executor(Duration.ofSeconds(30)).find(QtItem.class).timeout(Duration.ofSeconds(7)).get();
+        verify(statement).setQueryTimeout(7);
+    }
+
+    @Test
+    @DisplayName("rejects non-positive timeouts")
+    void nonPositiveTimeout_throws() {
+        assertThrows(IllegalArgumentException.class, () -> QUERY.timeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> Suprim.selectAll().from(ITEMS).timeout(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> SuprimExecutor.builder(dataSource).queryTimeout(null));
+        assertThrows(IllegalArgumentException.class, () -> Deadline.call(Duration.ZERO, () -> "never"));
+    }
+
+    @Test
+    @DisplayName("rounds timeouts up to whole seconds")
+    void toSeconds_roundsUp() {
+        assertEquals(1, StatementGuard.toSeconds(Duration.ofMillis(1)));
+        assertEquals(1, StatementGuard.toSeconds(Duration.ofSeconds(1)));
+        assertEquals(2, StatementGuard.toSeconds(Duration.ofMillis(1001)));
+        assertEquals(Integer.MAX_VALUE, StatementGuard.toSeconds(Duration.ofDays(100_000)));
+    }
+
+    @Test
+    @DisplayName("a driver cancel enforcing the applied timeout is reported as a timeout")
+    void cancelAfterTimeout_isTimeout() throws SQLException {
+        // pgjdbc enforces setQueryTimeout by cancelling the statement
+        when(statement.executeQuery()).thenThrow(new SQLException("ERROR: canceling statement due to user request", "57014"));
+
+        QueryTimeoutException e = assertThrows(QueryTimeoutException.class,
+                () -> executor(null).query(QUERY.timeout(Duration.ofSeconds(1)), NAME));
+        assertThrows(QueryTimeoutException.class,
+                () -> Deadline.run(Duration.ofSeconds(5), () -> executor(null).query(QUERY, NAME)));
+        QueryException untimed = assertThrows(QueryException.class, () -> executor(null).query(QUERY, NAME));
+
+        assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, e.getCategory());
+        assertFalse(untimed instanceof QueryTimeoutException);
+    }
+
+    // ==================== Deadlines ====================
+
+    @Test
+    @DisplayName("nested deadlines never extend the enclosing one")
+    void nestedDeadline_keepsEarlier() {
+        assertTrue(Deadline.current().isEmpty());
+
+        Deadline.run(Duration.ofSeconds(2), () -> {
+            Deadline outer = Deadline.current().orElseThrow();
+            assertSame(outer, Deadline.call(Duration.ofMinutes(5), () -> Deadline.current().orElseThrow()));
+            Duration inner = Deadline.call(Duration.ofMillis(500), () -> Deadline.current().orElseThrow().remaining());
+            assertTrue(inner.compareTo(Duration.ofMillis(500)) <= 0);
+            assertSame(outer, Deadline.current().orElseThrow());
+        });
+
+        assertTrue(Deadline.current().isEmpty());
+    }
+
+    @Test
+    @DisplayName("the remaining budget caps each statement of a transaction")
+    void deadline_capsTransactionStatements() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(1);
+        SuprimExecutor executor = executor(Duration.ofSeconds(30));
+
+        Deadline.run(Duration.ofMillis(1900), () -> executor.transaction(tx -> {
+            tx.query(QUERY, NAME);
+            tx.execute(new QueryResult("UPDATE qt_items SET name = 'x'", Map.of()));
+        }));
+
+        verify(statement, times(2)).setQueryTimeout(2);
+        verify(statement, never()).setQueryTimeout(30);
+    }
+
+    @Test
+    @DisplayName("entity persistence and unit-of-work flushes get the timeout and deadline")
+    void persistenceStatements_guarded() throws SQLException {
+        when(statement.executeUpdate()).thenReturn(1);
+        SuprimExecutor executor = executor(Duration.ofSeconds(30));
+
+        executor.transaction(tx -> tx.save(new QtItem(1L)));
+        verify(statement).setQueryTimeout(30);
+
+        Deadline.run(Duration.ofMillis(1900), () -> executor.transaction(tx -> tx.unitOfWork().registerNew(new QtItem(2L))));
+        verify(statement).setQueryTimeout(2);
+        verify(statement, times(2)).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("a statement after the deadline fails without reaching the database")
+    void expiredDeadline_failsFast() throws SQLException {
+        SuprimExecutor executor = executor(null);
+
+        QueryTimeoutException e = assertThrows(QueryTimeoutException.class, () -> Deadline.run(Duration.ofMillis(1), () -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+            executor.query(QUERY, NAME);
+        }));
+
+        assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, e.getCategory());
+        verify(statement, never()).executeQuery();
+        verify(statement).close();
+    }
+
+    @Test
+    @DisplayName("async operations inherit the submitter's deadline")
+    void async_inheritsDeadline() {
+        SuprimExecutor executor = executor(null);
+
+        Optional<Deadline> inherited = Deadline.call(Duration.ofSeconds(5),
+                () -> executor.async().submit(e -> Deadline.current()).join());
+
+        assertTrue(inherited.isPresent());
+        assertTrue(executor.async().submit(e -> Deadline.current()).join().isEmpty());
+    }
+
+    // ==================== Cancellation ====================
+
+    @Test
+    @DisplayName("interrupting the thread cancels its running timed statement")
+    void interrupt_cancelsStatement() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            running.countDown();
+            // Like a driver blocked on its socket: ignores the interrupt until cancelled
+            while (cancelled.getCount() > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            throw new SQLException("ERROR: canceling statement due to user request", "57014");
+        });
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            try {
+                executor(Duration.ofMinutes(1)).query(QUERY, NAME);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+
+        worker.start();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        worker.interrupt();
+        worker.join(5_000);
+
+        assertFalse(worker.isAlive());
+        assertInstanceOf(QueryException.class, failure.get());
+        assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, ((QueryException) failure.get()).getCategory());
+        verify(statement).cancel();
+    }
+
+    @Test
+    @DisplayName("interrupting the thread after its statement returned does not cancel it")
+    void interruptAfterExecution_notCancelled() throws SQLException {
+        executor(Duration.ofMinutes(1)).query(QUERY, NAME);
+
+        Thread.currentThread().interrupt();
+        try {
+            StatementGuard.sweep();
+        } finally {
+            Thread.interrupted();
+        }
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    @DisplayName("a lazy stream's statement is guarded until the stream closes")
+    void lazyStream_guardedUntilClosed() throws SQLException {
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        Stream<String> open = executor(Duration.ofMinutes(1)).lazy(QUERY, NAME);
+        verify(statement).setQueryTimeout(60);
+        open.close();
+        Thread.currentThread().interrupt();
+        try {
+            StatementGuard.sweep();
+        } finally {
+            Thread.interrupted();
+        }
+        verify(statement, never()).cancel();
+
+        try (Stream<String> stream = executor(Duration.ofMinutes(1)).lazy(QUERY, NAME)) {
+            Thread.currentThread().interrupt();
+            try {
+                StatementGuard.sweep();
+            } finally {
+                Thread.interrupted();
+            }
+            verify(statement).cancel();
+        }
+    }
+
+    @Test
+    @DisplayName("an interrupted thread does not start new statements")
+    void interruptedThread_failsFast() throws SQLException {
+        SuprimExecutor executor = executor(null);
+        Thread.currentThread().interrupt();
+        try {
+            QueryException e = assertThrows(QueryException.class, () -> executor.query(QUERY, NAME));
+            assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, e.getCategory());
+        } finally {
+            Thread.interrupted();
+        }
+        verify(statement, never()).executeQuery();
+    }
+
+    // ==================== Test Entities ====================
+
+    private static final Table<QtItem> ITEMS = Table.of("qt_items", QtItem.class);
+
+    @Entity(table = "qt_items")
+    public static class QtItem {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        public QtItem() {}
+
+        QtItem(Long id) {
+            this.id = id;
+        }
+    }
+}
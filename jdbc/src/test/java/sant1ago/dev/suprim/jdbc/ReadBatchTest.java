@@ -0,0 +1,225 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.Table;
+import sant1ago.dev.suprim.jdbc.exception.NonUniqueResultException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ReadBatch} and {@link SuprimExecutor#batch}.
+ */
+@DisplayName("ReadBatch Tests")
+class ReadBatchTest {
+
+    private static final RowMapper<String> NAME = rs -> rs.getString("name");
+
+    private static QueryResult named(long id) {
+        return new QueryResult("SELECT name FROM batch_items WHERE id = :id", Map.of("id", id));
+    }
+
+    @Entity(table = "batch_items")
+    static class BatchItem {}
+
+    private static final Table<BatchItem> ITEMS = Table.of("batch_items", BatchItem.class);
+
+    private record Page(ReadBatch.Handle<List<String>> names, ReadBatch.Handle<Optional<String>> first,
+                        ReadBatch.Handle<Long> total) {}
+
+    // ==================== Sequential (H2) ====================
+
+    @Nested
+    @DisplayName("sequential execution")
+    class SequentialTests {
+
+        private JdbcDataSource dataSource;
+        private Connection setupConnection;
+        private final List<String> sql = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:readbatch" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+            setupConnection = dataSource.getConnection();
+            try (Statement stmt = setupConnection.createStatement()) {
+                stmt.execute("CREATE TABLE batch_items (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+                stmt.execute("INSERT INTO batch_items VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+            }
+        }
+
+        @AfterEach
+        void tearDown() throws SQLException {
+            setupConnection.close();
+        }
+
+        private SuprimExecutor executor(DataSource source) {
+            return SuprimExecutor.builder(source).onQuery(event -> sql.add(event.sql())).build();
+        }
+
+        @Test
+        @DisplayName("resolves every handle from one connection")
+        void batch_resolvesHandles() throws SQLException {
+            DataSource source = spy(dataSource);
+
+            Page page = executor(source).batch(b -> new Page(
+                    b.query(new QueryResult("SELECT name FROM batch_items ORDER BY id", Map.of()), NAME),
+                    b.queryOne(named(2), NAME),
+                    b.count(Suprim.selectAll().from(ITEMS))));
+
+            assertEquals(List.of("one", "two", "three"), page.names().get());
+            assertEquals(Optional.of("two"), page.first().get());
+            assertEquals(3L, page.total().get());
+            assertTrue(page.total().isDone());
+            assertEquals(3, sql.size());
+            verify(source, times(1)).getConnection();
+        }
+
+        @Test
+        @DisplayName("handles cannot be read before the batch runs")
+        void handle_beforeRun_throws() {
+            ReadBatch.Handle<List<String>> handle = executor(dataSource).batch(b -> {
+                ReadBatch.Handle<List<String>> names = b.query(named(1), NAME);
+                assertFalse(names.isDone());
+                assertThrows(IllegalStateException.class, names::get);
+                assertEquals(1, b.size());
+                return names;
+            });
+
+            assertEquals(List.of("one"), handle.get());
+        }
+
+        @Test
+        @DisplayName("queryOne matching several rows fails only its own handle")
+        void queryOne_nonUnique_failsOnGet() {
+            Page page = executor(dataSource).batch(b -> new Page(
+                    b.query(named(3), NAME),
+                    b.queryOne(new QueryResult("SELECT name FROM batch_items", Map.of()), NAME),
+                    b.count(Suprim.selectAll().from(ITEMS))));
+
+            assertEquals(List.of("three"), page.names().get());
+            assertThrows(NonUniqueResultException.class, () -> page.first().get());
+            assertEquals(Optional.empty(), executor(dataSource).batch(b -> b.queryOne(named(99), NAME)).get());
+        }
+
+        @Test
+        @DisplayName("an empty batch does not open a connection")
+        void emptyBatch_noConnection() throws SQLException {
+            DataSource source = spy(dataSource);
+
+            assertEquals("done", executor(source).batch(b -> "done"));
+            verify(source, never()).getConnection();
+        }
+    }
+
+    // ==================== Multi-statement ====================
+
+    @Nested
+    @DisplayName("multi-statement execution")
+    class CombinedTests {
+
+        private final DataSource dataSource = mock(DataSource.class);
+        private final Connection connection = mock(Connection.class);
+        private final DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        private final PreparedStatement statement = mock(PreparedStatement.class);
+
+        @BeforeEach
+        void setUp() throws SQLException {
+            when(dataSource.getConnection()).thenReturn(connection);
+            when(connection.getMetaData()).thenReturn(metaData);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+        }
+
+        private static ResultSet rows(String... names) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            Boolean[] more = new Boolean[names.length];
+            for (int i = 0; i < names.length; i++) {
+                more[i] = i < names.length - 1;
+            }
+            when(rs.next()).thenReturn(names.length > 0, more);
+            if (names.length > 0) {
+                when(rs.getString("name")).thenReturn(names[0], Arrays.copyOfRange(names, 1, names.length));
+            }
+            return rs;
+        }
+
+        @Test
+        @DisplayName("PostgreSQL reads are sent as one statement")
+        void postgres_sendsOneStatement() throws SQLException {
+            when(metaData.getURL()).thenReturn("jdbc:postgresql://localhost/app");
+            when(statement.execute()).thenReturn(true);
+            ResultSet first = rows("one");
+            ResultSet second = rows("two", "three");
+            when(statement.getResultSet()).thenReturn(first, second);
+            when(statement.getMoreResults()).thenReturn(true, false);
+
+            List<ReadBatch.Handle<List<String>>> handles = SuprimExecutor.create(dataSource).batch(b -> List.of(
+                    b.query(named(1), NAME),
+                    b.query(new QueryResult("SELECT name FROM batch_items WHERE id > :id", Map.of("id", 1L)), NAME)));
+
+            assertEquals(List.of("one"), handles.get(0).get());
+            assertEquals(List.of("two", "three"), handles.get(1).get());
+            verify(connection).prepareStatement(
+                    "SELECT name FROM batch_items WHERE id = ?; SELECT name FROM batch_items WHERE id > ?");
+            verify(statement).setObject(1, 1L);
+            verify(statement).setObject(2, 1L);
+            verify(statement, never()).executeQuery();
+            verify(connection).close();
+        }
+
+        @Test
+        @DisplayName("MySQL without allowMultiQueries runs statements one by one")
+        void mysqlWithoutMultiQueries_runsSequentially() throws SQLException {
+            when(metaData.getURL()).thenReturn("jdbc:mysql://localhost/app");
+            ResultSet first = rows("one");
+            ResultSet second = rows("two");
+            when(statement.executeQuery()).thenReturn(first, second);
+
+            SuprimExecutor.create(dataSource).batch(b -> List.of(b.query(named(1), NAME), b.query(named(2), NAME)));
+
+            verify(connection, times(2)).prepareStatement("SELECT name FROM batch_items WHERE id = ?");
+            verify(statement, never()).execute();
+            verify(dataSource, times(1)).getConnection();
+        }
+
+        @Test
+        @DisplayName("detects drivers with multi-statement support from the URL")
+        void supportsMultiStatements_byUrl() throws SQLException {
+            when(metaData.getURL()).thenReturn(
+                    "jdbc:postgresql://db/app",
+                    "jdbc:mysql://db/app?allowMultiQueries=true",
+                    "jdbc:mariadb://db/app?useSsl=false&allowMultiQueries=true",
+                    "jdbc:mysql://db/app",
+                    "jdbc:h2:mem:test");
+
+            assertTrue(ReadBatch.supportsMultiStatements(connection));
+            assertTrue(ReadBatch.supportsMultiStatements(connection));
+            assertTrue(ReadBatch.supportsMultiStatements(connection));
+            assertFalse(ReadBatch.supportsMultiStatements(connection));
+            assertFalse(ReadBatch.supportsMultiStatements(connection));
+        }
+    }
+}
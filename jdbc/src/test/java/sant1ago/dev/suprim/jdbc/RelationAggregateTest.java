@@ -0,0 +1,177 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.core.query.AggregateStrategy;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.ComparableColumn;
+import sant1ago.dev.suprim.core.type.Relation;
+import sant1ago.dev.suprim.core.type.Table;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relation aggregates (withCount, withSum, withExists, ...) against H2, rendered as
+ * correlated subqueries and as grouped joins.
+ */
+@DisplayName("Relation Aggregate Tests")
+class RelationAggregateTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RelationAggregateTest.class);
+
+    @Entity(table = "agg_authors")
+    static class AggAuthor {}
+
+    @Entity(table = "agg_posts")
+    static class AggPost {}
+
+    private static final Table<AggAuthor> AUTHORS = Table.of("agg_authors", AggAuthor.class);
+    private static final Table<AggPost> POSTS = Table.of("agg_posts", AggPost.class);
+    private static final ComparableColumn<AggAuthor, Long> AUTHOR_ID = new ComparableColumn<>(AUTHORS, "id", Long.class, "BIGINT");
+    private static final ComparableColumn<AggPost, Long> POST_VIEWS = new ComparableColumn<>(POSTS, "views", Long.class, "BIGINT");
+    private static final ComparableColumn<AggPost, Long> POST_ID = new ComparableColumn<>(POSTS, "id", Long.class, "BIGINT");
+    private static final Relation<AggAuthor, AggPost> AUTHOR_POSTS = Relation.hasMany(
+            AUTHORS, POSTS, "author_id", "id", false, false, "posts"
+    );
+
+    private JdbcDataSource dataSource;
+    private Connection setupConnection;
+    private SuprimExecutor executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:aggtest" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
+        setupConnection = dataSource.getConnection();
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("CREATE TABLE agg_authors (id BIGINT PRIMARY KEY)");
+            stmt.execute("CREATE TABLE agg_posts (id BIGINT PRIMARY KEY, author_id BIGINT, views BIGINT)");
+            stmt.execute("CREATE INDEX agg_posts_author ON agg_posts (author_id)");
+        }
+        executor = SuprimExecutor.create(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS agg_posts");
+            stmt.execute("DROP TABLE IF EXISTS agg_authors");
+        }
+        setupConnection.close();
+    }
+
+    private record Row(long id, long postCount, long totalViews, long maxPostId, boolean hasPosts) {}
+
+    private List<Row> page(AggregateStrategy strategy, int limit) {
+        QueryResult query = Suprim.select(AUTHOR_ID)
+                .from(AUTHORS)
+                .withCount(AUTHOR_POSTS)
+                .withSum(AUTHOR_POSTS, POST_VIEWS, "total_views")
+                .withMax(AUTHOR_POSTS, POST_ID, "max_post_id")
+                .withExists(AUTHOR_POSTS, "has_posts")
+                .whereRaw("agg_authors.id > 1")
+                .orderBy(AUTHOR_ID.asc())
+                .limit(limit)
+                .aggregateStrategy(strategy)
+                .build();
+        return executor.query(query, this::mapRow);
+    }
+
+    private Row mapRow(ResultSet rs) throws SQLException {
+        return new Row(rs.getLong("id"), rs.getLong("posts_count"), rs.getLong("total_views"),
+                rs.getLong("max_post_id"), rs.getBoolean("has_posts"));
+    }
+
+    private void seed(int authors, int postsPerAuthor) throws SQLException {
+        setupConnection.setAutoCommit(false);
+        try (PreparedStatement author = setupConnection.prepareStatement("INSERT INTO agg_authors VALUES (?)");
+             PreparedStatement post = setupConnection.prepareStatement("INSERT INTO agg_posts VALUES (?, ?, ?)")) {
+            long postId = 0;
+            for (long a = 1; a <= authors; a++) {
+                author.setLong(1, a);
+                author.addBatch();
+                // Every third author has no posts
+                for (int p = 0; a % 3 != 0 && p < postsPerAuthor; p++) {
+                    post.setLong(1, ++postId);
+                    post.setLong(2, a);
+                    post.setLong(3, p + 1);
+                    post.addBatch();
+                }
+                post.executeBatch();
+            }
+            author.executeBatch();
+        }
+        setupConnection.commit();
+        setupConnection.setAutoCommit(true);
+    }
+
+    @Test
+    @DisplayName("Grouped joins return the same aggregates as correlated subqueries")
+    void groupedJoin_matchesCorrelatedSubqueries() throws SQLException {
+        seed(10, 4);
+
+        List<Row> correlated = page(AggregateStrategy.CORRELATED_SUBQUERY, 5);
+        List<Row> grouped = page(AggregateStrategy.GROUPED_JOIN, 5);
+
+        assertEquals(correlated, grouped);
+        assertEquals(List.of(
+                new Row(2, 4, 10, 8, true),
+                new Row(3, 0, 0, 0, false),
+                new Row(4, 4, 10, 12, true),
+                new Row(5, 4, 10, 16, true),
+                new Row(6, 0, 0, 0, false)
+        ), grouped);
+    }
+
+    @Test
+    @DisplayName("Grouped joins without WHERE or LIMIT aggregate every owner")
+    void groupedJoin_unrestricted() throws SQLException {
+        seed(3, 2);
+
+        List<Long> counts = executor.query(
+                Suprim.select(AUTHOR_ID).from(AUTHORS).withCount(AUTHOR_POSTS).orderBy(AUTHOR_ID.asc())
+                        .aggregateStrategy(AggregateStrategy.GROUPED_JOIN).build(),
+                rs -> rs.getLong("posts_count"));
+
+        assertEquals(List.of(2L, 2L, 0L), counts);
+    }
+
+    /**
+     * Run with {@code -Dsuprim.benchmark=true}. Pages of 500 authors with four aggregates
+     * over 200,000 posts; logs the average time per page for each strategy.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "suprim.benchmark", matches = "true")
+    @DisplayName("Benchmark: correlated subqueries vs grouped joins")
+    void benchmark() throws SQLException {
+        seed(3_000, 100);
+        int rounds = 20;
+
+        for (AggregateStrategy strategy : AggregateStrategy.values()) {
+            page(strategy, 500); // warm up
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                assertEquals(500, page(strategy, 500).size());
+            }
+            long averageMicros = (System.nanoTime() - start) / rounds / 1_000;
+            LOG.info("{}: {} us/page", strategy, averageMicros);
+        }
+        assertEquals(page(AggregateStrategy.CORRELATED_SUBQUERY, 500), page(AggregateStrategy.GROUPED_JOIN, 500));
+    }
+}
@@ -268,7 +268,7 @@ class RelationshipManagerTest {
         }
 
         @Test
-        @DisplayName("saveMany inserts multiple children")
+        @DisplayName("saveMany inserts multiple children in one statement")
         void saveMany_insertsMultipleChildren() {
             User user = new User(1L, "John");
             Post post1 = new Post();
@@ -276,16 +276,45 @@ class RelationshipManagerTest {
             Post post2 = new Post();
             post2.setTitle("Post 2");
 
-            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(1);
+            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(2);
 
             List<Post> result = manager.saveMany(user, User_.POSTS, List.of(post1, post2));
 
             assertEquals(2, result.size());
             assertEquals(1L, post1.getAuthorId());
             assertEquals(1L, post2.getAuthorId());
+            verify(mockTransaction, times(1)).execute(argThat(query ->
+                query.sql().contains("VALUES (:p1, :p2), (:p3, :p4)")));
+        }
+
+        @Test
+        @DisplayName("saveMany groups children by non-null column set")
+        void saveMany_differentColumnSets_oneStatementPerShape() {
+            User user = new User(1L, "John");
+            Post post1 = new Post();
+            post1.setTitle("Post 1");
+            Post post2 = new Post();
+            Post post3 = new Post();
+            post3.setTitle("Post 3");
+
+            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(1);
+
+            manager.saveMany(user, User_.POSTS, List.of(post1, post2, post3));
+
             verify(mockTransaction, times(2)).execute(any(QueryResult.class));
         }
 
+        @Test
+        @DisplayName("saveMany with empty list executes nothing")
+        void saveMany_emptyList_noExecution() {
+            User user = new User(1L, "John");
+
+            List<Post> result = manager.saveMany(user, User_.POSTS, List.of());
+
+            assertTrue(result.isEmpty());
+            verify(mockTransaction, never()).execute(any(QueryResult.class));
+        }
+
         @Test
         @DisplayName("create inserts entity from attribute map")
         void create_insertsFromMap() {
@@ -309,12 +338,15 @@ class RelationshipManagerTest {
                 Map.of("title", "Post 2")
             );
 
-            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(1);
+            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(2);
 
             int result = manager.createMany(user, User_.POSTS, attrsList);
 
             assertEquals(2, result);
-            verify(mockTransaction, times(2)).execute(any(QueryResult.class));
+            verify(mockTransaction, times(1)).execute(argThat(query -> {
+                String sql = query.sql();
+                return sql.contains("\"author_id\"") && sql.contains("VALUES (:p1, :p2), (:p3, :p4)");
+            }));
         }
 
         @Test
@@ -461,6 +493,107 @@ class RelationshipManagerTest {
             assertTrue(result.detached().contains(10L));
         }
 
+        @Test
+        @DisplayName("sync issues one DELETE and one multi-row INSERT")
+        void sync_manyChanges_singleDeleteAndInsert() {
+            User user = new User(1L, "John");
+
+            doAnswer(invocation -> List.of(1L, 2L, 3L))
+                .when(mockTransaction).query(any(QueryResult.class), any());
+            when(mockTransaction.execute(any(QueryResult.class))).thenAnswer(invocation -> {
+                QueryResult query = invocation.getArgument(0);
+                return query.sql().startsWith("DELETE") ? 2 : 3;
+            });
+
+            // Desired: [3, 4, 5, 6] -> detach 1, 2 and attach 4, 5, 6
+            SyncResult result = manager.sync(user, User_.ROLES, List.of(3L, 4L, 5L, 6L));
+
+            assertEquals(3, result.attached());
+            assertEquals(2, result.detached());
+            verify(mockTransaction, times(2)).execute(any(QueryResult.class));
+            verify(mockTransaction).execute(argThat(query ->
+                query.sql().startsWith("DELETE") && query.sql().contains(" IN (")));
+            verify(mockTransaction).execute(argThat(query ->
+                query.sql().startsWith("INSERT") && query.parameters().size() == 6));
+        }
+
+        @Test
+        @DisplayName("sync with no changes executes nothing")
+        void sync_noChanges_noExecution() {
+            User user = new User(1L, "John");
+
+            doAnswer(invocation -> List.of(10L, 20L))
+                .when(mockTransaction).query(any(QueryResult.class), any());
+
+            SyncResult result = manager.sync(user, User_.ROLES, List.of(20L, 10L));
+
+            assertEquals(0, result.attached());
+            assertEquals(0, result.detached());
+            verify(mockTransaction, never()).execute(any(QueryResult.class));
+        }
+
+        @Test
+        @DisplayName("toggle issues at most one DELETE and one INSERT")
+        void toggle_manyIds_singleDeleteAndInsert() {
+            User user = new User(1L, "John");
+
+            doAnswer(invocation -> List.of(1L, 2L))
+                .when(mockTransaction).query(any(QueryResult.class), any());
+            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(2);
+
+            ToggleResult result = manager.toggle(user, User_.ROLES, List.of(1L, 2L, 3L, 4L));
+
+            assertEquals(List.of(3L, 4L), result.attached());
+            assertEquals(List.of(1L, 2L), result.detached());
+            verify(mockTransaction, times(2)).execute(any(QueryResult.class));
+        }
+
+        @Test
+        @DisplayName("attachMany with pivot attributes and timestamps inserts one row per ID")
+        void attachMany_withAttributesAndTimestamps() {
+            User user = new User(1L, "John");
+
+            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(2);
+
+            int result = manager.attachMany(user, User_.ROLES_WITH_TIMESTAMPS, List.of(10L, 20L),
+                Map.of("assigned_by", 99L));
+
+            assertEquals(2, result);
+            verify(mockTransaction).execute(argThat(query -> {
+                String sql = query.sql();
+                return sql.contains("assigned_by") && sql.contains("created_at")
+                    && sql.contains("updated_at") && query.parameters().size() == 10;
+            }));
+        }
+
+        @Test
+        @DisplayName("attachMany splits statements at the parameter limit")
+        void attachMany_exceedsParameterLimit_splitsStatements() {
+            User user = new User(1L, "John");
+            List<Long> ids = new ArrayList<>();
+            int rowsPerStatement = RelationshipManager.MAX_PARAMETERS_PER_STATEMENT / 2;
+            for (long i = 0; i <= rowsPerStatement; i++) {
+                ids.add(i);
+            }
+
+            when(mockTransaction.execute(any(QueryResult.class))).thenReturn(1);
+
+            manager.attachMany(user, User_.ROLES, ids);
+
+            verify(mockTransaction, times(2)).execute(any(QueryResult.class));
+        }
+
+        @Test
+        @DisplayName("detachMany with empty list executes nothing")
+        void detachMany_emptyList_noExecution() {
+            User user = new User(1L, "John");
+
+            int result = manager.detachMany(user, User_.ROLES, List.of());
+
+            assertEquals(0, result);
+            verify(mockTransaction, never()).execute(any(QueryResult.class));
+        }
+
         @Test
         @DisplayName("updateExistingPivot updates pivot attributes")
         void updateExistingPivot_updatesAttributes() {
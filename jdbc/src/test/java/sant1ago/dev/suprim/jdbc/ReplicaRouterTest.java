@@ -0,0 +1,292 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.core.query.QueryResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for read replica routing, using separate H2 databases as primary and replicas.
+ */
+@DisplayName("ReplicaRouter Tests")
+class ReplicaRouterTest {
+
+    private static final QueryResult WHO = new QueryResult("SELECT name FROM rr_source", Map.of());
+
+    private static JdbcDataSource primary;
+    private static JdbcDataSource replica1;
+    private static JdbcDataSource replica2;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        primary = database("primary");
+        replica1 = database("replica1");
+        replica2 = database("replica2");
+    }
+
+    private static JdbcDataSource database(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rr_" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS rr_source (name VARCHAR(20))");
+            conn.createStatement().execute("DELETE FROM rr_source");
+            conn.createStatement().execute("INSERT INTO rr_source VALUES ('" + name + "')");
+        }
+        return dataSource;
+    }
+
+    private static SuprimExecutor executor(ReplicaRouter router) {
+        return SuprimExecutor.builder(primary).replicas(router).build();
+    }
+
+    private static ReplicaRouter.Builder router() {
+        return ReplicaRouter.builder()
+                .replica("r1", replica1)
+                .replica("r2", replica2)
+                .readYourWrites(Duration.ZERO);
+    }
+
+    private static String who(SuprimExecutor executor) {
+        return executor.query(WHO, rs -> rs.getString(1)).get(0);
+    }
+
+    @Nested
+    @DisplayName("routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("spreads reads across replicas round-robin")
+        void reads_roundRobin() {
+            SuprimExecutor executor = executor(router().build());
+
+            List<String> served = List.of(who(executor), who(executor), who(executor), who(executor));
+
+            assertEquals(2, served.stream().filter("replica1"::equals).count());
+            assertEquals(2, served.stream().filter("replica2"::equals).count());
+            assertNotEquals(served.get(0), served.get(1));
+        }
+
+        @Test
+        @DisplayName("keeps writes on the primary")
+        void writes_onPrimary() throws SQLException {
+            SuprimExecutor executor = executor(router().build());
+
+            executor.execute(new QueryResult("INSERT INTO rr_source VALUES (:name)", Map.of("name", "written")));
+            try {
+                assertEquals(2, rows(primary));
+                assertEquals(1, rows(replica1));
+                assertEquals(1, rows(replica2));
+            } finally {
+                executor.execute(new QueryResult("DELETE FROM rr_source WHERE name = :name", Map.of("name", "written")));
+            }
+        }
+
+        private int rows(DataSource dataSource) throws SQLException {
+            try (Connection conn = dataSource.getConnection();
+                 ResultSet rs = conn.createStatement().executeQuery("SELECT COUNT(*) FROM rr_source")) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+
+        @Test
+        @DisplayName("keeps reads inside a transaction on the primary")
+        void transactionReads_onPrimary() {
+            SuprimExecutor executor = executor(router().build());
+
+            String served = executor.transactionWithResult(tx -> who(executor));
+
+            assertEquals("primary", served);
+        }
+
+        @Test
+        @DisplayName("keeps locking reads on the primary")
+        void lockingRead_onPrimary() {
+            SuprimExecutor executor = executor(router().build());
+
+            String served = executor.query(new QueryResult("SELECT name FROM rr_source FOR UPDATE", Map.of()),
+                    rs -> rs.getString(1)).get(0);
+
+            assertEquals("primary", served);
+        }
+
+        @Test
+        @DisplayName("routes CTE reads to replicas")
+        void cteRead_onReplica() {
+            SuprimExecutor executor = executor(router().build());
+
+            String served = executor.query(new QueryResult("WITH src AS (SELECT name FROM rr_source) SELECT name FROM src", Map.of()),
+                    rs -> rs.getString(1)).get(0);
+
+            assertTrue(served.startsWith("replica"));
+        }
+
+        @Test
+        @DisplayName("keeps data-modifying CTEs on the primary")
+        void dataModifyingCte_onPrimary() throws SQLException {
+            DataSource replica = mock(DataSource.class);
+            SuprimExecutor executor = executor(ReplicaRouter.builder().replica(replica).readYourWrites(Duration.ZERO).build());
+            QueryResult moved = new QueryResult(
+                    "WITH moved AS (DELETE FROM rr_source WHERE name = :name RETURNING name) SELECT name FROM moved",
+                    Map.of("name", "none"));
+
+            // H2 rejects data-modifying CTEs; PostgreSQL runs them, so they must never reach a replica
+            assertThrows(SuprimException.class, () -> executor.query(moved, rs -> rs.getString(1)));
+
+            verify(replica, never()).getConnection();
+        }
+
+        @Test
+        @DisplayName("sends reads to the primary inside onPrimary")
+        void onPrimary_pinsReads() {
+            SuprimExecutor executor = executor(router().build());
+
+            assertEquals("primary", executor.onPrimary(() -> who(executor)));
+            assertTrue(who(executor).startsWith("replica"));
+        }
+
+        @Test
+        @DisplayName("routes pluck to replicas")
+        void pluck_onReplica() {
+            SuprimExecutor executor = executor(router().build());
+
+            List<String> names = executor.pluck(WHO, "name", String.class);
+
+            assertTrue(names.get(0).startsWith("replica"));
+        }
+
+        @Test
+        @DisplayName("prefers the replica with the fewest checked-out connections")
+        void leastOutstanding_avoidsBusyReplica() {
+            ReplicaRouter router = router().strategy(ReplicaRouter.Strategy.LEAST_OUTSTANDING).build();
+            SuprimExecutor executor = executor(router);
+
+            try (Stream<String> open = executor.lazy(WHO, rs -> rs.getString(1))) {
+                String busy = open.findFirst().orElseThrow();
+
+                assertEquals(1, router.status().stream().mapToInt(ReplicaStatus::outstanding).sum());
+                for (int i = 0; i < 4; i++) {
+                    assertNotEquals(busy, who(executor));
+                }
+            }
+            assertEquals(0, router.status().stream().mapToInt(ReplicaStatus::outstanding).sum());
+        }
+    }
+
+    @Nested
+    @DisplayName("read-your-writes")
+    class StickinessTests {
+
+        @Test
+        @DisplayName("reads after a write stay on the primary within the window")
+        void readAfterWrite_onPrimary() {
+            SuprimExecutor executor = executor(router().readYourWrites(Duration.ofMinutes(1)).build());
+
+            assertTrue(who(executor).startsWith("replica"));
+            executor.execute(new QueryResult("UPDATE rr_source SET name = name", Map.of()));
+
+            assertEquals("primary", who(executor));
+        }
+
+        @Test
+        @DisplayName("reads return to replicas once the window has passed")
+        void readAfterWindow_onReplica() throws InterruptedException {
+            SuprimExecutor executor = executor(router().readYourWrites(Duration.ofMillis(20)).build());
+
+            executor.execute(new QueryResult("UPDATE rr_source SET name = name", Map.of()));
+            Thread.sleep(50);
+
+            assertTrue(who(executor).startsWith("replica"));
+        }
+
+        @Test
+        @DisplayName("stickiness is per thread")
+        void stickiness_perThread() throws Exception {
+            SuprimExecutor executor = executor(router().readYourWrites(Duration.ofMinutes(1)).build());
+            executor.execute(new QueryResult("UPDATE rr_source SET name = name", Map.of()));
+
+            String[] served = new String[1];
+            Thread other = new Thread(() -> served[0] = who(executor));
+            other.start();
+            other.join();
+
+            assertTrue(served[0].startsWith("replica"));
+        }
+    }
+
+    @Nested
+    @DisplayName("health")
+    class HealthTests {
+
+        @Test
+        @DisplayName("marks a failing replica unhealthy and skips it")
+        void connectionFailure_marksUnhealthy() throws SQLException {
+            DataSource broken = mock(DataSource.class);
+            when(broken.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+            ReplicaRouter router = ReplicaRouter.builder()
+                    .replica("broken", broken)
+                    .replica("r1", replica1)
+                    .build();
+            SuprimExecutor executor = executor(router);
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals("replica1", who(executor));
+            }
+
+            assertFalse(router.status().get(0).healthy());
+            assertTrue(router.status().get(1).healthy());
+            verify(broken, times(1)).getConnection();
+        }
+
+        @Test
+        @DisplayName("falls back to the primary when no replica is healthy")
+        void allReplicasDown_fallsBackToPrimary() throws SQLException {
+            DataSource broken = mock(DataSource.class);
+            when(broken.getConnection()).thenThrow(new SQLException("Connection refused", "08001"));
+            SuprimExecutor executor = executor(ReplicaRouter.builder().replica(broken).build());
+
+            assertEquals("primary", who(executor));
+            assertEquals("primary", who(executor));
+        }
+
+        @Test
+        @DisplayName("retries an unhealthy replica after the window")
+        void unhealthyWindow_elapsed_retried() throws SQLException {
+            DataSource flaky = mock(DataSource.class);
+            when(flaky.getConnection())
+                    .thenThrow(new SQLException("Connection refused", "08001"))
+                    .thenAnswer(invocation -> replica1.getConnection());
+            ReplicaRouter router = ReplicaRouter.builder()
+                    .replica(flaky)
+                    .unhealthyFor(Duration.ZERO)
+                    .build();
+            SuprimExecutor executor = executor(router);
+
+            assertEquals("primary", who(executor));
+            assertEquals("replica1", who(executor));
+            assertTrue(router.status().get(0).healthy());
+        }
+    }
+
+    @Test
+    @DisplayName("requires at least one replica")
+    void builder_noReplicas_throws() {
+        assertThrows(IllegalStateException.class, () -> ReplicaRouter.builder().build());
+    }
+}
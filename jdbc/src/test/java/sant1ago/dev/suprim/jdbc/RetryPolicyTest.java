@@ -0,0 +1,191 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.jdbc.event.TransactionEvent;
+import sant1ago.dev.suprim.jdbc.event.TransactionListener;
+import sant1ago.dev.suprim.jdbc.exception.DeadlockException;
+import sant1ago.dev.suprim.jdbc.exception.TransactionException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RetryPolicy and retried transactions.
+ */
+@DisplayName("RetryPolicy Tests")
+class RetryPolicyTest {
+
+    private static final RetryPolicy NO_BACKOFF = RetryPolicy.builder()
+            .maxAttempts(3)
+            .backoff(Duration.ZERO, Duration.ZERO)
+            .build();
+
+    private SuprimExecutor executor;
+    private List<TransactionEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:retry_policy_test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        events = new ArrayList<>();
+        executor = SuprimExecutor.builder(dataSource)
+                .addTransactionListener(new TransactionListener() {
+                    @Override
+                    public void onBegin(TransactionEvent event) {
+                        events.add(event);
+                    }
+
+                    @Override
+                    public void onRollback(TransactionEvent event) {
+                        events.add(event);
+                    }
+
+                    @Override
+                    public void onCommit(TransactionEvent event) {
+                        events.add(event);
+                    }
+                })
+                .build();
+    }
+
+    private static SQLException serializationFailure() {
+        return new SQLException("could not serialize access", "40001");
+    }
+
+    @Nested
+    @DisplayName("retried transactions")
+    class RetryTests {
+
+        @Test
+        @DisplayName("re-runs the transaction until it succeeds")
+        void retryableFailure_retriedUntilSuccess() {
+            AtomicInteger calls = new AtomicInteger();
+
+            String result = executor.transactionWithResult(NO_BACKOFF, tx -> {
+                if (calls.incrementAndGet() < 3) {
+                    throw serializationFailure();
+                }
+                return "done";
+            });
+
+            assertEquals("done", result);
+            assertEquals(3, calls.get());
+            assertEquals(List.of(1, 1, 2, 2, 3, 3), events.stream().map(TransactionEvent::attempt).toList());
+            assertTrue(events.get(events.size() - 1).isRetry());
+        }
+
+        @Test
+        @DisplayName("rethrows the last failure once attempts are exhausted")
+        void retryableFailure_exhausted_throws() {
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThrows(DeadlockException.class, () ->
+                    executor.transaction(NO_BACKOFF, tx -> {
+                        calls.incrementAndGet();
+                        throw DeadlockException.builder().message("deadlock").build();
+                    }));
+
+            assertEquals(3, calls.get());
+        }
+
+        @Test
+        @DisplayName("does not retry other failures")
+        void nonRetryableFailure_notRetried() {
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThrows(TransactionException.class, () ->
+                    executor.transaction(NO_BACKOFF, tx -> {
+                        calls.incrementAndGet();
+                        throw new IllegalStateException("bug");
+                    }));
+
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        @DisplayName("runs each attempt at the configured isolation level")
+        void isolation_appliedToConnection() {
+            RetryPolicy policy = RetryPolicy.builder()
+                    .isolation(Connection.TRANSACTION_SERIALIZABLE)
+                    .build();
+
+            int isolation = executor.transactionWithResult(policy, tx -> tx.getConnection().getTransactionIsolation());
+
+            assertEquals(Connection.TRANSACTION_SERIALIZABLE, isolation);
+        }
+
+        @Test
+        @DisplayName("reports attempt 1 for plain transactions")
+        void plainTransaction_attemptOne() {
+            executor.transaction(tx -> {});
+
+            assertTrue(events.stream().allMatch(e -> e.attempt() == 1 && !e.isRetry()));
+        }
+    }
+
+    @Nested
+    @DisplayName("classification")
+    class ClassificationTests {
+
+        @Test
+        @DisplayName("retries serialization failures and deadlocks by SQLSTATE and vendor code")
+        void defaults_classifyBySqlState() {
+            RetryPolicy policy = RetryPolicy.defaults();
+
+            assertTrue(policy.isRetryable(serializationFailure()));
+            assertTrue(policy.isRetryable(new SQLException("deadlock detected", "40P01")));
+            assertTrue(policy.isRetryable(new SQLException("Deadlock found", "HY000", 1213)));
+            assertTrue(policy.isRetryable(new RuntimeException(serializationFailure())));
+            assertFalse(policy.isRetryable(new SQLException("duplicate key", "23505")));
+            assertFalse(policy.isRetryable(null));
+        }
+
+        @Test
+        @DisplayName("uses a custom classifier when configured")
+        void retryOn_overridesDefaults() {
+            RetryPolicy policy = RetryPolicy.builder()
+                    .retryOn(e -> e instanceof IllegalStateException)
+                    .build();
+
+            assertTrue(policy.isRetryable(new IllegalStateException()));
+            assertFalse(policy.isRetryable(serializationFailure()));
+        }
+
+        @Test
+        @DisplayName("bounds the jittered backoff by the exponential ceiling")
+        void backoff_withinCeiling() {
+            RetryPolicy policy = RetryPolicy.builder()
+                    .backoff(Duration.ofMillis(10), Duration.ofMillis(35))
+                    .build();
+
+            for (int i = 0; i < 100; i++) {
+                assertTrue(policy.backoffNanos(2) <= Duration.ofMillis(10).toNanos());
+                assertTrue(policy.backoffNanos(3) <= Duration.ofMillis(20).toNanos());
+                assertTrue(policy.backoffNanos(10) <= Duration.ofMillis(35).toNanos());
+                assertTrue(policy.backoffNanos(2) >= 0);
+            }
+        }
+
+        @Test
+        @DisplayName("rejects invalid settings")
+        void builder_invalidSettings_throw() {
+            assertThrows(IllegalArgumentException.class, () -> RetryPolicy.builder().maxAttempts(0));
+            assertThrows(IllegalArgumentException.class, () -> RetryPolicy.builder().isolation(42));
+            assertThrows(IllegalArgumentException.class,
+                    () -> RetryPolicy.builder().backoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+        }
+    }
+}
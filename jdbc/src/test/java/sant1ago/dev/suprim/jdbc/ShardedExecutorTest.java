@@ -0,0 +1,356 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.annotation.entity.ShardKey;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.core.query.SelectBuilder;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.ComparableColumn;
+import sant1ago.dev.suprim.core.type.OrderSpec;
+import sant1ago.dev.suprim.core.type.Table;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ShardedExecutor, using separate H2 databases as shards.
+ */
+@DisplayName("ShardedExecutor Tests")
+class ShardedExecutorTest {
+
+    private static final int SHARDS = 3;
+    private static final List<JdbcDataSource> DATABASES = new ArrayList<>();
+
+    private ShardedExecutor sharded;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        for (int i = 0; i < SHARDS; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:shard_" + i + ";DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE");
+            dataSource.setUser("sa");
+            dataSource.setPassword("");
+            try (Connection conn = dataSource.getConnection()) {
+                conn.createStatement().execute(
+                    "CREATE TABLE IF NOT EXISTS sh_orders (id BIGINT PRIMARY KEY, tenant_id BIGINT, amount INT)");
+                conn.createStatement().execute(
+                    "CREATE TABLE IF NOT EXISTS sh_events (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            }
+            DATABASES.add(dataSource);
+        }
+    }
+
+    @BeforeEach
+    void resetTables() throws SQLException {
+        ShardedExecutor.Builder builder = ShardedExecutor.builder();
+        for (JdbcDataSource dataSource : DATABASES) {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.createStatement().execute("DELETE FROM sh_orders");
+                conn.createStatement().execute("DELETE FROM sh_events");
+            }
+            builder.shard(SuprimExecutor.create(dataSource));
+        }
+        sharded = builder.build();
+    }
+
+    @AfterEach
+    void cleanup() {
+        sharded.close();
+    }
+
+    // ==================== TEST ENTITIES ====================
+
+    @Entity(table = "sh_orders")
+    public static class ShardedOrder {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @ShardKey
+        @Column(name = "tenant_id")
+        private Long tenantId;
+
+        @Column(name = "amount")
+        private Integer amount;
+
+        public ShardedOrder() {}
+
+        ShardedOrder(long id, long tenantId, int amount) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.amount = amount;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public Long getTenantId() { return tenantId; }
+        public void setTenantId(Long tenantId) { this.tenantId = tenantId; }
+        public Integer getAmount() { return amount; }
+        public void setAmount(Integer amount) { this.amount = amount; }
+    }
+
+    @Entity(table = "sh_events")
+    public static class ShardedEvent {
+        @Id
+        @ShardKey(ranges = {100, 200})
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "name")
+        private String name;
+
+        public ShardedEvent() {}
+
+        ShardedEvent(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    @Entity(table = "sh_orders")
+    public static class UnshardedOrder {
+        @Id
+        @Column(name = "id")
+        private Long id;
+    }
+
+    private static final Table<ShardedOrder> ORDERS = Table.of("sh_orders", ShardedOrder.class);
+    private static final ComparableColumn<ShardedOrder, Integer> AMOUNT =
+        new ComparableColumn<>(ORDERS, "amount", Integer.class, "INT");
+
+    private static int rows(int shard, String table) throws SQLException {
+        try (Connection conn = DATABASES.get(shard).getConnection();
+             ResultSet rs = conn.createStatement().executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private List<ShardedOrder> orders(int count) {
+        List<ShardedOrder> orders = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            orders.add(new ShardedOrder(i, i % 7, i * 10));
+        }
+        return orders;
+    }
+
+    // ==================== TESTS ====================
+
+    @Nested
+    @DisplayName("routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("saves an entity on the shard of its tenant")
+        void save_routedByShardKey() throws SQLException {
+            ShardedOrder order = new ShardedOrder(1, 42, 100);
+
+            sharded.save(order);
+
+            int shard = sharded.shardIndex(ShardedOrder.class, 42L);
+            for (int i = 0; i < SHARDS; i++) {
+                assertEquals(i == shard ? 1 : 0, rows(i, "sh_orders"));
+            }
+        }
+
+        @Test
+        @DisplayName("hashes equal integral keys to the same shard")
+        void shardIndex_numericKeysNormalized() {
+            assertEquals(sharded.shardIndex(ShardedOrder.class, 42L), sharded.shardIndex(ShardedOrder.class, 42));
+        }
+
+        @Test
+        @DisplayName("routes range-sharded ids by bound")
+        void rangeShardKey_routedByBound() throws SQLException {
+            sharded.save(new ShardedEvent(5, "a"));
+            sharded.save(new ShardedEvent(150, "b"));
+            sharded.save(new ShardedEvent(250, "c"));
+            sharded.save(new ShardedEvent(999, "d"));
+
+            assertEquals(1, rows(0, "sh_events"));
+            assertEquals(1, rows(1, "sh_events"));
+            assertEquals(2, rows(2, "sh_events"));
+            assertEquals("b", sharded.findById(ShardedEvent.class, 150L).orElseThrow().getName());
+        }
+
+        @Test
+        @DisplayName("finds by id across shards when the id is not the shard key")
+        void findById_scatter() {
+            sharded.saveAll(orders(20));
+
+            assertEquals(70, sharded.findById(ShardedOrder.class, 7L).orElseThrow().getAmount());
+            assertTrue(sharded.findById(ShardedOrder.class, 999L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("binds a Finder to the tenant's shard")
+        void find_boundToShard() {
+            sharded.saveAll(orders(21));
+
+            List<ShardedOrder> tenantOrders = sharded.find(ShardedOrder.class, 3L).get();
+
+            assertTrue(tenantOrders.stream().anyMatch(order -> order.getTenantId() == 3L));
+            assertTrue(tenantOrders.stream().allMatch(order ->
+                sharded.shardIndex(ShardedOrder.class, order.getTenantId()) == sharded.shardIndex(ShardedOrder.class, 3L)));
+        }
+
+        @Test
+        @DisplayName("updates and deletes on the entity's shard")
+        void updateDelete_routed() {
+            ShardedOrder order = sharded.save(new ShardedOrder(1, 5, 10));
+
+            order.setAmount(20);
+            sharded.update(order);
+            assertEquals(20, sharded.findById(ShardedOrder.class, 1L).orElseThrow().getAmount());
+
+            sharded.delete(order);
+            assertTrue(sharded.findById(ShardedOrder.class, 1L).isEmpty());
+        }
+
+        @Test
+        @DisplayName("rejects entities without a shard key")
+        void noShardKey_throws() {
+            assertThrows(IllegalArgumentException.class, () -> sharded.shardIndex(UnshardedOrder.class, 1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("batches")
+    class BatchTests {
+
+        @Test
+        @DisplayName("splits saveAll per shard")
+        void saveAll_splitPerShard() throws SQLException {
+            List<ShardedOrder> orders = orders(30);
+
+            List<ShardedOrder> saved = sharded.saveAll(orders);
+
+            assertSame(orders, saved);
+            int total = 0;
+            for (int i = 0; i < SHARDS; i++) {
+                int shard = i;
+                long expected = orders.stream()
+                    .filter(order -> sharded.shardIndex(ShardedOrder.class, order.getTenantId()) == shard)
+                    .count();
+                assertEquals(expected, rows(i, "sh_orders"));
+                total += rows(i, "sh_orders");
+            }
+            assertEquals(30, total);
+        }
+    }
+
+    @Nested
+    @DisplayName("scatter-gather")
+    class ScatterGatherTests {
+
+        @Test
+        @DisplayName("merges shard results in ORDER BY order with limit and offset")
+        void queryAll_mergeSortedWithLimit() {
+            sharded.saveAll(orders(30));
+
+            List<ShardedOrder> page = sharded.queryAll(
+                Suprim.selectAll().from(ORDERS).orderBy(AMOUNT.desc()).limit(5).offset(2),
+                ShardedOrder.class);
+
+            assertEquals(List.of(280, 270, 260, 250, 240), page.stream().map(ShardedOrder::getAmount).toList());
+        }
+
+        @Test
+        @DisplayName("leaves the caller's builder LIMIT and OFFSET untouched")
+        void queryAll_builderUntouched() {
+            sharded.saveAll(orders(10));
+            SelectBuilder builder = Suprim.selectAll().from(ORDERS).orderBy(AMOUNT.asc()).limit(3);
+
+            sharded.queryAll(builder, ShardedOrder.class);
+
+            assertEquals(3, builder.getLimit());
+            assertNull(builder.getOffset());
+        }
+
+        @Test
+        @DisplayName("returns every row when no limit is set")
+        void queryAll_noLimit() {
+            sharded.saveAll(orders(12));
+
+            List<ShardedOrder> all = sharded.queryAll(
+                Suprim.selectAll().from(ORDERS).orderBy(AMOUNT.asc()), ShardedOrder.class);
+
+            assertEquals(12, all.size());
+            assertEquals(10, all.get(0).getAmount());
+            assertEquals(120, all.get(11).getAmount());
+        }
+
+        @Test
+        @DisplayName("merges raw queries with a caller comparator")
+        void queryAll_rawWithComparator() {
+            sharded.saveAll(orders(9));
+
+            List<Integer> amounts = sharded.queryAll(
+                new QueryResult("SELECT amount FROM sh_orders ORDER BY amount", Map.of()),
+                rs -> rs.getInt(1),
+                Comparator.naturalOrder());
+
+            assertEquals(List.of(10, 20, 30, 40, 50, 60, 70, 80, 90), amounts);
+        }
+
+        @Test
+        @DisplayName("sums counts across shards")
+        void count_summed() {
+            sharded.saveAll(orders(17));
+
+            assertEquals(17, sharded.count(Suprim.selectAll().from(ORDERS)));
+        }
+
+        @Test
+        @DisplayName("rejects raw ORDER BY expressions")
+        void comparatorOf_rawOrder_throws() {
+            assertThrows(IllegalArgumentException.class,
+                () -> ShardedExecutor.comparatorOf(List.of(OrderSpec.raw("random()")), false));
+        }
+
+        @Test
+        @DisplayName("places NULLs the way the dialect sorts them")
+        void comparatorOf_nullOrderingFromDialect() {
+            ShardedOrder unknown = new ShardedOrder(1, 1, 0);
+            unknown.setAmount(null);
+            ShardedOrder known = new ShardedOrder(2, 1, 10);
+
+            // PostgreSQL: NULLs last ascending, first descending
+            assertTrue(ShardedExecutor.<ShardedOrder>comparatorOf(List.of(AMOUNT.asc()), false).compare(unknown, known) > 0);
+            assertTrue(ShardedExecutor.<ShardedOrder>comparatorOf(List.of(AMOUNT.desc()), false).compare(unknown, known) < 0);
+            // MySQL: NULLs first ascending, last descending
+            assertTrue(ShardedExecutor.<ShardedOrder>comparatorOf(List.of(AMOUNT.asc()), true).compare(unknown, known) < 0);
+            assertTrue(ShardedExecutor.<ShardedOrder>comparatorOf(List.of(AMOUNT.desc()), true).compare(unknown, known) > 0);
+        }
+
+        @Test
+        @DisplayName("k-way merge keeps global order")
+        void merge_kWay() {
+            List<Integer> merged = ShardedExecutor.merge(
+                List.of(List.of(1, 4, 9), List.of(), List.of(2, 3, 10)), Comparator.naturalOrder());
+
+            assertEquals(List.of(1, 2, 3, 4, 9, 10), merged);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import sant1ago.dev.suprim.annotation.entity.Entity;
 import sant1ago.dev.suprim.annotation.entity.Id;
 import sant1ago.dev.suprim.annotation.type.SqlType;
 import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.jdbc.event.QueryTimings;
 import sant1ago.dev.suprim.jdbc.exception.ConnectionException;
 import sant1ago.dev.suprim.jdbc.exception.NoResultException;
 import sant1ago.dev.suprim.jdbc.exception.TransactionException;
@@ -25,6 +26,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -575,6 +577,27 @@ class SuprimExecutorTest {
             assertTrue(listenerFired.get());
         }
 
+        @Test
+        @DisplayName("query events carry per-phase timings")
+        void builder_withListener_recordsPhaseTimings() {
+            AtomicReference<QueryTimings> timings = new AtomicReference<>();
+
+            SuprimExecutor builtExecutor = SuprimExecutor.builder(dataSource)
+                .onQuery(event -> timings.set(event.timings()))
+                .build();
+
+            builtExecutor.query(
+                new QueryResult("SELECT 1", Map.of()),
+                rs -> rs.getInt(1)
+            );
+
+            assertTrue(timings.get().hasAcquire());
+            assertTrue(timings.get().hasPrepare());
+            assertTrue(timings.get().hasExecute());
+            assertTrue(timings.get().hasFetch());
+            assertFalse(timings.get().hasEager());
+        }
+
         @Test
         @DisplayName("builder throws on null dataSource")
         void builder_nullDataSource_throwsNPE() {
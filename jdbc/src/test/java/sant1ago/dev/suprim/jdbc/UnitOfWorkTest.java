@@ -0,0 +1,302 @@
+package sant1ago.dev.suprim.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.annotation.type.GenerationType;
+import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
+import sant1ago.dev.suprim.core.query.QueryResult;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for UnitOfWork deferred, coalesced flushing.
+ */
+@DisplayName("UnitOfWork Tests")
+class UnitOfWorkTest {
+
+    private static JdbcDataSource dataSource;
+    private static SuprimExecutor executor;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:unit_of_work_test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        executor = SuprimExecutor.create(dataSource);
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute(
+                "CREATE TABLE IF NOT EXISTS \"uow_users\" (" +
+                "\"id\" VARCHAR(36) PRIMARY KEY, " +
+                "\"email\" VARCHAR(255))"
+            );
+        }
+    }
+
+    @AfterAll
+    static void teardown() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DROP TABLE IF EXISTS \"uow_users\"");
+        }
+    }
+
+    @BeforeEach
+    void clearTable() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DELETE FROM \"uow_users\"");
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        SuprimContext.clearContext();
+    }
+
+    // ==================== TEST ENTITIES ====================
+
+    @Entity(table = "uow_users")
+    static class UowUser extends SuprimEntity {
+        @Id(strategy = GenerationType.UUID_V7)
+        @Column(name = "id")
+        private String id;
+
+        @Column(name = "email")
+        private String email;
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+    }
+
+    private static List<String> emails() throws SQLException {
+        List<String> emails = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT \"email\" FROM \"uow_users\" ORDER BY \"email\"")) {
+            while (rs.next()) {
+                emails.add(rs.getString(1));
+            }
+        }
+        return emails;
+    }
+
+    // ==================== TESTS ====================
+
+    @Nested
+    @DisplayName("recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("defers save() until commit")
+        void save_isDeferredUntilCommit() throws SQLException {
+            executor.transaction(tx -> {
+                UnitOfWork uow = tx.unitOfWork();
+                for (int i = 0; i < 3; i++) {
+                    UowUser user = new UowUser();
+                    user.setEmail("user" + i + "@example.com");
+                    user.save();
+                }
+                assertEquals(3, uow.pendingCount());
+            });
+
+            assertEquals(List.of("user0@example.com", "user1@example.com", "user2@example.com"), emails());
+        }
+
+        @Test
+        @DisplayName("coalesces repeated updates of one entity")
+        void update_repeated_isCoalesced() throws SQLException {
+            UowUser user = new UowUser();
+            user.setEmail("before@example.com");
+            executor.transaction(tx -> user.save());
+
+            executor.transaction(tx -> {
+                UnitOfWork uow = tx.unitOfWork();
+                user.setEmail("first@example.com");
+                user.update();
+                user.setEmail("second@example.com");
+                user.update();
+                assertEquals(1, uow.pendingCount());
+                assertEquals(UnitOfWork.Operation.UPDATE, uow.pendingOperation(user));
+            });
+
+            assertEquals(List.of("second@example.com"), emails());
+        }
+
+        @Test
+        @DisplayName("folds an update of a pending insert into the insert")
+        void update_ofPendingInsert_staysInsert() throws SQLException {
+            executor.transaction(tx -> {
+                UnitOfWork uow = tx.unitOfWork();
+                UowUser user = new UowUser();
+                user.setEmail("draft@example.com");
+                user.save();
+                user.setEmail("final@example.com");
+                user.update();
+                assertEquals(UnitOfWork.Operation.INSERT, uow.pendingOperation(user));
+            });
+
+            assertEquals(List.of("final@example.com"), emails());
+        }
+
+        @Test
+        @DisplayName("cancels a pending insert that is deleted")
+        void delete_ofPendingInsert_cancelsBoth() throws SQLException {
+            executor.transaction(tx -> {
+                UnitOfWork uow = tx.unitOfWork();
+                UowUser user = new UowUser();
+                user.setEmail("temp@example.com");
+                user.save();
+                user.delete();
+                assertFalse(uow.hasPendingChanges());
+            });
+
+            assertTrue(emails().isEmpty());
+        }
+
+        @Test
+        @DisplayName("rejects update of an entity scheduled for deletion")
+        void update_afterDelete_throws() throws SQLException {
+            UowUser user = new UowUser();
+            user.setId("00000000-0000-0000-0000-000000000001");
+            try (Connection conn = dataSource.getConnection()) {
+                UnitOfWork uow = new UnitOfWork(conn, PostgreSqlDialect.INSTANCE);
+                uow.registerDeleted(user);
+                assertThrows(IllegalStateException.class, () -> uow.registerDirty(user));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("flush()")
+    class FlushTests {
+
+        @Test
+        @DisplayName("writes pending work before commit")
+        void flush_writesWithinTransaction() {
+            executor.transaction(tx -> {
+                UnitOfWork uow = tx.unitOfWork();
+                UowUser user = new UowUser();
+                user.setEmail("flushed@example.com");
+                user.save();
+                uow.flush();
+
+                assertFalse(uow.hasPendingChanges());
+                assertEquals(1L, countInTransaction(tx.getConnection()));
+            });
+        }
+
+        @Test
+        @DisplayName("transaction queries see pending work")
+        void txQuery_flushesPendingWork() {
+            executor.transaction(tx -> {
+                UnitOfWork uow = tx.unitOfWork();
+                UowUser user = new UowUser();
+                user.setEmail("visible@example.com");
+                user.save();
+
+                List<String> seen = tx.query(new QueryResult("SELECT \"email\" FROM \"uow_users\"", Map.of()),
+                        rs -> rs.getString(1));
+
+                assertEquals(List.of("visible@example.com"), seen);
+                assertFalse(uow.hasPendingChanges());
+            });
+        }
+
+        @Test
+        @DisplayName("requires a transaction context")
+        void unitOfWork_outsideTransaction_throws() throws SQLException {
+            try (Connection conn = dataSource.getConnection()) {
+                Transaction tx = new Transaction(conn);
+                assertThrows(IllegalStateException.class, tx::unitOfWork);
+                assertFalse(SuprimContext.hasUnitOfWork());
+            }
+        }
+
+        @Test
+        @DisplayName("batches deletes of several entities")
+        void flush_deletesEntities() throws SQLException {
+            List<UowUser> users = new ArrayList<>();
+            executor.transaction(tx -> {
+                for (int i = 0; i < 3; i++) {
+                    UowUser user = new UowUser();
+                    user.setEmail("delete" + i + "@example.com");
+                    user.save();
+                    users.add(user);
+                }
+            });
+
+            executor.transaction(tx -> {
+                tx.unitOfWork();
+                users.forEach(UowUser::delete);
+            });
+
+            assertTrue(emails().isEmpty());
+        }
+
+        @Test
+        @DisplayName("discards pending work when the transaction rolls back")
+        void rollback_discardsPendingWork() throws SQLException {
+            assertThrows(RuntimeException.class, () -> executor.transaction(tx -> {
+                tx.unitOfWork();
+                UowUser user = new UowUser();
+                user.setEmail("rolled-back@example.com");
+                user.save();
+                throw new IllegalStateException("boom");
+            }));
+
+            assertTrue(emails().isEmpty());
+            assertFalse(SuprimContext.hasUnitOfWork());
+        }
+
+        private long countInTransaction(Connection conn) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM \"uow_users\"")) {
+                rs.next();
+                return rs.getLong(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("flushOrder()")
+    class FlushOrderTests {
+
+        @Test
+        @DisplayName("orders parent tables before children from metamodel relations")
+        void flushOrder_parentsFirst() {
+            List<Class<?>> order = UnitOfWork.flushOrder(List.of(TestProfile.class, TestUserWithRelation.class));
+
+            assertEquals(List.of(TestUserWithRelation.class, TestProfile.class), order);
+        }
+
+        @Test
+        @DisplayName("keeps registration order for classes without metamodel")
+        void flushOrder_noMetamodel_keepsOrder() {
+            List<Class<?>> order = UnitOfWork.flushOrder(List.of(UowUser.class, TestProfile.class));
+
+            assertEquals(List.of(UowUser.class, TestProfile.class), order);
+        }
+    }
+}
@@ -18,12 +18,15 @@ import sant1ago.dev.suprim.annotation.type.IdGenerator;
 import sant1ago.dev.suprim.annotation.type.SqlType;
 import sant1ago.dev.suprim.core.dialect.MySqlDialect;
 import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
+import sant1ago.dev.suprim.core.dialect.UnsupportedDialectFeatureException;
 import sant1ago.dev.suprim.jdbc.exception.PersistenceException;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -503,10 +506,15 @@ class UpsertPersistenceTest {
         }
 
         @Test
-        @DisplayName("handles MySQL without RETURNING")
-        void handlesMysqlWithoutReturning() throws SQLException {
-            when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
-            when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        @DisplayName("back-fills MySQL IDENTITY ID via LAST_INSERT_ID(id)")
+        void backfillsMysqlIdentityViaLastInsertId() throws SQLException {
+            ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+            when(mockConnection.prepareStatement(sqlCaptor.capture(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(2);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.getObject(1)).thenReturn(7L);
 
             UserWithIdentity user = new UserWithIdentity();
             user.setEmail("test@example.com");
@@ -514,8 +522,29 @@ class UpsertPersistenceTest {
             UserWithIdentity result = UpsertPersistence.upsert(user, mockConnection,
                 MySqlDialect.INSTANCE, new String[]{"email"}, new String[]{"name"});
 
-            // MySQL doesn't support RETURNING, so ID remains null
-            assertNull(result.getId());
+            assertEquals(7L, result.getId());
+            assertTrue(sqlCaptor.getValue().contains("ON DUPLICATE KEY UPDATE `id` = LAST_INSERT_ID(`id`), `name` = VALUES(`name`)"));
+        }
+
+        @Test
+        @DisplayName("uses LAST_INSERT_ID(id) instead of INSERT IGNORE for MySQL IDENTITY do-nothing")
+        void mysqlIdentityDoNothingUsesLastInsertId() throws SQLException {
+            ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+            when(mockConnection.prepareStatement(sqlCaptor.capture(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.getObject(1)).thenReturn(9L);
+
+            UserWithIdentityInt user = new UserWithIdentityInt();
+            user.setEmail("test@example.com");
+
+            UpsertPersistence.upsert(user, mockConnection, MySqlDialect.INSTANCE,
+                new String[]{"id", "email"}, null);
+
+            assertEquals(9, user.getId());
+            assertFalse(sqlCaptor.getValue().contains("INSERT IGNORE"));
+            assertTrue(sqlCaptor.getValue().endsWith("ON DUPLICATE KEY UPDATE `id` = LAST_INSERT_ID(`id`)"));
         }
     }
 
@@ -772,6 +801,177 @@ class UpsertPersistenceTest {
             assertEquals(101L, result.get(1).getId());
         }
 
+        @Test
+        @DisplayName("matches RETURNING rows by conflict key when DO NOTHING skips rows")
+        void matchesReturnedRowsByConflictKey() throws SQLException {
+            ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+            when(mockConnection.prepareStatement(sqlCaptor.capture())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            // Only the second row was inserted
+            when(mockResultSet.next()).thenReturn(true, false);
+            when(mockResultSet.getObject(1)).thenReturn(101L);
+            when(mockResultSet.getObject(2)).thenReturn("b@example.com");
+
+            UserWithIdentityInt user1 = new UserWithIdentityInt();
+            user1.setEmail("a@example.com");
+            UserWithIdentityInt user2 = new UserWithIdentityInt();
+            user2.setEmail("b@example.com");
+
+            UpsertPersistence.upsertAll(List.of(user1, user2), mockConnection,
+                PostgreSqlDialect.INSTANCE, new String[]{"id", "email"}, null);
+
+            assertTrue(sqlCaptor.getValue().endsWith("DO NOTHING RETURNING \"id\", \"email\""));
+            assertNull(user1.getId());
+            assertEquals(101, user2.getId());
+        }
+
+        @Test
+        @DisplayName("matches RETURNING rows by conflict key when DO NOTHING skips a middle row")
+        void matchesReturnedRowsAroundSkippedMiddleRow() throws SQLException {
+            when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            // The second row conflicted and was skipped
+            when(mockResultSet.next()).thenReturn(true, true, false);
+            when(mockResultSet.getObject(1)).thenReturn(100L, 102L);
+            when(mockResultSet.getObject(2)).thenReturn("a@example.com", "c@example.com");
+
+            List<UserWithIdentityInt> users = new ArrayList<>();
+            for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+                UserWithIdentityInt user = new UserWithIdentityInt();
+                user.setEmail(email);
+                users.add(user);
+            }
+
+            UpsertPersistence.upsertAll(users, mockConnection, PostgreSqlDialect.INSTANCE,
+                new String[]{"id", "email"}, null);
+
+            assertEquals(100, users.get(0).getId());
+            assertNull(users.get(1).getId());
+            assertEquals(102, users.get(2).getId());
+        }
+
+        @Test
+        @DisplayName("leaves IDs unassigned when DO NOTHING skips rows and no conflict key is written")
+        void leavesIdsUnassignedWithoutConflictKey() throws SQLException {
+            ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+            when(mockConnection.prepareStatement(sqlCaptor.capture())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            // The second row conflicted and was skipped
+            when(mockResultSet.next()).thenReturn(true, true, false);
+            when(mockResultSet.getObject(1)).thenReturn(100L, 102L);
+
+            List<UserWithIdentityInt> users = new ArrayList<>();
+            for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+                UserWithIdentityInt user = new UserWithIdentityInt();
+                user.setEmail(email);
+                users.add(user);
+            }
+
+            // legacy_key is filled by the database, so rows cannot be matched on the conflict target
+            UpsertPersistence.upsertAll(users, mockConnection, PostgreSqlDialect.INSTANCE,
+                new String[]{"email", "legacy_key"}, null);
+
+            assertTrue(sqlCaptor.getValue().endsWith("DO NOTHING RETURNING \"id\""));
+            users.forEach(user -> assertNull(user.getId()));
+        }
+
+        @Test
+        @DisplayName("back-fills MySQL IDENTITY IDs for multi-row chunks by conflict key")
+        void backfillsMysqlBatchIdsByConflictKey() throws SQLException {
+            PreparedStatement selectStatement = mock(PreparedStatement.class);
+            ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+            when(mockConnection.prepareStatement(sqlCaptor.capture()))
+                .thenReturn(mockPreparedStatement, selectStatement);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(3);
+            when(selectStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true, true, false);
+            when(mockResultSet.getObject(1)).thenReturn(5L, 6L);
+            when(mockResultSet.getObject(2)).thenReturn("b@example.com", "a@example.com");
+
+            UserWithIdentityInt user1 = new UserWithIdentityInt();
+            user1.setEmail("a@example.com");
+            UserWithIdentityInt user2 = new UserWithIdentityInt();
+            user2.setEmail("b@example.com");
+
+            UpsertPersistence.upsertAll(List.of(user1, user2), mockConnection,
+                MySqlDialect.INSTANCE, new String[]{"email"}, null);
+
+            assertEquals(6, user1.getId());
+            assertEquals(5, user2.getId());
+            List<String> statements = sqlCaptor.getAllValues();
+            assertTrue(statements.get(0).contains("`id` = LAST_INSERT_ID(`id`)"));
+            assertEquals("SELECT `id`, `email` FROM `users_identity_int` WHERE (`email` = ?) OR (`email` = ?)",
+                statements.get(1));
+        }
+
+        @Test
+        @DisplayName("back-fills MySQL IDENTITY IDs from generated keys when no conflict key is written")
+        void backfillsMysqlBatchIdsFromGeneratedKeys() throws SQLException {
+            when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(3);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true, true, true, false);
+            when(mockResultSet.getObject(1)).thenReturn(10L, 11L, 12L);
+
+            List<UserWithIdentityInt> users = new ArrayList<>();
+            for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+                UserWithIdentityInt user = new UserWithIdentityInt();
+                user.setEmail(email);
+                users.add(user);
+            }
+
+            UpsertPersistence.upsertAll(users, mockConnection, MySqlDialect.INSTANCE,
+                new String[]{"id"}, null);
+
+            assertEquals(10, users.get(0).getId());
+            assertEquals(11, users.get(1).getId());
+            assertEquals(12, users.get(2).getId());
+        }
+
+        @Test
+        @DisplayName("leaves MySQL IDs unassigned when a row without a conflict key was updated")
+        void leavesMysqlBatchIdsUnassignedWhenRowUpdated() throws SQLException {
+            when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+            // An updated row counts twice
+            when(mockPreparedStatement.executeUpdate()).thenReturn(3);
+            when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true, true, false);
+            when(mockResultSet.getObject(1)).thenReturn(10L, 11L);
+
+            List<UserWithIdentityInt> users = new ArrayList<>();
+            for (String email : List.of("a@example.com", "b@example.com")) {
+                UserWithIdentityInt user = new UserWithIdentityInt();
+                user.setEmail(email);
+                users.add(user);
+            }
+
+            UpsertPersistence.upsertAll(users, mockConnection, MySqlDialect.INSTANCE,
+                new String[]{"id"}, null);
+
+            users.forEach(user -> assertNull(user.getId()));
+        }
+
+        @Test
+        @DisplayName("splits large batches into chunks")
+        void splitsLargeBatchesIntoChunks() throws SQLException {
+            when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeUpdate()).thenReturn(1000);
+
+            List<UserWithUuidV7> users = new ArrayList<>();
+            for (int i = 0; i < 1001; i++) {
+                UserWithUuidV7 user = new UserWithUuidV7();
+                user.setEmail("user" + i + "@example.com");
+                users.add(user);
+            }
+
+            UpsertPersistence.upsertAll(users, mockConnection, PostgreSqlDialect.INSTANCE,
+                new String[]{"id"}, null);
+
+            verify(mockConnection, times(2)).prepareStatement(anyString());
+        }
+
         @Test
         @DisplayName("generates batch SQL with multiple value rows")
         void generatesBatchSqlWithMultipleRows() throws SQLException {
@@ -797,6 +997,69 @@ class UpsertPersistenceTest {
         }
     }
 
+    // ==================== UPSERT RETURNING TESTS ====================
+
+    @Nested
+    @DisplayName("Batch Upsert - upsertAllReturning()")
+    class UpsertAllReturningTests {
+
+        @Test
+        @DisplayName("returns stored rows with inserted flags from xmax (PostgreSQL)")
+        void returnsRowsWithInsertedFlags() throws SQLException {
+            ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+            ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+            when(mockConnection.prepareStatement(sqlCaptor.capture())).thenReturn(mockPreparedStatement);
+            when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true, true, false);
+            when(mockResultSet.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(3);
+            when(metaData.getColumnLabel(1)).thenReturn("id");
+            when(metaData.getColumnLabel(2)).thenReturn("email");
+            when(metaData.getColumnLabel(3)).thenReturn("suprim_inserted");
+            when(mockResultSet.getObject(1)).thenReturn(100L, 101L);
+            when(mockResultSet.getObject(2)).thenReturn("a@example.com", "b@example.com");
+            when(mockResultSet.getBoolean("suprim_inserted")).thenReturn(true, false);
+
+            UserWithIdentityInt user1 = new UserWithIdentityInt();
+            user1.setEmail("a@example.com");
+            UserWithIdentityInt user2 = new UserWithIdentityInt();
+            user2.setEmail("b@example.com");
+
+            UpsertResult<UserWithIdentityInt> result = UpsertPersistence.upsertAllReturning(
+                List.of(user1, user2), mockConnection, PostgreSqlDialect.INSTANCE, new String[]{"email"}, null);
+
+            assertTrue(sqlCaptor.getValue().endsWith("RETURNING *, (xmax = 0) AS \"suprim_inserted\""));
+            assertEquals(2, result.entities().size());
+            assertEquals(100, result.entities().get(0).getId());
+            assertEquals(101, result.entities().get(1).getId());
+            assertTrue(result.wasInserted(0));
+            assertFalse(result.wasInserted(1));
+            assertEquals(1, result.insertedCount());
+            assertEquals(1, result.updatedCount());
+        }
+
+        @Test
+        @DisplayName("returns empty result for empty entities")
+        void returnsEmptyResultForEmptyEntities() {
+            UpsertResult<UserWithIdentity> result = UpsertPersistence.upsertAllReturning(
+                List.of(), mockConnection, PostgreSqlDialect.INSTANCE, new String[]{"email"}, null);
+
+            assertTrue(result.entities().isEmpty());
+            assertFalse(result.hasInsertedFlags());
+        }
+
+        @Test
+        @DisplayName("throws for dialects without RETURNING")
+        void throwsForDialectWithoutReturning() {
+            UserWithIdentity user = new UserWithIdentity();
+            user.setEmail("a@example.com");
+
+            assertThrows(UnsupportedDialectFeatureException.class, () ->
+                UpsertPersistence.upsertAllReturning(List.of(user), mockConnection,
+                    MySqlDialect.INSTANCE, new String[]{"email"}, null));
+        }
+    }
+
     // ==================== ENUM HANDLING TESTS ====================
 
     @Nested
@@ -0,0 +1,163 @@
+package sant1ago.dev.suprim.jdbc;
+
+import jdk.jfr.consumer.RecordingStream;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import sant1ago.dev.suprim.core.query.QueryResult;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency harness: many threads running transactions, queries and streams at once.
+ * On JDK 21+ it also runs on virtual threads and fails if blocking inside Suprim pins a carrier.
+ */
+@DisplayName("Virtual Thread Tests")
+class VirtualThreadTest {
+
+    private static JdbcDataSource dataSource;
+    private SuprimExecutor executor;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:virtual_thread_test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS vt_items (id BIGINT PRIMARY KEY, owner VARCHAR(50))");
+        }
+    }
+
+    @BeforeEach
+    void resetTable() throws SQLException {
+        executor = SuprimExecutor.create(dataSource);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DELETE FROM vt_items");
+        }
+    }
+
+    /**
+     * One unit of work: a transaction, a plain query and a lazy stream, checking that the
+     * transaction context never leaks between threads.
+     */
+    private void work(long id) {
+        String owner = "task-" + id + "@" + System.identityHashCode(Thread.currentThread());
+        executor.transaction(tx -> {
+            assertTrue(SuprimContext.hasContext());
+            tx.execute(new QueryResult("INSERT INTO vt_items (id, owner) VALUES (:id, :owner)", Map.of("id", id, "owner", owner)));
+        });
+        assertFalse(SuprimContext.hasContext());
+
+        QueryResult byId = new QueryResult("SELECT owner FROM vt_items WHERE id = :id", Map.of("id", id));
+        assertEquals(List.of(owner), executor.query(byId, rs -> rs.getString(1)));
+        try (Stream<String> owners = executor.lazy(byId, rs -> rs.getString(1))) {
+            assertEquals(owner, owners.findFirst().orElseThrow());
+        }
+    }
+
+    private void runAll(ExecutorService threads, int tasks) throws Exception {
+        try {
+            Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+            for (long i = 0; i < tasks; i++) {
+                long id = i;
+                futures.add(threads.submit(() -> work(id)));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdown();
+            assertTrue(threads.awaitTermination(60, TimeUnit.SECONDS));
+        }
+        long rows = executor.queryOneRequired(new QueryResult("SELECT COUNT(*) FROM vt_items", Map.of()), rs -> rs.getLong(1));
+        assertEquals(tasks, rows);
+    }
+
+    @Test
+    @DisplayName("keeps transaction context isolated across concurrent platform threads")
+    void platformThreads_contextIsolated() throws Exception {
+        runAll(Executors.newFixedThreadPool(32), 1_000);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("keeps transaction context isolated across concurrent virtual threads")
+    void virtualThreads_contextIsolated() throws Exception {
+        runAll(AsyncExecutor.newVirtualThreadExecutor().orElseThrow(), 5_000);
+    }
+
+    /**
+     * Parks a virtual thread inside a transaction, a mapped query and a lazy stream. If any
+     * Suprim frame below the callback held a monitor, JFR reports jdk.VirtualThreadPinned.
+     */
+    private void blockInsideSuprim() {
+        executor.transaction(tx -> {
+            tx.execute(new QueryResult("INSERT INTO vt_items (id, owner) VALUES (:id, :owner)", Map.of("id", 1L, "owner", "blocking")));
+            sleep();
+        });
+
+        QueryResult all = new QueryResult("SELECT owner FROM vt_items", Map.of());
+        executor.query(all, rs -> {
+            sleep();
+            return rs.getString(1);
+        });
+        try (Stream<String> owners = executor.lazy(all, rs -> {
+            sleep();
+            return rs.getString(1);
+        })) {
+            assertEquals(1, owners.count());
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("blocking inside Suprim calls on a virtual thread does not pin its carrier")
+    void virtualThreads_blockingDoesNotPin() throws Exception {
+        Queue<String> pinned = new ConcurrentLinkedQueue<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(String.valueOf(event.getStackTrace())));
+            recording.startAsync();
+
+            ExecutorService virtualThreads = AsyncExecutor.newVirtualThreadExecutor().orElseThrow();
+            try {
+                virtualThreads.submit(this::blockInsideSuprim).get(60, TimeUnit.SECONDS);
+            } finally {
+                virtualThreads.shutdown();
+            }
+            // RecordingStream.stop() (JDK 20+) flushes pending events before returning
+            RecordingStream.class.getMethod("stop").invoke(recording);
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "Pinned carrier:\n" + String.join("\n\n", pinned));
+    }
+}
@@ -6,9 +6,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import sant1ago.dev.suprim.annotation.entity.Column;
 import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.core.dialect.MariaDbDialect;
+import sant1ago.dev.suprim.core.dialect.MySql8Dialect;
+import sant1ago.dev.suprim.core.dialect.MySqlDialect;
+import sant1ago.dev.suprim.core.dialect.PostgreSqlDialect;
 import sant1ago.dev.suprim.core.query.EagerLoadSpec;
+import sant1ago.dev.suprim.core.query.Suprim;
+import sant1ago.dev.suprim.core.type.MorphTypeRegistry;
+import sant1ago.dev.suprim.core.type.OrderSpec;
 import sant1ago.dev.suprim.core.type.Relation;
 import sant1ago.dev.suprim.core.type.Table;
+import sant1ago.dev.suprim.jdbc.EntityMapper;
 import sant1ago.dev.suprim.jdbc.SuprimExecutor;
 
 import java.lang.reflect.Method;
@@ -20,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -55,6 +64,30 @@ class EagerLoaderTest {
             USERS, ROLES, "user_roles", "user_id", "role_id", "id", "id",
             List.of(), false, false, "roles"
     );
+    private static final Relation<User, Post> USER_LATEST_POST = Relation.latestOfMany(
+            USERS, POSTS, "user_id", "id", "id", false, "latestPost"
+    );
+    private static final Relation<User, Post> USER_FIRST_POST = Relation.oldestOfMany(
+            USERS, POSTS, "user_id", "id", "id", false, "firstPost"
+    );
+    private static final Relation<User, Post> USER_MAX_POST = Relation.ofMany(
+            USERS, POSTS, "user_id", "id", "id", "MAX", false, "latestPost"
+    );
+    private static final Table<Like> LIKES = Table.of("likes", Like.class);
+    private static final Relation<Post, Like> POST_LIKES = Relation.morphMany(
+            POSTS, LIKES, "likeable", "likeable_type", "likeable_id", "id", false, "likes"
+    );
+    private static final Relation<Like, Object> LIKE_LIKEABLE = Relation.morphTo(
+            LIKES, "likeable", "likeable_type", "likeable_id", false, "likeable"
+    );
+    private static final Relation<Post, Role> POST_TAGS = Relation.morphToMany(
+            POSTS, ROLES, "taggables", "taggable", "taggable_type", "taggable_id", "role_id", "id", "id",
+            List.of(), false, false, "tags"
+    );
+    private static final Relation<Role, Post> ROLE_POSTS = Relation.morphedByMany(
+            ROLES, POSTS, "taggables", "taggable", "taggable_type", "taggable_id", "role_id", "id", "id",
+            List.of(), false, false, "posts"
+    );
     private static final Relation<Country, Post> COUNTRY_POSTS = Relation.hasManyThrough(
             COUNTRIES, POSTS, USERS, "country_id", "user_id", "id", "id", false, "posts"
     );
@@ -108,6 +141,20 @@ class EagerLoaderTest {
                     PRIMARY KEY (user_id, role_id)
                 )
             """);
+            stmt.execute("""
+                CREATE TABLE likes (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    likeable_type VARCHAR(50),
+                    likeable_id BIGINT
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE taggables (
+                    role_id BIGINT,
+                    taggable_type VARCHAR(50),
+                    taggable_id BIGINT
+                )
+            """);
             stmt.execute("""
                 CREATE TABLE countries (
                     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -124,6 +171,8 @@ class EagerLoaderTest {
     void tearDown() throws Exception {
         try (Statement stmt = setupConnection.createStatement()) {
             stmt.execute("DROP TABLE IF EXISTS user_roles");
+            stmt.execute("DROP TABLE IF EXISTS likes");
+            stmt.execute("DROP TABLE IF EXISTS taggables");
             stmt.execute("DROP TABLE IF EXISTS comments");
             stmt.execute("DROP TABLE IF EXISTS posts");
             stmt.execute("DROP TABLE IF EXISTS profiles");
@@ -1104,23 +1153,6 @@ class EagerLoaderTest {
         assertTrue(user.getPosts().isEmpty());
     }
 
-    @Test
-    void loadRelations_polymorphicRelation_throwsUnsupported() throws Exception {
-        // Create a morph relation
-        Relation<User, Post> morphRelation = Relation.morphOne(
-                USERS, POSTS, "taggable", "taggable_type", "taggable_id", "id", false
-        );
-
-        User user = new User();
-        user.setId(1L);
-
-        List<User> users = List.of(user);
-        List<EagerLoadSpec> specs = List.of(EagerLoadSpec.of(morphRelation));
-
-        assertThrows(UnsupportedOperationException.class, () ->
-                eagerLoader.loadRelations(users, specs));
-    }
-
     @Test
     void loadRelations_stringKeyValues_quotedCorrectly() throws Exception {
         // Test with UUID or String keys
@@ -1139,6 +1171,338 @@ class EagerLoaderTest {
         assertNotNull(user.getPosts());
     }
 
+    // ==================== OfMany Tests ====================
+
+    private List<User> usersWithPosts() throws Exception {
+        insertUser(1L, "Alice", "alice@example.com");
+        insertUser(2L, "Bob", "bob@example.com");
+        insertUser(3L, "Carol", "carol@example.com");
+        insertPost(1L, "Alice 1", 1L);
+        insertPost(2L, "Bob 1", 2L);
+        insertPost(3L, "Alice 2", 1L);
+        insertPost(4L, "Alice 3", 1L);
+        insertPost(5L, "Bob 2", 2L);
+
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            User user = new User();
+            user.setId(id);
+            users.add(user);
+        }
+        return users;
+    }
+
+    private List<String> loadOfMany(OfManyStrategy strategy, List<User> users, Relation<User, Post> relation) {
+        List<String> sql = new ArrayList<>();
+        SuprimExecutor configured = SuprimExecutor.builder(dataSource)
+                .ofManyStrategy(strategy)
+                .onQuery(event -> sql.add(event.sql()))
+                .build();
+        new EagerLoader(configured).loadRelations(users, List.of(EagerLoadSpec.of(relation)));
+        return sql;
+    }
+
+    @Test
+    void loadRelations_latestOfMany_distinctOn_onePerParent() throws Exception {
+        List<User> users = usersWithPosts();
+
+        List<String> sql = loadOfMany(OfManyStrategy.DISTINCT_ON, users, USER_LATEST_POST);
+
+        assertEquals(1, sql.size());
+        assertTrue(sql.get(0).contains("DISTINCT ON (user_id)"));
+        assertEquals("Alice 3", users.get(0).getLatestPost().getTitle());
+        assertEquals("Bob 2", users.get(1).getLatestPost().getTitle());
+        assertNull(users.get(2).getLatestPost());
+    }
+
+    @Test
+    void loadRelations_oldestOfMany_rowNumber_onePerParent() throws Exception {
+        List<User> users = usersWithPosts();
+
+        List<String> sql = loadOfMany(OfManyStrategy.ROW_NUMBER, users, USER_FIRST_POST);
+
+        assertTrue(sql.get(0).contains("ROW_NUMBER() OVER (PARTITION BY user_id"));
+        assertEquals("Alice 1", users.get(0).getFirstPost().getTitle());
+        assertEquals("Bob 1", users.get(1).getFirstPost().getTitle());
+        assertNull(users.get(2).getFirstPost());
+    }
+
+    @Test
+    void loadRelations_ofMany_inMemory_keepsFirstInOrder() throws Exception {
+        List<User> users = usersWithPosts();
+
+        List<String> sql = loadOfMany(OfManyStrategy.IN_MEMORY, users, USER_MAX_POST);
+
+        assertTrue(sql.get(0).contains("ORDER BY posts.id DESC"));
+        assertEquals("Alice 3", users.get(0).getLatestPost().getTitle());
+        assertEquals("Bob 2", users.get(1).getLatestPost().getTitle());
+    }
+
+    @Test
+    void loadRelations_ofMany_defaultStrategy_fromDialect() throws Exception {
+        List<User> users = usersWithPosts();
+
+        eagerLoader.loadRelations(users, List.of(EagerLoadSpec.of(USER_LATEST_POST)));
+
+        assertEquals(OfManyStrategy.DISTINCT_ON, executor.ofManyStrategy());
+        assertEquals("Alice 3", users.get(0).getLatestPost().getTitle());
+    }
+
+    @Test
+    void ofManyStrategy_forDialect_prefersDatabaseSideTopOne() {
+        assertEquals(OfManyStrategy.DISTINCT_ON, OfManyStrategy.forDialect(PostgreSqlDialect.INSTANCE));
+        assertEquals(OfManyStrategy.ROW_NUMBER, OfManyStrategy.forDialect(MySql8Dialect.INSTANCE));
+        assertEquals(OfManyStrategy.ROW_NUMBER, OfManyStrategy.forDialect(MariaDbDialect.INSTANCE));
+        assertEquals(OfManyStrategy.IN_MEMORY, OfManyStrategy.forDialect(MySqlDialect.INSTANCE));
+        assertTrue(OfManyStrategy.LATERAL.isSupportedBy(MySql8Dialect.INSTANCE));
+        assertFalse(OfManyStrategy.LATERAL.isSupportedBy(MariaDbDialect.INSTANCE));
+    }
+
+    // ==================== Per-Parent Limit Tests ====================
+
+    private List<String> loadLimited(OfManyStrategy strategy, List<User> users, int limit) {
+        List<String> sql = new ArrayList<>();
+        SuprimExecutor configured = SuprimExecutor.builder(dataSource)
+                .ofManyStrategy(strategy)
+                .onQuery(event -> sql.add(event.sql()))
+                .build();
+        EagerLoadSpec spec = EagerLoadSpec.of(USER_POSTS, limit, OrderSpec.raw("posts.id DESC"));
+        new EagerLoader(configured).loadRelations(users, List.of(spec));
+        return sql;
+    }
+
+    private static List<String> titles(User user) {
+        return user.getPosts().stream().map(Post::getTitle).toList();
+    }
+
+    @Test
+    void loadRelations_perParentLimit_rowNumber_limitsEachParent() throws Exception {
+        List<User> users = usersWithPosts();
+
+        List<String> sql = loadLimited(OfManyStrategy.ROW_NUMBER, users, 2);
+
+        assertEquals(1, sql.size());
+        assertTrue(sql.get(0).contains("suprim_rn <= 2"));
+        assertEquals(List.of("Alice 3", "Alice 2"), titles(users.get(0)));
+        assertEquals(List.of("Bob 2", "Bob 1"), titles(users.get(1)));
+        assertTrue(users.get(2).getPosts().isEmpty());
+    }
+
+    @Test
+    void loadRelations_perParentLimit_inMemory_limitsEachParent() throws Exception {
+        List<User> users = usersWithPosts();
+
+        loadLimited(OfManyStrategy.IN_MEMORY, users, 1);
+
+        assertEquals(List.of("Alice 3"), titles(users.get(0)));
+        assertEquals(List.of("Bob 2"), titles(users.get(1)));
+    }
+
+    @Test
+    void loadRelations_perParentLimit_distinctOnConfigured_fallsBackForLimitAboveOne() throws Exception {
+        List<User> users = usersWithPosts();
+
+        List<String> sql = loadLimited(OfManyStrategy.DISTINCT_ON, users, 2);
+
+        assertFalse(sql.get(0).contains("DISTINCT ON"));
+        assertEquals(List.of("Alice 3", "Alice 2"), titles(users.get(0)));
+    }
+
+    @Test
+    void ofManyStrategy_forDialect_perParentLimit_skipsDistinctOn() {
+        assertEquals(OfManyStrategy.ROW_NUMBER, OfManyStrategy.forDialect(PostgreSqlDialect.INSTANCE, 5));
+        assertEquals(OfManyStrategy.IN_MEMORY, OfManyStrategy.forDialect(MySqlDialect.INSTANCE, 5));
+    }
+
+    // ==================== Join Fetch Tests ====================
+
+    private SuprimExecutor recording(List<String> sql) {
+        return SuprimExecutor.builder(dataSource).onQuery(event -> sql.add(event.sql())).build();
+    }
+
+    @Test
+    void query_withJoin_belongsTo_loadsInSingleQuery() throws Exception {
+        insertUser(1L, "Alice", "alice@example.com");
+        insertPost(1L, "Alice 1", 1L);
+        insertPost(2L, "Alice 2", 1L);
+        insertPost(3L, "Orphan", 99L);
+        List<String> sql = new ArrayList<>();
+
+        List<Post> posts = recording(sql).query(
+                Suprim.selectAll().from(POSTS).withJoin(POST_AUTHOR).orderBy(OrderSpec.raw("posts.id")).build(),
+                EntityMapper.of(Post.class));
+
+        assertEquals(1, sql.size());
+        assertTrue(sql.get(0).contains("LEFT JOIN"));
+        assertEquals(3, posts.size());
+        assertEquals("Alice 1", posts.get(0).getTitle());
+        assertEquals("Alice", posts.get(0).getAuthor().getName());
+        assertSame(posts.get(0).getAuthor(), posts.get(1).getAuthor());
+        assertNull(posts.get(2).getAuthor());
+    }
+
+    @Test
+    void query_withJoin_hasOne_loadsInSingleQuery() throws Exception {
+        insertUser(1L, "Alice", "alice@example.com");
+        insertUser(2L, "Bob", "bob@example.com");
+        insertProfile(1L, "Alice bio", 1L);
+        List<String> sql = new ArrayList<>();
+
+        List<User> users = recording(sql).query(
+                Suprim.selectAll().from(USERS).withJoin(USER_PROFILE).orderBy(OrderSpec.raw("users.id")).build(),
+                EntityMapper.of(User.class));
+
+        assertEquals(1, sql.size());
+        assertEquals("Alice", users.get(0).getName());
+        assertEquals("Alice bio", users.get(0).getProfile().getBio());
+        assertNull(users.get(1).getProfile());
+    }
+
+    @Test
+    void query_withJoin_hasOneWithoutUniqueKey_keepsOneRowPerParent() throws Exception {
+        insertUser(1L, "Alice", "alice@example.com");
+        insertUser(2L, "Bob", "bob@example.com");
+        insertPost(1L, "Alice 1", 1L);
+        insertPost(2L, "Alice 2", 1L);
+        Relation<User, Post> anyPost = Relation.hasOne(USERS, POSTS, "user_id", "id", false, false, "latestPost");
+        List<String> sql = new ArrayList<>();
+
+        List<User> users = recording(sql).query(
+                Suprim.selectAll().from(USERS).withJoin(anyPost).orderBy(OrderSpec.raw("users.id")).build(),
+                EntityMapper.of(User.class));
+
+        assertEquals(2, sql.size());
+        assertFalse(sql.get(0).contains("LEFT JOIN"));
+        assertEquals(2, users.size());
+        assertNotNull(users.get(0).getLatestPost());
+        assertNull(users.get(1).getLatestPost());
+    }
+
+    @Test
+    void query_withJoin_customSelect_fallsBackToSecondQuery() throws Exception {
+        insertUser(1L, "Alice", "alice@example.com");
+        insertPost(1L, "Alice 1", 1L);
+        List<String> sql = new ArrayList<>();
+
+        List<Post> posts = recording(sql).query(
+                Suprim.selectRaw("posts.id, posts.title, posts.user_id").from(POSTS).withJoin(POST_AUTHOR).build(),
+                EntityMapper.of(Post.class));
+
+        assertEquals(2, sql.size());
+        assertEquals("Alice", posts.get(0).getAuthor().getName());
+    }
+
+    // ==================== Polymorphic Tests ====================
+
+    private void insertMorphRows() throws Exception {
+        MorphTypeRegistry.register("post", Post.class);
+        MorphTypeRegistry.register("comment", Comment.class);
+        insertPost(1L, "Post 1", 1L);
+        insertPost(2L, "Post 2", 1L);
+        insertComment(1L, "Comment 1", 1L);
+        try (Statement stmt = setupConnection.createStatement()) {
+            stmt.execute("INSERT INTO likes (id, likeable_type, likeable_id) VALUES "
+                    + "(1, 'post', 1), (2, 'post', 1), (3, 'comment', 1), (4, 'post', 2), (5, 'comment', 1)");
+            stmt.execute("INSERT INTO taggables (role_id, taggable_type, taggable_id) VALUES "
+                    + "(1, 'post', 1), (2, 'post', 1), (1, 'comment', 1), (2, 'post', 2)");
+        }
+        insertRole(1L, "news");
+        insertRole(2L, "tech");
+    }
+
+    private List<String> loadRecorded(List<?> parents, Relation<?, ?> relation) {
+        List<String> sql = new ArrayList<>();
+        SuprimExecutor recorded = SuprimExecutor.builder(dataSource).onQuery(event -> sql.add(event.sql())).build();
+        new EagerLoader(recorded).loadRelations(parents, List.of(EagerLoadSpec.of(relation)));
+        return sql;
+    }
+
+    @Test
+    void loadRelations_morphMany_filtersByOwnerType() throws Exception {
+        insertMorphRows();
+        List<Post> posts = executor.query(Suprim.selectAll().from(POSTS).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(Post.class));
+
+        List<String> sql = loadRecorded(posts, POST_LIKES);
+
+        assertEquals(1, sql.size());
+        assertEquals(List.of(1L, 2L), posts.get(0).getLikes().stream().map(Like::getId).sorted().toList());
+        assertEquals(List.of(4L), posts.get(1).getLikes().stream().map(Like::getId).toList());
+    }
+
+    @Test
+    void loadRelations_morphTo_oneQueryPerType() throws Exception {
+        insertMorphRows();
+        List<Like> likes = executor.query(Suprim.selectAll().from(LIKES).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(Like.class));
+
+        List<String> sql = loadRecorded(likes, LIKE_LIKEABLE);
+
+        assertEquals(2, sql.size());
+        assertEquals("Post 1", ((Post) likes.get(0).getLikeable()).getTitle());
+        assertSame(likes.get(0).getLikeable(), likes.get(1).getLikeable());
+        assertEquals("Comment 1", ((Comment) likes.get(2).getLikeable()).getContent());
+        assertSame(likes.get(2).getLikeable(), likes.get(4).getLikeable());
+        assertEquals("Post 2", ((Post) likes.get(3).getLikeable()).getTitle());
+    }
+
+    @Test
+    void loadRelations_morphTo_concurrent_loadsEveryType() throws Exception {
+        insertMorphRows();
+        List<Like> likes = executor.query(Suprim.selectAll().from(LIKES).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(Like.class));
+        SuprimExecutor concurrent = SuprimExecutor.builder(dataSource).concurrentMorphLoading(true).build();
+
+        new EagerLoader(concurrent).loadRelations(likes, List.of(EagerLoadSpec.of(LIKE_LIKEABLE)));
+
+        assertInstanceOf(Post.class, likes.get(0).getLikeable());
+        assertInstanceOf(Comment.class, likes.get(2).getLikeable());
+    }
+
+    @Test
+    void loadRelations_morphTo_concurrentOnAsyncWorker_runsInline() throws Exception {
+        insertMorphRows();
+        List<Like> likes = executor.query(Suprim.selectAll().from(LIKES).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(Like.class));
+        // A single async slot, held by the operation that loads the relation
+        SuprimExecutor concurrent = SuprimExecutor.builder(dataSource)
+                .concurrentMorphLoading(true)
+                .async(null, 1)
+                .build();
+
+        concurrent.async().submit(e -> {
+            new EagerLoader(e).loadRelations(likes, List.of(EagerLoadSpec.of(LIKE_LIKEABLE)));
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertInstanceOf(Post.class, likes.get(0).getLikeable());
+        assertInstanceOf(Comment.class, likes.get(2).getLikeable());
+    }
+
+    @Test
+    void loadRelations_morphToMany_filtersPivotByOwnerType() throws Exception {
+        insertMorphRows();
+        List<Post> posts = executor.query(Suprim.selectAll().from(POSTS).orderBy(OrderSpec.raw("id")).build(),
+                EntityMapper.of(Post.class));
+
+        List<String> sql = loadRecorded(posts, POST_TAGS);
+
+        assertEquals(2, sql.size());
+        assertEquals(List.of("news", "tech"), posts.get(0).getTags().stream().map(Role::getName).sorted().toList());
+        assertEquals(List.of("tech"), posts.get(1).getTags().stream().map(Role::getName).toList());
+    }
+
+    @Test
+    void loadRelations_morphedByMany_loadsRelatedTypeOnly() throws Exception {
+        insertMorphRows();
+        Role news = new Role();
+        news.setId(1L);
+
+        loadRecorded(List.of(news), ROLE_POSTS);
+
+        assertEquals(List.of("Post 1"), news.getPosts().stream().map(Post::getTitle).toList());
+    }
+
     // ==================== Helper Methods ====================
 
     private void insertUser(Long id, String name, String email) throws Exception {
@@ -1219,6 +1583,8 @@ class EagerLoaderTest {
         private Long countryId;
 
         private Profile profile;
+        private Post latestPost;
+        private Post firstPost;
         private List<Post> posts = new ArrayList<>();
         private List<Role> roles = new ArrayList<>();
 
@@ -1234,6 +1600,10 @@ class EagerLoaderTest {
         public void setCountryId(Long countryId) { this.countryId = countryId; }
         public Profile getProfile() { return profile; }
         public void setProfile(Profile profile) { this.profile = profile; }
+        public Post getLatestPost() { return latestPost; }
+        public void setLatestPost(Post latestPost) { this.latestPost = latestPost; }
+        public Post getFirstPost() { return firstPost; }
+        public void setFirstPost(Post firstPost) { this.firstPost = firstPost; }
         public List<Post> getPosts() { return posts; }
         public void setPosts(List<Post> posts) { this.posts = posts; }
         public List<Role> getRoles() { return roles; }
@@ -1251,6 +1621,8 @@ class EagerLoaderTest {
 
         private User author;
         private List<Comment> comments = new ArrayList<>();
+        private List<Like> likes = new ArrayList<>();
+        private List<Role> tags = new ArrayList<>();
 
         public Post() {}
 
@@ -1264,6 +1636,10 @@ class EagerLoaderTest {
         public void setAuthor(User author) { this.author = author; }
         public List<Comment> getComments() { return comments; }
         public void setComments(List<Comment> comments) { this.comments = comments; }
+        public List<Like> getLikes() { return likes; }
+        public void setLikes(List<Like> likes) { this.likes = likes; }
+        public List<Role> getTags() { return tags; }
+        public void setTags(List<Role> tags) { this.tags = tags; }
     }
 
     @Entity(table = "comments")
@@ -1291,7 +1667,7 @@ class EagerLoaderTest {
         private Long id;
         @Column(name = "bio")
         private String bio;
-        @Column(name = "user_id")
+        @Column(name = "user_id", unique = true)
         private Long userId;
 
         public Profile() {}
@@ -1311,12 +1687,39 @@ class EagerLoaderTest {
         @Column(name = "name")
         private String name;
 
+        private List<Post> posts = new ArrayList<>();
+
         public Role() {}
 
         public Long getId() { return id; }
         public void setId(Long id) { this.id = id; }
         public String getName() { return name; }
         public void setName(String name) { this.name = name; }
+        public List<Post> getPosts() { return posts; }
+        public void setPosts(List<Post> posts) { this.posts = posts; }
+    }
+
+    @Entity(table = "likes")
+    public static class Like {
+        @Column(name = "id")
+        private Long id;
+        @Column(name = "likeable_type")
+        private String likeableType;
+        @Column(name = "likeable_id")
+        private Long likeableId;
+
+        private Object likeable;
+
+        public Like() {}
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getLikeableType() { return likeableType; }
+        public void setLikeableType(String likeableType) { this.likeableType = likeableType; }
+        public Long getLikeableId() { return likeableId; }
+        public void setLikeableId(Long likeableId) { this.likeableId = likeableId; }
+        public Object getLikeable() { return likeable; }
+        public void setLikeable(Object likeable) { this.likeable = likeable; }
     }
 
     @Entity(table = "countries")
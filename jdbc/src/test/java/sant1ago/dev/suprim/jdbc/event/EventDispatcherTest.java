@@ -0,0 +1,162 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for EventDispatcher query lifecycle dispatch.
+ */
+@DisplayName("EventDispatcher Tests")
+class EventDispatcherTest {
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    /**
+     * Records every callback, but only subscribes to the given phases.
+     */
+    private static final class RecordingListener implements QueryListener {
+        private final Set<QueryPhase> phases;
+        private final List<String> calls = new ArrayList<>();
+
+        RecordingListener(Set<QueryPhase> phases) {
+            this.phases = phases;
+        }
+
+        @Override
+        public void beforeQuery(QueryEvent event) {
+            calls.add("before");
+        }
+
+        @Override
+        public void afterQuery(QueryEvent event) {
+            calls.add("after");
+        }
+
+        @Override
+        public void onError(QueryEvent event) {
+            calls.add("error");
+        }
+
+        @Override
+        public Set<QueryPhase> phases() {
+            return phases;
+        }
+    }
+
+    @Nested
+    @DisplayName("without listeners")
+    class NoListenerTests {
+
+        @Test
+        @DisplayName("does not build events")
+        void beginQuery_noListeners_returnsNull() {
+            EventDispatcher dispatcher = new EventDispatcher();
+
+            QueryEvent event = dispatcher.beginQuery("SELECT 1", NO_PARAMS, "default");
+
+            assertNull(event);
+            assertDoesNotThrow(() -> dispatcher.completeQuery(event, 10, 1));
+            assertDoesNotThrow(() -> dispatcher.failQuery(event, 10, new IllegalStateException()));
+        }
+
+        @Test
+        @DisplayName("does not allocate on the query path")
+        void queryPath_noListeners_doesNotAllocate() {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+            assumeTrue(allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled());
+
+            EventDispatcher dispatcher = new EventDispatcher();
+            long threadId = Thread.currentThread().getId();
+            allocation.getThreadAllocatedBytes(threadId);
+
+            long before = allocation.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 100_000; i++) {
+                QueryEvent event = dispatcher.beginQuery("SELECT 1", NO_PARAMS, "default");
+                dispatcher.completeQuery(event, i, i);
+            }
+            long allocated = allocation.getThreadAllocatedBytes(threadId) - before;
+
+            // A single event would allocate well over 100 bytes; allow only measurement noise
+            assertTrue(allocated < 4096, "allocated " + allocated + " bytes");
+        }
+    }
+
+    @Nested
+    @DisplayName("phases")
+    class PhaseTests {
+
+        @Test
+        @DisplayName("only delivers subscribed phases")
+        void listener_receivesOnlySubscribedPhases() {
+            EventDispatcher dispatcher = new EventDispatcher();
+            RecordingListener listener = new RecordingListener(EnumSet.of(QueryPhase.AFTER));
+            dispatcher.addQueryListener(listener);
+
+            QueryEvent event = dispatcher.beginQuery("SELECT 1", NO_PARAMS, "default");
+            dispatcher.completeQuery(event, 10, 1);
+            dispatcher.failQuery(event, 10, new IllegalStateException());
+
+            assertEquals(List.of("after"), listener.calls);
+        }
+
+        @Test
+        @DisplayName("delivers all phases by default")
+        void listener_defaultPhases_receivesAll() {
+            EventDispatcher dispatcher = new EventDispatcher();
+            RecordingListener listener = new RecordingListener(new QueryListener() { }.phases());
+            dispatcher.addQueryListener(listener);
+
+            QueryEvent event = dispatcher.beginQuery("SELECT 1", NO_PARAMS, "default");
+            dispatcher.completeQuery(event, 10, 1);
+            dispatcher.failQuery(event, 10, new IllegalStateException());
+
+            assertEquals(List.of("before", "after", "error"), listener.calls);
+        }
+
+        @Test
+        @DisplayName("factory listeners declare their phase")
+        void factories_declarePhases() {
+            assertEquals(EnumSet.of(QueryPhase.AFTER), QueryListener.onQuery(e -> { }).phases());
+            assertEquals(EnumSet.of(QueryPhase.ERROR), QueryListener.onQueryError(e -> { }).phases());
+            assertEquals(EnumSet.of(QueryPhase.BEFORE), QueryListener.beforeQuery(e -> { }).phases());
+        }
+
+        @Test
+        @DisplayName("stops building events once the last listener is removed")
+        void removeQueryListener_reindexes() {
+            EventDispatcher dispatcher = new EventDispatcher();
+            RecordingListener listener = new RecordingListener(EnumSet.allOf(QueryPhase.class));
+            dispatcher.addQueryListener(listener);
+            dispatcher.removeQueryListener(listener);
+
+            assertNull(dispatcher.beginQuery("SELECT 1", NO_PARAMS, "default"));
+        }
+    }
+
+    @Nested
+    @DisplayName("event ids")
+    class EventIdTests {
+
+        @Test
+        @DisplayName("are unique and share the per-JVM prefix")
+        void eventIds_areUniqueWithSharedPrefix() {
+            String first = QueryEvent.before("SELECT 1", NO_PARAMS, "default").queryId();
+            String second = QueryEvent.before("SELECT 1", NO_PARAMS, "default").queryId();
+
+            assertNotEquals(first, second);
+            assertEquals(first.substring(0, first.indexOf('-')), second.substring(0, second.indexOf('-')));
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.annotation.entity.Column;
+import sant1ago.dev.suprim.annotation.entity.Entity;
+import sant1ago.dev.suprim.annotation.entity.Id;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.jdbc.SuprimEntity;
+import sant1ago.dev.suprim.jdbc.SuprimExecutor;
+import sant1ago.dev.suprim.jdbc.TestUserWithRelation_;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NPlusOneDetector scoping, detection and assertions.
+ */
+@DisplayName("NPlusOneDetector Tests")
+class NPlusOneDetectorTest {
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    private static JdbcDataSource dataSource;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:n_plus_one_test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS np_users (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS np_profiles (id BIGINT PRIMARY KEY, user_id BIGINT)");
+            // Quoted to preserve lowercase for refresh(), which always quotes identifiers
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS \"np_accounts\" (\"id\" BIGINT PRIMARY KEY, \"user_id\" BIGINT)");
+            conn.createStatement().execute("DELETE FROM np_users");
+            conn.createStatement().execute("DELETE FROM np_profiles");
+            conn.createStatement().execute("DELETE FROM \"np_accounts\"");
+            for (int i = 1; i <= 5; i++) {
+                conn.createStatement().execute("INSERT INTO np_users VALUES (" + i + ", 'user" + i + "')");
+                conn.createStatement().execute("INSERT INTO np_profiles VALUES (" + i + ", " + i + ")");
+                conn.createStatement().execute("INSERT INTO \"np_accounts\" VALUES (" + i + ", " + i + ")");
+            }
+        }
+    }
+
+    @AfterAll
+    static void teardown() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DROP TABLE IF EXISTS np_users");
+            conn.createStatement().execute("DROP TABLE IF EXISTS np_profiles");
+            conn.createStatement().execute("DROP TABLE IF EXISTS \"np_accounts\"");
+        }
+    }
+
+    private static void select(NPlusOneDetector detector, String sql, int rows) {
+        detector.afterQuery(QueryEvent.before(sql, NO_PARAMS, "default").completed(1_000, rows));
+    }
+
+    private static void loadProfilesOneByOne(SuprimExecutor executor) {
+        List<Long> userIds = executor.query(new QueryResult("SELECT id FROM np_users", Map.of()), rs -> rs.getLong(1));
+        for (Long userId : userIds) {
+            executor.query(new QueryResult("SELECT * FROM np_profiles WHERE user_id = :userId", Map.of("userId", userId)),
+                    rs -> rs.getLong(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("detection")
+    class DetectionTests {
+
+        @Test
+        @DisplayName("flags repeated single-row lookups once the threshold is reached")
+        void repeatedLookups_reported() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(3, reports::add);
+
+            try (NPlusOneDetector.Scope scope = detector.open()) {
+                select(detector, "SELECT * FROM users", 10);
+                for (int i = 1; i <= 4; i++) {
+                    select(detector, "SELECT * FROM profiles WHERE user_id = " + i, 1);
+                }
+
+                assertEquals(1, reports.size());
+                assertEquals(reports, scope.reports());
+            }
+
+            NPlusOneReport report = reports.get(0);
+            assertEquals("profiles", report.table());
+            assertEquals("users", report.parentTable());
+            assertEquals(3, report.count());
+            assertEquals("SELECT * FROM profiles WHERE user_id = ?", report.shape());
+        }
+
+        @Test
+        @DisplayName("ignores shapes that return several rows")
+        void multiRowShapes_ignored() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(2, reports::add);
+
+            try (NPlusOneDetector.Scope scope = detector.open()) {
+                select(detector, "SELECT * FROM orders WHERE status = 'open'", 5);
+                select(detector, "SELECT * FROM orders WHERE status = 'paid'", 5);
+            }
+
+            assertTrue(reports.isEmpty());
+        }
+
+        @Test
+        @DisplayName("ignores queries outside a scope")
+        void noScope_ignored() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(2, reports::add);
+
+            for (int i = 0; i < 5; i++) {
+                select(detector, "SELECT * FROM profiles WHERE id = " + i, 1);
+            }
+
+            assertTrue(reports.isEmpty());
+            assertNull(detector.currentScope());
+        }
+
+        @Test
+        @DisplayName("suggests a registered relation between the parent and lookup tables")
+        void registeredRelation_suggested() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(2, reports::add)
+                    .relations(TestUserWithRelation_.class);
+
+            try (NPlusOneDetector.Scope scope = detector.open()) {
+                select(detector, "SELECT * FROM test_users_with_relation", 3);
+                select(detector, "SELECT * FROM \"profiles\" WHERE user_id = 1", 1);
+                select(detector, "SELECT * FROM \"profiles\" WHERE user_id = 2", 1);
+            }
+
+            assertEquals("TestUserWithRelation_.PROFILE", reports.get(0).suggestion());
+            assertTrue(reports.get(0).describe().contains(".with(TestUserWithRelation_.PROFILE)"));
+        }
+
+        @Test
+        @DisplayName("reports the application call site")
+        void report_includesCallSite() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(2, reports::add);
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource).nPlusOneDetector(detector).build();
+
+            try (NPlusOneDetector.Scope scope = detector.open()) {
+                loadProfilesOneByOne(executor);
+            }
+
+            List<StackTraceElement> callSite = reports.get(0).callSite();
+            assertFalse(callSite.isEmpty());
+            assertTrue(callSite.stream().anyMatch(frame -> frame.getMethodName().equals("loadProfilesOneByOne")));
+        }
+        @Test
+        @DisplayName("counts findById() lookups")
+        void findByIdLoop_reported() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(3, reports::add);
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource).nPlusOneDetector(detector).build();
+
+            try (NPlusOneDetector.Scope scope = detector.open()) {
+                List<Long> userIds = executor.query(new QueryResult("SELECT id FROM np_users", Map.of()), rs -> rs.getLong(1));
+                for (Long userId : userIds) {
+                    assertTrue(executor.findById(NpProfile.class, userId).isPresent());
+                }
+
+                assertEquals(6, scope.queryCount());
+                assertThrows(AssertionError.class, () -> scope.assertMaxQueries(2));
+            }
+
+            assertEquals(1, reports.size());
+            assertEquals("np_profiles", reports.get(0).table());
+            assertEquals("np_users", reports.get(0).parentTable());
+        }
+
+        @Test
+        @DisplayName("counts refresh() lookups")
+        void refreshLoop_reported() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(3, reports::add);
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource).nPlusOneDetector(detector).build();
+
+            executor.transaction(tx -> {
+                NPlusOneDetector.Scope scope = detector.currentScope();
+                for (long id = 1; id <= 5; id++) {
+                    NpAccount account = new NpAccount();
+                    account.id = id;
+                    account.refresh();
+                    assertEquals(id, account.userId);
+                }
+
+                assertEquals(5, scope.queryCount());
+                assertThrows(AssertionError.class, () -> scope.assertMaxQueries(2));
+            });
+
+            assertEquals(1, reports.size());
+            assertEquals("np_accounts", reports.get(0).table());
+        }
+    }
+
+    @Nested
+    @DisplayName("scopes")
+    class ScopeTests {
+
+        @Test
+        @DisplayName("opens an implicit scope per transaction")
+        void transaction_opensImplicitScope() {
+            List<NPlusOneReport> reports = new ArrayList<>();
+            NPlusOneDetector detector = new NPlusOneDetector(3, reports::add);
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource).nPlusOneDetector(detector).build();
+
+            executor.transaction(tx -> {
+                assertNotNull(detector.currentScope());
+                loadProfilesOneByOne(executor);
+            });
+
+            assertNull(detector.currentScope());
+            assertEquals(1, reports.size());
+            assertEquals("np_profiles", reports.get(0).table());
+            assertEquals("np_users", reports.get(0).parentTable());
+        }
+
+        @Test
+        @DisplayName("counts queries of nested scopes towards the outer scope")
+        void nestedScopes_countTowardsParent() {
+            NPlusOneDetector detector = new NPlusOneDetector(5, report -> {});
+
+            try (NPlusOneDetector.Scope outer = detector.open()) {
+                select(detector, "SELECT 1", 1);
+                try (NPlusOneDetector.Scope inner = detector.open()) {
+                    select(detector, "SELECT 2", 1);
+                    assertEquals(1, inner.queryCount());
+                }
+                assertSame(outer, detector.currentScope());
+                assertEquals(2, outer.queryCount());
+            }
+        }
+
+        @Test
+        @DisplayName("assertMaxQueries() fails with the executed queries")
+        void assertMaxQueries_exceeded_fails() {
+            NPlusOneDetector detector = new NPlusOneDetector();
+            SuprimExecutor executor = SuprimExecutor.builder(dataSource).nPlusOneDetector(detector).build();
+
+            try (NPlusOneDetector.Scope scope = detector.open()) {
+                loadProfilesOneByOne(executor);
+
+                assertDoesNotThrow(() -> scope.assertMaxQueries(6));
+                AssertionError error = assertThrows(AssertionError.class, () -> scope.assertMaxQueries(2));
+                assertTrue(error.getMessage().contains("SELECT * FROM np_profiles WHERE user_id = ?"));
+                assertThrows(AssertionError.class, scope::assertNoNPlusOne);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("tableOf() extracts the unqualified, unquoted table")
+    void tableOf_parsesFromClause() {
+        assertEquals("profiles", NPlusOneDetector.tableOf("SELECT * FROM app.\"Profiles\" WHERE id = ?"));
+        assertNull(NPlusOneDetector.tableOf("SELECT ?"));
+    }
+
+    // ==================== TEST ENTITIES ====================
+
+    @Entity(table = "np_profiles")
+    public static class NpProfile {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "user_id")
+        private Long userId;
+
+        public NpProfile() {}
+    }
+
+    @Entity(table = "np_accounts")
+    public static class NpAccount extends SuprimEntity {
+        @Id
+        @Column(name = "id")
+        private Long id;
+
+        @Column(name = "user_id")
+        private Long userId;
+
+        public NpAccount() {}
+    }
+}
@@ -0,0 +1,243 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for QueryMetrics aggregation and SQL shape normalization.
+ */
+@DisplayName("QueryMetrics Tests")
+class QueryMetricsTest {
+
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    private static void succeed(QueryMetrics metrics, String sql, long durationNanos, int rows) {
+        metrics.afterQuery(QueryEvent.before(sql, NO_PARAMS, "default").completed(durationNanos, rows));
+    }
+
+    private static void fail(QueryMetrics metrics, String sql) {
+        metrics.onError(QueryEvent.before(sql, NO_PARAMS, "default").failed(1_000, new IllegalStateException()));
+    }
+
+    @Nested
+    @DisplayName("normalize()")
+    class NormalizeTests {
+
+        @Test
+        @DisplayName("replaces string and numeric literals")
+        void normalize_literals() {
+            assertEquals("SELECT * FROM users WHERE name = ? AND age > ?",
+                    QueryMetrics.normalize("SELECT * FROM users WHERE name = 'O''Brien' AND age > 42"));
+        }
+
+        @Test
+        @DisplayName("keeps digits inside identifiers and quoted names")
+        void normalize_identifiers() {
+            assertEquals("SELECT col1 FROM \"table 2\" WHERE id = ?",
+                    QueryMetrics.normalize("SELECT col1 FROM \"table 2\" WHERE id = 7"));
+        }
+
+        @Test
+        @DisplayName("collapses IN lists and repeated VALUES tuples")
+        void normalize_lists() {
+            assertEquals("SELECT * FROM users WHERE id IN (?)",
+                    QueryMetrics.normalize("SELECT * FROM users WHERE id IN (?, ?, ?)"));
+            assertEquals("INSERT INTO users (id, name) VALUES (?, ?)",
+                    QueryMetrics.normalize("INSERT INTO users (id, name) VALUES (?, ?), (?, ?),\n (?, ?)"));
+        }
+
+        @Test
+        @DisplayName("replaces named parameters but keeps casts")
+        void normalize_namedParameters() {
+            assertEquals("SELECT * FROM users WHERE id = ? AND data::text = ?",
+                    QueryMetrics.normalize("SELECT  *  FROM users\nWHERE id = :id AND data::text = :data"));
+        }
+    }
+
+    @Nested
+    @DisplayName("aggregation")
+    class AggregationTests {
+
+        @Test
+        @DisplayName("groups queries by shape and counts calls, rows and errors")
+        void record_groupsByShape() {
+            QueryMetrics metrics = new QueryMetrics();
+
+            succeed(metrics, "SELECT * FROM users WHERE id = 1", 1_000, 1);
+            succeed(metrics, "SELECT * FROM users WHERE id = 2", 3_000, 1);
+            fail(metrics, "SELECT * FROM users WHERE id = 3");
+            succeed(metrics, "UPDATE users SET name = 'x'", 2_000, 5);
+
+            List<QueryShapeMetrics> snapshot = metrics.snapshot();
+            assertEquals(2, snapshot.size());
+
+            QueryShapeMetrics select = snapshot.get(0);
+            assertEquals("SELECT * FROM users WHERE id = ?", select.shape());
+            assertEquals(QueryType.SELECT, select.type());
+            assertEquals(2, select.calls());
+            assertEquals(1, select.errors());
+            assertEquals(2, select.rows());
+            assertEquals(3_000, select.latency().maxNanos());
+
+            assertEquals(5, metrics.byType(QueryType.UPDATE).rows());
+            assertEquals(1, metrics.byType(QueryType.SELECT).errors());
+        }
+
+        @Test
+        @DisplayName("orders slowest() by p99 latency")
+        void slowest_ordersByP99() {
+            QueryMetrics metrics = new QueryMetrics();
+
+            succeed(metrics, "SELECT * FROM fast", 1_000, 0);
+            succeed(metrics, "SELECT * FROM slow", 5_000_000, 0);
+            succeed(metrics, "SELECT * FROM medium", 200_000, 0);
+
+            List<QueryShapeMetrics> slowest = metrics.slowest(2);
+
+            assertEquals(List.of("SELECT * FROM slow", "SELECT * FROM medium"),
+                    slowest.stream().map(QueryShapeMetrics::shape).toList());
+        }
+
+        @Test
+        @DisplayName("merges shapes beyond maxShapes into <other>")
+        void record_beyondMaxShapes_usesOther() {
+            QueryMetrics metrics = new QueryMetrics(1);
+
+            succeed(metrics, "SELECT * FROM a", 1_000, 0);
+            succeed(metrics, "SELECT * FROM b", 1_000, 0);
+            succeed(metrics, "SELECT * FROM c", 1_000, 0);
+
+            assertTrue(metrics.snapshot().stream()
+                    .anyMatch(m -> m.shape().equals(QueryMetrics.OTHER_SHAPE) && m.calls() == 2));
+        }
+
+        @Test
+        @DisplayName("records every measured phase")
+        void record_phases() {
+            QueryMetrics metrics = new QueryMetrics();
+            QueryEvent event = QueryEvent.before("SELECT 1", NO_PARAMS, "default")
+                    .completed(10_000, 1, new QueryTimings(2_000, 1_000, 4_000, 3_000, 8_000));
+
+            metrics.afterQuery(event);
+
+            QueryShapeMetrics shape = metrics.snapshot().get(0);
+            assertEquals(1, metrics.connectionAcquire().count());
+            assertEquals(2_000, metrics.connectionAcquire().maxNanos());
+            assertEquals(2_000, shape.acquire().maxNanos());
+            assertEquals(1_000, shape.prepare().maxNanos());
+            assertEquals(4_000, shape.execute().maxNanos());
+            assertEquals(3_000, shape.fetch().maxNanos());
+            assertEquals(8_000, shape.eager().maxNanos());
+        }
+
+        @Test
+        @DisplayName("skips phases that were not measured")
+        void record_unmeasuredPhases_skipped() {
+            QueryMetrics metrics = new QueryMetrics();
+            QueryEvent event = QueryEvent.before("SELECT 1", NO_PARAMS, "default")
+                    .completed(10_000, 1, new QueryTimings(-1, 1_000, 4_000, 3_000, -1));
+
+            metrics.afterQuery(event);
+
+            QueryShapeMetrics shape = metrics.snapshot().get(0);
+            assertEquals(LatencySummary.EMPTY, shape.acquire());
+            assertEquals(LatencySummary.EMPTY, shape.eager());
+            assertEquals(1, shape.execute().count());
+        }
+
+        @Test
+        @DisplayName("receives phases through the dispatcher")
+        void dispatcher_passesTimings() {
+            QueryMetrics metrics = new QueryMetrics();
+            EventDispatcher dispatcher = new EventDispatcher();
+            dispatcher.addQueryListener(metrics);
+
+            QueryEvent event = dispatcher.beginQuery("SELECT 1", NO_PARAMS, "default");
+            QueryTimer timer = dispatcher.startTimer(event);
+            timer.acquired();
+            timer.prepared();
+            timer.executed();
+            timer.fetched();
+            dispatcher.completeQuery(event, 10_000, 1, timer);
+
+            QueryShapeMetrics shape = metrics.snapshot().get(0);
+            assertTrue(timer.isEnabled());
+            assertEquals(1, metrics.connectionAcquire().count());
+            assertEquals(1, shape.prepare().count());
+            assertEquals(1, shape.execute().count());
+            assertEquals(1, shape.fetch().count());
+            assertEquals(0, shape.eager().count());
+        }
+
+        @Test
+        @DisplayName("clears everything on reset()")
+        void reset_clears() {
+            QueryMetrics metrics = new QueryMetrics();
+            succeed(metrics, "SELECT 1", 1_000, 1);
+
+            metrics.reset();
+
+            assertTrue(metrics.snapshot().isEmpty());
+            assertEquals(0, metrics.byType(QueryType.SELECT).calls());
+        }
+
+        @Test
+        @DisplayName("counts concurrent recordings exactly")
+        void record_concurrent() throws InterruptedException {
+            QueryMetrics metrics = new QueryMetrics();
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        succeed(metrics, "SELECT * FROM users WHERE id = " + i, i, 1);
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            QueryShapeMetrics users = metrics.snapshot().get(0);
+            assertEquals(4_000, users.calls());
+            assertEquals(4_000, users.latency().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("LatencyHistogram")
+    class HistogramTests {
+
+        @Test
+        @DisplayName("reports percentiles within 12.5% of the true value")
+        void summary_percentilesWithinBucketError() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long v = 1; v <= 10_000; v++) {
+                histogram.record(v * 1_000);
+            }
+
+            LatencySummary summary = histogram.summary();
+
+            assertEquals(10_000, summary.count());
+            assertEquals(10_000_000, summary.maxNanos());
+            assertEquals(5_000_000, summary.p50Nanos(), 5_000_000 * 0.125);
+            assertEquals(9_900_000, summary.p99Nanos(), 9_900_000 * 0.125);
+        }
+
+        @Test
+        @DisplayName("maps every value into a bucket whose upper bound contains it")
+        void bucketOf_upperBoundContainsValue() {
+            for (long value : new long[]{0, 7, 8, 9, 1_000, 123_456_789, Long.MAX_VALUE}) {
+                int bucket = LatencyHistogram.bucketOf(value);
+                assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+                assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < value);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package sant1ago.dev.suprim.jdbc.event;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import sant1ago.dev.suprim.core.query.QueryResult;
+import sant1ago.dev.suprim.jdbc.AsyncExecutor;
+import sant1ago.dev.suprim.jdbc.SuprimExecutor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SlowQueryExplainer plan capture.
+ */
+@DisplayName("SlowQueryExplainer Tests")
+class SlowQueryExplainerTest {
+
+    private static JdbcDataSource dataSource;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:explain_test;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("CREATE TABLE IF NOT EXISTS explain_orders (id BIGINT PRIMARY KEY, status VARCHAR(20))");
+        }
+    }
+
+    @AfterAll
+    static void teardown() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.createStatement().execute("DROP TABLE IF EXISTS explain_orders");
+        }
+    }
+
+    private static QueryResult ordersByStatus(String status) {
+        return new QueryResult("SELECT * FROM explain_orders WHERE status = :status", Map.of("status", status));
+    }
+
+    @Nested
+    @DisplayName("capture")
+    class CaptureTests {
+
+        @Test
+        @DisplayName("captures the plan of queries above the threshold in the background")
+        void slowQuery_planCaptured() throws InterruptedException {
+            CountDownLatch captured = new CountDownLatch(1);
+            try (SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, 0).onPlan(plan -> captured.countDown())) {
+                SuprimExecutor executor = SuprimExecutor.builder(dataSource).addQueryListener(explainer).build();
+
+                executor.query(ordersByStatus("open"), rs -> rs.getLong(1));
+
+                assertTrue(captured.await(5, TimeUnit.SECONDS));
+                List<QueryPlan> plans = explainer.plans("SELECT * FROM explain_orders WHERE status = ?");
+                assertEquals(1, plans.size());
+                assertTrue(plans.get(0).plan().toUpperCase().contains("EXPLAIN_ORDERS"));
+                assertEquals("open", plans.get(0).event().parameters()[0]);
+            }
+        }
+
+        @Test
+        @DisplayName("captures on a virtual thread when the runtime has them")
+        void capture_onVirtualThreadWhenAvailable() throws Exception {
+            CountDownLatch captured = new CountDownLatch(1);
+            AtomicReference<Thread> captureThread = new AtomicReference<>();
+            try (SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, 0).onPlan(plan -> {
+                captureThread.set(Thread.currentThread());
+                captured.countDown();
+            })) {
+                explainer.afterQuery(QueryEvent.before("SELECT * FROM explain_orders", new Object[0], "default")
+                        .completed(1_000_000, 0));
+
+                assertTrue(captured.await(5, TimeUnit.SECONDS));
+            }
+
+            Optional<ExecutorService> virtualThreads = AsyncExecutor.newVirtualThreadExecutor();
+            virtualThreads.ifPresent(ExecutorService::shutdown);
+            if (virtualThreads.isPresent()) {
+                assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(captureThread.get()));
+            } else {
+                assertEquals("suprim-explain", captureThread.get().getName());
+            }
+        }
+
+        @Test
+        @DisplayName("restores the read-only flag of the pooled connection")
+        void capture_restoresReadOnly() throws Exception {
+            DataSource pool = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(pool.getConnection()).thenReturn(connection);
+            when(connection.isReadOnly()).thenReturn(false);
+            when(connection.getMetaData()).thenReturn(metaData);
+            when(metaData.getDatabaseProductName()).thenReturn("H2");
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+
+            CountDownLatch captured = new CountDownLatch(1);
+            try (SlowQueryExplainer explainer = new SlowQueryExplainer(pool, 0).onPlan(plan -> captured.countDown())) {
+                explainer.afterQuery(QueryEvent.before("SELECT * FROM explain_orders", new Object[0], "default").completed(1_000, 1));
+
+                assertTrue(captured.await(5, TimeUnit.SECONDS));
+            }
+
+            verify(connection).setReadOnly(true);
+            verify(connection).setReadOnly(false);
+            verify(connection).close();
+        }
+
+        @Test
+        @DisplayName("ignores queries below the threshold")
+        void fastQuery_ignored() throws InterruptedException {
+            try (SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, 60_000)) {
+                explainer.afterQuery(QueryEvent.before("SELECT 1", new Object[0], "default").completed(1_000, 1));
+
+                Thread.sleep(100);
+                assertTrue(explainer.latest().isEmpty());
+            }
+        }
+
+        @Test
+        @DisplayName("rate-limits captures")
+        void rateLimit_dropsExcessCaptures() throws InterruptedException {
+            CountDownLatch captured = new CountDownLatch(1);
+            try (SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, 0)
+                    .maxPerSecond(1)
+                    .onPlan(plan -> captured.countDown())) {
+                SuprimExecutor executor = SuprimExecutor.builder(dataSource).addQueryListener(explainer).build();
+
+                executor.query(ordersByStatus("open"), rs -> rs.getLong(1));
+                executor.query(new QueryResult("SELECT id FROM explain_orders", Map.of()), rs -> rs.getLong(1));
+
+                assertTrue(captured.await(5, TimeUnit.SECONDS));
+                Thread.sleep(100);
+                assertEquals(1, explainer.latest().size());
+            }
+        }
+
+        @Test
+        @DisplayName("keeps a bounded number of plans per shape")
+        void plansPerShape_bounded() throws InterruptedException {
+            Semaphore captured = new Semaphore(0);
+            try (SlowQueryExplainer explainer = new SlowQueryExplainer(dataSource, 0)
+                    .maxPerSecond(1000)
+                    .plansPerShape(2)
+                    .onPlan(plan -> captured.release())) {
+                SuprimExecutor executor = SuprimExecutor.builder(dataSource).addQueryListener(explainer).build();
+
+                for (String status : new String[]{"a", "b", "c"}) {
+                    Thread.sleep(5);
+                    executor.query(ordersByStatus(status), rs -> rs.getLong(1));
+                    assertTrue(captured.tryAcquire(5, TimeUnit.SECONDS));
+                }
+
+                List<QueryPlan> plans = explainer.plans("SELECT * FROM explain_orders WHERE status = ?");
+                assertEquals(2, plans.size());
+                assertEquals("c", plans.get(1).event().parameters()[0]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("uses JSON EXPLAIN syntax per database")
+    void explainPrefix_perDatabase() {
+        assertEquals("EXPLAIN (FORMAT JSON) ", SlowQueryExplainer.explainPrefix("PostgreSQL"));
+        assertEquals("EXPLAIN FORMAT=JSON ", SlowQueryExplainer.explainPrefix("MySQL"));
+        assertEquals("EXPLAIN FORMAT=JSON ", SlowQueryExplainer.explainPrefix("MariaDB"));
+        assertEquals("EXPLAIN ", SlowQueryExplainer.explainPrefix("H2"));
+    }
+}
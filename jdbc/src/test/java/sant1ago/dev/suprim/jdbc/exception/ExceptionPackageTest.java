@@ -6,6 +6,9 @@ import org.junit.jupiter.api.Test;
 import sant1ago.dev.suprim.jdbc.SuprimException;
 
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -1103,6 +1106,72 @@ class ExceptionPackageTest {
         }
     }
 
+    @Nested
+    @DisplayName("QueryTimeoutException")
+    class QueryTimeoutExceptionTests {
+
+        @Test
+        @DisplayName("SQLTimeoutException translates to a timeout")
+        void sqlTimeoutException() {
+            SQLException cause = new SQLTimeoutException("Statement cancelled due to timeout", "HY008");
+            SuprimException result = ExceptionTranslator.translateQuery(TEST_SQL, new Object[]{1}, cause);
+
+            QueryTimeoutException ex = assertInstanceOf(QueryTimeoutException.class, result);
+            assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, ex.getCategory());
+            assertArrayEquals(new Object[]{1}, ex.getParameters());
+            assertEquals(cause, ex.getCause());
+        }
+
+        @Test
+        @DisplayName("state 57 is a cancellation whatever the message says")
+        void class57_messageIgnored() {
+            for (SQLException cause : List.of(
+                    new SQLException("ERROR: canceling statement due to statement timeout", "57014"),
+                    new SQLException("Statement was canceled or the session timed out", "57014"))) {
+                SuprimException result = ExceptionTranslator.translate(TEST_SQL, cause);
+
+                assertEquals(QueryException.class, result.getClass());
+                assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, result.getCategory());
+            }
+        }
+
+        @Test
+        @DisplayName("state 57014 reported as SQLTimeoutException translates to a timeout")
+        void class57_sqlTimeoutException() {
+            SQLException cause = new SQLTimeoutException("ERROR: canceling statement due to user request", "57014");
+            assertInstanceOf(QueryTimeoutException.class, ExceptionTranslator.translate(TEST_SQL, cause));
+        }
+
+        @Test
+        @DisplayName("state 57014 cancelled by the user stays a plain cancellation")
+        void postgresUserCancel() {
+            SQLException cause = new SQLException("ERROR: canceling statement due to user request", "57014");
+            SuprimException result = ExceptionTranslator.translate(TEST_SQL, cause);
+
+            assertEquals(QueryException.class, result.getClass());
+            assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, result.getCategory());
+        }
+
+        @Test
+        @DisplayName("MySQL max_execution_time translates to a timeout")
+        void mysqlMaxExecutionTime() {
+            SQLException cause = new SQLException(
+                    "Query execution was interrupted, maximum statement execution time exceeded", "HY000", 3024);
+            assertInstanceOf(QueryTimeoutException.class, ExceptionTranslator.translate(TEST_SQL, cause));
+        }
+
+        @Test
+        @DisplayName("deadlineExceeded reports how late the statement was")
+        void deadlineExceeded() {
+            QueryTimeoutException ex = QueryTimeoutException.deadlineExceeded(TEST_SQL, Duration.ofMillis(250));
+
+            assertTrue(ex.getMessage().contains("250 ms"));
+            assertEquals(TEST_SQL, ex.getSql());
+            assertNull(ex.getCause());
+            assertEquals(SuprimException.ErrorCategory.QUERY_CANCELED, ex.getCategory());
+        }
+    }
+
     @Nested
     @DisplayName("NoResultException")
     class NoResultExceptionTests {
@@ -221,35 +221,38 @@ public class MetamodelGenerator {
                     rel.fieldName()
             );
             case MORPH_ONE -> CodeBlock.of(
-                    "$T.morphOne(TABLE, $T.TABLE, $S, $S, $S, $S, $L)",
+                    "$T.morphOne(TABLE, $T.TABLE, $S, $S, $S, $S, $L, $S)",
                     RELATION_CLASS,
                     ClassName.get(getPackage(rel.relatedEntityClass()), rel.getRelatedMetamodelClassName()),
                     rel.morphName(),
                     rel.morphTypeColumn(),
                     rel.morphIdColumn(),
                     rel.localKey(),
-                    rel.isEager()
+                    rel.isEager(),
+                    rel.fieldName()
             );
             case MORPH_MANY -> CodeBlock.of(
-                    "$T.morphMany(TABLE, $T.TABLE, $S, $S, $S, $S, $L)",
+                    "$T.morphMany(TABLE, $T.TABLE, $S, $S, $S, $S, $L, $S)",
                     RELATION_CLASS,
                     ClassName.get(getPackage(rel.relatedEntityClass()), rel.getRelatedMetamodelClassName()),
                     rel.morphName(),
                     rel.morphTypeColumn(),
                     rel.morphIdColumn(),
                     rel.localKey(),
-                    rel.isEager()
+                    rel.isEager(),
+                    rel.fieldName()
             );
             case MORPH_TO -> CodeBlock.of(
-                    "$T.morphTo(TABLE, $S, $S, $S, $L)",
+                    "$T.morphTo(TABLE, $S, $S, $S, $L, $S)",
                     RELATION_CLASS,
                     rel.morphName(),
                     rel.morphTypeColumn(),
                     rel.morphIdColumn(),
-                    rel.isEager()
+                    rel.isEager(),
+                    rel.fieldName()
             );
             case MORPH_TO_MANY -> CodeBlock.of(
-                    "$T.morphToMany(TABLE, $T.TABLE, $S, $S, $S, $S, $S, $S, $S, $T.of($L), $L, $L)",
+                    "$T.morphToMany(TABLE, $T.TABLE, $S, $S, $S, $S, $S, $S, $S, $T.of($L), $L, $L, $S)",
                     RELATION_CLASS,
                     ClassName.get(getPackage(rel.relatedEntityClass()), rel.getRelatedMetamodelClassName()),
                     rel.pivotTable(),
@@ -262,10 +265,11 @@ public class MetamodelGenerator {
                     LIST_CLASS,
                     formatStringList(rel.pivotColumns()),
                     rel.pivotTimestamps(),
-                    rel.isEager()
+                    rel.isEager(),
+                    rel.fieldName()
             );
             case MORPHED_BY_MANY -> CodeBlock.of(
-                    "$T.morphedByMany(TABLE, $T.TABLE, $S, $S, $S, $S, $S, $S, $S, $T.of($L), $L, $L)",
+                    "$T.morphedByMany(TABLE, $T.TABLE, $S, $S, $S, $S, $S, $S, $S, $T.of($L), $L, $L, $S)",
                     RELATION_CLASS,
                     ClassName.get(getPackage(rel.relatedEntityClass()), rel.getRelatedMetamodelClassName()),
                     rel.pivotTable(),
@@ -278,7 +282,8 @@ public class MetamodelGenerator {
                     LIST_CLASS,
                     formatStringList(rel.pivotColumns()),
                     rel.pivotTimestamps(),
-                    rel.isEager()
+                    rel.isEager(),
+                    rel.fieldName()
             );
             case LATEST_OF_MANY -> CodeBlock.of(
                     "$T.latestOfMany(TABLE, $T.TABLE, $S, $S, $S, $L, $S)",